@@ -0,0 +1,109 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.common.xml;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+
+
+/**
+ * Sends the contents of a DOM {@linkplain Document} to a SAX {@linkplain ContentHandler}, so that SAX-based tools can
+ * process a document without serializing and re-parsing it. The document locator that the handler receives reports
+ * the {@linkplain Location} of the element being processed.
+ */
+public final class DomToSax {
+
+  private static final String CDATA = "CDATA";
+
+  private final ContentHandler handler;
+  private final LocatorImpl locator = new LocatorImpl();
+
+  private DomToSax(ContentHandler handler) {
+    this.handler = handler;
+  }
+
+  public static void send(Document document, ContentHandler handler) throws SAXException {
+    new DomToSax(handler).send(document);
+  }
+
+  private void send(Document document) throws SAXException {
+    handler.setDocumentLocator(locator);
+    handler.startDocument();
+    send(document.getDocumentElement());
+    handler.endDocument();
+  }
+
+  private void send(Element element) throws SAXException {
+    locate(element);
+    AttributesImpl attributes = new AttributesImpl();
+    Collection<String> prefixes = new ArrayList<>();
+    NamedNodeMap nodes = element.getAttributes();
+    for (int i = 0; i < nodes.getLength(); i++) {
+      Node attribute = nodes.item(i);
+      if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+        String prefix = attribute.getPrefix() == null ? XMLConstants.DEFAULT_NS_PREFIX : attribute.getLocalName();
+        handler.startPrefixMapping(prefix, attribute.getNodeValue());
+        prefixes.add(prefix);
+      } else {
+        attributes.addAttribute(nullToEmpty(attribute.getNamespaceURI()), localName(attribute),
+            attribute.getNodeName(), CDATA, attribute.getNodeValue());
+      }
+    }
+    String uri = nullToEmpty(element.getNamespaceURI());
+    handler.startElement(uri, localName(element), element.getNodeName(), attributes);
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      switch (child.getNodeType()) {
+        case Node.ELEMENT_NODE:
+          send((Element)child);
+          locate(element);
+          break;
+        case Node.TEXT_NODE:
+        case Node.CDATA_SECTION_NODE:
+          char[] text = child.getNodeValue().toCharArray();
+          handler.characters(text, 0, text.length);
+          break;
+        case Node.PROCESSING_INSTRUCTION_NODE:
+          handler.processingInstruction(child.getNodeName(), child.getNodeValue());
+          break;
+        default:
+          // Comments are not part of the SAX content model
+          break;
+      }
+    }
+    handler.endElement(uri, localName(element), element.getNodeName());
+    for (String prefix : prefixes) {
+      handler.endPrefixMapping(prefix);
+    }
+  }
+
+  private void locate(Element element) {
+    Location location = Location.of(element);
+    if (location == null) {
+      return;
+    }
+    locator.setSystemId(location.getSystemId());
+    locator.setLineNumber(location.getLine());
+    locator.setColumnNumber(location.getColumn());
+  }
+
+  private String localName(Node node) {
+    return node.getLocalName() == null ? node.getNodeName() : node.getLocalName();
+  }
+
+  private String nullToEmpty(String text) {
+    return text == null ? "" : text;
+  }
+
+}
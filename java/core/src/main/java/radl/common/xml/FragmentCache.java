@@ -0,0 +1,106 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.common.xml;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+
+/**
+ * Parsed XML files, so that files that are included from several other files are only parsed once. Entries are keyed
+ * by canonical path and are discarded when the file's modification time or size changes. The cached documents are
+ * softly referenced, so that a long-running build process doesn't run out of memory holding on to them. Entries whose
+ * documents were garbage collected are purged from the cache on the next access.
+ * <p>
+ * Cached documents must never be modified. Use {@linkplain #copy(Document)} to get a document that may be changed.
+ */
+final class FragmentCache {
+
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Document> collected = new ReferenceQueue<>();
+  private final Parser parser;
+
+  FragmentCache(Parser parser) {
+    this.parser = parser;
+  }
+
+  Document get(File file) throws IOException, SAXException {
+    purgeCollected();
+    String key = file.getPath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+    Entry entry = entries.get(key);
+    Document result = entry == null ? null : entry.get(lastModified, length);
+    if (result == null) {
+      if (entry != null) {
+        entries.remove(key, entry);
+      }
+      result = parser.parse(file);
+      entries.put(key, new Entry(key, result, lastModified, length, collected));
+    }
+    return result;
+  }
+
+  private void purgeCollected() {
+    Reference<? extends Document> reference = collected.poll();
+    while (reference != null) {
+      Entry entry = (Entry)reference;
+      entries.remove(entry.key, entry);
+      reference = collected.poll();
+    }
+  }
+
+  static Document copy(Document cached) {
+    Document result = Xml.newDocument(false);
+    // Reading a DOM isn't guaranteed to be thread safe, and other threads may be copying the same fragment
+    synchronized (cached) {
+      for (Node child = cached.getFirstChild(); child != null; child = child.getNextSibling()) {
+        if (child.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+          result.appendChild(result.importNode(child, true));
+        }
+      }
+    }
+    return result;
+  }
+
+
+  interface Parser {
+
+    Document parse(File file) throws IOException, SAXException;
+
+  }
+
+
+  private static final class Entry extends SoftReference<Document> {
+
+    private final String key;
+    private final long lastModified;
+    private final long length;
+
+    Entry(String key, Document document, long lastModified, long length, ReferenceQueue<Document> queue) {
+      super(document, queue);
+      this.key = key;
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+
+    Document get(long currentLastModified, long currentLength) {
+      if (lastModified != currentLastModified || length != currentLength) {
+        return null;
+      }
+      return get();
+    }
+
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.common.xml;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.ext.DefaultHandler2;
+
+
+/**
+ * Builds a DOM {@linkplain Document} from SAX events, remembering the {@linkplain Location} of each element.
+ */
+class LocatingDomBuilder extends DefaultHandler2 {
+
+  private final Document document;
+  private Node current;
+  private Locator locator;
+  private CDATASection cData;
+  private boolean inCData;
+  private boolean inDtd;
+
+  LocatingDomBuilder(Document document) {
+    this.document = document;
+    this.current = document;
+  }
+
+  public Document getDocument() {
+    return document;
+  }
+
+  @Override
+  public void setDocumentLocator(Locator documentLocator) {
+    this.locator = documentLocator;
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes attributes) {
+    Element element = document.createElementNS(uri.isEmpty() ? null : uri, qName);
+    for (int i = 0; i < attributes.getLength(); i++) {
+      String name = attributes.getQName(i);
+      String namespaceUri = attributes.getURI(i);
+      if (XMLConstants.XMLNS_ATTRIBUTE.equals(name) || name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ':')) {
+        namespaceUri = XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+      }
+      element.setAttributeNS(namespaceUri == null || namespaceUri.isEmpty() ? null : namespaceUri, name,
+          attributes.getValue(i));
+    }
+    if (locator != null) {
+      new Location(locator.getSystemId(), locator.getLineNumber(), locator.getColumnNumber()).applyTo(element);
+    }
+    current.appendChild(element);
+    current = element;
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) {
+    current = current.getParentNode();
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) {
+    if (current == document) {
+      return;
+    }
+    String text = new String(ch, start, length);
+    Node last = current.getLastChild();
+    if (inCData) {
+      if (cData == null) {
+        cData = document.createCDATASection(text);
+        current.appendChild(cData);
+      } else {
+        cData.appendData(text);
+      }
+    } else if (last != null && last.getNodeType() == Node.TEXT_NODE) {
+      ((Text)last).appendData(text);
+    } else {
+      current.appendChild(document.createTextNode(text));
+    }
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) {
+    characters(ch, start, length);
+  }
+
+  @Override
+  public void processingInstruction(String target, String data) {
+    current.appendChild(document.createProcessingInstruction(target, data));
+  }
+
+  @Override
+  public void comment(char[] ch, int start, int length) {
+    if (inDtd) {
+      return;
+    }
+    current.appendChild(document.createComment(new String(ch, start, length)));
+  }
+
+  @Override
+  public void startCDATA() {
+    inCData = true;
+  }
+
+  @Override
+  public void endCDATA() {
+    inCData = false;
+    cData = null;
+  }
+
+  @Override
+  public void startDTD(String name, String publicId, String systemId) {
+    inDtd = true;
+  }
+
+  @Override
+  public void endDTD() {
+    inDtd = false;
+  }
+
+}
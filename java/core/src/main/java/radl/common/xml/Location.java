@@ -0,0 +1,110 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.common.xml;
+
+import java.io.File;
+import java.net.URI;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.UserDataHandler;
+
+
+/**
+ * The place in a source file where an XML node was parsed from. Documents that are parsed with
+ * {@linkplain Xml#parseWithIncludes(java.io.File)} remember the location of each element, also when the element came
+ * from an included file.
+ */
+public final class Location {
+
+  private static final String KEY = Location.class.getName();
+  private static final UserDataHandler COPY_ON_IMPORT = new UserDataHandler() {
+    @Override
+    public void handle(short operation, String key, Object data, Node source, Node destination) {
+      if (destination != null && (operation == NODE_IMPORTED || operation == NODE_CLONED)) {
+        destination.setUserData(key, data, this);
+      }
+    }
+  };
+
+  private final String systemId;
+  private final int line;
+  private final int column;
+
+  public Location(String systemId, int line, int column) {
+    this.systemId = systemId;
+    this.line = line;
+    this.column = column;
+  }
+
+  /**
+   * @param node The node to find the location for
+   * @return The location of the given node, or of its closest ancestor with a known location. Returns
+   * <code>null</code> if the location isn't known
+   */
+  public static Location of(Node node) {
+    Node current = node;
+    while (current != null) {
+      Object result = current.getUserData(KEY);
+      if (result instanceof Location) {
+        return (Location)result;
+      }
+      current = current.getParentNode();
+    }
+    return null;
+  }
+
+  void applyTo(Node node) {
+    node.setUserData(KEY, this, COPY_ON_IMPORT);
+  }
+
+  public String getSystemId() {
+    return systemId;
+  }
+
+  /**
+   * @return The name of the file that the location is in, without the path
+   */
+  public String getFileName() {
+    if (systemId == null) {
+      return null;
+    }
+    return systemId.substring(systemId.lastIndexOf('/') + 1);
+  }
+
+  /**
+   * @return The file that the location is in, or <code>null</code> when the location isn't in a local file
+   */
+  public File getFile() {
+    return toFile(systemId);
+  }
+
+  /**
+   * @param systemId The system ID of an XML source
+   * @return The local file the given system ID refers to, or <code>null</code> if it doesn't refer to a local file
+   */
+  public static File toFile(String systemId) {
+    if (systemId == null || !systemId.startsWith("file:")) {
+      return null;
+    }
+    try {
+      return new File(URI.create(systemId));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  public int getLine() {
+    return line;
+  }
+
+  public int getColumn() {
+    return column;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[%d,%d]", systemId, line, column);
+  }
+
+}
@@ -8,9 +8,12 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +23,8 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
@@ -34,14 +39,16 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
 import com.google.common.escape.Escaper;
 import com.google.common.escape.Escapers;
 
-import radl.core.xml.RadlFileAssembler;
 
 
 /**
@@ -63,6 +70,9 @@ public final class Xml {
   private static final DocumentBuilderFactory NON_VALIDATING_DOCUMENT_BUILDER_FACTORY =
       newSecureDocumentBuilderFactory(false);
   private static final TransformerFactory TRANSFORMER_FACTORY = newSecureTransformerFactory();
+  private static final SAXParserFactory SAX_PARSER_FACTORY = newSecureSaxParserFactory();
+  private static final String XINCLUDE_NAMESPACE = "http://www.w3.org/2001/XInclude";
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
 
   private static final ThreadLocal<DocumentBuilder> VALIDATING_DOCUMENT_BUILDER = new ThreadLocal<DocumentBuilder>() {
     @Override
@@ -87,6 +97,24 @@ public final class Xml {
       }
     };
 
+  private static final ThreadLocal<SAXParser> SAX_PARSER = new ThreadLocal<SAXParser>() {
+    @Override
+    protected SAXParser initialValue() {
+      try {
+        return SAX_PARSER_FACTORY.newSAXParser();
+      } catch (ParserConfigurationException | SAXException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  };
+
+  private static final FragmentCache FRAGMENT_CACHE = new FragmentCache(new FragmentCache.Parser() {
+    @Override
+    public Document parse(File file) throws IOException, SAXException {
+      return parseWithLocations(file);
+    }
+  });
+
   private static final ThreadLocal<Transformer> TRANSFORMER = new ThreadLocal<Transformer>() {
     @Override
     protected Transformer initialValue() {
@@ -209,6 +237,20 @@ public final class Xml {
     }
   }
 
+  private static SAXParserFactory newSecureSaxParserFactory() {
+    try {
+      SAXParserFactory result = SAXParserFactory.newInstance();
+      result.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      result.setFeature("http://xml.org/sax/features/external-general-entities", false);
+      result.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+      result.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+      result.setNamespaceAware(true);
+      return result;
+    } catch (ParserConfigurationException | SAXException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   public static Element getFirstChildElement(Element parent, String name) {
     if (parent == null) {
       return null;
@@ -552,23 +594,98 @@ public final class Xml {
     return NAMESPACE_ATTRIBUTE_PREFIX.equals(name) || name.startsWith(NAMESPACE_ATTRIBUTE_PREFIX + ':');
   }
 
+  /**
+   * Parse an XML file, replacing <code>xi:include</code> elements with the contents of the files they refer to. Every
+   * element in the result remembers its {@linkplain Location} in the file that it was parsed from, so that issues can
+   * be reported against the original file, even when the element came from an included file.
+   * <p>
+   * Parsed files are cached, so that fragments that are shared between several files are parsed only once. A cached
+   * file is parsed again when it changes on disk.
+   * @param xml The XML file to parse
+   * @return The parsed document, with all includes resolved
+   * @throws XmlException When the file, or one of the files it includes, can't be parsed
+   */
   public static Document parseWithIncludes(File xml) throws XmlException {
     try {
-      DocumentBuilderFactory factory = newSecureDocumentBuilderFactory(true);
-      factory.setXIncludeAware(true);
-      factory.setFeature(RadlFileAssembler.XINCLUDE_FIXUP_BASE_URI, false);
-      factory.setFeature(RadlFileAssembler.XINCLUDE_FIXUP_LANGUAGE, false);
-      DocumentBuilder builder = factory.newDocumentBuilder();
-      builder.setErrorHandler(new DefaultErrorHandler());
-      if (!builder.isXIncludeAware()) {
-        throw new RuntimeException("The document builder does not support XInclude: " + builder);
-      }
-      return builder.parse(xml);
-    } catch (Exception e) {
+      return parseWithIncludes(xml.getCanonicalFile(), new ArrayDeque<File>());
+    } catch (IOException | SAXException e) {
       throw new XmlException(e);
     }
   }
 
+  private static Document parseWithIncludes(File xml, Deque<File> including)
+      throws IOException, SAXException, XmlException {
+    if (including.contains(xml)) {
+      throw new XmlException(new IllegalArgumentException("Recursive include of " + xml.getPath()));
+    }
+    including.push(xml);
+    try {
+      Document result = FragmentCache.copy(FRAGMENT_CACHE.get(xml));
+      for (Element include : getIncludes(result)) {
+        include(include, xml, including);
+      }
+      return result;
+    } finally {
+      including.pop();
+    }
+  }
+
+  private static Document parseWithLocations(File xml) throws IOException, SAXException {
+    SAXParser parser = SAX_PARSER.get();
+    try {
+      LocatingDomBuilder builder = new LocatingDomBuilder(newDocument(false));
+      XMLReader reader = parser.getXMLReader();
+      reader.setProperty(LEXICAL_HANDLER, builder);
+      reader.setContentHandler(builder);
+      reader.setErrorHandler(builder);
+      reader.parse(new InputSource(xml.toURI().toString()));
+      return builder.getDocument();
+    } finally {
+      parser.reset();
+    }
+  }
+
+  private static Collection<Element> getIncludes(Document document) {
+    Collection<Element> result = new ArrayList<>();
+    NodeList includes = document.getElementsByTagNameNS(XINCLUDE_NAMESPACE, "include");
+    for (int i = 0; i < includes.getLength(); i++) {
+      result.add((Element)includes.item(i));
+    }
+    return result;
+  }
+
+  private static void include(Element include, File base, Deque<File> including)
+      throws IOException, SAXException, XmlException {
+    Document document = include.getOwnerDocument();
+    try {
+      String href = include.getAttributeNS(null, "href");
+      if (href.isEmpty() || include.hasAttributeNS(null, "xpointer")) {
+        throw new XmlException(new IllegalArgumentException("Unsupported include in " + base.getPath()
+            + ": only including complete files using href is supported"));
+      }
+      File included = new File(base.toURI().resolve(href)).getCanonicalFile();
+      Node content;
+      if ("text".equals(include.getAttributeNS(null, "parse"))) {
+        String encoding = include.getAttributeNS(null, "encoding");
+        content = document.createTextNode(new String(Files.readAllBytes(included.toPath()),
+            encoding.isEmpty() ? "UTF-8" : encoding));
+      } else {
+        content = document.importNode(parseWithIncludes(included, including).getDocumentElement(), true);
+      }
+      include.getParentNode().replaceChild(content, include);
+    } catch (IOException | SAXException | XmlException | IllegalArgumentException e) {
+      Element fallback = getFirstChildElement(include, "fallback");
+      if (fallback == null || !XINCLUDE_NAMESPACE.equals(fallback.getNamespaceURI())) {
+        throw e;
+      }
+      Node parent = include.getParentNode();
+      while (fallback.getFirstChild() != null) {
+        parent.insertBefore(fallback.getFirstChild(), include);
+      }
+      parent.removeChild(include);
+    }
+  }
+
   public static void identityTransform(Document source, File destination) throws XmlException {
     try (FileWriter writer = new FileWriter(destination, false)) {
       Transformer transformer = getTransformer();
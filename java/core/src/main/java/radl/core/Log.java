@@ -7,22 +7,32 @@ import java.io.PrintStream;
 
 
 /**
- * Extremely simple logging.
+ * Extremely simple logging. Logging is (de)activated per thread, and threads inherit the setting of the thread that
+ * started them, so that builds that run several tools in parallel don't silence each other.
  */
 public final class Log {
 
-  private static boolean active = true;
+  private static final ThreadLocal<Boolean> ACTIVE = new InheritableThreadLocal<Boolean>() {
+    @Override
+    protected Boolean initialValue() {
+      return Boolean.TRUE;
+    }
+  };
 
   private Log() {
     // Utility class
   }
 
   public static void activate() {
-    active = true;
+    ACTIVE.set(Boolean.TRUE);
   }
 
   public static void deactivate() {
-    active = false;
+    ACTIVE.set(Boolean.FALSE);
+  }
+
+  public static boolean isActive() {
+    return ACTIVE.get();
   }
 
   public static void info(Object message) {
@@ -30,7 +40,7 @@ public final class Log {
   }
 
   private static void log(PrintStream out, Object message) {
-    if (active) {
+    if (isActive()) {
       out.println(message); // NOPMD SystemPrintln
     }
   }
@@ -0,0 +1,138 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+
+/**
+ * Registry of pluggable components, like issue reporters, validators, code generators, and source code management
+ * systems. Plugins are discovered through {@linkplain ServiceLoader} the first time they're asked for, after which the
+ * plugin classes are remembered per class loader, so that long-running processes like build daemons and IDEs don't
+ * scan the class path over and over again. Plugins can also be registered programmatically.
+ * <p>
+ * Every lookup returns new plugin instances, so that stateful plugins aren't shared.
+ */
+public final class PluginRegistry {
+
+  private static final Map<ClassLoader, Map<Class<?>, List<String>>> DISCOVERED = new WeakHashMap<>();
+  private static final Map<Class<?>, List<Class<?>>> REGISTERED = new HashMap<>();
+
+  private PluginRegistry() {
+    // Utility class
+  }
+
+  /**
+   * Register a plugin in addition to the ones that are discovered.
+   * @param service The type of plugin
+   * @param provider The implementation of the plugin. Must have a public no-argument constructor
+   */
+  public static synchronized <T> void register(Class<T> service, Class<? extends T> provider) {
+    List<Class<?>> providers = REGISTERED.get(service);
+    if (providers == null) {
+      providers = new ArrayList<>();
+      REGISTERED.put(service, providers);
+    }
+    if (!providers.contains(provider)) {
+      providers.add(provider);
+    }
+  }
+
+  /**
+   * Remove a plugin that was previously {@linkplain #register(Class, Class) registered}.
+   * @param service The type of plugin
+   * @param provider The implementation of the plugin
+   */
+  public static synchronized <T> void unregister(Class<T> service, Class<? extends T> provider) {
+    List<Class<?>> providers = REGISTERED.get(service);
+    if (providers != null) {
+      providers.remove(provider);
+    }
+  }
+
+  /**
+   * @param service The type of plugin
+   * @return New instances of all plugins of the given type that are visible from the context class loader, in the
+   * order in which they were discovered, followed by the registered ones
+   */
+  public static <T> List<T> newInstances(Class<T> service) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return newInstances(service, classLoader == null ? service.getClassLoader() : classLoader);
+  }
+
+  /**
+   * @param service The type of plugin
+   * @param classLoader The class loader to discover plugins with
+   * @return New instances of all plugins of the given type that are visible from the given class loader, in the
+   * order in which they were discovered, followed by the registered ones
+   */
+  public static <T> List<T> newInstances(Class<T> service, ClassLoader classLoader) {
+    List<T> result = new ArrayList<>();
+    for (Class<?> provider : providersOf(service, classLoader)) {
+      try {
+        result.add(service.cast(provider.newInstance()));
+      } catch (InstantiationException | IllegalAccessException e) {
+        throw new IllegalStateException("Can't instantiate " + service.getSimpleName() + " " + provider.getName(), e);
+      }
+    }
+    return result;
+  }
+
+  private static synchronized Iterable<Class<?>> providersOf(Class<?> service, ClassLoader classLoader) {
+    Map<Class<?>, List<String>> discoveredByService = DISCOVERED.get(classLoader);
+    if (discoveredByService == null) {
+      discoveredByService = new HashMap<>();
+      DISCOVERED.put(classLoader, discoveredByService);
+    }
+    List<String> discovered = discoveredByService.get(service);
+    Collection<Class<?>> result = new LinkedHashSet<>();
+    if (discovered == null) {
+      discovered = discover(service, classLoader, result);
+      discoveredByService.put(service, discovered);
+    } else {
+      for (String provider : discovered) {
+        result.add(load(provider, classLoader));
+      }
+    }
+    List<Class<?>> registered = REGISTERED.get(service);
+    if (registered != null) {
+      result.addAll(registered);
+    }
+    return result;
+  }
+
+  /*
+   * Remember the names rather than the classes of the providers, since the classes would keep their class loader,
+   * which is the key into the weak map, from being garbage collected.
+   */
+  private static List<String> discover(Class<?> service, ClassLoader classLoader, Collection<Class<?>> providers) {
+    List<String> result = new ArrayList<>();
+    Iterator<?> services = ServiceLoader.load(service, classLoader).iterator();
+    while (services.hasNext()) {
+      Class<?> provider = services.next().getClass();
+      if (providers.add(provider)) {
+        result.add(provider.getName());
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static Class<?> load(String className, ClassLoader classLoader) {
+    try {
+      return Class.forName(className, true, classLoader);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
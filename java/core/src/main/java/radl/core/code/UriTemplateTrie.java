@@ -0,0 +1,271 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.code;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * URI templates organized by their segments, so that templates that conflict with a given template can be found
+ * without comparing it against every other template. A segment is either fixed text or a variable, like
+ * <code>{id}</code>. Since any variable matches the same URIs as any other, the trie doesn't distinguish between
+ * variables with different names.
+ * @param <V> The type of value that is associated with a URI template
+ */
+public class UriTemplateTrie<V> {
+
+  private static final String SEPARATOR = "/";
+  private static final Comparator<Entry<?>> BY_INSERTION_ORDER = new Comparator<Entry<?>>() {
+    @Override
+    public int compare(Entry<?> entry1, Entry<?> entry2) {
+      return Long.compare(entry1.order, entry2.order);
+    }
+  };
+
+  private final Node<V> root = new Node<>();
+  private long numInsertions;
+
+  public static String[] segments(String uriTemplate) {
+    return uriTemplate.split(SEPARATOR);
+  }
+
+  public static boolean isVariable(String segment) {
+    return segment.startsWith("{") && segment.endsWith("}");
+  }
+
+  /**
+   * Add a URI template, unless it's already in the trie. Finds the conflicts with the templates already in the trie
+   * while doing so.
+   * @param uriTemplate The URI template to add
+   * @param value The value to associate with the URI template
+   * @return The conflicts with the URI templates already in the trie
+   */
+  public Insertion<V> add(String uriTemplate, V value) {
+    String[] segments = segments(uriTemplate);
+    Collection<String> variables = new HashSet<>();
+    String duplicateVariable = null;
+    List<Overlap<V>> overlaps = new ArrayList<>();
+    Node<V> node = root;
+    for (int i = 0; i < segments.length; i++) {
+      String segment = segments[i];
+      if (isVariable(segment)) {
+        String variable = segment.substring(1, segment.length() - 1);
+        if (!variables.add(variable) && duplicateVariable == null) {
+          duplicateVariable = variable;
+        }
+        for (Map.Entry<String, Node<V>> child : node.fixed.entrySet()) {
+          for (Entry<V> entry : child.getValue().entries()) {
+            overlaps.add(new Overlap<>(entry, child.getKey(), segment));
+          }
+        }
+        if (node.variable == null) {
+          node.variable = new Node<>();
+        }
+        node = node.variable;
+      } else {
+        if (node.variable != null) {
+          for (Entry<V> entry : node.variable.entries()) {
+            overlaps.add(new Overlap<>(entry, segment, entry.segments[i]));
+          }
+        }
+        Node<V> child = node.fixed.get(segment);
+        if (child == null) {
+          child = new Node<>();
+          node.fixed.put(segment, child);
+        }
+        node = child;
+      }
+    }
+    Entry<V> existing = node.templates.get(uriTemplate);
+    if (existing == null) {
+      node.templates.put(uriTemplate, new Entry<>(uriTemplate, segments, value, numInsertions++));
+    }
+    Collections.sort(overlaps, new Comparator<Overlap<V>>() {
+      @Override
+      public int compare(Overlap<V> overlap1, Overlap<V> overlap2) {
+        return BY_INSERTION_ORDER.compare(overlap1.entry, overlap2.entry);
+      }
+    });
+    return new Insertion<>(existing == null ? null : existing.value, duplicateVariable, overlaps);
+  }
+
+  /**
+   * @param uriTemplate The URI template to remove
+   * @return The value that was associated with the URI template, or <code>null</code> if the trie didn't contain it
+   */
+  public V remove(String uriTemplate) {
+    Node<V> node = root;
+    for (String segment : segments(uriTemplate)) {
+      node = isVariable(segment) ? node.variable : node.fixed.get(segment);
+      if (node == null) {
+        return null;
+      }
+    }
+    Entry<V> removed = node.templates.remove(uriTemplate);
+    return removed == null ? null : removed.value;
+  }
+
+  /**
+   * @param uriTemplate A URI template
+   * @return The values of the URI templates that have the same number of segments as the given template and that
+   * match some of the same URIs, in the order in which the templates were added
+   */
+  public List<V> matchingSameUris(String uriTemplate) {
+    List<Entry<V>> entries = new ArrayList<>();
+    addMatchingSameUris(root, segments(uriTemplate), 0, entries);
+    Collections.sort(entries, BY_INSERTION_ORDER);
+    List<V> result = new ArrayList<>();
+    for (Entry<V> entry : entries) {
+      result.add(entry.value);
+    }
+    return result;
+  }
+
+  private void addMatchingSameUris(Node<V> node, String[] segments, int index, Collection<Entry<V>> entries) {
+    if (index == segments.length) {
+      entries.addAll(node.templates.values());
+      return;
+    }
+    String segment = segments[index];
+    if (isVariable(segment)) {
+      for (Node<V> child : node.fixed.values()) {
+        addMatchingSameUris(child, segments, index + 1, entries);
+      }
+    } else {
+      Node<V> child = node.fixed.get(segment);
+      if (child != null) {
+        addMatchingSameUris(child, segments, index + 1, entries);
+      }
+    }
+    if (node.variable != null) {
+      addMatchingSameUris(node.variable, segments, index + 1, entries);
+    }
+  }
+
+
+  /**
+   * The conflicts that were found while adding a URI template.
+   * @param <V> The type of value that is associated with a URI template
+   */
+  public static class Insertion<V> {
+
+    private final V duplicate;
+    private final String duplicateVariable;
+    private final List<Overlap<V>> overlaps;
+
+    Insertion(V duplicate, String duplicateVariable, List<Overlap<V>> overlaps) {
+      this.duplicate = duplicate;
+      this.duplicateVariable = duplicateVariable;
+      this.overlaps = overlaps;
+    }
+
+    /**
+     * @return The value associated with the exact same URI template that was already in the trie, if any
+     */
+    public V getDuplicate() {
+      return duplicate;
+    }
+
+    /**
+     * @return The name of the first variable that occurs more than once in the added URI template, if any
+     */
+    public String getDuplicateVariable() {
+      return duplicateVariable;
+    }
+
+    /**
+     * @return The URI templates that are the same as the added template up to a segment where one has fixed text and
+     * the other a variable, in the order in which they were added
+     */
+    public List<Overlap<V>> getOverlaps() {
+      return overlaps;
+    }
+
+  }
+
+
+  /**
+   * A URI template that has fixed text where another has a variable, after an identical start.
+   * @param <V> The type of value that is associated with a URI template
+   */
+  public static class Overlap<V> {
+
+    private final Entry<V> entry;
+    private final String fixedSegment;
+    private final String variableSegment;
+
+    Overlap(Entry<V> entry, String fixedSegment, String variableSegment) {
+      this.entry = entry;
+      this.fixedSegment = fixedSegment;
+      this.variableSegment = variableSegment;
+    }
+
+    public String getUriTemplate() {
+      return entry.uriTemplate;
+    }
+
+    public V getValue() {
+      return entry.value;
+    }
+
+    public String getFixedSegment() {
+      return fixedSegment;
+    }
+
+    public String getVariableSegment() {
+      return variableSegment;
+    }
+
+  }
+
+
+  private static final class Node<V> {
+
+    private final Map<String, Node<V>> fixed = new LinkedHashMap<>();
+    private final Map<String, Entry<V>> templates = new LinkedHashMap<>();
+    private Node<V> variable;
+
+    Collection<Entry<V>> entries() {
+      Collection<Entry<V>> result = new ArrayList<>();
+      addEntries(result);
+      return result;
+    }
+
+    private void addEntries(Collection<Entry<V>> result) {
+      result.addAll(templates.values());
+      for (Node<V> child : fixed.values()) {
+        child.addEntries(result);
+      }
+      if (variable != null) {
+        variable.addEntries(result);
+      }
+    }
+
+  }
+
+
+  private static final class Entry<V> {
+
+    private final String uriTemplate;
+    private final String[] segments;
+    private final V value;
+    private final long order;
+
+    Entry(String uriTemplate, String[] segments, V value, long order) {
+      this.uriTemplate = uriTemplate;
+      this.segments = segments;
+      this.value = value;
+      this.order = order;
+    }
+
+  }
+
+}
@@ -49,6 +49,10 @@ public class Constants {
     return itemsByValue.values();
   }
 
+  public int size() {
+    return itemsByValue.size();
+  }
+
   public Constants filter(String baseName, boolean include) {
     Constants result = new Constants(prefix, description);
     String name = constantName(baseName);
@@ -12,4 +12,6 @@ public interface Property {
 
   boolean repeats();
 
+  boolean required();
+
 }
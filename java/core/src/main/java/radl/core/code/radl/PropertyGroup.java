@@ -69,4 +69,9 @@ public class PropertyGroup extends PropertyGroups implements Property {
     return Boolean.parseBoolean(attr("repeats"));
   }
 
+  @Override
+  public boolean required() {
+    return Boolean.parseBoolean(attr("required"));
+  }
+
 }
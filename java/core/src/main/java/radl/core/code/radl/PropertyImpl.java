@@ -35,4 +35,9 @@ public class PropertyImpl extends XmlCode implements Property {
     return Boolean.parseBoolean(attr("repeats"));
   }
 
+  @Override
+  public boolean required() {
+    return Boolean.parseBoolean(attr("required"));
+  }
+
 }
@@ -31,6 +31,7 @@ public class RadlCode extends XmlCode {
   private static final String TRANSITION_PATH = "//radl:states/radl:*/radl:transitions/radl:transition";
   private static final String LINK_RELATIONS_PATH = "//radl:link-relations/radl:link-relation";
   private static final String ERRORS_PATH = "//radl:errors/radl:error";
+  private static final String CACHE_MAX_AGE = "cache-max-age";
   
   private Iterable<String> states;
   private Iterable<String> resources;
@@ -149,6 +150,33 @@ public class RadlCode extends XmlCode {
     return found.hasNext() ? found.next() : "";
   }
 
+  /**
+   * @return The number of seconds that clients may cache the response of the given method, or <code>-1</code> if
+   * the response may not be cached. A <code>cache-max-age</code> on the method takes precedence over one on its
+   * resource, which in turn takes precedence over the ones on the states that the method transitions to
+   */
+  public int methodCacheMaxAge(String resource, String method) {
+    String result = optional(elementsAttribute(CACHE_MAX_AGE, "//radl:resource[@name='%s']//radl:method[@name='%s']",
+        resource, method));
+    if (result.isEmpty()) {
+      result = optional(elementsAttribute(CACHE_MAX_AGE, "//radl:resource[@name='%s']", resource));
+    }
+    if (!result.isEmpty()) {
+      return Integer.parseInt(result);
+    }
+    int maxAge = -1;
+    for (String transition : methodTransitions(resource, method)) {
+      for (String state : transitionEnds(transition)) {
+        String stateMaxAge = optional(elementsAttribute(CACHE_MAX_AGE, statePath(state)));
+        if (!stateMaxAge.isEmpty()) {
+          int value = Integer.parseInt(stateMaxAge);
+          maxAge = maxAge < 0 ? value : Math.min(maxAge, value);
+        }
+      }
+    }
+    return maxAge;
+  }
+
   public Iterable<String> methodRequestRepresentations(String resource, String method) {
     return methodRepresentations(resource, method, "request");
   }
@@ -9,6 +9,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -20,7 +21,7 @@ import org.w3c.dom.Document;
 
 import net.sf.saxon.TransformerFactoryImpl;
 import radl.common.io.IO;
-import radl.common.xml.Xml;
+import radl.common.xml.XmlException;
 import radl.core.Log;
 import radl.core.cli.Application;
 import radl.core.cli.Arguments;
@@ -37,6 +38,8 @@ public final class DocumentationGenerator implements Application {
   private static final String CLIENT_DOCUMENTATION_FILE = "index.html";
   public static final String HIDE_LOCATION = "hide-location";
 
+  private static Templates clientDocumentationTemplates;
+
   public static void main(String[] args) {
     Cli.run(DocumentationGenerator.class, args);
   }
@@ -119,18 +122,18 @@ public final class DocumentationGenerator implements Application {
 
   private void generateClientDocumentation(File radlFile, File docDir, File configuration, String cssSource, boolean hideLocation) {
     File serviceDir = getServiceDir(radlFile, docDir);
-    File assembledRadl = RadlFileAssembler.assemble(radlFile, docDir);
+    Document radlDocument;
     try {
-      Document radlDocument = Xml.parse(assembledRadl);
-      new StateDiagramGenerator().generateFrom(radlDocument, serviceDir, configuration);
-      File localCssFile = normalizeCSSFile(docDir, cssSource);
-      try {
-        generateClientDocumentation(radlDocument, getIndexFile(serviceDir), localCssFile.toURI().toString(), hideLocation);
-      } finally {
-        IO.delete(localCssFile);
-      }
+      radlDocument = RadlFileAssembler.assemble(radlFile);
+    } catch (XmlException e) {
+      throw new IllegalArgumentException("Failed to assemble " + radlFile.getPath(), e);
+    }
+    new StateDiagramGenerator().generateFrom(radlDocument, serviceDir, configuration);
+    File localCssFile = normalizeCSSFile(docDir, cssSource);
+    try {
+      generateClientDocumentation(radlDocument, getIndexFile(serviceDir), localCssFile.toURI().toString(), hideLocation);
     } finally {
-      IO.delete(assembledRadl);
+      IO.delete(localCssFile);
     }
   }
 
@@ -145,16 +148,28 @@ public final class DocumentationGenerator implements Application {
   }
 
   private void generateClientDocumentation(Document radl, File destination, String cssFile, boolean hideLocation) {
-    try (InputStream stylesheet = getClass().getResourceAsStream(CLIENT_DOCUMENTATION_STYLESHEET)) {
-      if (stylesheet == null) {
-        throw new IllegalStateException("Missing stylesheet: " + CLIENT_DOCUMENTATION_STYLESHEET);
-      }
-      generateClientDocumentation(radl, stylesheet, cssFile, hideLocation, destination);
+    try {
+      generateClientDocumentation(radl, getClientDocumentationTemplates(), cssFile, hideLocation, destination);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Compiling the stylesheet is expensive, so we do it once per class loader. Compiled templates are thread safe.
+   */
+  private static synchronized Templates getClientDocumentationTemplates() throws Exception {
+    if (clientDocumentationTemplates == null) {
+      try (InputStream stylesheet = DocumentationGenerator.class.getResourceAsStream(CLIENT_DOCUMENTATION_STYLESHEET)) {
+        if (stylesheet == null) {
+          throw new IllegalStateException("Missing stylesheet: " + CLIENT_DOCUMENTATION_STYLESHEET);
+        }
+        clientDocumentationTemplates = newTransformerFactory().newTemplates(new StreamSource(stylesheet));
+      }
+    }
+    return clientDocumentationTemplates;
+  }
+
   private File normalizeCSSFile(File docDir, String cssSource) {
     if (StringUtils.isNotBlank(cssSource)) {
       Log.info("Provided CSS URL is: " + cssSource);
@@ -172,9 +187,9 @@ public final class DocumentationGenerator implements Application {
     }
   }
 
-  private void generateClientDocumentation(Document radl, InputStream stylesheet, String cssFile, boolean hideLocation, File destination)
-      throws Exception {
-    Transformer transformer = newTransformerFactory().newTransformer(new StreamSource(stylesheet));
+  private void generateClientDocumentation(Document radl, Templates templates, String cssFile, boolean hideLocation,
+      File destination) throws Exception {
+    Transformer transformer = templates.newTransformer();
     transformer.setParameter("dir", destination);
     transformer.setParameter("css-file", cssFile);
     transformer.setParameter(HIDE_LOCATION, hideLocation);
@@ -183,7 +198,7 @@ public final class DocumentationGenerator implements Application {
     }
   }
 
-  private TransformerFactory newTransformerFactory() {
+  private static TransformerFactory newTransformerFactory() {
     return new TransformerFactoryImpl();
   }
 
@@ -33,11 +33,16 @@ public class Enforcer<I, T> {
     Collection<I> toUpdate = new ArrayList<>();
     Collection<I> toAdd = new ArrayList<>();
     collectUpdates(desired, reality, toRemove, toUpdate, toAdd);
+    if (!removeUnlisted) {
+      toRemove.clear();
+    }
+    reality.prepare(toRemove, toUpdate, toAdd);
     if (removeUnlisted) {
       remove(toRemove, reality);
     }
     update(toUpdate, desired, reality);
     add(toAdd, desired, reality);
+    reality.finish();
   }
 
   private void collectUpdates(Desired<I, T> desired, Reality<I, T> reality,
@@ -3,6 +3,8 @@
  */
 package radl.core.enforce;
 
+import java.util.Collection;
+
 
 /**
  * The real situation. A situation is identified by a number of objects of type <code>T</code> that are each
@@ -10,6 +12,15 @@ package radl.core.enforce;
  */
 public interface Reality<I, T> extends Desired<I, T> {
 
+  /**
+   * Get ready for a number of changes, before any of them are made. This allows implementations to do expensive
+   * preparations for all changes at once rather than for each change separately.
+   * @param toRemove The IDs of the objects that will be removed
+   * @param toUpdate The IDs of the objects that will be updated
+   * @param toAdd The IDs of the objects that will be added
+   */
+  void prepare(Collection<I> toRemove, Collection<I> toUpdate, Collection<I> toAdd);
+
   /**
    * Add a desired object to reality.
    * @param id The ID of the desired object
@@ -31,4 +42,9 @@ public interface Reality<I, T> extends Desired<I, T> {
    */
   void update(I id, T oldObject, T newObject);
 
+  /**
+   * Wrap up after all changes are made.
+   */
+  void finish();
+
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.extraction;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.Set;
+
+import radl.core.extraction.ResourceModelContributions.Change;
+
+
+/**
+ * {@linkplain ResourceModel} that records the changes made to another resource model as
+ * {@linkplain ResourceModelContributions}.
+ * <p>
+ * A recording model without another model is a <em>partial</em> model: it only records changes. Partial models can
+ * be built independently, e.g. one per thread, and then be {@linkplain #mergeInto(ResourceModel) merged} into a
+ * complete model. Since merging appends contributions, it's associative: merging partial models one by one gives the
+ * same result as merging their combined contributions. Changes made to a partial model before any contribution is
+ * started are recorded in an implicit contribution, so that they aren't lost. Like changes made to a complete model
+ * outside of any contribution, they are applied to the model that they're merged into, but not recorded there.
+ */
+public class RecordingResourceModel implements ResourceModel, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final ResourceModel delegate;
+  private final ResourceModelContributions contributions = new ResourceModelContributions();
+  private boolean completed;
+
+  /**
+   * Create a partial resource model.
+   */
+  public RecordingResourceModel() {
+    this(null);
+  }
+
+  public RecordingResourceModel(ResourceModel delegate) {
+    this.delegate = delegate;
+  }
+
+  public ResourceModel getDelegate() {
+    return delegate;
+  }
+
+  public ResourceModelContributions getContributions() {
+    return contributions;
+  }
+
+  public boolean isPartial() {
+    return delegate == null;
+  }
+
+  /**
+   * Make the recorded changes to another model.
+   * @param resourceModel The model to change. May itself be a partial model
+   */
+  public void mergeInto(ResourceModel resourceModel) {
+    ResourceModel target = resourceModel;
+    if (target instanceof RecordingResourceModel) {
+      RecordingResourceModel recordingModel = (RecordingResourceModel)target;
+      recordingModel.contributions.addAll(contributions, recordingModel.isPartial());
+      target = recordingModel.delegate;
+    }
+    if (target != null) {
+      contributions.replayInto(target);
+    }
+  }
+
+  private void apply(Change change) {
+    if (delegate == null) {
+      contributions.startImplicitly();
+    }
+    contributions.record(change);
+    if (delegate != null) {
+      change.applyTo(delegate);
+    }
+  }
+
+  private ResourceModel getQueryableDelegate() {
+    if (delegate == null) {
+      throw new IllegalStateException("A partial resource model must be merged into a complete one before use");
+    }
+    return delegate;
+  }
+
+  /**
+   * Configure the model. A partial model ignores the configuration, since that is applied by the model it's merged
+   * into.
+   */
+  @Override
+  public void configure(Properties configuration) {
+    if (delegate != null) {
+      delegate.configure(configuration);
+    }
+  }
+
+  @Override
+  public void addResource(String resourceName, String documentation) {
+    apply(new AddResource(resourceName, documentation));
+  }
+
+  @Override
+  public void addParentResource(String childResource, String parentResource) {
+    apply(new AddParentResource(childResource, parentResource));
+  }
+
+  @Override
+  public void addLocations(String resourceName, Collection<String> locations) {
+    apply(new AddLocations(resourceName, new ArrayList<>(locations)));
+  }
+
+  @Override
+  public void setLocations(String resourceName, Collection<String> locations) {
+    apply(new SetLocations(resourceName, new ArrayList<>(locations)));
+  }
+
+  @Override
+  public void addLocationVar(String resourceName, String varName, String documentation) {
+    apply(new AddLocationVar(resourceName, varName, documentation));
+  }
+
+  @Override
+  public Iterable<String> getLocationVars(String resourceName) {
+    return getQueryableDelegate().getLocationVars(resourceName);
+  }
+
+  @Override
+  public String getLocationVarDocumentation(String resourceName, String varName) {
+    return getQueryableDelegate().getLocationVarDocumentation(resourceName, varName);
+  }
+
+  @Override
+  public void addMethod(String resourceName, String methodName, String consumes, String produces,
+      String documentation) {
+    apply(new AddMethod(resourceName, methodName, consumes, produces, documentation));
+  }
+
+  @Override
+  public Iterable<String> mediaTypes() {
+    return getQueryableDelegate().mediaTypes();
+  }
+
+  @Override
+  public Set<String> resourcesWithMethods() {
+    return getQueryableDelegate().resourcesWithMethods();
+  }
+
+  @Override
+  public String getFriendlyName(String resourceName) {
+    return getQueryableDelegate().getFriendlyName(resourceName);
+  }
+
+  @Override
+  public String getUri(String resourceName) {
+    return getQueryableDelegate().getUri(resourceName);
+  }
+
+  @Override
+  public Collection<Method> methodsOf(String resourceName) {
+    return getQueryableDelegate().methodsOf(resourceName);
+  }
+
+  @Override
+  public void build() {
+    getQueryableDelegate().build();
+  }
+
+  @Override
+  public String getDocumentation(String resourceName) {
+    return getQueryableDelegate().getDocumentation(resourceName);
+  }
+
+  @Override
+  public void markComplete() {
+    if (delegate == null) {
+      completed = true;
+    } else {
+      delegate.markComplete();
+    }
+  }
+
+  @Override
+  public boolean isCompleted() {
+    return delegate == null ? completed : delegate.isCompleted();
+  }
+
+
+  private static final class AddResource implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final String documentation;
+
+    AddResource(String resourceName, String documentation) {
+      this.resourceName = resourceName;
+      this.documentation = documentation;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.addResource(resourceName, documentation);
+    }
+
+  }
+
+
+  private static final class AddParentResource implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String childResource;
+    private final String parentResource;
+
+    AddParentResource(String childResource, String parentResource) {
+      this.childResource = childResource;
+      this.parentResource = parentResource;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.addParentResource(childResource, parentResource);
+    }
+
+  }
+
+
+  private static final class AddLocations implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final Collection<String> locations;
+
+    AddLocations(String resourceName, Collection<String> locations) {
+      this.resourceName = resourceName;
+      this.locations = locations;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.addLocations(resourceName, locations);
+    }
+
+  }
+
+
+  private static final class SetLocations implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final Collection<String> locations;
+
+    SetLocations(String resourceName, Collection<String> locations) {
+      this.resourceName = resourceName;
+      this.locations = locations;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.setLocations(resourceName, locations);
+    }
+
+  }
+
+
+  private static final class AddLocationVar implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final String varName;
+    private final String documentation;
+
+    AddLocationVar(String resourceName, String varName, String documentation) {
+      this.resourceName = resourceName;
+      this.varName = varName;
+      this.documentation = documentation;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.addLocationVar(resourceName, varName, documentation);
+    }
+
+  }
+
+
+  private static final class AddMethod implements Change {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resourceName;
+    private final String methodName;
+    private final String consumes;
+    private final String produces;
+    private final String documentation;
+
+    AddMethod(String resourceName, String methodName, String consumes, String produces, String documentation) {
+      this.resourceName = resourceName;
+      this.methodName = methodName;
+      this.consumes = consumes;
+      this.produces = produces;
+      this.documentation = documentation;
+    }
+
+    @Override
+    public void applyTo(ResourceModel resourceModel) {
+      resourceModel.addMethod(resourceName, methodName, consumes, produces, documentation);
+    }
+
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.extraction;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+
+/**
+ * The changes that source types made to a {@linkplain ResourceModel}. Each contribution is made by the type that
+ * declares the annotations, but may involve other types, like the concrete sub classes of the declaring type. A
+ * contribution must be made again when any of the types involved in it changes. Contributions can be replayed into a
+ * new resource model, so that only changed types need to be processed again.
+ */
+public class ResourceModelContributions implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<Contribution> contributions = new ArrayList<>();
+  private Contribution current;
+
+  /**
+   * Start a new contribution. Subsequent changes are recorded as part of it.
+   * @param declaringType The type that declares the annotations being processed
+   * @param involvedTypes Other types that the contribution depends on
+   */
+  public void start(String declaringType, String... involvedTypes) {
+    current = new Contribution(declaringType);
+    for (String type : involvedTypes) {
+      current.types.add(type);
+    }
+    contributions.add(current);
+  }
+
+  /**
+   * Add a type to the current contribution.
+   * @param type The type that the current contribution depends on
+   */
+  public void involve(String type) {
+    if (current != null) {
+      current.types.add(type);
+    }
+  }
+
+  /**
+   * Start a contribution that isn't made by any particular type, unless a contribution was already started. Implicit
+   * contributions are never forgotten, but are also not {@linkplain #addAll(ResourceModelContributions, boolean)
+   * added} to contributions that are kept between extractions.
+   */
+  void startImplicitly() {
+    if (current == null) {
+      current = new Contribution(null);
+      contributions.add(current);
+    }
+  }
+
+  void record(Change change) {
+    if (current != null) {
+      current.changes.add(change);
+    }
+  }
+
+  /**
+   * @return The types that declare annotations that also apply to other types, like abstract base classes
+   */
+  public Collection<String> sharedTypes() {
+    Collection<String> result = new LinkedHashSet<>();
+    for (Contribution contribution : contributions) {
+      if (contribution.types.size() > 1) {
+        result.add(contribution.declaringType);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param types The types to find related types for
+   * @return The given types, plus all types that share a contribution with any of them
+   */
+  public Collection<String> relatedTo(Collection<String> types) {
+    Collection<String> result = new LinkedHashSet<>(types);
+    for (Contribution contribution : contributions) {
+      if (contribution.involvesAny(types)) {
+        result.addAll(contribution.types);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Forget the contributions that involve any of the given types. Since all types involved in a forgotten contribution
+   * must be processed again to make it anew, their contributions are forgotten as well.
+   * @param types The types that will be processed again
+   * @return The given types, plus all types involved in the forgotten contributions
+   */
+  public Collection<String> remove(Collection<String> types) {
+    Collection<String> result = new LinkedHashSet<>(types);
+    boolean removed;
+    do {
+      removed = false;
+      Iterator<Contribution> iterator = contributions.iterator();
+      while (iterator.hasNext()) {
+        Contribution contribution = iterator.next();
+        if (contribution.involvesAny(result)) {
+          iterator.remove();
+          result.addAll(contribution.types);
+          removed = true;
+        }
+      }
+    } while (removed);
+    current = null;
+    return result;
+  }
+
+  /**
+   * Add the contributions of another set, typically one recorded while processing changed types.
+   * @param other The contributions to add
+   */
+  public void addAll(ResourceModelContributions other) {
+    addAll(other, true);
+  }
+
+  void addAll(ResourceModelContributions other, boolean includeImplicit) {
+    for (Contribution contribution : other.contributions) {
+      if (includeImplicit || !contribution.isImplicit()) {
+        contributions.add(contribution);
+      }
+    }
+  }
+
+  /**
+   * Make all recorded changes again, in the order in which they were recorded.
+   * @param resourceModel The model to change
+   */
+  public void replayInto(ResourceModel resourceModel) {
+    for (Contribution contribution : contributions) {
+      for (Change change : contribution.changes) {
+        change.applyTo(resourceModel);
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return contributions.isEmpty();
+  }
+
+
+  private static final class Contribution implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String declaringType;
+    private final Collection<String> types = new LinkedHashSet<>();
+    private final List<Change> changes = new ArrayList<>();
+
+    Contribution(String declaringType) {
+      this.declaringType = declaringType;
+      if (declaringType != null) {
+        types.add(declaringType);
+      }
+    }
+
+    boolean isImplicit() {
+      return declaringType == null;
+    }
+
+    boolean involvesAny(Collection<String> changedTypes) {
+      for (String type : changedTypes) {
+        if (types.contains(type)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+  }
+
+
+  /**
+   * A change made to a {@linkplain ResourceModel}.
+   */
+  interface Change extends Serializable {
+
+    void applyTo(ResourceModel resourceModel);
+
+  }
+
+}
@@ -24,6 +24,7 @@ import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import radl.core.Log;
+import radl.core.code.UriTemplateTrie;
 
 
 /**
@@ -603,16 +604,22 @@ public class ResourceModelImpl implements ResourceModel, Serializable {
 
   private Collection<String> resolveParameterizedLocations(Iterator<String> locations) {
     Collection<String> result = new LinkedHashSet<>();
-    result.add(locations.next());
+    // Only templates that match some of the same URIs can be anything but different, so only compare with those
+    UriTemplateTrie<String> index = new UriTemplateTrie<>();
+    String first = locations.next();
+    result.add(first);
+    index.add(first, first);
     while (locations.hasNext()) {
       String current = locations.next();
       UriTemplateAction action = new AddAction(current);
-      for (String existing : result) {
+      String replaced = null;
+      for (String existing : index.matchingSameUris(current)) {
         switch (compareUriTemplates(current, existing)) {
           case DIFFERENT:
             break;
           case SPECIALIZATION:
             action = new ReplaceAction(existing, current);
+            replaced = existing;
             break;
           default:
             action = new IgnoreAction();
@@ -623,13 +630,19 @@ public class ResourceModelImpl implements ResourceModel, Serializable {
         }
       }
       action.execute(result);
+      if (!action.isFinal()) {
+        if (replaced != null) {
+          index.remove(replaced);
+        }
+        index.add(current, current);
+      }
     }
     return result;
   }
 
   private UriTemplateComparison compareUriTemplates(String uriTemplate1, String uriTemplate2) {
-    String[] parts1 = uriTemplate1.split("/");
-    String[] parts2 = uriTemplate2.split("/");
+    String[] parts1 = UriTemplateTrie.segments(uriTemplate1);
+    String[] parts2 = UriTemplateTrie.segments(uriTemplate2);
     if (parts1.length != parts2.length) {
       return UriTemplateComparison.DIFFERENT;
     }
@@ -652,7 +665,7 @@ public class ResourceModelImpl implements ResourceModel, Serializable {
   }
 
   private boolean isTemplateVariable(String uriPart) {
-    return uriPart.startsWith("{") && uriPart.endsWith("}");
+    return UriTemplateTrie.isVariable(uriPart);
   }
 
   private void mergeChildResourcesAtTheSameLocation() {
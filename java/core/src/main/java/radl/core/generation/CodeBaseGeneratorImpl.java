@@ -3,13 +3,18 @@
  */
 package radl.core.generation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import radl.core.PluginRegistry;
+
 
 /**
- * Default implementation of {@linkplain CodeBaseGenerator} that defers to a suite of {@linkplain CodeGenerator}s.
+ * Default implementation of {@linkplain CodeBaseGenerator} that defers to a suite of {@linkplain CodeGenerator}s,
+ * followed by the {@linkplain CodeGeneratorPlugin}s that apply to it.
  */
 public class CodeBaseGeneratorImpl implements CodeBaseGenerator {
 
@@ -27,11 +32,21 @@ public class CodeBaseGeneratorImpl implements CodeBaseGenerator {
   public void generate(List<Module> source, List<Module> destination) {
     Map<String, Object> context = newContext();
     context.put(CodeGenerator.OUTPUT_MODULES, destination);
-    for (CodeGenerator generator : generators) {
+    for (CodeGenerator generator : allGenerators()) {
       moduleFor(destination, generator).addAll(generator.generateFrom(source, context));
     }
   }
 
+  private List<CodeGenerator> allGenerators() {
+    List<CodeGenerator> result = new ArrayList<>(Arrays.asList(generators));
+    for (CodeGeneratorPlugin plugin : PluginRegistry.newInstances(CodeGeneratorPlugin.class)) {
+      if (plugin.appliesTo(this)) {
+        result.add(plugin);
+      }
+    }
+    return result;
+  }
+
   protected Map<String, Object> newContext() {
     Map<String, Object> result = new HashMap<>();
     result.put(CodeGenerator.PACKAGE_PREFIX, packagePrefix);
@@ -0,0 +1,20 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.generation;
+
+
+/**
+ * {@linkplain CodeGenerator} that is discovered through {@linkplain radl.core.PluginRegistry} rather than built into
+ * a {@linkplain CodeBaseGenerator}. Plugins run after the built-in generators, so they see the context those left
+ * behind.
+ */
+public interface CodeGeneratorPlugin extends CodeGenerator {
+
+  /**
+   * @param codeBaseGenerator The code base generator that is about to generate code
+   * @return Whether this plugin should contribute to the code base generated by the given generator
+   */
+  boolean appliesTo(CodeBaseGenerator codeBaseGenerator);
+
+}
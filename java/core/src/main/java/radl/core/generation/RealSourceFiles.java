@@ -9,12 +9,15 @@ import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import radl.common.io.IO;
 import radl.core.code.GeneratedSourceFile;
 import radl.core.code.SourceFile;
 import radl.core.enforce.Reality;
+import radl.core.scm.BatchSourceCodeManagementSystem;
 import radl.core.scm.SourceCodeManagementSystem;
 
 
@@ -28,6 +31,9 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
   private final String generatedSourceDir;
   private final String mainSourceSetDir;
   private final String codeDir;
+  private final Collection<File> prepared = new HashSet<>();
+  private final Collection<File> updated = new LinkedHashSet<>();
+  private final Collection<File> deleted = new LinkedHashSet<>();
 
   /**
    * @param baseDir
@@ -48,16 +54,35 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
       String codeDir, SourceCodeManagementSystem scm) {
     this.baseDir = baseDir;
     this.generatedSourceDir = generatedSourceDir + File.separator;
-    this.mainSourceSetDir = manualSourceDir + File.separator;
+    this.mainSourceSetDir = manualSourceDir == null ? null : manualSourceDir + File.separator;
     this.codeDir = codeDir;
     this.scm = scm;
   }
 
+  /**
+   * Describes source files that are all generated, so that there are no manually written source files.
+   * @param baseDir
+   *          The root of the file system where the files are stored
+   * @param generatedSourceDir
+   *          The sub-directory of <code>baseDir</code> where generated files are stored,
+   *          e.g. <code>build/src/java</code>
+   * @param codeDir
+   *          The sub-directory of <code>generatedSourceDir</code> where file are stored,
+   *          e.g. <code>com/mycompany/myapp</code>
+   * @param scm
+   *          The source code management system that manages the files
+   */
+  public RealSourceFiles(File baseDir, String generatedSourceDir, String codeDir, SourceCodeManagementSystem scm) {
+    this(baseDir, generatedSourceDir, null, codeDir, scm);
+  }
+
   @Override
   public Collection<String> getIds() {
     List<String> result = new ArrayList<>();
     addPaths(new File(baseDir, generatedSourceDir + codeDir), result);
-    addPaths(new File(baseDir, mainSourceSetDir + codeDir), result);
+    if (mainSourceSetDir != null) {
+      addPaths(new File(baseDir, mainSourceSetDir + codeDir), result);
+    }
     Collections.sort(result);
     return result;
   }
@@ -82,6 +107,31 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
         : new SourceFile(id);
   }
 
+  /**
+   * Prepare all files at once when the source code management system supports that. Otherwise, each file is prepared
+   * when it's added, updated, or removed.
+   */
+  @Override
+  public void prepare(Collection<String> toRemove, Collection<String> toUpdate, Collection<String> toAdd) {
+    if (!(scm instanceof BatchSourceCodeManagementSystem)) {
+      return;
+    }
+    Collection<File> filesToUpdate = toFiles(toUpdate);
+    filesToUpdate.addAll(toFiles(toAdd));
+    Collection<File> filesToDelete = toFiles(toRemove);
+    ((BatchSourceCodeManagementSystem)scm).prepare(filesToUpdate, filesToDelete);
+    prepared.addAll(filesToUpdate);
+    prepared.addAll(filesToDelete);
+  }
+
+  private Collection<File> toFiles(Collection<String> paths) {
+    Collection<File> result = new ArrayList<>();
+    for (String path : paths) {
+      result.add(toFile(path));
+    }
+    return result;
+  }
+
   @Override
   public void add(String path, SourceFile sourceFile) {
     File file = getUpdatableFile(path);
@@ -90,12 +140,16 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    deleted.remove(file);
+    updated.add(file);
   }
 
   private File getUpdatableFile(String path) {
     File result = toFile(path);
     result.getParentFile().mkdirs();
-    scm.prepareForUpdate(result);
+    if (!prepared.contains(result)) {
+      scm.prepareForUpdate(result);
+    }
     return result;
   }
 
@@ -106,8 +160,12 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
   @Override
   public void remove(String path) {
     File result = toFile(path);
-    scm.prepareForDelete(result);
+    if (!prepared.contains(result)) {
+      scm.prepareForDelete(result);
+    }
     IO.delete(result);
+    updated.remove(result);
+    deleted.add(result);
   }
 
   @Override
@@ -116,4 +174,14 @@ public class RealSourceFiles implements Reality<String, SourceFile> {
     add(path, newSourceFile);
   }
 
+  @Override
+  public void finish() {
+    if (scm instanceof BatchSourceCodeManagementSystem) {
+      ((BatchSourceCodeManagementSystem)scm).finish(new ArrayList<>(updated), new ArrayList<>(deleted));
+    }
+    updated.clear();
+    deleted.clear();
+    prepared.clear();
+  }
+
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.scm;
+
+import java.io.File;
+import java.util.Collection;
+
+
+/**
+ * {@linkplain SourceCodeManagementSystem} that can handle many files at once, which may be much faster than handling
+ * them one by one.
+ */
+public interface BatchSourceCodeManagementSystem extends SourceCodeManagementSystem {
+
+  /**
+   * Do whatever is needed to update and delete a number of files. This is equivalent to calling
+   * {@linkplain #prepareForUpdate(File)} and {@linkplain #prepareForDelete(File)} for each of the files.
+   * @param toUpdate The files that are about to be updated
+   * @param toDelete The files that are about to be deleted
+   */
+  void prepare(Collection<File> toUpdate, Collection<File> toDelete);
+
+  /**
+   * Do whatever is needed after a number of files were updated and deleted.
+   * @param updated The files that were added or updated
+   * @param deleted The files that were deleted
+   */
+  void finish(Collection<File> updated, Collection<File> deleted);
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.scm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Command lines that operate on many arguments at once, so that a command doesn't need to be run for each argument
+ * separately.
+ */
+final class CommandLines {
+
+  /*
+   * Windows limits the length of a command line to 8191 characters, so stay well below that.
+   */
+  static final int MAX_LENGTH = 8000;
+
+  private CommandLines() {
+    // Utility class
+  }
+
+  /**
+   * @param command The command to run for all arguments
+   * @param arguments The arguments to pass to the command
+   * @return As few command lines as possible that together pass all the arguments to the command, without exceeding
+   * the maximum command line length
+   */
+  static List<String> of(String command, Collection<String> arguments) {
+    List<String> result = new ArrayList<>();
+    StringBuilder commandLine = new StringBuilder(command);
+    for (String argument : arguments) {
+      if (commandLine.length() > command.length() && commandLine.length() + argument.length() >= MAX_LENGTH) {
+        result.add(commandLine.toString());
+        commandLine.setLength(command.length());
+      }
+      commandLine.append(' ').append(argument);
+    }
+    if (commandLine.length() > command.length()) {
+      result.add(commandLine.toString());
+    }
+    return result;
+  }
+
+  /**
+   * @param command The program and leading arguments to run for all arguments
+   * @param arguments The arguments to pass to the command
+   * @return As few argument lists as possible that together pass all the arguments to the command, without exceeding
+   * the maximum command line length
+   */
+  static List<List<String>> of(List<String> command, Collection<String> arguments) {
+    List<List<String>> result = new ArrayList<>();
+    int commandLength = lengthOf(command);
+    List<String> commandLine = new ArrayList<>(command);
+    int length = commandLength;
+    for (String argument : arguments) {
+      if (commandLine.size() > command.size() && length + argument.length() >= MAX_LENGTH) {
+        result.add(commandLine);
+        commandLine = new ArrayList<>(command);
+        length = commandLength;
+      }
+      commandLine.add(argument);
+      length += argument.length() + 1;
+    }
+    if (commandLine.size() > command.size()) {
+      result.add(commandLine);
+    }
+    return result;
+  }
+
+  private static int lengthOf(List<String> command) {
+    int result = -1;
+    for (String part : command) {
+      result += part.length() + 1;
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.scm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The Git {@linkplain SourceCodeManagementSystem}. Updated and deleted files are staged with a single
+ * <code>git add</code> and <code>git rm</code> per repository. Files whose contents are the same as in the index are
+ * left alone, as are new files that Git ignores, like generated files in a build directory.
+ */
+public class Git implements BatchSourceCodeManagementSystem {
+
+  private static final String GIT_DIR = ".git";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final OperatingSystem operatingSystem;
+
+  public Git() {
+    this(new OperatingSystemImpl());
+  }
+
+  public Git(OperatingSystem operatingSystem) {
+    this.operatingSystem = operatingSystem;
+  }
+
+  @Override
+  public String getId() {
+    return "git";
+  }
+
+  @Override
+  public void prepareForUpdate(File file) {
+    // Nothing to do
+  }
+
+  @Override
+  public void prepareForDelete(File file) {
+    // Nothing to do
+  }
+
+  @Override
+  public void prepare(Collection<File> toUpdate, Collection<File> toDelete) {
+    // Nothing to do
+  }
+
+  @Override
+  public void finish(Collection<File> updated, Collection<File> deleted) {
+    Map<File, Collection<File>> updatedByRepository = byRepository(updated);
+    Map<File, Collection<File>> deletedByRepository = byRepository(deleted);
+    Collection<File> repositories = new LinkedHashSet<>(updatedByRepository.keySet());
+    repositories.addAll(deletedByRepository.keySet());
+    for (File repository : repositories) {
+      stage(repository, filesIn(repository, updatedByRepository), filesIn(repository, deletedByRepository));
+    }
+  }
+
+  private Collection<File> filesIn(File repository, Map<File, Collection<File>> filesByRepository) {
+    Collection<File> result = filesByRepository.get(repository);
+    return result == null ? Collections.<File>emptyList() : result;
+  }
+
+  private Map<File, Collection<File>> byRepository(Collection<File> files) {
+    Map<File, Collection<File>> result = new LinkedHashMap<>();
+    for (File file : files) {
+      File repository = getRepository(file.getAbsoluteFile());
+      if (repository != null) {
+        Collection<File> filesInRepository = result.get(repository);
+        if (filesInRepository == null) {
+          filesInRepository = new ArrayList<>();
+          result.put(repository, filesInRepository);
+        }
+        filesInRepository.add(file.getAbsoluteFile());
+      }
+    }
+    return result;
+  }
+
+  private File getRepository(File file) {
+    File dir = file.getParentFile();
+    while (dir != null) {
+      if (new File(dir, GIT_DIR).exists()) {
+        return dir;
+      }
+      dir = dir.getParentFile();
+    }
+    return null;
+  }
+
+  private void stage(File repository, Collection<File> updated, Collection<File> deleted) {
+    Collection<String> updatedPaths = relativePaths(repository, updated);
+    Collection<String> deletedPaths = relativePaths(repository, deleted);
+    Collection<String> allPaths = new ArrayList<>(updatedPaths);
+    allPaths.addAll(deletedPaths);
+    List<String> git = Arrays.asList("git", "-C", repository.getPath());
+    Map<String, String> indexedHashes = getIndexedHashes(git, allPaths);
+
+    Collection<String> toAdd = new ArrayList<>();
+    Collection<String> untracked = new ArrayList<>();
+    for (String path : updatedPaths) {
+      String indexedHash = indexedHashes.get(path);
+      if (indexedHash == null) {
+        untracked.add(path);
+      }
+      if (!blobHash(new File(repository, path)).equals(indexedHash)) {
+        toAdd.add(path);
+      }
+    }
+    toAdd.removeAll(getIgnoredPaths(git, untracked));
+    Collection<String> toRemove = new ArrayList<>();
+    for (String path : deletedPaths) {
+      if (indexedHashes.containsKey(path)) {
+        toRemove.add(path);
+      }
+    }
+    run(command(git, "add", "--"), toAdd);
+    run(command(git, "rm", "-q", "--cached", "--"), toRemove);
+  }
+
+  private Collection<String> relativePaths(File repository, Collection<File> files) {
+    Collection<String> result = new ArrayList<>();
+    for (File file : files) {
+      result.add(repository.toURI().relativize(file.toURI()).getPath());
+    }
+    return result;
+  }
+
+  /*
+   * Output of git ls-files --stage looks like: <mode> <object> <stage>\t<path>
+   */
+  private Map<String, String> getIndexedHashes(List<String> git, Collection<String> paths) {
+    Map<String, String> result = new HashMap<>();
+    for (List<String> commandLine : CommandLines.of(command(git, "ls-files", "--stage", "--"), paths)) {
+      for (String line : operatingSystem.runForOutput(commandLine)) {
+        int tab = line.indexOf('\t');
+        String[] fields = line.substring(0, tab).split(" ");
+        result.put(line.substring(tab + 1), fields[1]);
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Git refuses to add ignored files that it doesn't track yet. The paths are separated by NUL characters, so that
+   * they aren't quoted.
+   */
+  private Collection<String> getIgnoredPaths(List<String> git, Collection<String> untrackedPaths) {
+    Collection<String> result = new HashSet<>();
+    for (List<String> commandLine : CommandLines.of(command(git, "ls-files", "-z", "--others", "--ignored",
+        "--exclude-standard", "--"), untrackedPaths)) {
+      for (String line : operatingSystem.runForOutput(commandLine)) {
+        for (String path : line.split("\0")) {
+          if (!path.isEmpty()) {
+            result.add(path);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private List<String> command(List<String> git, String... arguments) {
+    List<String> result = new ArrayList<>(git);
+    result.addAll(Arrays.asList(arguments));
+    return result;
+  }
+
+  private void run(List<String> command, Collection<String> arguments) {
+    for (List<String> commandLine : CommandLines.of(command, arguments)) {
+      operatingSystem.runForOutput(commandLine);
+    }
+  }
+
+  /**
+   * @return The name that Git gives to the contents of the file: the SHA-1 hash of a blob object with those contents
+   */
+  static String blobHash(File file) {
+    try {
+      byte[] contents = Files.readAllBytes(file.toPath());
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      digest.update(("blob " + contents.length + '\0').getBytes(StandardCharsets.US_ASCII));
+      return toHex(digest.digest(contents));
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] result = new char[2 * bytes.length];
+    for (int i = 0; i < bytes.length; i++) {
+      result[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      result[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+    return new String(result);
+  }
+
+}
@@ -3,6 +3,8 @@
  */
 package radl.core.scm;
 
+import java.util.List;
+
 /**
  * Interface to the operating system.
  */
@@ -10,4 +12,12 @@ public interface OperatingSystem {
 
   void run(String command);
 
+  /**
+   * Run a command and collect what it writes to standard output.
+   * @param command The program to run, followed by its arguments. Arguments are passed as is, so they may contain
+   * spaces
+   * @return The lines of output
+   */
+  List<String> runForOutput(List<String> command);
+
 }
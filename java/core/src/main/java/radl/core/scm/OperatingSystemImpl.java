@@ -3,20 +3,93 @@
  */
 package radl.core.scm;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import radl.common.io.IO;
+
 
 public class OperatingSystemImpl implements OperatingSystem {
 
   @Override
   public void run(String command) {
     try {
-      Process process = Runtime.getRuntime().exec(command);
-      int exitCode = process.waitFor();
-      if (exitCode != 0) {
-        throw new RuntimeException("Command " + command + " exited with value " + exitCode);
+      Process process = new ProcessBuilder(tokenize(command)).redirectErrorStream(true).start();
+      // A process blocks when its output buffer fills up, so read the output even though we don't need it
+      Iterable<String> output = IO.linesOf(process.getInputStream());
+      waitFor(process, command, output);
+    } catch (IOException | InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private List<String> tokenize(String command) {
+    List<String> result = new ArrayList<>();
+    StringTokenizer tokenizer = new StringTokenizer(command);
+    while (tokenizer.hasMoreTokens()) {
+      result.add(tokenizer.nextToken());
+    }
+    return result;
+  }
+
+  private void waitFor(Process process, Object command, Iterable<String> errors) throws InterruptedException {
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      StringBuilder message = new StringBuilder("Command ").append(command).append(" exited with value ")
+          .append(exitCode);
+      for (String error : errors) {
+        message.append(System.lineSeparator()).append(error);
+      }
+      throw new RuntimeException(message.toString());
+    }
+  }
+
+  @Override
+  public List<String> runForOutput(List<String> command) {
+    try {
+      Process process = new ProcessBuilder(command).start();
+      ErrorReader errors = new ErrorReader(process.getErrorStream());
+      errors.start();
+      List<String> result = new ArrayList<>();
+      for (String line : IO.linesOf(process.getInputStream())) {
+        result.add(line);
       }
-    } catch (Exception e) {
+      errors.join();
+      waitFor(process, command, errors.getLines());
+      return result;
+    } catch (IOException | InterruptedException e) {
       throw new RuntimeException(e);
     }
   }
 
+
+  /**
+   * Reads standard error while standard output is read on the calling thread, so that the process can't block on
+   * either of them.
+   */
+  private static final class ErrorReader extends Thread {
+
+    private final InputStream stream;
+    private Iterable<String> lines = Collections.emptyList();
+
+    ErrorReader(InputStream stream) {
+      this.stream = stream;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      lines = IO.linesOf(stream);
+    }
+
+    Iterable<String> getLines() {
+      return lines;
+    }
+
+  }
+
 }
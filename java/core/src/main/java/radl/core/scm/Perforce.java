@@ -4,12 +4,15 @@
 package radl.core.scm;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 
 
 /**
  * The Perforce {@linkplain SourceCodeManagementSystem}.
  */
-public class Perforce implements SourceCodeManagementSystem {
+public class Perforce implements BatchSourceCodeManagementSystem {
 
   private final OperatingSystem operatingSystem;
 
@@ -28,19 +31,35 @@ public class Perforce implements SourceCodeManagementSystem {
 
   @Override
   public void prepareForUpdate(File file) {
-    runPerforceCommandIfNeeded("edit", file);
+    runPerforceCommandIfNeeded("edit", Collections.singleton(file));
   }
 
-  private void runPerforceCommandIfNeeded(String command, File file) {
-    if (file.canWrite()) {
-      return;
-    }
-    operatingSystem.run(String.format("p4 %s %s", command, file.getAbsolutePath()));
+  @Override
+  public void prepareForDelete(File file) {
+    runPerforceCommandIfNeeded("delete", Collections.singleton(file));
   }
 
   @Override
-  public void prepareForDelete(File file) {
-    runPerforceCommandIfNeeded("delete", file);
+  public void prepare(Collection<File> toUpdate, Collection<File> toDelete) {
+    runPerforceCommandIfNeeded("edit", toUpdate);
+    runPerforceCommandIfNeeded("delete", toDelete);
+  }
+
+  @Override
+  public void finish(Collection<File> updated, Collection<File> deleted) {
+    // Nothing to do
+  }
+
+  private void runPerforceCommandIfNeeded(String command, Collection<File> files) {
+    Collection<String> paths = new ArrayList<>();
+    for (File file : files) {
+      if (!file.canWrite()) {
+        paths.add(file.getAbsolutePath());
+      }
+    }
+    for (String commandLine : CommandLines.of("p4 " + command, paths)) {
+      operatingSystem.run(commandLine);
+    }
   }
 
 }
@@ -3,8 +3,7 @@
  */
 package radl.core.scm;
 
-import java.util.Iterator;
-import java.util.ServiceLoader;
+import radl.core.PluginRegistry;
 
 
 /**
@@ -17,10 +16,7 @@ public final class ScmFactory {
   }
 
   public static SourceCodeManagementSystem newInstance(String id) {
-    ServiceLoader<SourceCodeManagementSystem> serviceLoader = ServiceLoader.load(SourceCodeManagementSystem.class);
-    Iterator<SourceCodeManagementSystem> services = serviceLoader.iterator();
-    while (services.hasNext()) {
-      SourceCodeManagementSystem scm = services.next();
+    for (SourceCodeManagementSystem scm : PluginRegistry.newInstances(SourceCodeManagementSystem.class)) {
       if (scm.getId().equals(id)) {
         return scm;
       }
@@ -0,0 +1,37 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+
+import radl.core.validation.Issue.Level;
+
+
+/**
+ * Base class for {@linkplain LintRule}s that report issues on behalf of the {@linkplain LintValidator}.
+ */
+public abstract class AbstractLintRule implements LintRule {
+
+  protected void info(Collection<Issue> issues, String message, Object... args) {
+    message(issues, Level.INFO, message, args);
+  }
+
+  protected void warn(Collection<Issue> issues, String message, Object... args) {
+    message(issues, Level.WARNING, message, args);
+  }
+
+  protected void error(Collection<Issue> issues, String message, Object... args) {
+    message(issues, Level.ERROR, message, args);
+  }
+
+  private void message(Collection<Issue> issues, Level level, String message, Object... args) {
+    issues.add(new Issue(LintValidator.class, level, 0, 0, String.format(message, args)));
+  }
+
+  @Override
+  public String toString() {
+    return getId();
+  }
+
+}
@@ -3,27 +3,34 @@
  */
 package radl.core.validation;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.util.Locale;
 
-import radl.common.xml.DocumentBuilder;
-import radl.common.xml.Xml;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 
 /**
- * Report validation issues in CheckStyle format, for easy integration into Continuous Integration builds.
+ * Report validation issues in CheckStyle format, for easy integration into Continuous Integration builds. Issues are
+ * written as they are reported, so the size of the report doesn't affect memory usage.
  */
 public class CheckStyleIssueReporter implements IssueReporter {
 
   public static final String ID = "checkstyle";
 
-  private final DocumentBuilder output = DocumentBuilder.newDocument()
-      .element("checkstyle")
-          .attribute("version", "5.6");
-  private String currentFileName;
+  private static final String ENCODING = "UTF-8";
+  private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
   private String outputFileName;
+  private OutputStream stream;
+  private XMLStreamWriter output;
+  private boolean inFile;
+  private boolean fileHasIssues;
 
   @Override
   public void setReportFileName(String reportFileName) {
@@ -32,44 +39,80 @@ public class CheckStyleIssueReporter implements IssueReporter {
 
   @Override
   public void start() {
-    currentFileName = null;
+    File outputFile = new File(outputFileName);
+    if (outputFile.getParentFile() != null) {
+      outputFile.getParentFile().mkdirs();
+    }
+    try {
+      stream = new BufferedOutputStream(new FileOutputStream(outputFile));
+      output = XML_OUTPUT_FACTORY.createXMLStreamWriter(stream, ENCODING);
+      output.writeStartDocument(ENCODING, "1.0");
+      newLine(0);
+      output.writeStartElement("checkstyle");
+      output.writeAttribute("version", "5.6");
+      inFile = false;
+    } catch (IOException | XMLStreamException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void newLine(int indentationLevel) throws XMLStreamException {
+    output.writeCharacters("\n");
+    for (int i = 0; i < indentationLevel; i++) {
+      output.writeCharacters("  ");
+    }
   }
 
   @Override
   public void file(String fileName) {
-    if (currentFileName != null) {
-      output.end();
+    try {
+      endFile();
+      newLine(1);
+      output.writeStartElement("file");
+      output.writeAttribute("name", fileName);
+      inFile = true;
+      fileHasIssues = false;
+    } catch (XMLStreamException e) {
+      throw new RuntimeException(e);
     }
-    currentFileName = fileName;
-    output.element("file")
-        .attribute("name", fileName);
   }
 
-  @Override
-  public void issue(Issue issue) {
-    output.element("error")
-        .attribute("line", Integer.toString(issue.getLine()))
-        .attribute("column", Integer.toString(issue.getColumn()))
-        .attribute("source", issue.getSource())
-        .attribute("severity", issue.getLevel().toString().toLowerCase(Locale.getDefault()))
-        .attribute("message", encodeXml(issue.getMessage()))
-    .end();
+  private void endFile() throws XMLStreamException {
+    if (inFile) {
+      if (fileHasIssues) {
+        newLine(1);
+      }
+      output.writeEndElement();
+      inFile = false;
+    }
   }
 
-  private String encodeXml(String value) {
-    return value.replace("&", "&amp;").replace("\"", "&quot;").replace("'", "&apos;").replace("<", "&lt;")
-        .replace(">", "&gt;");
+  @Override
+  public void issue(Issue issue) {
+    try {
+      newLine(2);
+      fileHasIssues = true;
+      output.writeEmptyElement("error");
+      output.writeAttribute("line", Integer.toString(issue.getLine()));
+      output.writeAttribute("column", Integer.toString(issue.getColumn()));
+      output.writeAttribute("source", issue.getSource());
+      output.writeAttribute("severity", issue.getLevel().toString().toLowerCase(Locale.getDefault()));
+      output.writeAttribute("message", issue.getMessage());
+    } catch (XMLStreamException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
   public void end() {
-    File outputFile = new File(outputFileName);
-    if (outputFile.getParentFile() != null) {
-      outputFile.getParentFile().mkdirs();
-    }
-    try (PrintWriter writer = new PrintWriter(outputFile, "UTF8")) {
-      writer.print(Xml.toString(output.build()));
-    } catch (IOException e) {
+    try {
+      endFile();
+      newLine(0);
+      output.writeEndElement();
+      output.writeEndDocument();
+      output.close();
+      stream.close();
+    } catch (IOException | XMLStreamException e) {
       throw new RuntimeException(e);
     }
   }
@@ -3,19 +3,24 @@
  */
 package radl.core.validation;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
+import org.w3c.dom.Document;
+
 import radl.common.io.ByteArrayInputOutputStream;
 import radl.common.io.IO;
+import radl.common.xml.Xml;
 import radl.core.validation.Issue.Level;
 
 
 /**
  * Composite pattern for RADL validators.
  */
-public class CompositeValidator implements Validator {
+public class CompositeValidator implements DocumentValidator {
 
   private final Validator[] validators;
 
@@ -23,6 +28,10 @@ public class CompositeValidator implements Validator {
     this.validators = validators;
   }
 
+  public CompositeValidator(Collection<? extends Validator> validators) {
+    this(validators.toArray(new Validator[validators.size()]));
+  }
+
   @Override
   public void validate(InputStream contents, Collection<Issue> issues) {
    ByteArrayInputOutputStream reusableStream = new ByteArrayInputOutputStream();
@@ -40,6 +49,22 @@ public class CompositeValidator implements Validator {
     }
   }
 
+  @Override
+  public void validate(Document radl, Collection<Issue> issues) {
+    byte[] serialized = null;
+    for (Validator validator : validators) {
+      if (validator instanceof DocumentValidator) {
+        ((DocumentValidator)validator).validate(radl, issues);
+      } else {
+        // Validators that only understand streams get the assembled document, serialized once
+        if (serialized == null) {
+          serialized = Xml.toString(radl).getBytes(StandardCharsets.UTF_8);
+        }
+        validator.validate(new ByteArrayInputStream(serialized), issues);
+      }
+    }
+  }
+
   private boolean addExceptionIssue(IOException exception, Collection<Issue> issues) {
     return issues.add(new Issue(getClass(), Level.ERROR, 0, 0, exception.toString()));
   }
@@ -0,0 +1,25 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+
+import org.w3c.dom.Document;
+
+
+/**
+ * {@linkplain Validator} that can also validate a RADL document that is already parsed, for instance because it was
+ * assembled from several files. Issues in included files should be reported with the path of the file they're in,
+ * see {@linkplain Issue#getFile()}.
+ */
+public interface DocumentValidator extends Validator {
+
+  /**
+   * Add issues in a given, already parsed, RADL document to a given list of issues.
+   * @param radl The RADL document
+   * @param issues The list of issues to add to
+   */
+  void validate(Document radl, Collection<Issue> issues);
+
+}
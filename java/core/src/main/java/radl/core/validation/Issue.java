@@ -13,16 +13,26 @@ public final class Issue {
 
   private final String source;
   private final Level level;
+  private final String file;
   private final int line;
   private final int column;
   private final String message;
 
   public Issue(Class<? extends Validator> source, Level level, int line, int column, String message) {
+    this(source, level, null, line, column, message);
+  }
+
+  /**
+   * @param file The path of the file that the issue is in, when that differs from the validated file because the
+   * issue is in an included file. May be <code>null</code>
+   */
+  public Issue(Class<? extends Validator> source, Level level, String file, int line, int column, String message) {
     if (source == null || level == null || message == null) {
       throw new IllegalArgumentException("Source, level, and message are required");
     }
     this.source = source.getSimpleName();
     this.level = level;
+    this.file = file;
     this.line = line;
     this.column = column;
     this.message = message;
@@ -36,6 +46,10 @@ public final class Issue {
     return level;
   }
 
+  public String getFile() {
+    return file;
+  }
+
   public int getLine() {
     return line;
   }
@@ -53,6 +67,7 @@ public final class Issue {
     final int prime = 31;
     int result = 1;
     result = prime * result + level.hashCode();
+    result = prime * result + (file == null ? 0 : file.hashCode());
     result = prime * result + line;
     result = prime * result + column;
     result = prime * result + message.hashCode();
@@ -71,6 +86,9 @@ public final class Issue {
     if (level != other.level) {
       return false;
     }
+    if (file == null ? other.file != null : !file.equals(other.file)) {
+      return false;
+    }
     if (line != other.line) {
       return false;
     }
@@ -3,14 +3,11 @@
  */
 package radl.core.validation;
 
-import java.util.Iterator;
-import java.util.ServiceLoader;
-
-import radl.core.scm.SourceCodeManagementSystem;
+import radl.core.PluginRegistry;
 
 
 /**
- * Factory for creating {@linkplain SourceCodeManagementSystem} instances.
+ * Factory for creating {@linkplain IssueReporter} instances.
  */
 public final class IssueReporterFactory {
 
@@ -19,10 +16,7 @@ public final class IssueReporterFactory {
   }
 
   public static IssueReporter newInstance(String id) {
-    ServiceLoader<IssueReporter> serviceLoader = ServiceLoader.load(IssueReporter.class);
-    Iterator<IssueReporter> services = serviceLoader.iterator();
-    while (services.hasNext()) {
-      IssueReporter reporter = services.next();
+    for (IssueReporter reporter : PluginRegistry.newInstances(IssueReporter.class)) {
       if (reporter.getId().equals(id)) {
         return reporter;
       }
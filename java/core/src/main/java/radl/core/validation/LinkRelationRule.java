@@ -0,0 +1,44 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Checks that link relations are unique and make defined transitions discoverable.
+ */
+public class LinkRelationRule extends AbstractLintRule {
+
+  public static final String ID = "link-relations";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public void check(LintModel radl, Collection<Issue> issues) {
+    Set<String> linkRelations = new HashSet<>();
+    for (String linkRelation : radl.linkRelationNames()) {
+      if (linkRelations.contains(linkRelation)) {
+        error(issues, "Duplicate link-relation: '%s'", linkRelation);
+      } else {
+        linkRelations.add(linkRelation);
+        validateLinkRelation(radl, linkRelation, issues);
+      }
+    }
+  }
+
+  private void validateLinkRelation(LintModel radl, String linkRelation, Collection<Issue> issues) {
+    for (String transition : radl.linkRelationTransitions(linkRelation)) {
+      if (!radl.stateGraph().isDefined(transition)) {
+        warn(issues, "Link relation '%s' makes undefined transition '%s' discoverable", linkRelation, transition);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static radl.core.validation.StateGraph.isChildOf;
+import static radl.core.validation.StateGraph.isRadl;
+import static radl.core.validation.StateGraph.name;
+import static radl.core.validation.StateGraph.parentOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.w3c.dom.Element;
+
+import radl.core.code.radl.RadlCode;
+
+
+/**
+ * Immutable view of the parts of a RADL document that {@linkplain LintRule}s check. The view is read from the
+ * document once, in the same traversal that builds the {@linkplain StateGraph}, after which any number of rules may
+ * read it concurrently. Like the queries of {@linkplain RadlCode}, names are sorted and include duplicates, so that
+ * rules can report them.
+ */
+public final class LintModel {
+
+  private static final String REQUEST = "request";
+  private static final String RESPONSE = "response";
+
+  private final List<String> stateNames = new ArrayList<>();
+  private final StateGraph stateGraph;
+  private final List<String> linkRelationNames = new ArrayList<>();
+  private final Map<String, List<String>> transitionsByLinkRelation = new HashMap<>();
+  private final List<String> mediaTypeNames = new ArrayList<>();
+  private final List<String> resourceNames = new ArrayList<>();
+  private final Map<String, String> locationsByResource = new HashMap<>();
+  private final Map<String, List<String>> methodsByResource = new HashMap<>();
+  private final Map<String, Map<String, Method>> methodsByName = new HashMap<>();
+  private final Set<String> verbs;
+
+  /**
+   * @param radl The RADL document to check. The model also captures the verbs that are visible from the current
+   * thread's context class loader, since rules may run on threads that don't have the project's class loader
+   */
+  public LintModel(RadlCode radl) {
+    verbs = Verbs.get();
+    Indexer indexer = new Indexer();
+    stateGraph = new StateGraph(radl, indexer);
+    indexer.finish();
+  }
+
+  private static List<String> valuesOf(Map<String, List<String>> valuesByKey, String key) {
+    List<String> result = valuesByKey.get(key);
+    if (result == null) {
+      result = new ArrayList<>();
+      valuesByKey.put(key, result);
+    }
+    return result;
+  }
+
+  private static void sortValues(Map<String, List<String>> valuesByKey) {
+    for (List<String> values : valuesByKey.values()) {
+      Collections.sort(values);
+    }
+  }
+
+  private static String first(List<String> values) {
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  private Method method(String resource, String method) {
+    Map<String, Method> methods = methodsByName.get(resource);
+    if (methods == null) {
+      methods = new HashMap<>();
+      methodsByName.put(resource, methods);
+    }
+    Method result = methods.get(method);
+    if (result == null) {
+      result = new Method();
+      methods.put(method, result);
+    }
+    return result;
+  }
+
+  /**
+   * @return The verbs that indicate actions when they appear in resource locations
+   */
+  public Set<String> verbs() {
+    return verbs;
+  }
+
+  public List<String> stateNames() {
+    return Collections.unmodifiableList(stateNames);
+  }
+
+  StateGraph stateGraph() {
+    return stateGraph;
+  }
+
+  public List<String> stateTransitionNames(String state) {
+    return Collections.unmodifiableList(stateGraph.transitions(state));
+  }
+
+  public List<String> transitionEnds(String transition) {
+    return Collections.unmodifiableList(stateGraph.ends(transition));
+  }
+
+  public List<String> linkRelationNames() {
+    return Collections.unmodifiableList(linkRelationNames);
+  }
+
+  public List<String> linkRelationTransitions(String linkRelation) {
+    return valueOf(transitionsByLinkRelation, linkRelation);
+  }
+
+  private static List<String> valueOf(Map<String, List<String>> valuesByKey, String key) {
+    List<String> result = valuesByKey.get(key);
+    return result == null ? Collections.<String>emptyList() : Collections.unmodifiableList(result);
+  }
+
+  public List<String> mediaTypeNames() {
+    return Collections.unmodifiableList(mediaTypeNames);
+  }
+
+  public List<String> resourceNames() {
+    return Collections.unmodifiableList(resourceNames);
+  }
+
+  public String resourceLocation(String resource) {
+    String result = locationsByResource.get(resource);
+    return result == null ? "" : result;
+  }
+
+  public List<String> methodNames(String resource) {
+    return valueOf(methodsByResource, resource);
+  }
+
+  public List<String> methodTransitions(String resource, String method) {
+    Method result = getMethod(resource, method);
+    return result == null ? Collections.<String>emptyList() : Collections.unmodifiableList(result.transitions);
+  }
+
+  private Method getMethod(String resource, String method) {
+    Map<String, Method> methods = methodsByName.get(resource);
+    return methods == null ? null : methods.get(method);
+  }
+
+  public List<String> methodRequestRepresentations(String resource, String method) {
+    Method result = getMethod(resource, method);
+    return result == null ? Collections.<String>emptyList() : valueOf(result.representationsByMessage, REQUEST);
+  }
+
+  public List<String> methodResponseRepresentations(String resource, String method) {
+    Method result = getMethod(resource, method);
+    return result == null ? Collections.<String>emptyList() : valueOf(result.representationsByMessage, RESPONSE);
+  }
+
+
+  /*
+   * Answers the same questions as the XPath queries of RadlCode: empty values are skipped, and methods and transitions
+   * belong to every named resource and method that they're nested in.
+   */
+  private final class Indexer implements StateGraph.Index {
+
+    private final List<String> defaultMediaTypes = new ArrayList<>();
+    private final Map<String, List<String>> urisByResource = new HashMap<>();
+    private final Map<String, List<String>> uriTemplatesByResource = new HashMap<>();
+    private boolean hasStartState;
+
+    @Override
+    public void add(Element element) {
+      switch (element.getLocalName()) {
+        case "state":
+          addName(element, "states", stateNames);
+          break;
+        case "start-state":
+          hasStartState = hasStartState || isChildOf(element, "states");
+          break;
+        case "link-relation":
+          addName(element, "link-relations", linkRelationNames);
+          break;
+        case "media-types":
+          addValue(element.getAttributeNS(null, "default"), defaultMediaTypes);
+          break;
+        case "media-type":
+          addName(element, "media-types", mediaTypeNames);
+          break;
+        case "resource":
+          addValue(name(element), resourceNames);
+          break;
+        case "location":
+          addLocation(element);
+          break;
+        case "method":
+          addMethod(element);
+          break;
+        case REQUEST:
+        case RESPONSE:
+          addMessage(element);
+          break;
+        case "representation":
+          addRepresentation(element);
+          break;
+        case "transition":
+          addTransition(element);
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void addName(Element element, String parentName, Collection<String> names) {
+      if (isChildOf(element, parentName)) {
+        addValue(name(element), names);
+      }
+    }
+
+    private void addValue(String value, Collection<String> values) {
+      if (!value.isEmpty()) {
+        values.add(value);
+      }
+    }
+
+    private void addLocation(Element location) {
+      Element resource = parentOf(location);
+      if (resource != null && isRadl(resource, "resource") && !name(resource).isEmpty()) {
+        addValue(location.getAttributeNS(null, "uri"), valuesOf(urisByResource, name(resource)));
+        addValue(location.getAttributeNS(null, "uri-template"), valuesOf(uriTemplatesByResource, name(resource)));
+      }
+    }
+
+    private void addMethod(Element method) {
+      String name = name(method);
+      if (name.isEmpty()) {
+        return;
+      }
+      for (String resource : resourcesAround(method)) {
+        valuesOf(methodsByResource, resource).add(name);
+        method(resource, name);
+      }
+    }
+
+    private Set<String> resourcesAround(Element element) {
+      Set<String> result = new LinkedHashSet<>();
+      for (Element ancestor = parentOf(element); ancestor != null; ancestor = parentOf(ancestor)) {
+        if (isRadl(ancestor, "resource")) {
+          addValue(name(ancestor), result);
+        }
+      }
+      return result;
+    }
+
+    private void addMessage(Element message) {
+      Element method = parentOf(message);
+      if (isNamedMethod(method)) {
+        for (String resource : resourcesAround(method)) {
+          valuesOf(method(resource, name(method)).representationsByMessage, message.getLocalName());
+        }
+      }
+    }
+
+    private boolean isNamedMethod(Element element) {
+      return element != null && isRadl(element, "method") && !name(element).isEmpty();
+    }
+
+    private void addRepresentation(Element representation) {
+      String mediaType = representation.getAttributeNS(null, "media-type");
+      if (mediaType.isEmpty()) {
+        return;
+      }
+      Set<List<String>> messages = new LinkedHashSet<>();
+      for (Element ancestor = parentOf(representation); ancestor != null; ancestor = parentOf(ancestor)) {
+        Element method = parentOf(ancestor);
+        if ((isRadl(ancestor, REQUEST) || isRadl(ancestor, RESPONSE)) && isNamedMethod(method)) {
+          for (String resource : resourcesAround(method)) {
+            messages.add(Arrays.asList(resource, name(method), ancestor.getLocalName()));
+          }
+        }
+      }
+      for (List<String> message : messages) {
+        valuesOf(method(message.get(0), message.get(1)).representationsByMessage, message.get(2)).add(mediaType);
+      }
+    }
+
+    private void addTransition(Element transition) {
+      String ref = transition.getAttributeNS(null, "ref");
+      if (ref.isEmpty()) {
+        return;
+      }
+      Set<String> linkRelations = new LinkedHashSet<>();
+      Set<List<String>> methods = new LinkedHashSet<>();
+      for (Element ancestor = parentOf(transition); ancestor != null; ancestor = parentOf(ancestor)) {
+        if (isRadl(ancestor, "link-relation") && isChildOf(ancestor, "link-relations")) {
+          addValue(name(ancestor), linkRelations);
+        } else if (isNamedMethod(ancestor)) {
+          for (String resource : resourcesAround(ancestor)) {
+            methods.add(Arrays.asList(resource, name(ancestor)));
+          }
+        }
+      }
+      for (String linkRelation : linkRelations) {
+        valuesOf(transitionsByLinkRelation, linkRelation).add(ref);
+      }
+      for (List<String> method : methods) {
+        method(method.get(0), method.get(1)).transitions.add(ref);
+      }
+    }
+
+    void finish() {
+      if (hasStartState) {
+        stateNames.add(StateGraph.START_STATE);
+      }
+      Collections.sort(stateNames);
+      Collections.sort(linkRelationNames);
+      Collections.sort(mediaTypeNames);
+      Collections.sort(resourceNames);
+      sortValues(transitionsByLinkRelation);
+      sortValues(methodsByResource);
+      sortValues(urisByResource);
+      sortValues(uriTemplatesByResource);
+      for (String resource : resourceNames) {
+        String location = first(urisByResource.get(resource));
+        if (location == null) {
+          location = first(uriTemplatesByResource.get(resource));
+        }
+        if (location != null) {
+          locationsByResource.put(resource, location);
+        }
+      }
+      Collections.sort(defaultMediaTypes);
+      String defaultMediaType = first(defaultMediaTypes);
+      for (Map<String, Method> methods : methodsByName.values()) {
+        for (Method method : methods.values()) {
+          method.finish(defaultMediaType);
+        }
+      }
+    }
+
+  }
+
+
+  private static final class Method {
+
+    private final List<String> transitions = new ArrayList<>();
+    private final Map<String, List<String>> representationsByMessage = new HashMap<>();
+
+    /*
+     * A request or response without explicit representations uses the default media type.
+     */
+    void finish(String defaultMediaType) {
+      Collections.sort(transitions);
+      for (List<String> representations : representationsByMessage.values()) {
+        if (representations.isEmpty() && defaultMediaType != null) {
+          representations.add(defaultMediaType);
+        }
+        Collections.sort(representations);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+
+
+/**
+ * A check that the {@linkplain LintValidator} performs on a RADL document. Rules are discovered using
+ * {@linkplain java.util.ServiceLoader}. They must be stateless, since the validator runs them concurrently.
+ */
+public interface LintRule {
+
+  /**
+   * @return The ID of the rule, which is used to enable or disable it
+   */
+  String getId();
+
+  /**
+   * @param radl The RADL document to check
+   * @param issues Where to report the issues found
+   */
+  void check(LintModel radl, Collection<Issue> issues);
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import radl.core.code.UriTemplateTrie;
+import radl.core.code.UriTemplateTrie.Insertion;
+import radl.core.code.UriTemplateTrie.Overlap;
+
+
+/**
+ * Checks that resource locations are unique, don't contain actions, and don't overlap.
+ */
+public class LocationRule extends AbstractLintRule {
+
+  public static final String ID = "locations";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public void check(LintModel radl, Collection<Issue> issues) {
+    Set<String> actions = radl.verbs();
+    UriTemplateTrie<String> locations = new UriTemplateTrie<>();
+    Map<String, Collection<String>> methodsByResource = new HashMap<>();
+    Collection<String> resources = new HashSet<>();
+    for (String resource : radl.resourceNames()) {
+      if (resources.add(resource)) {
+        validateLocation(radl, resource, actions, locations, methodsByResource, issues);
+      }
+    }
+  }
+
+  private void validateLocation(LintModel radl, String name, Set<String> actions, UriTemplateTrie<String> locations,
+      Map<String, Collection<String>> methodsByResource, Collection<Issue> issues) {
+    String location = radl.resourceLocation(name);
+    if (location.isEmpty()) {
+      warn(issues, "Resource '%s' has no location", name);
+    } else {
+      validateActionUri(name, location, actions, issues);
+      Insertion<String> insertion = locations.add(location, name);
+      validateDuplicateTemplateVariable(name, location, insertion.getDuplicateVariable(), issues);
+      validateDuplicateParts(name, location, issues);
+      validateDuplicateLocation(name, location, insertion.getDuplicate(), issues);
+      for (Overlap<String> overlap : insertion.getOverlaps()) {
+        String otherName = overlap.getValue();
+        if (haveSameMethod(radl, name, otherName, methodsByResource)) {
+          warnFixedAndVariableLocation(new Resource(name, location), new Resource(otherName,
+              overlap.getUriTemplate()), overlap.getFixedSegment(), overlap.getVariableSegment(), issues);
+        }
+      }
+    }
+  }
+
+  private void validateActionUri(String name, String location, Set<String> actions, Collection<Issue> issues) {
+    if (containsAction(location, actions)) {
+      warn(issues, "Location of '%s' contains action: %s", name, location);
+    }
+  }
+
+  private boolean containsAction(String location, Set<String> actions) {
+    for (String part : UriTemplateTrie.segments(location)) {
+      if (actions.contains(part)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void validateDuplicateTemplateVariable(String name, String location, String duplicateVariable,
+      Collection<Issue> issues) {
+    if (duplicateVariable != null) {
+      warn(issues, "URI Template of '%s' contains duplicate variable '%s': %s", name, duplicateVariable, location);
+    }
+  }
+
+  private void validateDuplicateParts(String name, String location, Collection<Issue> issues) {
+    Collection<String> parts = new ArrayList<>();
+    for (String part : UriTemplateTrie.segments(location)) {
+      if (parts.contains(part)) {
+        warn(issues, "Location of '%s' contains duplicate part '%s': %s", name, part, location);
+      } else {
+        parts.add(part);
+      }
+    }
+  }
+
+  private void validateDuplicateLocation(String name, String location, String otherResource,
+      Collection<Issue> issues) {
+    if (otherResource != null) {
+      error(issues, "Resources '%s' and '%s' have the same location: %s", otherResource, name, location);
+    }
+  }
+
+  private boolean haveSameMethod(LintModel radl, String resource1, String resource2,
+      Map<String, Collection<String>> methodsByResource) {
+    Collection<String> methods = getMethods(radl, resource1, methodsByResource);
+    for (String method : getMethods(radl, resource2, methodsByResource)) {
+      if (methods.contains(method)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Collection<String> getMethods(LintModel radl, String resource,
+      Map<String, Collection<String>> methodsByResource) {
+    Collection<String> result = methodsByResource.get(resource);
+    if (result == null) {
+      result = new HashSet<>(radl.methodNames(resource));
+      methodsByResource.put(resource, result);
+    }
+    return result;
+  }
+
+  private void warnFixedAndVariableLocation(Resource resource1, Resource resource2, String fixed, String variable,
+      Collection<Issue> issues) {
+    List<Resource> resources = sort(resource1, resource2);
+
+    warn(issues, "Locations of '%s' and '%s' overlap with fixed part '%s' and variable part '%s':\n%s\n%s",
+        resources.get(0).getName(), resources.get(1).getName(), fixed, variable, resources.get(0).getUri(),
+        resources.get(1).getUri());
+  }
+
+  private static List<Resource> sort(Resource... resources) {
+    List<Resource> result = new ArrayList<>();
+    for (Resource resource : resources) {
+      result.add(resource);
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+
+  private static class Resource implements Comparable<Resource> {
+
+    private final String name;
+    private final String uri;
+
+    public Resource(String name, String uri) {
+      this.name = name;
+      this.uri = uri;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getUri() {
+      return uri;
+    }
+
+    @Override
+    public int compareTo(Resource other) {
+      return name.compareTo(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + name.hashCode();
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Resource)) {
+        return false;
+      }
+      Resource other = (Resource)obj;
+      if (!name.equals(other.name)) {
+        return false;
+      }
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Checks that media types are unique.
+ */
+public class MediaTypeRule extends AbstractLintRule {
+
+  public static final String ID = "media-types";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public void check(LintModel radl, Collection<Issue> issues) {
+    Set<String> mediaTypes = new HashSet<>();
+    for (String mediaType : radl.mediaTypeNames()) {
+      if (!mediaTypes.add(mediaType)) {
+        error(issues, "Duplicate media-type: '%s'", mediaType);
+      }
+    }
+  }
+
+}
@@ -7,14 +7,24 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.Properties;
 
-import radl.common.io.IO;
+import org.w3c.dom.Document;
+
+import radl.common.xml.XmlException;
 import radl.core.Log;
+import radl.core.PluginRegistry;
 import radl.core.cli.Application;
 import radl.core.cli.Arguments;
 import radl.core.cli.Cli;
@@ -28,6 +38,11 @@ public final class RadlValidator implements Application {
 
   private static final String DEFAULT_ISSUE_REPORTER = CheckStyleIssueReporter.ID;
   private static final String DEFAULT_REPORT_FILE_NAME = "build/radl-issues.xml";
+  /**
+   * The lint configuration is recognized by its suffix, since arguments are positional. Callers that accept arbitrary
+   * file names must reject other names before passing them on.
+   */
+  public static final String LINT_CONFIGURATION_SUFFIX = ".properties";
 
   public static void main(String[] args) {
     Cli.run(RadlValidator.class, args);
@@ -37,60 +52,125 @@ public final class RadlValidator implements Application {
    * The following arguments are supported.<ul>
    * <li>[Optional] The output report file name. Default is "build/radl-issues.xml"</li>
    * <li>[Optional] The output report format. Default is "checkstyle"</li>
+   * <li>[Optional] The name of a properties file that enables or disables {@linkplain LintRule}s. The name must end
+   * in {@value #LINT_CONFIGURATION_SUFFIX}</li>
    * <li> [Required] The file names of one or more RADL documents to validate</li>
    * </ul>
    */
   @Override
   public int run(Arguments arguments) {
-    Map<String, Collection<Issue>> issues = new TreeMap<>();
     String reportFileName = arguments.hasNext() ? arguments.next() : DEFAULT_REPORT_FILE_NAME;
     String issueReporterId = DEFAULT_ISSUE_REPORTER;
-    if (reportFileName.endsWith(".radl")) {
+    if (isNotReportArgument(reportFileName)) {
       reportFileName = DEFAULT_REPORT_FILE_NAME;
       arguments.prev();
     } else if (arguments.hasNext()) {
       issueReporterId = arguments.next();
-      if (issueReporterId.endsWith(".radl")) {
+      if (isNotReportArgument(issueReporterId)) {
         issueReporterId = DEFAULT_ISSUE_REPORTER;
         arguments.prev();
       }
     }
-    File reportDir = new File(reportFileName).getParentFile();
-    validate(arguments, issues, reportDir);
+    Properties lintConfiguration = parseLintConfiguration(arguments);
+    Validator validator = newValidator(lintConfiguration);
     IssueReporter reporter = IssueReporterFactory.newInstance(issueReporterId);
     reporter.setReportFileName(reportFileName);
-    reportIssues(issues, reporter);
-    return numErrors(issues);
+    reporter.start();
+    try {
+      return validate(arguments, validator, reporter);
+    } finally {
+      reporter.end();
+    }
+  }
+
+  int validate(Arguments arguments, Validator validator, IssueReporter reporter) {
+    int result = 0;
+    while (arguments.hasNext()) {
+      File radlFile = arguments.file();
+      ReportedIssues issues = new ReportedIssues(radlFile);
+      validate(radlFile, validator, issues);
+      result += issues.reportTo(reporter);
+    }
+    return result;
+  }
+
+  private boolean isNotReportArgument(String argument) {
+    return argument.endsWith(".radl") || argument.endsWith(LINT_CONFIGURATION_SUFFIX);
+  }
+
+  private Properties parseLintConfiguration(Arguments arguments) {
+    Properties result = new Properties();
+    if (arguments.hasNext()) {
+      String fileName = arguments.next();
+      if (fileName.endsWith(LINT_CONFIGURATION_SUFFIX)) {
+        try (InputStream stream = new FileInputStream(fileName)) {
+          result.load(stream);
+        } catch (IOException e) {
+          throw new IllegalArgumentException("Failed to read lint configuration " + fileName, e);
+        }
+      } else {
+        arguments.prev();
+      }
+    }
+    return result;
   }
 
+  public void validate(Arguments arguments, Map<String, Collection<Issue>> issues) {
+    validate(arguments, newValidator(), issues);
+  }
+
+  /**
+   * @deprecated RADL files are now assembled in memory, so there is no need for a directory to assemble them in. Use
+   * {@linkplain #validate(Arguments, Map)} instead
+   */
+  @Deprecated
   public void validate(Arguments arguments, Map<String, Collection<Issue>> issues, File reportDir) {
-    validate(arguments, newValidator(), issues, reportDir);
+    validate(arguments, issues);
   }
 
   Validator newValidator() {
-    return new CompositeValidator(new RelaxNgValidator(), new LintValidator());
+    return newValidator(new Properties());
+  }
+
+  Validator newValidator(Properties lintConfiguration) {
+    List<Validator> validators = PluginRegistry.newInstances(Validator.class);
+    for (Validator validator : validators) {
+      if (validator instanceof LintValidator) {
+        ((LintValidator)validator).configure(lintConfiguration);
+      }
+    }
+    return new CompositeValidator(validators);
   }
 
-  void validate(Arguments arguments, Validator validator, Map<String, Collection<Issue>> issues, File reportDir) {
+  void validate(Arguments arguments, Validator validator, Map<String, Collection<Issue>> issues) {
     while (arguments.hasNext()) {
       File radlFile = arguments.file();
-      File assembledRadl = RadlFileAssembler.assemble(radlFile, reportDir);
-      try {
-        Log.info("-> Validating " + radlFile.getName() + " using " + validator);
-        validate(assembledRadl, validator, issues);
-      } finally {
-        IO.delete(assembledRadl);
-      }
+      validate(radlFile, validator, new CollectedIssues(radlFile, issues));
+    }
+  }
+
+  private void validate(File radl, Validator validator, IssuesByFile issues) {
+    Log.info("-> Validating " + radl.getName() + " using " + validator);
+    if (!(validator instanceof DocumentValidator)) {
+      validateStream(radl, validator, issues);
+      return;
+    }
+    Document document;
+    try {
+      document = RadlFileAssembler.assemble(radl);
+    } catch (XmlException e) {
+      // Let the validator report the syntax errors
+      validateStream(radl, validator, issues);
+      return;
     }
+    ((DocumentValidator)validator).validate(document, issues);
   }
 
-  private void validate(File radl, Validator validator, Map<String, Collection<Issue>> issues) {
-    Collection<Issue> issuesByFile = new ArrayList<>();
-    issues.put(radl.getName(), issuesByFile);
+  private void validateStream(File radl, Validator validator, Collection<Issue> issues) {
     try (InputStream stream = new FileInputStream(radl)) {
-      validator.validate(stream, issuesByFile);
+      validator.validate(stream, issues);
     } catch (IOException e) {
-      issuesByFile.add(new Issue(Validator.class, Level.ERROR, 0, 0, e.toString()));
+      issues.add(new Issue(Validator.class, Level.ERROR, 0, 0, e.toString()));
     }
   }
 
@@ -105,16 +185,140 @@ public final class RadlValidator implements Application {
     reporter.end();
   }
 
-  private int numErrors(Map<String, Collection<Issue>> issues) {
-    int result = 0;
-    for (Collection<Issue> issuesByFile : issues.values()) {
-      for (Issue issue : issuesByFile) {
-        if (issue.getLevel() == Level.ERROR) {
-          result++;
+
+  /**
+   * Issues found while validating a RADL file, grouped per file. Issues in included files are grouped under the path
+   * of the included file relative to the validated file, so that files with the same name in different directories
+   * don't get mixed up. Validators may read back the issues they added, so the issues of the validated file are kept
+   * until it's done.
+   */
+  private abstract static class IssuesByFile extends AbstractCollection<Issue> {
+
+    private final File radlFile;
+    private final String fileName;
+    private final List<Issue> issues = new ArrayList<>();
+
+    IssuesByFile(File radlFile) {
+      this.radlFile = radlFile.getAbsoluteFile();
+      this.fileName = radlFile.getName();
+    }
+
+    protected String getFileName() {
+      return fileName;
+    }
+
+    @Override
+    public boolean add(Issue issue) {
+      add(fileOf(issue), issue);
+      issues.add(issue);
+      return true;
+    }
+
+    private String fileOf(Issue issue) {
+      if (issue.getFile() == null) {
+        return fileName;
+      }
+      File file = new File(issue.getFile()).getAbsoluteFile();
+      if (file.equals(radlFile)) {
+        return fileName;
+      }
+      File baseDir = radlFile.getParentFile();
+      if (baseDir != null) {
+        try {
+          Path base = baseDir.toPath().normalize();
+          Path path = file.toPath().normalize();
+          if (path.startsWith(base)) {
+            return base.relativize(path).toString();
+          }
+        } catch (InvalidPathException e) {
+          // Fall through
         }
       }
+      return file.getPath();
     }
-    return result;
+
+    protected abstract void add(String file, Issue issue);
+
+    @Override
+    public Iterator<Issue> iterator() {
+      return Collections.unmodifiableList(issues).iterator();
+    }
+
+    @Override
+    public int size() {
+      return issues.size();
+    }
+
+  }
+
+
+  private static final class CollectedIssues extends IssuesByFile {
+
+    private final Map<String, Collection<Issue>> issues;
+
+    CollectedIssues(File radlFile, Map<String, Collection<Issue>> issues) {
+      super(radlFile);
+      this.issues = issues;
+      issuesIn(getFileName());
+    }
+
+    private Collection<Issue> issuesIn(String file) {
+      Collection<Issue> result = issues.get(file);
+      if (result == null) {
+        result = new ArrayList<>();
+        issues.put(file, result);
+      }
+      return result;
+    }
+
+    @Override
+    protected void add(String file, Issue issue) {
+      issuesIn(file).add(issue);
+    }
+
+  }
+
+
+  /*
+   * Validators may report issues in included files in any order, so issues are reported once the validated file is
+   * done. That way each file is reported once, with all its issues.
+   */
+  private static final class ReportedIssues extends IssuesByFile {
+
+    private final Map<String, List<Issue>> issuesByFile = new LinkedHashMap<>();
+
+    ReportedIssues(File radlFile) {
+      super(radlFile);
+      issuesByFile.put(getFileName(), new ArrayList<Issue>());
+    }
+
+    @Override
+    protected void add(String file, Issue issue) {
+      List<Issue> issues = issuesByFile.get(file);
+      if (issues == null) {
+        issues = new ArrayList<>();
+        issuesByFile.put(file, issues);
+      }
+      issues.add(issue);
+    }
+
+    /**
+     * @return The number of errors reported
+     */
+    int reportTo(IssueReporter reporter) {
+      int result = 0;
+      for (Entry<String, List<Issue>> entry : issuesByFile.entrySet()) {
+        reporter.file(entry.getKey());
+        for (Issue issue : entry.getValue()) {
+          reporter.issue(issue);
+          if (issue.getLevel() == Level.ERROR) {
+            result++;
+          }
+        }
+      }
+      return result;
+    }
+
   }
 
 }
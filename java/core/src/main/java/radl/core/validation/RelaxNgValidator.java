@@ -3,6 +3,7 @@
  */
 package radl.core.validation;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -13,7 +14,9 @@ import java.util.regex.Pattern;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSResourceResolver;
 import org.xml.sax.ErrorHandler;
@@ -23,37 +26,26 @@ import org.xml.sax.SAXParseException;
 
 import com.thaiopensource.relaxng.jaxp.CompactSyntaxSchemaFactory;
 
+import radl.common.xml.DomToSax;
+import radl.common.xml.Location;
 import radl.core.validation.Issue.Level;
 
 
 /**
  * Validate a RADL document against the Relax NG schema.
  */
-public class RelaxNgValidator implements Validator {
+public class RelaxNgValidator implements DocumentValidator {
 
   private static final Pattern SAX_ERROR = Pattern.compile("org.xml.sax.SAXParseException; "
       + "lineNumber: (\\d+); columnNumber: (\\d+); (.+)");
   private static final String RADL_SCHEMA = "radl.rnc";
 
+  private static Schema radlSchema;
+
   @Override
   public void validate(final InputStream stream, final Collection<Issue> issues) {
-    javax.xml.validation.Validator validator = newValidator();
-    validator.setErrorHandler(new ErrorHandler() {
-      @Override
-      public void warning(SAXParseException exception) throws SAXException {
-        issues.add(newIssue(Level.WARNING, exception));
-      }
-
-      @Override
-      public void fatalError(SAXParseException exception) throws SAXException {
-        issues.add(newIssue(Level.ERROR, exception));
-      }
-
-      @Override
-      public void error(SAXParseException exception) throws SAXException {
-        issues.add(newIssue(Level.ERROR, exception));
-      }
-    });
+    javax.xml.validation.Validator validator = getRadlSchema().newValidator();
+    validator.setErrorHandler(new IssueErrorHandler(issues, false));
     try {
       validator.validate(new StreamSource(stream));
     } catch (Exception e) {
@@ -61,22 +53,38 @@ public class RelaxNgValidator implements Validator {
     }
   }
 
-  private javax.xml.validation.Validator newValidator() {
+  @Override
+  public void validate(Document radl, Collection<Issue> issues) {
+    ValidatorHandler validator = getRadlSchema().newValidatorHandler();
+    validator.setErrorHandler(new IssueErrorHandler(issues, true));
     try {
-      try (InputStream schemaStream = getSchema(RADL_SCHEMA)) {
-        Schema schema = newRelaxNgSchema(new InputSource(schemaStream));
-        return schema.newValidator();
+      DomToSax.send(radl, validator);
+    } catch (Exception e) {
+      issues.add(newIssue(Level.ERROR, e));
+    }
+  }
+
+  /**
+   * Compiling the schema is expensive, so we do it once per class loader. Compiled schemas are thread safe.
+   */
+  private static synchronized Schema getRadlSchema() {
+    if (radlSchema == null) {
+      try {
+        try (InputStream schemaStream = getSchema(RADL_SCHEMA)) {
+          radlSchema = newRelaxNgSchema(new InputSource(schemaStream));
+        }
+      } catch (SAXException | IOException e) {
+        throw new RuntimeException(e);
       }
-    } catch (SAXException | IOException e) {
-      throw new RuntimeException(e);
     }
+    return radlSchema;
   }
 
-  private InputStream getSchema(String schema) {
-    return getClass().getResourceAsStream("/schema/" + schema);
+  private static InputStream getSchema(String schema) {
+    return RelaxNgValidator.class.getResourceAsStream("/schema/" + schema);
   }
 
-  private Schema newRelaxNgSchema(InputSource source) throws SAXException {
+  private static Schema newRelaxNgSchema(InputSource source) throws SAXException {
     CompactSyntaxSchemaFactory factory = new CompactSyntaxSchemaFactory();
     factory.setResourceResolver(new LSResourceResolver() {
       @Override
@@ -100,13 +108,54 @@ public class RelaxNgValidator implements Validator {
     return new Issue(getClass(), level, line, column, message);
   }
 
+  private Issue newIssue(Level level, SAXParseException exception, boolean located) {
+    if (!located) {
+      return newIssue(level, exception);
+    }
+    return new Issue(getClass(), level, filePath(exception.getSystemId()), exception.getLineNumber(),
+        exception.getColumnNumber(), exception.getMessage());
+  }
+
+  private String filePath(String systemId) {
+    File file = Location.toFile(systemId);
+    return file == null ? systemId : file.getPath();
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName();
   }
 
 
-  private final class ClassLoaderInput implements LSInput {
+  private final class IssueErrorHandler implements ErrorHandler {
+
+    private final Collection<Issue> issues;
+    private final boolean located;
+
+    private IssueErrorHandler(Collection<Issue> issues, boolean located) {
+      this.issues = issues;
+      this.located = located;
+    }
+
+    @Override
+    public void warning(SAXParseException exception) throws SAXException {
+      issues.add(newIssue(Level.WARNING, exception, located));
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) throws SAXException {
+      issues.add(newIssue(Level.ERROR, exception, located));
+    }
+
+    @Override
+    public void error(SAXParseException exception) throws SAXException {
+      issues.add(newIssue(Level.ERROR, exception, located));
+    }
+
+  }
+
+
+  private static final class ClassLoaderInput implements LSInput {
 
     private final String systemId;
     private final String baseUri;
@@ -0,0 +1,99 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+
+/**
+ * Checks that resources are unique and that their methods implement transitions and use defined media types.
+ */
+public class ResourceRule extends AbstractLintRule {
+
+  public static final String ID = "resources";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public void check(LintModel radl, Collection<Issue> issues) {
+    Set<String> mediaTypes = new HashSet<>(radl.mediaTypeNames());
+    Set<String> resources = new HashSet<>();
+    for (String resource : radl.resourceNames()) {
+      if (resources.contains(resource)) {
+        error(issues, "Duplicate resource: '%s'", resource);
+      } else {
+        resources.add(resource);
+        validateMethods(radl, mediaTypes, resource, issues);
+      }
+    }
+  }
+
+  private void validateMethods(LintModel radl, Set<String> mediaTypes, String name, Collection<Issue> issues) {
+    Iterator<String> methodNames = radl.methodNames(name).iterator();
+    if (methodNames.hasNext()) {
+      while (methodNames.hasNext()) {
+        String method = methodNames.next();
+        validateMethodTransitions(radl, name, method, issues);
+        validateMethodRepresentations(radl, mediaTypes, name, method, issues);
+      }
+    } else {
+      warn(issues, "Resource '%s' has no methods", name);
+    }
+  }
+
+  private void validateMethodRepresentations(LintModel radl, Set<String> mediaTypes, String resource, String method,
+      Collection<Issue> issues) {
+    boolean hasRepresentation = false;
+    if (validateMethodRepresentations(mediaTypes, resource, method, "consumes",
+        radl.methodRequestRepresentations(resource, method), issues)) {
+      hasRepresentation = true;
+    }
+    if (validateMethodRepresentations(mediaTypes, resource, method, "produces",
+        radl.methodResponseRepresentations(resource, method), issues)) {
+      hasRepresentation = true;
+    }
+    if (!"DELETE".equals(method) && !hasRepresentation) {
+      warn(issues, "Method '%s' in resource '%s' has neither a request nor a response representation", method,
+          resource);
+    }
+  }
+
+  private boolean validateMethodRepresentations(Set<String> mediaTypes, String resource, String method,
+      String action, Iterable<String> methodRepresentations, Collection<Issue> issues) {
+    Iterator<String> representations = methodRepresentations.iterator();
+    if (representations.hasNext()) {
+      while (representations.hasNext()) {
+        String representation = representations.next();
+        if (!mediaTypes.contains(representation)) {
+          error(issues, "Method '%s' in resource '%s' %s undefined media type '%s'", method, resource, action,
+              representation);
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void validateMethodTransitions(LintModel radl, String resource, String method, Collection<Issue> issues) {
+    Iterator<String> transitions = radl.methodTransitions(resource, method).iterator();
+    if (transitions.hasNext()) {
+      while (transitions.hasNext()) {
+        String transition = transitions.next();
+        if (!radl.stateGraph().isDefined(transition)) {
+          warn(issues, "Method '%s' in resource '%s' implements undefined transition '%s'", method, resource,
+              transition);
+        }
+      }
+    } else {
+      warn(issues, "Method '%s' in resource '%s' implements no transitions", method, resource);
+    }
+  }
+
+}
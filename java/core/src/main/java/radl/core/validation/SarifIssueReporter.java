@@ -0,0 +1,176 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Report validation issues in the Static Analysis Results Interchange Format (SARIF), which code review tools and
+ * Continuous Integration servers can show next to the sources. Issues are written as they are reported, so the size
+ * of the report doesn't affect memory usage.
+ */
+public class SarifIssueReporter implements IssueReporter {
+
+  public static final String ID = "sarif";
+
+  private static final String SARIF_VERSION = "2.1.0";
+  private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+  private static final String TOOL_NAME = "RADL";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private String outputFileName;
+  private Writer output;
+  private String currentFileName;
+  private boolean firstResult;
+
+  @Override
+  public void setReportFileName(String reportFileName) {
+    this.outputFileName = reportFileName;
+  }
+
+  @Override
+  public void start() {
+    File outputFile = new File(outputFileName);
+    if (outputFile.getParentFile() != null) {
+      outputFile.getParentFile().mkdirs();
+    }
+    try {
+      output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8));
+      output.write("{\n  \"version\": ");
+      writeString(SARIF_VERSION);
+      output.write(",\n  \"$schema\": ");
+      writeString(SARIF_SCHEMA);
+      output.write(",\n  \"runs\": [{\n    \"tool\": { \"driver\": { \"name\": ");
+      writeString(TOOL_NAME);
+      output.write(" } },\n    \"results\": [");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    currentFileName = null;
+    firstResult = true;
+  }
+
+  @Override
+  public void file(String fileName) {
+    currentFileName = fileName;
+  }
+
+  @Override
+  public void issue(Issue issue) {
+    try {
+      output.write(firstResult ? "\n      " : ",\n      ");
+      firstResult = false;
+      output.write("{ \"ruleId\": ");
+      writeString(issue.getSource());
+      output.write(", \"level\": ");
+      writeString(levelOf(issue));
+      output.write(", \"message\": { \"text\": ");
+      writeString(issue.getMessage());
+      output.write(" }, \"locations\": [{ \"physicalLocation\": { \"artifactLocation\": { \"uri\": ");
+      writeString(toUri(currentFileName == null ? issue.getFile() : currentFileName));
+      output.write(" }");
+      if (issue.getLine() > 0) {
+        output.write(", \"region\": { \"startLine\": ");
+        output.write(Integer.toString(issue.getLine()));
+        if (issue.getColumn() > 0) {
+          output.write(", \"startColumn\": ");
+          output.write(Integer.toString(issue.getColumn()));
+        }
+        output.write(" }");
+      }
+      output.write(" } }] }");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /*
+   * File names are relative to the validated RADL file, but SARIF wants URIs, which always use forward slashes.
+   */
+  private String toUri(String fileName) {
+    if (fileName == null) {
+      return null;
+    }
+    File file = new File(fileName);
+    if (file.isAbsolute()) {
+      return file.toURI().toString();
+    }
+    try {
+      return new URI(null, null, fileName.replace(File.separatorChar, '/'), null).toASCIIString();
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid file name: " + fileName, e);
+    }
+  }
+
+  private String levelOf(Issue issue) {
+    switch (issue.getLevel()) {
+      case ERROR: return "error";
+      case WARNING: return "warning";
+      default: return "note";
+    }
+  }
+
+  private void writeString(String value) throws IOException {
+    output.write('"');
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        writeChar(value.charAt(i));
+      }
+    }
+    output.write('"');
+  }
+
+  private void writeChar(char c) throws IOException {
+    switch (c) {
+      case '"':
+      case '\\':
+        output.write('\\');
+        output.write(c);
+        break;
+      case '\n':
+        output.write("\\n");
+        break;
+      case '\r':
+        output.write("\\r");
+        break;
+      case '\t':
+        output.write("\\t");
+        break;
+      default:
+        if (c < ' ') {
+          output.write("\\u00");
+          output.write(HEX_DIGITS[c >> 4]);
+          output.write(HEX_DIGITS[c & 0xF]);
+        } else {
+          output.write(c);
+        }
+        break;
+    }
+  }
+
+  @Override
+  public void end() {
+    try {
+      output.write(firstResult ? "]\n  }]\n}\n" : "\n    ]\n  }]\n}\n");
+      output.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+}
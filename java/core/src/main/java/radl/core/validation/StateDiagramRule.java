@@ -0,0 +1,159 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Checks that the state diagram is a connected graph whose transitions are implemented and discoverable.
+ */
+public class StateDiagramRule extends AbstractLintRule {
+
+  public static final String ID = "state-diagram";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public void check(LintModel radl, Collection<Issue> issues) {
+    StateGraph graph = radl.stateGraph();
+    Iterator<String> states = radl.stateNames().iterator();
+    if (states.hasNext()) {
+      boolean startStateFound = false;
+      Set<String> stateNames = new HashSet<>();
+      while (states.hasNext()) {
+        String state = states.next();
+        if (stateNames.contains(state)) {
+          error(issues, "Duplicate state: '%s'", state);
+        } else {
+          stateNames.add(state);
+          if (state.isEmpty()) {
+            startStateFound = true;
+          }
+          validateState(graph, state, issues);
+        }
+      }
+      if (startStateFound) {
+        validateReachability(graph, issues);
+      } else {
+        warn(issues, "Missing start-state");
+      }
+    } else {
+      warn(issues, "Missing start-state");
+    }
+  }
+
+  private void validateState(StateGraph graph, String name, Collection<Issue> issues) {
+    Iterator<String> outgoing = graph.transitions(name).iterator();
+    if (outgoing.hasNext()) {
+      while (outgoing.hasNext()) {
+        String transition = outgoing.next();
+        assertTransitionPointsToKnownState(graph, name, transition, issues);
+        assertTransitionIsImplementedBySomeMethod(graph, transition, issues);
+        if (!name.isEmpty()) {
+          assertTransitionIsDiscoverableByLinkRelation(graph, transition, issues);
+        }
+      }
+    } else {
+      assertStateIsPointedToBySomeTransition(graph, name, issues);
+    }
+  }
+
+  private void assertTransitionIsDiscoverableByLinkRelation(StateGraph graph, String name,
+      Collection<Issue> issues) {
+    if (graph.isDiscoverable(name)) {
+      return;
+    }
+    warn(issues, "Transition '%s' is not discoverable by a link relation", name);
+  }
+
+  private void assertTransitionIsImplementedBySomeMethod(StateGraph graph, String name, Collection<Issue> issues) {
+    if (graph.isImplemented(name)) {
+      return;
+    }
+    warn(issues, "Transition '%s' is not implemented by a method", name);
+  }
+
+  private void assertTransitionPointsToKnownState(StateGraph graph, String state, String transition,
+      Collection<Issue> issues) {
+    for (String to : graph.ends(transition)) {
+      if (graph.hasState(to)) {
+        return;
+      }
+      if (state.isEmpty()) {
+        warn(issues, "Transition '%s' in start state points to undefined state '%s'", transition, to);
+      } else {
+        warn(issues, "Transition '%s' in state '%s' points to undefined state '%s'", transition, state, to);
+      }
+    }
+  }
+
+  private void assertStateIsPointedToBySomeTransition(StateGraph graph, String state, Collection<Issue> issues) {
+    if (graph.hasIncomingTransitions(state)) {
+      return;
+    }
+    if (state.isEmpty()) {
+      warn(issues, "Start state has no transitions");
+    } else {
+      warn(issues, "State '%s' is not connected to any other state", state);
+    }
+  }
+
+  private void validateReachability(StateGraph graph, Collection<Issue> issues) {
+    Set<String> reachable = graph.reachableFromStart();
+    for (String state : graph.states()) {
+      if (state.isEmpty() || !graph.hasIncomingTransitions(state) && graph.transitions(state).isEmpty()) {
+        // Already reported as not connected
+        continue;
+      }
+      if (!reachable.contains(state)) {
+        warn(issues, "State '%s' can't be reached from the start state", state);
+      } else if (graph.transitions(state).isEmpty()) {
+        info(issues, "State '%s' is a dead end: it has no transitions", state);
+      }
+    }
+    for (Set<String> component : graph.stronglyConnectedComponents()) {
+      if (component.size() > 1 && reachable.containsAll(component) && !component.contains(StateGraph.START_STATE)
+          && !coversAllStatesAfterStart(component, reachable) && graph.isClosed(component)) {
+        info(issues, "States %s form a loop that can't be left", quote(component));
+      }
+    }
+  }
+
+  /**
+   * A loop that contains every state that can be reached from the start state is the whole service rather than a trap
+   * inside it, so it's not worth reporting.
+   */
+  private boolean coversAllStatesAfterStart(Set<String> component, Set<String> reachable) {
+    for (String state : reachable) {
+      if (!state.equals(StateGraph.START_STATE) && !component.contains(state)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String quote(Collection<String> states) {
+    List<String> sorted = new ArrayList<>(states);
+    Collections.sort(sorted);
+    StringBuilder result = new StringBuilder();
+    for (String state : sorted) {
+      if (result.length() > 0) {
+        result.append(", ");
+      }
+      result.append('\'').append(state).append('\'');
+    }
+    return result.toString();
+  }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import radl.core.Radl;
+import radl.core.code.radl.RadlCode;
+
+
+/**
+ * The state diagram of a RADL document as a graph, with indexes that answer questions about states, transitions,
+ * methods, and link relations in constant time. The indexes are built in a single traversal of the document, which
+ * can also feed an {@linkplain Index} of other parts of the document.
+ */
+class StateGraph {
+
+  static final String START_STATE = "";
+
+  private static final String STATES = "states";
+  private static final String STATE = "state";
+  private static final String START_STATE_ELEMENT = "start-state";
+  private static final String TRANSITIONS = "transitions";
+  private static final String TRANSITION = "transition";
+
+  private final Map<String, List<String>> transitionsByState = new LinkedHashMap<>();
+  private final Map<String, List<String>> endsByTransition = new HashMap<>();
+  private final Map<String, Set<String>> successorsByState = new HashMap<>();
+  private final Set<String> statesWithIncomingTransitions = new HashSet<>();
+  private final Set<String> definedTransitions = new HashSet<>();
+  private final Set<String> implementedTransitions = new HashSet<>();
+  private final Set<String> discoverableTransitions = new HashSet<>();
+
+  StateGraph(RadlCode radl) {
+    this(radl, null);
+  }
+
+  /**
+   * @param radl The RADL document to build the graph for
+   * @param index Index that also receives every RADL element of the document, or <code>null</code>
+   */
+  StateGraph(RadlCode radl, Index index) {
+    List<String> states = new ArrayList<>();
+    Map<String, List<String>> transitions = new HashMap<>();
+    index(radl.asDom().getDocumentElement(), states, transitions, index);
+    Collections.sort(states);
+    for (String state : states) {
+      List<String> transitionsOfState = valuesOf(transitions, state);
+      Collections.sort(transitionsOfState);
+      transitionsByState.put(state, transitionsOfState);
+    }
+    for (List<String> ends : endsByTransition.values()) {
+      Collections.sort(ends);
+    }
+    for (Map.Entry<String, List<String>> entry : transitionsByState.entrySet()) {
+      String state = entry.getKey();
+      Set<String> successors = new LinkedHashSet<>();
+      for (String transition : entry.getValue()) {
+        definedTransitions.add(transition);
+        for (String end : ends(transition)) {
+          successors.add(end);
+          if (!end.equals(state)) {
+            statesWithIncomingTransitions.add(end);
+          }
+        }
+      }
+      successorsByState.put(state, successors);
+    }
+  }
+
+  /*
+   * Visit every element once, collecting the states and what the transitions inside them, inside methods, and inside
+   * link relations refer to.
+   */
+  private void index(Element root, List<String> states, Map<String, List<String>> transitions, Index index) {
+    Deque<Element> toVisit = new ArrayDeque<>();
+    toVisit.push(root);
+    while (!toVisit.isEmpty()) {
+      Element element = toVisit.pop();
+      if (Radl.NAMESPACE_URI.equals(element.getNamespaceURI())) {
+        indexElement(element, states, transitions);
+        if (index != null) {
+          index.add(element);
+        }
+      }
+      for (Node child = element.getLastChild(); child != null; child = child.getPreviousSibling()) {
+        if (child.getNodeType() == Node.ELEMENT_NODE) {
+          toVisit.push((Element)child);
+        }
+      }
+    }
+  }
+
+  private void indexElement(Element element, List<String> states, Map<String, List<String>> transitions) {
+    switch (element.getLocalName()) {
+      case STATE:
+        if (isChildOf(element, STATES) && !name(element).isEmpty()) {
+          states.add(name(element));
+        }
+        break;
+      case START_STATE_ELEMENT:
+        if (isChildOf(element, STATES) && !states.contains(START_STATE)) {
+          states.add(START_STATE);
+        }
+        break;
+      case TRANSITION:
+        indexTransition(element, transitions);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void indexTransition(Element transition, Map<String, List<String>> transitions) {
+    String name = name(transition);
+    Node owner = transition.getParentNode().getParentNode();
+    if (isChildOf(transition, TRANSITIONS) && owner instanceof Element && isChildOf((Element)owner, STATES)) {
+      String state = stateOf((Element)owner);
+      if (state != null && !name.isEmpty()) {
+        valuesOf(transitions, state).add(name);
+      }
+      String end = transition.getAttributeNS(null, "to");
+      if (!name.isEmpty() && !end.isEmpty()) {
+        valuesOf(endsByTransition, name).add(end);
+      }
+    }
+    String ref = transition.getAttributeNS(null, "ref");
+    if (ref.isEmpty()) {
+      return;
+    }
+    if (isInMethodOfResource(transition)) {
+      implementedTransitions.add(ref);
+    }
+    if (isInLinkRelation(transition)) {
+      discoverableTransitions.add(ref);
+    }
+  }
+
+  private String stateOf(Element element) {
+    if (START_STATE_ELEMENT.equals(element.getLocalName())) {
+      return START_STATE;
+    }
+    if (STATE.equals(element.getLocalName()) && !name(element).isEmpty()) {
+      return name(element);
+    }
+    return null;
+  }
+
+  private boolean isInMethodOfResource(Element transition) {
+    boolean inMethod = false;
+    for (Element ancestor = parentOf(transition); ancestor != null; ancestor = parentOf(ancestor)) {
+      if (!name(ancestor).isEmpty()) {
+        if (inMethod && isRadl(ancestor, "resource")) {
+          return true;
+        }
+        inMethod = inMethod || isRadl(ancestor, "method");
+      }
+    }
+    return false;
+  }
+
+  private boolean isInLinkRelation(Element transition) {
+    for (Element ancestor = parentOf(transition); ancestor != null; ancestor = parentOf(ancestor)) {
+      if (isRadl(ancestor, "link-relation") && !name(ancestor).isEmpty() && isChildOf(ancestor, "link-relations")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static boolean isChildOf(Element element, String parentName) {
+    Element parent = parentOf(element);
+    return parent != null && isRadl(parent, parentName);
+  }
+
+  static Element parentOf(Element element) {
+    Node parent = element.getParentNode();
+    return parent instanceof Element ? (Element)parent : null;
+  }
+
+  static boolean isRadl(Element element, String localName) {
+    return localName.equals(element.getLocalName()) && Radl.NAMESPACE_URI.equals(element.getNamespaceURI());
+  }
+
+  static String name(Element element) {
+    return element.getAttributeNS(null, "name");
+  }
+
+  private static List<String> valuesOf(Map<String, List<String>> valuesByKey, String key) {
+    List<String> result = valuesByKey.get(key);
+    if (result == null) {
+      result = new ArrayList<>();
+      valuesByKey.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * @return The names of the states, in alphabetical order and without duplicates
+   */
+  Collection<String> states() {
+    return transitionsByState.keySet();
+  }
+
+  boolean hasState(String state) {
+    return transitionsByState.containsKey(state);
+  }
+
+  List<String> transitions(String state) {
+    List<String> result = transitionsByState.get(state);
+    return result == null ? Collections.<String>emptyList() : result;
+  }
+
+  List<String> ends(String transition) {
+    List<String> result = endsByTransition.get(transition);
+    return result == null ? Collections.<String>emptyList() : result;
+  }
+
+  /**
+   * @return Whether some other state has a transition to the given state
+   */
+  boolean hasIncomingTransitions(String state) {
+    return statesWithIncomingTransitions.contains(state);
+  }
+
+  boolean isDefined(String transition) {
+    return definedTransitions.contains(transition);
+  }
+
+  boolean isImplemented(String transition) {
+    return implementedTransitions.contains(transition);
+  }
+
+  boolean isDiscoverable(String transition) {
+    return discoverableTransitions.contains(transition);
+  }
+
+  /**
+   * @return The states that can be reached from the start state by following transitions, including the start state
+   */
+  Set<String> reachableFromStart() {
+    Set<String> result = new LinkedHashSet<>();
+    if (!hasState(START_STATE)) {
+      return result;
+    }
+    Deque<String> toVisit = new ArrayDeque<>();
+    result.add(START_STATE);
+    toVisit.add(START_STATE);
+    while (!toVisit.isEmpty()) {
+      for (String successor : successors(toVisit.remove())) {
+        if (hasState(successor) && result.add(successor)) {
+          toVisit.add(successor);
+        }
+      }
+    }
+    return result;
+  }
+
+  private Set<String> successors(String state) {
+    Set<String> result = successorsByState.get(state);
+    return result == null ? Collections.<String>emptySet() : result;
+  }
+
+  /**
+   * Find the strongly connected components of the graph using Tarjan's algorithm. The recursion is replaced by an
+   * explicit stack, so that big state diagrams don't overflow the call stack.
+   * @return The strongly connected components, in reverse topological order
+   */
+  List<Set<String>> stronglyConnectedComponents() {
+    List<Set<String>> result = new ArrayList<>();
+    Map<String, Integer> indexes = new HashMap<>();
+    Map<String, Integer> lowLinks = new HashMap<>();
+    Deque<String> component = new ArrayDeque<>();
+    Set<String> onComponent = new HashSet<>();
+    Deque<Visit> visits = new ArrayDeque<>();
+    for (String root : states()) {
+      if (indexes.containsKey(root)) {
+        continue;
+      }
+      visits.push(new Visit(root, successors(root)));
+      while (!visits.isEmpty()) {
+        Visit visit = visits.peek();
+        String state = visit.state;
+        if (!indexes.containsKey(state)) {
+          indexes.put(state, indexes.size());
+          lowLinks.put(state, indexes.get(state));
+          component.push(state);
+          onComponent.add(state);
+        }
+        String next = visit.nextSuccessor();
+        if (next == null) {
+          visits.pop();
+          if (lowLinks.get(state).equals(indexes.get(state))) {
+            Set<String> scc = new LinkedHashSet<>();
+            String member;
+            do {
+              member = component.pop();
+              onComponent.remove(member);
+              scc.add(member);
+            } while (!member.equals(state));
+            result.add(scc);
+          }
+          if (!visits.isEmpty()) {
+            String parent = visits.peek().state;
+            lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(state)));
+          }
+        } else if (!hasState(next)) {
+          continue;
+        } else if (!indexes.containsKey(next)) {
+          visits.push(new Visit(next, successors(next)));
+        } else if (onComponent.contains(next)) {
+          lowLinks.put(state, Math.min(lowLinks.get(state), indexes.get(next)));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param component A strongly connected component
+   * @return Whether no transition leads from a state in the component to a state outside of it
+   */
+  boolean isClosed(Set<String> component) {
+    for (String state : component) {
+      for (String successor : successors(state)) {
+        if (hasState(successor) && !component.contains(successor)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+
+  /**
+   * Collects information about RADL elements while the state graph traverses the document. Elements are added in
+   * document order.
+   */
+  interface Index {
+
+    void add(Element element);
+
+  }
+
+
+  private static final class Visit {
+
+    private final String state;
+    private final List<String> successors;
+    private int next;
+
+    Visit(String state, Collection<String> successors) {
+      this.state = state;
+      this.successors = new ArrayList<>(successors);
+    }
+
+    String nextSuccessor() {
+      return next < successors.size() ? successors.get(next++) : null;
+    }
+
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+
+/**
+ * English verbs, which indicate actions when they appear in a resource location. The vocabulary is built once per
+ * class loader and shared by all validators. Projects can add verbs by putting <code>radl/verbs.txt</code> resources
+ * on the class path, with one verb per line. Empty lines and lines starting with <code>#</code> are ignored.
+ */
+final class Verbs {
+
+  static final String EXTENSIONS = "radl/verbs.txt";
+
+  private static final Set<String> BUILT_IN = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+      "abide", "accelerate", "accept", "accomplish", "achieve", "acquire", "act", "activate", "adapt", "add",
+      "administer", "admire", "admit", "adopt", "advise", "afford", "agree", "alight", "allow", "alter", "amuse",
+      "analyze", "announce", "annoy", "anticipate", "apologize", "appear", "applaud", "apply", "appoint", "appraise",
+      "appreciate", "approve", "arbitrate", "argue", "arise", "arrange", "arrest", "arrive", "ascertain", "ask",
+      "assemble", "assess", "assure", "attach", "attain", "attend", "attract", "avoid", "awake", "bake", "bathe",
+      "battle", "be", "become", "beg", "begin", "behave", "behold", "belong", "bend", "beset", "bind", "bite",
+      "bleach", "bleed", "bless", "blink", "blot", "blow", "blush", "boast", "boil", "bore", "borrow", "bounce",
+      "breathe", "breed", "brief", "bring", "build", "bump", "burn", "burst", "bury", "buy", "calculate", "call",
+      "camp", "care", "carry", "carve", "chase", "cheat", "check", "cheer", "chew", "choke", "choose", "chop",
+      "clap", "clarify", "classify", "clean", "clear", "cling", "clip", "close", "clothe", "coach", "coil",
+      "collect", "comb", "come", "command", "communicate", "compare", "compete", "compile", "complain", "complete",
+      "compose", "compute", "conceive", "concentrate", "conceptualize", "conclude", "confess", "confront", "confuse",
+      "connect", "conserve", "consider", "consist", "consolidate", "construct", "contain", "continue", "control",
+      "convert", "coordinate", "copy", "correct", "correlate", "cough", "counsel", "crawl", "create", "creep",
+      "cross", "crush", "cry", "cut", "dare", "decay", "deceive", "decide", "decorate", "define", "delegate",
+      "delight", "deliver", "demonstrate", "depend", "describe", "deserve", "destroy", "detect", "determine",
+      "develop", "devise", "diagnose", "dig", "direct", "disagree", "disappear", "disapprove", "disarm", "discover",
+      "dislike", "dispense", "display", "disprove", "dissect", "distribute", "dive", "divert", "divide", "do",
+      "double", "drag", "drain", "dramatize", "draw", "dream", "drip", "drop", "drown", "drum", "dry", "dust",
+      "dwell", "earn", "eat", "edit", "educate", "eliminate", "embarrass", "employ", "empty", "enact", "encourage",
+      "endure", "enforce", "engineer", "enhance", "enjoy", "enlist", "ensure", "enter", "entertain", "escape",
+      "establish", "evaluate", "examine", "exceed", "excite", "excuse", "execute", "exhibit", "exist", "expand",
+      "expect", "expedite", "experiment", "explain", "explode", "express", "extend", "extract", "facilitate", "fade",
+      "fail", "fancy", "fasten", "fax", "fear", "feed", "feel", "fetch", "fill", "finalize", "finance", "find",
+      "fire", "fit", "fix", "flap", "flash", "flee", "fling", "float", "flood", "flow", "fly", "fold", "follow",
+      "forbid", "forego", "foresee", "foretell", "forget", "forgive", "formulate", "forsake", "freeze", "frighten",
+      "fry", "gather", "gaze", "generate", "get", "give", "glow", "glue", "go", "govern", "grab", "graduate",
+      "grate", "grease", "greet", "grin", "grind", "grip", "groan", "grow", "guarantee", "guard", "handwrite",
+      "hang", "happen", "harass", "harm", "hate", "haunt", "heal", "hear", "heat", "help", "hide", "hit", "hold",
+      "hop", "hope", "hover", "hum", "hurry", "hurt", "hypothesize", "identify", "ignore", "illustrate", "imagine",
+      "implement", "impress", "improve", "improvise", "include", "increase", "induce", "influence", "inform",
+      "initiate", "inject", "injure", "inlay", "innovate", "inspect", "inspire", "install", "institute", "instruct",
+      "insure", "integrate", "intend", "intensify", "interfere", "interlay", "interpret", "introduce", "invent",
+      "investigate", "invite", "irritate", "itch", "jam", "jog", "join", "juggle", "justify", "keep", "kick", "kill",
+      "kiss", "kneel", "knit", "knock", "know", "lay", "lead", "lean", "learn", "lecture", "led", "lend", "let",
+      "lick", "lie", "lifted", "lighten", "listen", "live", "locate", "lose", "love", "maintain", "make", "manage",
+      "manipulate", "manufacture", "march", "mark", "market", "marry", "matter", "mean", "meddle", "mediate", "meet",
+      "melt", "memorize", "mend", "milk", "mine", "mislead", "miss", "misspell", "mistake", "misunderstand", "moan",
+      "modify", "moor", "motivate", "mourn", "mow", "muddle", "multiply", "navigate", "negotiate", "nest", "nod",
+      "nominate", "normalize", "obey", "observe", "obtain", "occur", "offend", "offer", "officiate", "open",
+      "operate", "organize", "orient", "originate", "overcome", "overdo", "overdraw", "overflow", "overhear",
+      "overtake", "overthrow", "owe", "own", "paddle", "paint", "participate", "paste", "pat", "pay", "peck", "peel",
+      "peep", "perceive", "perfect", "perform", "permit", "persuade", "pinch", "pine", "pinpoint", "pioneer",
+      "plead", "please", "plug", "possess", "pour", "praised", "pray", "preach", "precede", "predict", "prefer",
+      "prepare", "prescribe", "preserve", "preset", "preside", "pretend", "prevent", "prick", "print", "procure",
+      "produce", "profess", "promote", "proofread", "propose", "protect", "prove", "provide", "publicize", "punish",
+      "purchase", "push", "put", "qualify", "quit", "race", "radiate", "rain", "raise", "reach", "read", "realign",
+      "realize", "receive", "recognize", "recommend", "reconcile", "recruit", "reduce", "refer", "reflect", "refuse",
+      "regulate", "rehabilitate", "reinforce", "reject", "rejoice", "relate", "relax", "remain", "remember",
+      "remind", "remove", "render", "reorganize", "replace", "reply", "report", "represent", "reproduce", "research",
+      "resolve", "respond", "restore", "restructure", "retire", "retrieve", "revise", "rhyme", "rid", "rinse",
+      "rise", "rob", "rot", "rush", "sail", "satisfy", "save", "saw", "say", "scare", "scatter", "scold", "scorch",
+      "scrape", "scratch", "scribble", "scrub", "secure", "see", "seek", "select", "sell", "send", "separate",
+      "settle", "sew", "shave", "shear", "shed", "shelter", "shine", "shiver", "shock", "shoot", "shrink", "shrug",
+      "shut", "simplify", "sing", "sink", "sip", "sit", "sketch", "ski", "skip", "slap", "slay", "sleep", "sling",
+      "slink", "smash", "smite", "smoke", "snatch", "sneak", "sneeze", "snore", "snow", "soak", "solve", "soothe",
+      "soothsay", "sort", "sow", "sparkle", "speak", "specify", "speed", "spell", "spend", "spill", "spit", "split",
+      "spoil", "spray", "spread", "sprout", "squash", "squeak", "squeal", "squeeze", "stain", "stare", "start",
+      "stay", "steal", "steer", "stick", "stimulate", "sting", "stink", "stir", "stitch", "stop", "streamline",
+      "strengthen", "stretch", "stride", "strike", "string", "strip", "strive", "stroke", "structure", "stuff",
+      "sublet", "subtract", "succeed", "suck", "suffer", "suggest", "summarize", "supervise", "support", "suppose",
+      "surprise", "surround", "suspect", "suspend", "swear", "sweat", "sweep", "swell", "swim", "swing", "symbolize",
+      "synthesize", "systemize", "tabulate", "take", "tame", "tap", "teach", "tear", "tease", "tell", "tempt",
+      "terrify", "thank", "thaw", "think", "thrive", "throw", "thrust", "tickle", "tip", "tire", "touch", "tow",
+      "transcribe", "transform", "translate", "transport", "trap", "travel", "tread", "tremble", "trick", "trot",
+      "troubleshoot", "trust", "try", "tug", "tumble", "undergo", "understand", "undertake", "undress", "unfasten",
+      "unify", "unite", "unlock", "unpack", "untidy", "update", "upgrade", "uphold", "upset", "use", "utilize",
+      "vanish", "verbalize", "verify", "vex", "wail", "wait", "wake", "walk", "wander", "want", "warm", "warn",
+      "wash", "waste", "watch", "wave", "wear", "weave", "wed", "weep", "weigh", "wend", "wet", "whine", "whip",
+      "whirl", "wind", "wink", "wipe", "withhold", "withstand", "wobble", "worry", "wreck", "wrestle", "wriggle",
+      "wring", "write", "yawn", "yell")));
+
+  private static final Map<ClassLoader, Set<String>> BY_CLASS_LOADER = new WeakHashMap<>();
+
+  private Verbs() {
+    // Utility class
+  }
+
+  /**
+   * @return The built-in verbs, plus the ones added by resources that are visible from the context class loader of
+   * the calling thread. Call this on the thread that has the project's class loader, not on a worker thread
+   */
+  static Set<String> get() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return get(classLoader == null ? Verbs.class.getClassLoader() : classLoader);
+  }
+
+  static synchronized Set<String> get(ClassLoader classLoader) {
+    Set<String> result = BY_CLASS_LOADER.get(classLoader);
+    if (result == null) {
+      result = load(classLoader);
+      BY_CLASS_LOADER.put(classLoader, result);
+    }
+    return result;
+  }
+
+  private static Set<String> load(ClassLoader classLoader) {
+    Set<String> extensions = new HashSet<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(EXTENSIONS);
+      while (resources.hasMoreElements()) {
+        addVerbs(resources.nextElement(), extensions);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + EXTENSIONS, e);
+    }
+    if (extensions.isEmpty()) {
+      return BUILT_IN;
+    }
+    extensions.addAll(BUILT_IN);
+    return Collections.unmodifiableSet(extensions);
+  }
+
+  private static void addVerbs(URL resource, Set<String> verbs) throws IOException {
+    try (InputStream stream = resource.openStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line = reader.readLine();
+      while (line != null) {
+        String verb = line.trim();
+        if (!verb.isEmpty() && !verb.startsWith("#")) {
+          verbs.add(verb);
+        }
+        line = reader.readLine();
+      }
+    }
+  }
+
+}
@@ -6,6 +6,8 @@ package radl.core.xml;
 
 import java.io.File;
 
+import org.w3c.dom.Document;
+
 import radl.common.xml.Xml;
 import radl.common.xml.XmlException;
 import radl.core.Log;
@@ -13,18 +15,36 @@ import radl.core.Log;
 
 public final class RadlFileAssembler {
 
+  /**
+   * @deprecated XInclude is no longer handled by the XML parser, see {@linkplain #assemble(File)}
+   */
+  @Deprecated
   public static final String XINCLUDE_FIXUP_BASE_URI = "http://apache.org/xml/features/xinclude/fixup-base-uris";
+  /**
+   * @deprecated XInclude is no longer handled by the XML parser, see {@linkplain #assemble(File)}
+   */
+  @Deprecated
   public static final String XINCLUDE_FIXUP_LANGUAGE = "http://apache.org/xml/features/xinclude/fixup-language";
 
   private RadlFileAssembler() {
     // Utility class
   }
 
+  /**
+   * Merge potentially several RADL files into a single document in memory. Each element of the result knows which
+   * file and line it came from, see {@linkplain radl.common.xml.Location#of(org.w3c.dom.Node)}.
+   * @param radlFile The RADL file to assemble, which may include other RADL files using XInclude
+   * @return The assembled RADL document
+   * @throws XmlException When any of the RADL files can't be parsed
+   */
+  public static Document assemble(File radlFile) throws XmlException {
+    return Xml.parseWithIncludes(radlFile);
+  }
+
   public static File assemble(File radlFile, File targetDirectory) {
     File result = createOutputFile(radlFile, targetDirectory);
     try {
-      // Merge potentially several RADL files into a single file using identity transformation and XInclude-aware parser
-      Xml.identityTransform(Xml.parseWithIncludes(radlFile), result);
+      Xml.identityTransform(assemble(radlFile), result);
     } catch (XmlException e) {
       Log.error("Failed to assemble RADL file: " + e.getMessage());
       return radlFile;
@@ -38,7 +38,7 @@ public final class Java {
   /**
    * @return The Java compiler (requires a JDK)
    */
-  public static JavaCompiler getCompiler() {
+  public static synchronized JavaCompiler getCompiler() {
     if (!lookedForJavaCompiler) {
       lookedForJavaCompiler = true;
       javaCompiler = lookForCompiler();
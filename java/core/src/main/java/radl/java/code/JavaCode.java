@@ -6,11 +6,10 @@ package radl.java.code;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 import radl.core.code.Code;
@@ -21,9 +20,6 @@ import radl.core.code.Code;
  */
 public class JavaCode extends Code {
 
-  private static final Pattern PACKAGE_PATTERN = Pattern.compile(
-      ".*^\\s*package\\s+([a-zA-Z0-9_.]+)\\s*;\\s*(//.*)?$.*",
-      Pattern.DOTALL | Pattern.MULTILINE | Pattern.UNIX_LINES);
   private static final String SCOPE = "(?:(private|protected|public)\\s+)?+";
   private static final String COMMENT_PATTERN = "(?:\\s*/\\*.*\\*/\\s*)?";
   public static final String TYPE_PATTERN = COMMENT_PATTERN + "(?:(?:[a-zA-Z]+\\s*\\.\\s*)*[a-zA-Z0-9_]+)"
@@ -45,7 +41,10 @@ public class JavaCode extends Code {
       "[^@]*(@.*)?^" + SCOPE + "interface\\s+(" + GENERIC_TYPE_PATTERN + ")(?:\\s+extends\\s+("
       + GENERIC_TYPE_PATTERN + "))?\\s+\\{$.*",
       Pattern.DOTALL | Pattern.MULTILINE | Pattern.UNIX_LINES);
-  private static final Pattern IMPORT_PATTERN = Pattern.compile("^import\\s+(?:static\\s+)?+(.*);$");
+  static final Pattern ENUM_NAME_PATTERN = Pattern.compile(
+      "[^@]*(@.*)?^" + SCOPE + "enum\\s+(" + TYPE_PATTERN + ")(?:\\s+implements\\s+(" + TYPES_PATTERN
+      + "))?\\s+\\{$.*",
+      Pattern.DOTALL | Pattern.MULTILINE | Pattern.UNIX_LINES);
   static final String ANNOTATION_PATTERN = "(?:@" + TYPE_PATTERN + "(?:\\([^)]+\\))?)";
   public static final String NAME_PATTERN = COMMENT_PATTERN + "[a-zA-Z0-9_]+" + COMMENT_PATTERN;
   static final String PARAMETER_PATTERN = "(?:(?:" + ANNOTATION_PATTERN + "\\s+)*" + TYPE_PATTERN + "\\s+"
@@ -56,43 +55,105 @@ public class JavaCode extends Code {
       + "(?:(" + TYPE_PATTERN + "(?:\\s*<" + TYPES_PATTERN + "\\s*>)?)\\s+)()?(" + NAME_PATTERN + ")\\s*\\(\\s*("
       + PARAMETER_PATTERN + "(,\\s+" + PARAMETER_PATTERN + ")*)?" + COMMENT_PATTERN + "\\s*\\)\\s*\\{" + END_COMMENT,
       Pattern.DOTALL | Pattern.MULTILINE | Pattern.UNIX_LINES);
-  private static final Pattern FIELD_PATTERN = Pattern.compile(
+  static final Pattern FIELD_PATTERN = Pattern.compile(
       SCOPE + "((?:static\\s+)?+(?:final\\s+)?+)(" + TYPE_PATTERN
       + "(?:\\[\\])?)\\s+(" + NAME_PATTERN + ")(?:\\s*=\\s*(.+))?;" + END_COMMENT + "$");
 
+  private transient JavaStructure structure;
+  private transient int structureModCount;
 
   public JavaCode() {
     super(new JavaSyntax());
   }
 
+  /*
+   * The structure is found again after any change to the lines. Adding and removing lines changes the modification
+   * count of the list, but replacing a line doesn't.
+   */
+  private JavaStructure structure() {
+    if (structure == null || structureModCount != modCount) {
+      structure = new JavaStructure(this);
+      structureModCount = modCount;
+    }
+    return structure;
+  }
+
+  @Override
+  public String set(int index, String line) {
+    structure = null;
+    return super.set(index, line);
+  }
+
+  @Override
+  public String text() {
+    return structure().getText();
+  }
+
   /**
-   * @return The simple name of the top-level type (class or interface) defined in this code
+   * @return The simple name of the top-level type (class, interface, or enum) defined in this code
    * @throws IllegalStateException when the code doesn't contain a Java type
    */
   public String typeName() {
     return getTypeNameMatcher().group(3);
   }
 
-  private Matcher getTypeNameMatcher() {
-    Matcher result = CLASS_NAME_PATTERN.matcher(text());
-    if (!result.matches()) {
-      result = INTERFACE_NAME_PATTERN.matcher(text());
-    }
-    if (!result.matches()) {
+  private MatchResult getTypeNameMatcher() {
+    MatchResult result = structure().getTypeDeclaration();
+    if (result == null) {
       throw new IllegalStateException("Invalid Java class:\n" + text());
     }
     return result;
   }
 
   public boolean isClass() {
-    return CLASS_NAME_PATTERN.matcher(text()).matches();
+    return structure().isClass();
+  }
+
+  public boolean isEnum() {
+    return structure().isEnum();
+  }
+
+  /**
+   * @return The constants of the enum defined in this code, in declaration order, or an empty collection if this
+   * code doesn't define an enum
+   */
+  public List<String> enumConstants() {
+    List<String> result = new ArrayList<>();
+    if (!isEnum()) {
+      return result;
+    }
+    boolean inBody = false;
+    for (String line : this) {
+      String trimmedLine = line.trim();
+      if (inBody) {
+        if (trimmedLine.isEmpty() || trimmedLine.startsWith("//") || trimmedLine.startsWith("*")
+            || trimmedLine.startsWith("/*") || trimmedLine.startsWith("@")) {
+          continue;
+        }
+        if ("}".equals(trimmedLine) || ";".equals(trimmedLine)) {
+          break;
+        }
+        for (String constant : trimmedLine.split(",")) {
+          String name = constant.replace(";", "").trim();
+          if (!name.isEmpty()) {
+            result.add(name);
+          }
+        }
+        if (trimmedLine.endsWith(";")) {
+          break;
+        }
+      } else if (ENUM_NAME_PATTERN.matcher(trimmedLine).matches()) {
+        inBody = true;
+      }
+    }
+    return result;
   }
 
   /**
    * @return The annotations on the class defined in this code, or an empty collection if there are none
    */
   public Collection<String> typeAnnotations() {
-    Matcher matcher = getTypeNameMatcher();
+    MatchResult matcher = getTypeNameMatcher();
     List<String> result = new ArrayList<>();
     String annotations = matcher.group(1);
     if (annotations != null) {
@@ -108,50 +169,7 @@ public class JavaCode extends Code {
    * @return The packages that this code imports, or an empty collection if there are none
    */
   public Collection<String> imports() {
-    return collectPatterns(IMPORT_PATTERN, 1, new ImportComparator());
-  }
-
-  private Collection<String> collectPatterns(Pattern pattern, int group) {
-    return collectPatterns(pattern, group, new Comparator<String>() {
-      @Override
-      public int compare(String o1, String o2) {
-        return o1.compareTo(o2);
-      }
-    });
-  }
-
-  private Collection<String> collectPatterns(Pattern pattern, int group, Comparator<String> comparator) {
-    Collection<String> result = new TreeSet<>(comparator);
-    if (isSingleLinePattern(pattern)) {
-      collectPatternsByLine(pattern, group, result);
-    } else {
-      collectionPatternsByText(pattern, group, result);
-    }
-    return result;
-  }
-
-  private boolean isSingleLinePattern(Pattern pattern) {
-    return (pattern.flags() & Pattern.MULTILINE) == 0;
-  }
-
-  private void collectPatternsByLine(Pattern pattern, int group, Collection<String> patterns) {
-    for (String line : this) {
-      String trimmedLine = line.trim();
-      if (trimmedLine.isEmpty()) {
-        continue;
-      }
-      Matcher matcher = pattern.matcher(trimmedLine);
-      if (matcher.matches()) {
-        patterns.add(matcher.group(group));
-      }
-    }
-  }
-
-  private void collectionPatternsByText(Pattern pattern, int group, Collection<String> patterns) {
-    Matcher matcher = pattern.matcher(text());
-    while (matcher.find()) {
-      patterns.add(matcher.group(group));
-    }
+    return new TreeSet<>(structure().getImports());
   }
 
   /**
@@ -159,7 +177,7 @@ public class JavaCode extends Code {
    * are none
    */
   public Collection<String> methods() {
-    return collectPatterns(METHOD_NAME_PATTERN, 4);
+    return structure().getMethods();
   }
 
   /**
@@ -167,65 +185,7 @@ public class JavaCode extends Code {
    * @return The annotations defined on the given method, or an empty collection if there are none
    */
   public Collection<String> methodAnnotations(String method) {
-    return getAnnotations(METHOD_NAME_PATTERN, 4, method);
-  }
-
-  private Collection<String> getAnnotations(Pattern pattern, int namePart, String name) {
-    List<String> result = new ArrayList<>();
-    if (isSingleLinePattern(pattern)) {
-      getAnnotationsByLine(pattern, namePart, name, result);
-    } else {
-      getAnnotationsByText(pattern, namePart, name, result);
-    }
-    Collections.sort(result);
-    return result;
-  }
-
-  private void getAnnotationsByLine(Pattern pattern, int namePart, String name, List<String> annotations) {
-    boolean inAnnotation = false;
-    for (String line : this) {
-      String trimmedLine = line.trim();
-      if (inAnnotation) {
-        annotations.set(annotations.size() - 1, annotations.get(annotations.size() - 1) + ' ' + trimmedLine);
-        inAnnotation = !trimmedLine.contains(")");
-      } else if (trimmedLine.startsWith("@")) {
-        annotations.add(trimmedLine);
-        inAnnotation = trimmedLine.contains("(") && !trimmedLine.contains(")");
-      } else {
-        Matcher matcher = pattern.matcher(trimmedLine);
-        if (matcher.matches() && name.equals(matcher.group(namePart))) {
-          break;
-        } else {
-          annotations.clear();
-        }
-      }
-    }
-  }
-
-  private void getAnnotationsByText(Pattern pattern, int namePart, String name, List<String> annotations) {
-    Matcher matcher = pattern.matcher(text());
-    int start = 0;
-    while (matcher.find()) {
-      String actual = matcher.group(namePart);
-      if (name.equals(actual)) {
-        boolean inAnnotation = false;
-        for (String line : text().substring(start, matcher.start()).split("\\n")) {
-          String trimmedLine = line.trim();
-          if (inAnnotation) {
-            annotations.set(annotations.size() - 1, annotations.get(annotations.size() - 1) + ' ' + trimmedLine);
-            inAnnotation = !trimmedLine.contains(")");
-          } else if (trimmedLine.startsWith("@")) {
-            annotations.add(trimmedLine);
-            inAnnotation = trimmedLine.contains("(") && !trimmedLine.contains(")");
-          } else {
-            annotations.clear();
-          }
-        }
-        break;
-      } else {
-        start = matcher.end();
-      }
-    }
+    return new ArrayList<>(structure().getMethodAnnotations(method));
   }
 
   /**
@@ -237,19 +197,15 @@ public class JavaCode extends Code {
   }
 
   private String getMethodPart(String method, int part) {
-    return getPatternPart(METHOD_NAME_PATTERN, 4, method, part);
+    return getPart(structure().getMethodLine(method), part);
   }
 
-  private String getPatternPart(Pattern pattern, int namePart, String name, int valuePart) {
-    for (String line : this) {
-      String trimmedLine = line.trim();
-      Matcher matcher = pattern.matcher(trimmedLine);
-      if (matcher.matches() && name.equals(matcher.group(namePart))) {
-        String result = matcher.group(valuePart);
-        return result == null ? "" : result;
-      }
+  private String getPart(MatchResult line, int part) {
+    if (line == null) {
+      return "";
     }
-    return "";
+    String result = line.group(part);
+    return result == null ? "" : result;
   }
 
   /**
@@ -265,11 +221,7 @@ public class JavaCode extends Code {
    * @return The package that contains this code
    */
   public String packageName() {
-    Matcher matcher = PACKAGE_PATTERN.matcher(text());
-    if (matcher.matches()) {
-      return matcher.group(1);
-    }
-    return "";
+    return structure().getPackageName();
   }
 
   public String fullyQualifiedName() {
@@ -287,29 +239,7 @@ public class JavaCode extends Code {
    * @return The method's body, or an empty string if the code doesn't contain the method or doesn't contain any code
    */
   public String methodBody(String method) {
-    StringBuilder result = new StringBuilder();
-    int depth = 0;
-    for (String line : this) {
-      String trimmedLine = line.trim();
-      if (depth > 0) {
-        if ("}".equals(trimmedLine) && --depth == 0) {
-          break;
-        } else {
-          if (result.length() > 0) {
-            result.append('\n');
-          }
-          result.append(trimmedLine);
-          if (trimmedLine.endsWith("{")) {
-            depth++;
-          }
-        }
-      }
-      Matcher methodMatcher = METHOD_NAME_PATTERN.matcher(trimmedLine);
-      if (methodMatcher.matches() && method.equals(methodMatcher.group(4))) {
-        depth = 1;
-      }
-    }
-    return result.toString();
+    return structure().getMethodBody(method);
   }
 
   /**
@@ -317,7 +247,7 @@ public class JavaCode extends Code {
    * are none
    */
   public Collection<String> fieldNames() {
-    return collectPatterns(FIELD_PATTERN, 4);
+    return structure().getFieldNames();
   }
 
   /**
@@ -325,7 +255,11 @@ public class JavaCode extends Code {
    * @return The field's type, or an empty string if the code doesn't contain the field
    */
   public String fieldType(String fieldName) {
-    return getPatternPart(FIELD_PATTERN, 4, fieldName, 3);
+    return getFieldPart(fieldName, 3);
+  }
+
+  private String getFieldPart(String fieldName, int part) {
+    return getPart(structure().getFieldLine(fieldName), part);
   }
 
   /**
@@ -333,7 +267,7 @@ public class JavaCode extends Code {
    * @return The annotations defined on the given field, or an empty collection if there are none
    */
   public Iterable<String> fieldAnnotations(String fieldName) {
-    return getAnnotations(FIELD_PATTERN, 4, fieldName);
+    return new ArrayList<>(structure().getFieldAnnotations(fieldName));
   }
 
   /**
@@ -342,7 +276,7 @@ public class JavaCode extends Code {
    * @return The value of the given field
    */
   public String fieldValue(String fieldName) {
-    String result = getPatternPart(FIELD_PATTERN, 4, fieldName, 5);
+    String result = getFieldPart(fieldName, 5);
     return result.isEmpty() ? null : result;
   }
 
@@ -407,74 +341,11 @@ public class JavaCode extends Code {
    * @return Whether the field with the given name is a constant (is declared using <code>static final</code>)
    */
   public boolean fieldIsContant(String fieldName) {
-    return "static final".equals(getPatternPart(FIELD_PATTERN, 4, fieldName, 2).trim());
+    return "static final".equals(getFieldPart(fieldName, 2).trim());
   }
 
   public Iterable<String> fieldComments(String fieldName) {
-    return getComments(FIELD_PATTERN, 4, fieldName);
-  }
-
-  private Collection<String> getComments(Pattern pattern, int namePart, String name) {
-    List<String> result = new ArrayList<>();
-    if (isSingleLinePattern(pattern)) {
-      getCommentsByLine(pattern, namePart, name, result);
-    } else {
-      getCommentsByText(pattern, namePart, name, result);
-    }
-    return result;
-  }
-
-  private void getCommentsByLine(Pattern pattern, int namePart, String name, List<String> comments) {
-    boolean inComment = false;
-    for (String line : this) {
-      String trimmedLine = line.trim();
-      if (inComment) {
-        inComment = !"*/".equals(trimmedLine);
-        if (inComment) {
-          comments.add(trimmedLine.substring(trimmedLine.indexOf(' ') + 1));
-        }
-      } else if (trimmedLine.startsWith("/**")) {
-        int index = trimmedLine.indexOf(' ');
-        if (index > 0) {
-          comments.add(trimmedLine.substring(index + 1));
-        }
-        inComment = !trimmedLine.contains("*/");
-      } else {
-        Matcher matcher = pattern.matcher(trimmedLine);
-        if (matcher.matches() && name.equals(matcher.group(namePart))) {
-          break;
-        } else {
-          comments.clear();
-        }
-      }
-    }
-  }
-
-  private void getCommentsByText(Pattern pattern, int namePart, String name, List<String> comments) {
-    Matcher matcher = pattern.matcher(text());
-    int start = 0;
-    while (matcher.find()) {
-      String actual = matcher.group(namePart);
-      if (name.equals(actual)) {
-        boolean inComment = false;
-        for (String line : text().substring(start, matcher.start()).split("\\n")) {
-          String trimmedLine = line.trim();
-          if (inComment) {
-            comments.set(comments.size() - 1,
-                comments.get(comments.size() - 1) + ' ' + trimmedLine.substring(trimmedLine.indexOf(' ') + 1));
-            inComment = !trimmedLine.contains("*/");
-          } else if (trimmedLine.startsWith("/**")) {
-            comments.add(trimmedLine.substring(trimmedLine.indexOf(' ') + 1));
-            inComment = !trimmedLine.contains("*/");
-          } else {
-            comments.clear();
-          }
-        }
-        break;
-      } else {
-        start = matcher.end();
-      }
-    }
+    return new ArrayList<>(structure().getFieldComments(fieldName));
   }
 
   public String constructorBody() {
@@ -0,0 +1,425 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.code;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The structure of one version of some {@linkplain JavaCode Java code}: its package, imports, type declaration,
+ * fields, and methods. The package and imports are parsed in one pass over the lines, without patterns. The fields
+ * and method lines, with the annotations and comments that precede them, are indexed in another single pass, which
+ * only matches a line against a pattern when it contains the characters that the declaration requires. The type
+ * declaration, the declarations of methods that span lines, and method bodies are still matched against the text,
+ * but at most once each. Every part is found on first use, so queries after that are look-ups and asking about every
+ * field or method of a type no longer rescans the code for each of them.
+ */
+final class JavaStructure {
+
+  private static final MatchResult NO_MATCH = Pattern.compile("").matcher("").toMatchResult();
+  private static final String PACKAGE = "package";
+  private static final String IMPORT = "import";
+  private static final String STATIC = "static";
+
+  private final String text;
+  private final List<String> trimmedLines;
+  private String packageName;
+  private SortedSet<String> imports;
+  private MatchResult classMatch;
+  private MatchResult interfaceMatch;
+  private MatchResult enumMatch;
+  private List<MatchResult> methodLines;
+  private List<MatchResult> methodDeclarations;
+  private Map<String, MatchResult> methodLinesByName;
+  private Map<String, MatchResult> fieldLinesByName;
+  private Collection<String> fieldNames;
+  private Map<String, List<String>> methodAnnotationsByName;
+  private Map<String, List<String>> fieldAnnotationsByName;
+  private Map<String, List<String>> fieldCommentsByName;
+  private final Map<String, String> methodBodiesByName = new HashMap<>();
+
+  JavaStructure(List<String> lines) {
+    StringBuilder builder = new StringBuilder();
+    trimmedLines = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      builder.append(line).append('\n');
+      trimmedLines.add(line.trim());
+    }
+    text = builder.toString();
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public String getPackageName() {
+    if (packageName == null) {
+      parseHeader();
+    }
+    return packageName;
+  }
+
+  public SortedSet<String> getImports() {
+    if (imports == null) {
+      parseHeader();
+    }
+    return imports;
+  }
+
+  /*
+   * When the code has more than one package statement, the last one wins.
+   */
+  private void parseHeader() {
+    packageName = "";
+    imports = new TreeSet<>(new ImportComparator());
+    for (String line : trimmedLines) {
+      if (line.startsWith(PACKAGE)) {
+        String name = parsePackage(line);
+        if (name != null) {
+          packageName = name;
+        }
+      } else if (line.startsWith(IMPORT)) {
+        String name = parseImport(line);
+        if (name != null) {
+          imports.add(name);
+        }
+      }
+    }
+  }
+
+  private String parsePackage(String line) {
+    int index = skipWhitespace(line, PACKAGE.length());
+    if (index == PACKAGE.length()) {
+      return null;
+    }
+    int start = index;
+    while (index < line.length() && isPackageNameChar(line.charAt(index))) {
+      index++;
+    }
+    if (index == start) {
+      return null;
+    }
+    String result = line.substring(start, index);
+    index = skipWhitespace(line, index);
+    if (index == line.length() || line.charAt(index) != ';') {
+      return null;
+    }
+    index = skipWhitespace(line, index + 1);
+    return index == line.length() || line.startsWith("//", index) ? result : null;
+  }
+
+  private boolean isPackageNameChar(char c) {
+    return c == '.' || c == '_' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+  }
+
+  private int skipWhitespace(String line, int start) {
+    int result = start;
+    while (result < line.length() && Character.isWhitespace(line.charAt(result))) {
+      result++;
+    }
+    return result;
+  }
+
+  private String parseImport(String line) {
+    int end = line.length() - 1;
+    int index = skipWhitespace(line, IMPORT.length());
+    if (index == IMPORT.length() || end < index || line.charAt(end) != ';') {
+      return null;
+    }
+    if (line.startsWith(STATIC, index)) {
+      int afterStatic = skipWhitespace(line, index + STATIC.length());
+      if (afterStatic > index + STATIC.length() && afterStatic <= end) {
+        index = afterStatic;
+      }
+    }
+    return line.substring(index, end);
+  }
+
+  /**
+   * @return The declaration of the type, or <code>null</code> when the code doesn't declare a class, interface, or enum
+   */
+  public MatchResult getTypeDeclaration() {
+    if (isClass()) {
+      return classMatch;
+    }
+    if (interfaceMatch == null) {
+      interfaceMatch = matchText(JavaCode.INTERFACE_NAME_PATTERN);
+    }
+    if (interfaceMatch != NO_MATCH) {
+      return interfaceMatch;
+    }
+    return isEnum() ? enumMatch : null;
+  }
+
+  private MatchResult matchText(Pattern pattern) {
+    Matcher matcher = pattern.matcher(text);
+    return matcher.matches() ? matcher.toMatchResult() : NO_MATCH;
+  }
+
+  public boolean isClass() {
+    if (classMatch == null) {
+      classMatch = matchText(JavaCode.CLASS_NAME_PATTERN);
+    }
+    return classMatch != NO_MATCH;
+  }
+
+  public boolean isEnum() {
+    if (enumMatch == null) {
+      enumMatch = matchText(JavaCode.ENUM_NAME_PATTERN);
+    }
+    return enumMatch != NO_MATCH;
+  }
+
+  /**
+   * @return The names of the methods declared anywhere in the text, including declarations that span lines
+   */
+  public Collection<String> getMethods() {
+    Collection<String> result = new TreeSet<>();
+    for (MatchResult declaration : getMethodDeclarations()) {
+      result.add(declaration.group(4));
+    }
+    return result;
+  }
+
+  private List<MatchResult> getMethodDeclarations() {
+    if (methodDeclarations == null) {
+      methodDeclarations = new ArrayList<>();
+      Matcher matcher = JavaCode.METHOD_NAME_PATTERN.matcher(text);
+      while (matcher.find()) {
+        methodDeclarations.add(matcher.toMatchResult());
+      }
+    }
+    return methodDeclarations;
+  }
+
+  /**
+   * @param method The name of a method
+   * @return The sorted annotations on the first declaration of the method in the text
+   */
+  public List<String> getMethodAnnotations(String method) {
+    if (methodAnnotationsByName == null) {
+      methodAnnotationsByName = new HashMap<>();
+      int start = 0;
+      for (MatchResult declaration : getMethodDeclarations()) {
+        String name = declaration.group(4);
+        if (!methodAnnotationsByName.containsKey(name)) {
+          List<String> annotations = new ArrayList<>();
+          addAnnotations(text.substring(start, declaration.start()).split("\\n"), annotations);
+          Collections.sort(annotations);
+          methodAnnotationsByName.put(name, annotations);
+        }
+        start = declaration.end();
+      }
+    }
+    List<String> result = methodAnnotationsByName.get(method);
+    return result == null ? Collections.<String>emptyList() : result;
+  }
+
+  private void addAnnotations(String[] lines, List<String> annotations) {
+    boolean inAnnotation = false;
+    for (String line : lines) {
+      String trimmedLine = line.trim();
+      if (inAnnotation) {
+        inAnnotation = continueAnnotation(trimmedLine, annotations);
+      } else if (trimmedLine.startsWith("@")) {
+        inAnnotation = startAnnotation(trimmedLine, annotations);
+      } else {
+        annotations.clear();
+      }
+    }
+  }
+
+  private boolean continueAnnotation(String trimmedLine, List<String> annotations) {
+    annotations.set(annotations.size() - 1, annotations.get(annotations.size() - 1) + ' ' + trimmedLine);
+    return !trimmedLine.contains(")");
+  }
+
+  private boolean startAnnotation(String trimmedLine, List<String> annotations) {
+    annotations.add(trimmedLine);
+    return trimmedLine.contains("(") && !trimmedLine.contains(")");
+  }
+
+  /**
+   * @param method The name of a method
+   * @return The first line that declares the method, or <code>null</code> if there is none
+   */
+  public MatchResult getMethodLine(String method) {
+    if (methodLinesByName == null) {
+      indexMembers();
+    }
+    return methodLinesByName.get(method);
+  }
+
+  /*
+   * Find the field and method lines, and the annotations and documentation comments on the first declaration of each
+   * field, in one pass over the lines. Annotations and comments belong to the first declaration of a field that isn't
+   * itself part of an annotation or comment. A line that declares a field ends in a semicolon, possibly followed by a
+   * comment, and one that declares a method has parentheses and an opening brace, so other lines are never matched.
+   */
+  private void indexMembers() {
+    methodLines = new ArrayList<>(trimmedLines.size());
+    methodLinesByName = new HashMap<>();
+    fieldLinesByName = new HashMap<>();
+    fieldNames = new TreeSet<>();
+    fieldAnnotationsByName = new HashMap<>();
+    fieldCommentsByName = new HashMap<>();
+    List<String> annotations = new ArrayList<>();
+    List<String> comments = new ArrayList<>();
+    boolean inAnnotation = false;
+    boolean inComment = false;
+    for (String trimmedLine : trimmedLines) {
+      MatchResult methodLine = null;
+      if (trimmedLine.indexOf('(') >= 0 && trimmedLine.indexOf('{') >= 0) {
+        methodLine = matchLine(JavaCode.METHOD_NAME_PATTERN, trimmedLine);
+        addFirst(methodLine, methodLinesByName);
+      }
+      methodLines.add(methodLine);
+      MatchResult fieldLine = trimmedLine.indexOf(';') >= 0 ? matchLine(JavaCode.FIELD_PATTERN, trimmedLine) : null;
+      String field = null;
+      if (fieldLine != null) {
+        addFirst(fieldLine, fieldLinesByName);
+        field = fieldLine.group(4);
+        fieldNames.add(field);
+      }
+
+      if (inAnnotation) {
+        inAnnotation = continueAnnotation(trimmedLine, annotations);
+      } else if (trimmedLine.startsWith("@")) {
+        inAnnotation = startAnnotation(trimmedLine, annotations);
+      } else {
+        if (field != null && !fieldAnnotationsByName.containsKey(field)) {
+          Collections.sort(annotations);
+          fieldAnnotationsByName.put(field, annotations);
+          annotations = new ArrayList<>();
+        }
+        annotations.clear();
+      }
+
+      if (inComment) {
+        inComment = !"*/".equals(trimmedLine);
+        if (inComment) {
+          comments.add(trimmedLine.substring(trimmedLine.indexOf(' ') + 1));
+        }
+      } else if (trimmedLine.startsWith("/**")) {
+        int index = trimmedLine.indexOf(' ');
+        if (index > 0) {
+          comments.add(trimmedLine.substring(index + 1));
+        }
+        inComment = !trimmedLine.contains("*/");
+      } else {
+        if (field != null && !fieldCommentsByName.containsKey(field)) {
+          fieldCommentsByName.put(field, comments);
+          comments = new ArrayList<>();
+        }
+        comments.clear();
+      }
+    }
+  }
+
+  private MatchResult matchLine(Pattern pattern, String line) {
+    Matcher matcher = pattern.matcher(line);
+    return matcher.matches() ? matcher.toMatchResult() : null;
+  }
+
+  private void addFirst(MatchResult line, Map<String, MatchResult> linesByName) {
+    if (line != null && !linesByName.containsKey(line.group(4))) {
+      linesByName.put(line.group(4), line);
+    }
+  }
+
+  /**
+   * @param method The name of a method
+   * @return The body of the first method with the given name, one trimmed line per line
+   */
+  public String getMethodBody(String method) {
+    String result = methodBodiesByName.get(method);
+    if (result == null) {
+      result = findMethodBody(method);
+      methodBodiesByName.put(method, result);
+    }
+    return result;
+  }
+
+  private String findMethodBody(String method) {
+    if (methodLines == null) {
+      indexMembers();
+    }
+    StringBuilder result = new StringBuilder();
+    int depth = 0;
+    for (int i = 0; i < trimmedLines.size(); i++) {
+      String trimmedLine = trimmedLines.get(i);
+      if (depth > 0) {
+        if ("}".equals(trimmedLine) && --depth == 0) {
+          break;
+        } else {
+          if (result.length() > 0) {
+            result.append('\n');
+          }
+          result.append(trimmedLine);
+          if (trimmedLine.endsWith("{")) {
+            depth++;
+          }
+        }
+      }
+      MatchResult line = methodLines.get(i);
+      if (line != null && method.equals(line.group(4))) {
+        depth = 1;
+      }
+    }
+    return result.toString();
+  }
+
+  public Collection<String> getFieldNames() {
+    if (fieldNames == null) {
+      indexMembers();
+    }
+    return new TreeSet<>(fieldNames);
+  }
+
+  /**
+   * @param field The name of a field
+   * @return The first line that declares the field, or <code>null</code> if there is none
+   */
+  public MatchResult getFieldLine(String field) {
+    if (fieldLinesByName == null) {
+      indexMembers();
+    }
+    return fieldLinesByName.get(field);
+  }
+
+  /**
+   * @param field The name of a field
+   * @return The sorted annotations on the first declaration of the field
+   */
+  public List<String> getFieldAnnotations(String field) {
+    if (fieldAnnotationsByName == null) {
+      indexMembers();
+    }
+    List<String> result = fieldAnnotationsByName.get(field);
+    return result == null ? Collections.<String>emptyList() : result;
+  }
+
+  /**
+   * @param field The name of a field
+   * @return The lines of the documentation comment on the first declaration of the field
+   */
+  public List<String> getFieldComments(String field) {
+    if (fieldCommentsByName == null) {
+      indexMembers();
+    }
+    List<String> result = fieldCommentsByName.get(field);
+    return result == null ? Collections.<String>emptyList() : result;
+  }
+
+}
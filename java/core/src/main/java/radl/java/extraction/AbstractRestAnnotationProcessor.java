@@ -29,6 +29,9 @@ import javax.lang.model.util.Types;
 
 import radl.common.StringUtil;
 import radl.core.Log;
+import radl.core.extraction.RecordingResourceModel;
+import radl.core.extraction.ResourceModel;
+import radl.core.extraction.ResourceModelContributions;
 
 
 /**
@@ -151,6 +154,7 @@ public abstract class AbstractRestAnnotationProcessor extends AbstractRestProces
   private void processElement(Set<? extends Element> allTypes, Element element, Element classElement,
       Collection<String> uris, String method, Collection<String> consumes, Collection<String> produces,
       Collection<Parameter> parameters) {
+    startContribution(element, classElement);
     String resourceName = qualifiedNameOf(classElement);
     addResource(resourceName, getDocumentationFor(classElement));
 
@@ -177,6 +181,27 @@ public abstract class AbstractRestAnnotationProcessor extends AbstractRestProces
     }
   }
 
+  private void startContribution(Element element, Element classElement) {
+    ResourceModelContributions contributions = getContributions();
+    if (contributions != null) {
+      contributions.start(topLevelNameOf(element), topLevelNameOf(classElement));
+    }
+  }
+
+  private ResourceModelContributions getContributions() {
+    ResourceModel resourceModel = getResourceModel();
+    return resourceModel instanceof RecordingResourceModel
+        ? ((RecordingResourceModel)resourceModel).getContributions() : null;
+  }
+
+  private String topLevelNameOf(Element element) {
+    Element result = element;
+    while (result.getEnclosingElement() != null && result.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+      result = result.getEnclosingElement();
+    }
+    return qualifiedNameOf(result);
+  }
+
   private void addParameter(String className, Parameter parameter) {
     logClass("Added parameter " + parameter.getName(), className);
     getResourceModel().addLocationVar(className, parameter.getName(), parameter.getDocumentation());
@@ -222,8 +247,12 @@ public abstract class AbstractRestAnnotationProcessor extends AbstractRestProces
     Element returnType = getReturnType(methodElement);
     if (allTypes.contains(returnType)) {
       Collection<String> result = new HashSet<>();
+      ResourceModelContributions contributions = getContributions();
       for (Element type : getTypesExtendingOrImplementing(allTypes, returnType)) {
         result.add(qualifiedNameOf(type));
+        if (contributions != null) {
+          contributions.involve(topLevelNameOf(type));
+        }
       }
       return result;
     }
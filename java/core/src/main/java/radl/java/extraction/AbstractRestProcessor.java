@@ -4,7 +4,6 @@
 
 package radl.java.extraction;
 
-import java.io.File;
 import java.util.Set;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
@@ -18,8 +17,6 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 
 import radl.core.extraction.ResourceModel;
-import radl.core.extraction.ResourceModelHolder;
-import radl.core.extraction.ResourceModelSerializer;
 
 /**
  * Base class for processing annotations.
@@ -27,10 +24,19 @@ import radl.core.extraction.ResourceModelSerializer;
 public abstract class AbstractRestProcessor extends AbstractProcessor {
 
   private static final String CONSTRUCTOR_NAME = "<init>";
-  private ResourceModel resourceModel;
+  private ExtractionContext extractionContext;
+  private ExtractionContext roundContext;
+
+  /**
+   * Use the given context instead of the one that the {@linkplain ProcessorOptions processor options} refer to.
+   * @param extractionContext The context of the extraction that runs this processor
+   */
+  public void setExtractionContext(ExtractionContext extractionContext) {
+    this.extractionContext = extractionContext;
+  }
 
   protected ResourceModel getResourceModel() {
-    return resourceModel;
+    return roundContext.getResourceModel();
   }
 
   @Override
@@ -40,9 +46,10 @@ public abstract class AbstractRestProcessor extends AbstractProcessor {
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-    initResourceModel();
+    roundContext = extractionContext == null
+        ? ExtractionContext.fromProcessorOptions(processingEnv.getOptions()) : extractionContext;
     doProcess(annotations, roundEnv);
-    writeResourceModelToFile();
+    roundContext.complete();
     return false;
   }
 
@@ -148,18 +155,4 @@ public abstract class AbstractRestProcessor extends AbstractProcessor {
     return result.isEmpty() ? null : result;
   }
 
-  private void initResourceModel() {
-    String resourceModelFile = processingEnv.getOptions().get(ProcessorOptions.RESOURCE_MODEL_FILE);
-    resourceModel = resourceModelFile == null ? ResourceModelHolder.INSTANCE.get() :
-        ResourceModelSerializer.deserializeModelFromFile(new File(resourceModelFile));
-  }
-
-
-  private void writeResourceModelToFile() {
-    resourceModel.markComplete();
-    String resourceModelFile = processingEnv.getOptions().get(ProcessorOptions.RESOURCE_MODEL_FILE);
-    if (resourceModelFile != null) {
-      ResourceModelSerializer.serializeModelToFile(resourceModel, new File(resourceModelFile));
-    }
-  }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import radl.core.Log;
+
+
+/**
+ * What a previous extraction learned about the Eclipse class path: the paths that each <code>.classpath</code> and
+ * <code>.target</code> file resolved to, and the symbolic names of the bundles in each plug-in directory. Everything
+ * is keyed by the modification times of the files and directories it was derived from, and by the values of the
+ * environment variables it used, so that a next extraction only needs to resolve what changed.
+ */
+final class ClasspathCache implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final String ENVIRONMENT_PREFIX = "env:";
+  private static final String JAR_FILE_EXTENSION = ".jar";
+
+  private final Map<String, Resolution> resolutionsByFile = new HashMap<>();
+  private final Map<String, BundleDirectory> bundleDirectoriesByPath = new HashMap<>();
+
+  /**
+   * @param file The file that the cache was saved to. May be <code>null</code>
+   * @return The cache saved in the given file, or an empty cache when there is none
+   */
+  public static ClasspathCache load(File file) {
+    if (file == null || !file.isFile()) {
+      return new ClasspathCache();
+    }
+    try (InputStream stream = new FileInputStream(file)) {
+      try (ObjectInputStream input = new ObjectInputStream(stream)) {
+        return (ClasspathCache)input.readObject();
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      Log.error("Ignoring unreadable class path cache " + file + ": " + e);
+      return new ClasspathCache();
+    }
+  }
+
+  public synchronized void save(File file) {
+    File dir = file.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IllegalStateException("Could not create directory " + dir);
+    }
+    try (OutputStream stream = new FileOutputStream(file)) {
+      try (ObjectOutputStream output = new ObjectOutputStream(stream)) {
+        output.writeObject(this);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to write class path cache", e);
+    }
+  }
+
+  /**
+   * @param classpathFile An Eclipse <code>.classpath</code> or <code>.target</code> file
+   * @return The paths that the file resolved to, or <code>null</code> when it wasn't resolved before, or when any of
+   * the inputs of the resolution changed since
+   */
+  public synchronized Collection<String> getPaths(File classpathFile) {
+    Resolution resolution = resolutionsByFile.get(classpathFile.getAbsolutePath());
+    return resolution == null || !resolution.isCurrent() ? null : resolution.paths;
+  }
+
+  /**
+   * @param classpathFile An Eclipse <code>.classpath</code> or <code>.target</code> file
+   * @param paths The paths that the file resolved to
+   * @param inputs The inputs of the resolution, as created by {@linkplain #fileInput(File)} and
+   * {@linkplain #environmentInput(String)}
+   */
+  public synchronized void setPaths(File classpathFile, Collection<String> paths, Collection<String> inputs) {
+    Map<String, String> stamps = new HashMap<>();
+    for (String input : inputs) {
+      stamps.put(input, stampOf(input));
+    }
+    resolutionsByFile.put(classpathFile.getAbsolutePath(), new Resolution(new ArrayList<>(paths), stamps));
+  }
+
+  /**
+   * @param file A file or directory that a resolution depends on
+   * @return The input that represents the file
+   */
+  public static String fileInput(File file) {
+    return file.getAbsolutePath();
+  }
+
+  /**
+   * @param name The name of an environment variable that a resolution depends on
+   * @return The input that represents the environment variable
+   */
+  public static String environmentInput(String name) {
+    return ENVIRONMENT_PREFIX + name;
+  }
+
+  private static String stampOf(String input) {
+    if (input.startsWith(ENVIRONMENT_PREFIX)) {
+      return String.valueOf(System.getenv(input.substring(ENVIRONMENT_PREFIX.length())));
+    }
+    return String.valueOf(new File(input).lastModified());
+  }
+
+  /**
+   * @param dir A directory with bundle jars
+   * @param symbolicName The <code>Bundle-SymbolicName</code> of the bundle to find
+   * @return The path of the only jar in the given directory with the given symbolic name, or <code>null</code> when
+   * there is no such jar, or more than one
+   */
+  public synchronized String findBundle(File dir, String symbolicName) {
+    String key = dir.getAbsolutePath();
+    BundleDirectory bundleDirectory = bundleDirectoriesByPath.get(key);
+    if (bundleDirectory == null) {
+      bundleDirectory = new BundleDirectory();
+      bundleDirectoriesByPath.put(key, bundleDirectory);
+    }
+    bundleDirectory.update(dir);
+    String result = null;
+    for (Entry<String, Bundle> entry : bundleDirectory.bundlesByJar.entrySet()) {
+      if (symbolicName.equals(entry.getValue().symbolicName)) {
+        if (result != null) {
+          return null;
+        }
+        result = new File(dir, entry.getKey()).getAbsolutePath();
+      }
+    }
+    return result;
+  }
+
+
+  private static final class Resolution implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Collection<String> paths;
+    private final Map<String, String> stamps;
+
+    Resolution(Collection<String> paths, Map<String, String> stamps) {
+      this.paths = paths;
+      this.stamps = stamps;
+    }
+
+    boolean isCurrent() {
+      for (Entry<String, String> entry : stamps.entrySet()) {
+        if (!entry.getValue().equals(stampOf(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+
+  /**
+   * The bundles in a directory. Adding or removing a jar changes the modification time of the directory, so only
+   * then do the jars need to be listed again. Only new or modified jars are opened to read their manifests.
+   */
+  private static final class BundleDirectory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long lastModified = -1;
+    private final Map<String, Bundle> bundlesByJar = new HashMap<>();
+
+    void update(File dir) {
+      long dirModified = dir.lastModified();
+      if (dirModified == lastModified) {
+        return;
+      }
+      lastModified = dirModified;
+      Map<String, Bundle> previous = new HashMap<>(bundlesByJar);
+      bundlesByJar.clear();
+      String[] names = dir.list();
+      if (names == null) {
+        return;
+      }
+      for (String name : names) {
+        if (!name.endsWith(JAR_FILE_EXTENSION)) {
+          continue;
+        }
+        File jar = new File(dir, name);
+        Bundle bundle = previous.get(name);
+        if (bundle == null || bundle.lastModified != jar.lastModified()) {
+          bundle = new Bundle(jar.lastModified(), symbolicNameOf(jar));
+        }
+        bundlesByJar.put(name, bundle);
+      }
+    }
+
+    private String symbolicNameOf(File jar) {
+      try (ZipFile zip = new ZipFile(jar)) {
+        ZipEntry manifest = zip.getEntry("META-INF/MANIFEST.MF");
+        if (manifest == null) {
+          return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream stream = zip.getInputStream(manifest)) {
+          properties.load(stream);
+        }
+        return properties.getProperty("Bundle-SymbolicName");
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+  }
+
+
+  private static final class Bundle implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long lastModified;
+    private final String symbolicName;
+
+    Bundle(long lastModified, String symbolicName) {
+      this.lastModified = lastModified;
+      this.symbolicName = symbolicName;
+    }
+
+  }
+
+}
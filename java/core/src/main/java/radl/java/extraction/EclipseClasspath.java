@@ -0,0 +1,164 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import radl.common.xml.ElementProcessor;
+import radl.common.xml.Xml;
+import radl.core.Log;
+
+
+/**
+ * Resolves Eclipse <code>.classpath</code> files and target platform definitions (<code>.target</code> files) to the
+ * jars they refer to. Resolutions are kept in a {@linkplain ClasspathCache cache}, so that files that didn't change
+ * aren't parsed again, and bundle directories aren't scanned again.
+ */
+final class EclipseClasspath {
+
+  static final String CLASSPATH_FILE = ".classpath";
+  static final String TARGET_FILE_EXTENSION = ".target";
+  private static final String ENVIRONMENT_VAR_MARKER = "${env_var:";
+  private static final String WORKSPACE_LOCATION_MARKER = "${workspace_loc:";
+
+  private final ClasspathCache cache;
+
+  public EclipseClasspath(ClasspathCache cache) {
+    this.cache = cache;
+  }
+
+  public static boolean isClasspathFile(File file) {
+    return file.getName().endsWith(CLASSPATH_FILE) || file.getName().endsWith(TARGET_FILE_EXTENSION);
+  }
+
+  /**
+   * @param file An Eclipse <code>.classpath</code> or <code>.target</code> file
+   * @return The paths of the jars that the file refers to
+   */
+  public Collection<String> resolve(File file) {
+    Collection<String> result = cache.getPaths(file);
+    if (result == null) {
+      result = new LinkedHashSet<>();
+      Collection<String> inputs = new LinkedHashSet<>();
+      inputs.add(ClasspathCache.fileInput(file));
+      if (file.getName().endsWith(TARGET_FILE_EXTENSION)) {
+        addTargetPaths(file, result, inputs);
+      } else {
+        addClassPaths(file, result, inputs);
+      }
+      cache.setPaths(file, result, inputs);
+    }
+    return result;
+  }
+
+  private void addTargetPaths(final File targetFile, final Collection<String> paths, final Collection<String> inputs) {
+    Document document = Xml.parse(targetFile);
+    try {
+      final Collection<String> locations = new ArrayList<>();
+      Xml.processNestedElements(document.getDocumentElement(), new ElementProcessor() {
+        @Override
+        public void process(Element element) throws Exception {
+          String location = resolveVar(targetFile.getParentFile().getAbsolutePath(),
+              element.getAttributeNS(null, "path"), inputs);
+          locations.add(location);
+          inputs.add(ClasspathCache.fileInput(new File(location)));
+        }
+      }, "locations", "location");
+      Xml.processNestedElements(document.getDocumentElement(), new ElementProcessor() {
+        @Override
+        public void process(Element element) throws Exception {
+          String fileName = element.getAttributeNS(null, "id");
+          String path = findFile(locations, fileName);
+          if (path == null) {
+            Log.error("Can't find bundle with Bundle-SymbolicName " + fileName);
+          } else {
+            paths.add(path);
+          }
+        }
+      }, "includeBundles", "plugin");
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private String resolveVar(String baseDir, String path, Collection<String> inputs) {
+    String result = path;
+    if (result.startsWith(ENVIRONMENT_VAR_MARKER)) {
+      int index = result.indexOf('}', ENVIRONMENT_VAR_MARKER.length());
+      String var = result.substring(ENVIRONMENT_VAR_MARKER.length(), index);
+      result = valueOf(var, inputs) + result.substring(index + 1);
+    } else if (result.startsWith(WORKSPACE_LOCATION_MARKER)) {
+      int index = result.indexOf('}', WORKSPACE_LOCATION_MARKER.length());
+      result = baseDir + result.substring(index + 1);
+    }
+    return result;
+  }
+
+  private String findFile(Collection<String> locations, String fileName) {
+    for (String location : locations) {
+      String result = cache.findBundle(new File(location), fileName);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  private void addClassPaths(final File classPathFile, final Collection<String> paths,
+      final Collection<String> inputs) {
+    Document document = Xml.parse(classPathFile);
+    try {
+      Xml.processChildElements(document.getDocumentElement(), new ElementProcessor() {
+        @Override
+        public void process(Element element) throws Exception {
+          String path = element.getAttributeNS(null, "path");
+          String kind = element.getAttributeNS(null, "kind");
+          if ("var".equals(kind)) {
+            paths.add(resolve(path, inputs));
+          } else if ("lib".equals(kind) && path.endsWith(".jar")) {
+            String jarPath = getJarPath(classPathFile, path, inputs);
+            if (jarPath != null) {
+              paths.add(jarPath);
+            }
+          }
+        }
+      }, "classpathentry");
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private String getJarPath(File classPathFile, String path, Collection<String> inputs) {
+    File dir = classPathFile.getParentFile();
+    File jar = new File(dir, path);
+    inputs.add(ClasspathCache.fileInput(jar));
+    while (!jar.exists() && dir != null) {
+      dir = dir.getParentFile();
+      jar = new File(dir, path);
+      inputs.add(ClasspathCache.fileInput(jar));
+    }
+    if (!jar.exists()) {
+      return null;
+    }
+    return jar.getAbsolutePath();
+  }
+
+  private String resolve(String variablePath, Collection<String> inputs) {
+    int index = variablePath.indexOf('/');
+    String variable = variablePath.substring(0, index);
+    return valueOf(variable, inputs) + variablePath.substring(index).replace("/", File.separator);
+  }
+
+  private String valueOf(String variable, Collection<String> inputs) {
+    inputs.add(ClasspathCache.environmentInput(variable));
+    return System.getenv(variable);
+  }
+
+}
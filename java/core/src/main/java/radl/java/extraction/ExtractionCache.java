@@ -0,0 +1,120 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import radl.core.Log;
+import radl.core.extraction.ResourceModelContributions;
+
+
+/**
+ * What a previous extraction learned about the Java code: the top-level type in each source file and the
+ * contributions that each type made to the resource model. With this information, a next extraction only needs to
+ * process the source files that changed.
+ */
+final class ExtractionCache implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final String JAVA_FILE_EXTENSION = ".java";
+
+  private final Map<String, String> typesByFile = new HashMap<>();
+  private final ResourceModelContributions contributions = new ResourceModelContributions();
+
+  public static ExtractionCache load(File file) {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (InputStream stream = new FileInputStream(file)) {
+      try (ObjectInputStream input = new ObjectInputStream(stream)) {
+        return (ExtractionCache)input.readObject();
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      Log.error("Ignoring unreadable extraction cache " + file + ": " + e);
+      return null;
+    }
+  }
+
+  public void save(File file) {
+    File dir = file.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IllegalStateException("Could not create directory " + dir);
+    }
+    try (OutputStream stream = new FileOutputStream(file)) {
+      try (ObjectOutputStream output = new ObjectOutputStream(stream)) {
+        output.writeObject(this);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to write extraction cache", e);
+    }
+  }
+
+  public ResourceModelContributions getContributions() {
+    return contributions;
+  }
+
+  public boolean contains(String fileName) {
+    return typesByFile.containsKey(fileName);
+  }
+
+  public String getType(String fileName) {
+    return typesByFile.get(fileName);
+  }
+
+  public void setType(String fileName, String type) {
+    if (type == null) {
+      typesByFile.remove(fileName);
+    } else {
+      typesByFile.put(fileName, type);
+    }
+  }
+
+  public String removeType(String fileName) {
+    return typesByFile.remove(fileName);
+  }
+
+  /**
+   * @param types The types to look up
+   * @return The names of the source files that declare the given types
+   */
+  public Collection<String> filesOf(Collection<String> types) {
+    Collection<String> result = new ArrayList<>();
+    for (Entry<String, String> entry : typesByFile.entrySet()) {
+      if (types.contains(entry.getValue())) {
+        result.add(entry.getKey());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return The directories that contain the packages of the known source files
+   */
+  public Collection<File> sourceRoots() {
+    Collection<File> result = new LinkedHashSet<>();
+    for (Entry<String, String> entry : typesByFile.entrySet()) {
+      String relativePath = entry.getValue().replace('.', File.separatorChar) + JAVA_FILE_EXTENSION;
+      String fileName = entry.getKey();
+      if (fileName.endsWith(relativePath)) {
+        result.add(new File(fileName.substring(0, fileName.length() - relativePath.length())));
+      }
+    }
+    return result;
+  }
+
+}
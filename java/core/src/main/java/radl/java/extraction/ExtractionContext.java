@@ -0,0 +1,78 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import radl.core.extraction.ResourceModel;
+import radl.core.extraction.ResourceModelSerializer;
+
+
+/**
+ * What a single extraction shares with the annotation processors that it runs: the resource model they contribute
+ * to, and the options they're given. Every extraction has its own context, so that several extractions can run in
+ * parallel in one process, like a build daemon or an IDE.
+ * <p>
+ * Processors that are created by the extraction get the context {@linkplain
+ * AbstractRestProcessor#setExtractionContext(ExtractionContext) handed} to them. Processors that the compiler
+ * creates from their names find the resource model in the file named by the {@linkplain
+ * ProcessorOptions#RESOURCE_MODEL_FILE} option.
+ */
+public class ExtractionContext {
+
+  private final ResourceModel resourceModel;
+  private final Map<String, String> processorOptions;
+  private final File resourceModelFile;
+
+  public ExtractionContext(ResourceModel resourceModel) {
+    this(resourceModel, Collections.<String, String>emptyMap());
+  }
+
+  public ExtractionContext(ResourceModel resourceModel, Map<String, String> processorOptions) {
+    this(resourceModel, processorOptions, null);
+  }
+
+  private ExtractionContext(ResourceModel resourceModel, Map<String, String> processorOptions,
+      File resourceModelFile) {
+    this.resourceModel = resourceModel;
+    this.processorOptions = Collections.unmodifiableMap(new HashMap<>(processorOptions));
+    this.resourceModelFile = resourceModelFile;
+  }
+
+  /**
+   * @param processorOptions The options that the compiler passed to an annotation processor
+   * @return The context that the options refer to
+   */
+  public static ExtractionContext fromProcessorOptions(Map<String, String> processorOptions) {
+    String fileName = processorOptions.get(ProcessorOptions.RESOURCE_MODEL_FILE);
+    if (fileName == null) {
+      throw new IllegalStateException("Missing extraction context: either set it on the processor, or pass option "
+          + ProcessorOptions.RESOURCE_MODEL_FILE);
+    }
+    File file = new File(fileName);
+    return new ExtractionContext(ResourceModelSerializer.deserializeModelFromFile(file), processorOptions, file);
+  }
+
+  public ResourceModel getResourceModel() {
+    return resourceModel;
+  }
+
+  public Map<String, String> getProcessorOptions() {
+    return processorOptions;
+  }
+
+  /**
+   * Mark the resource model as complete, and make it available to the extraction if it lives in a file.
+   */
+  public void complete() {
+    resourceModel.markComplete();
+    if (resourceModelFile != null) {
+      ResourceModelSerializer.serializeModelToFile(resourceModel, resourceModelFile);
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ package radl.java.extraction;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,6 +23,12 @@ public class FromJavaExtractOptions implements ExtractOptions {
   private final String annotationProcessorOptions;
   private final Collection<File> extraSource;
   private final boolean serializeModel;
+  private File extractionCache;
+  private Collection<File> changedSources;
+  private Collection<File> removedSources;
+  private int numThreads = 1;
+  private Collection<File> compiledClasses = Collections.emptyList();
+  private File classpathCache;
 
   public FromJavaExtractOptions(Collection<File> extraSource, Collection<File> classpath, String extraProcessors,
       String javaVersion, String annotationProcessorOptions, boolean serializeModel) {
@@ -66,4 +73,74 @@ public class FromJavaExtractOptions implements ExtractOptions {
     return serializeModel;
   }
 
+  public File getExtractionCache() {
+    return extractionCache;
+  }
+
+  /**
+   * @param extractionCache The file in which to keep what was extracted from each source file
+   */
+  public void setExtractionCache(File extractionCache) {
+    this.extractionCache = extractionCache;
+  }
+
+  /**
+   * Limit the extraction to source files that changed since the extraction that filled the extraction cache. Without
+   * this information, all source files are processed.
+   * @param changed The source files that were added or modified
+   * @param removed The source files that were deleted
+   */
+  public void setChangedSources(Collection<File> changed, Collection<File> removed) {
+    this.changedSources = changed;
+    this.removedSources = removed;
+  }
+
+  public boolean isIncremental() {
+    return extractionCache != null && changedSources != null;
+  }
+
+  public Collection<File> getChangedSources() {
+    return changedSources;
+  }
+
+  public Collection<File> getRemovedSources() {
+    return removedSources;
+  }
+
+  public int getNumThreads() {
+    return numThreads;
+  }
+
+  /**
+   * @param numThreads The number of threads to extract with. With more than one thread, the source files are
+   * partitioned by source root, and the partitions are processed in parallel
+   */
+  public void setNumThreads(int numThreads) {
+    this.numThreads = numThreads;
+  }
+
+  public Collection<File> getCompiledClasses() {
+    return compiledClasses;
+  }
+
+  /**
+   * @param compiledClasses The directories and jar files with the compiled classes to extract from. When given, the
+   * classes are read instead of the source files, and no Java compiler is needed
+   */
+  public void setCompiledClasses(Collection<File> compiledClasses) {
+    this.compiledClasses = compiledClasses;
+  }
+
+  public File getClasspathCache() {
+    return classpathCache;
+  }
+
+  /**
+   * @param classpathCache The file in which to keep how Eclipse <code>.classpath</code> and <code>.target</code> files
+   * on the class path were resolved
+   */
+  public void setClasspathCache(File classpathCache) {
+    this.classpathCache = classpathCache;
+  }
+
 }
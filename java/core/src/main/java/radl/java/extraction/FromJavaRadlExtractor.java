@@ -5,27 +5,38 @@ package radl.java.extraction;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.TreeSet;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.annotation.processing.Processor;
 import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.StandardJavaFileManager;
 
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import radl.common.io.IO;
-import radl.common.xml.ElementProcessor;
 import radl.common.xml.Xml;
 import radl.core.Log;
 import radl.core.cli.Application;
@@ -35,8 +46,10 @@ import radl.core.code.SourceFile;
 import radl.core.extraction.ExtractOptions;
 import radl.core.extraction.RadlExtractor;
 import radl.core.extraction.RadlMerger;
+import radl.core.extraction.RecordingResourceModel;
 import radl.core.extraction.ResourceModel;
-import radl.core.extraction.ResourceModelHolder;
+import radl.core.extraction.ResourceModelContributions;
+import radl.core.extraction.ResourceModelImpl;
 import radl.core.extraction.ResourceModelMerger;
 import radl.core.extraction.ResourceModelSerializer;
 import radl.core.scm.ScmFactory;
@@ -45,6 +58,7 @@ import radl.core.xml.DocumentProcessor;
 import radl.core.xml.XmlMerger;
 import radl.java.code.Java;
 import radl.java.code.JavaCode;
+import radl.java.extraction.bytecode.BytecodeProcessing;
 
 
 /**
@@ -52,20 +66,17 @@ import radl.java.code.JavaCode;
  */
 public class FromJavaRadlExtractor implements RadlExtractor, Application {
 
-  private static final String TARGET_FILE_EXTENSION = ".target";
-  private static final String CLASSPATH_FILE = ".classpath";
-  private static final String ENVIRONMENT_VAR_MARKER = "${env_var:";
-  private static final String WORKSPACE_LOCATION_MARKER = "${workspace_loc:";
 
   private final ResourceModelMerger merger;
   private ResourceModel resourceModel;
+  private EclipseClasspath eclipseClasspath;
 
   public static void main(String[] args) {
     Cli.run(FromJavaRadlExtractor.class, args);
   }
 
   public FromJavaRadlExtractor() {
-    this(new RadlMerger(), ResourceModelHolder.INSTANCE.get());
+    this(new RadlMerger(), new ResourceModelImpl());
   }
 
   public FromJavaRadlExtractor(ResourceModelMerger merger, ResourceModel resourceModel) {
@@ -75,8 +86,21 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
 
   @Override
   public int run(Arguments arguments) {
+    return run(getOptions(arguments));
+  }
+
+  /**
+   * Extract RADL without going through the command-line.
+   * @param arguments The same properties that an arguments file contains, like <code>service.name</code> and
+   * <code>radl.file</code>
+   * @return The exit code
+   */
+  public int run(Properties arguments) {
+    return run(getOptions(arguments));
+  }
+
+  private int run(RunOptions options) {
     Timer timer = new Timer();
-    RunOptions options = getOptions(arguments);
     String configurationFileName = options.getConfigurationFileName();
     String annotationProcessorOptions = null;
     Properties configuration = new Properties();
@@ -90,9 +114,17 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
       }
     }
     resourceModel.configure(configuration);
-    Document radl = extractFrom(options.getServiceName(), options.getBaseDir(), new FromJavaExtractOptions(
-        options.getExtraSource(), options.getClasspath(), options.getExtraProcessors(), options.getJavaVersion(),
-        annotationProcessorOptions, options.isSerializeModel()));
+    FromJavaExtractOptions extractOptions = new FromJavaExtractOptions(options.getExtraSource(),
+        options.getClasspath(), options.getExtraProcessors(), options.getJavaVersion(), annotationProcessorOptions,
+        options.isSerializeModel());
+    extractOptions.setExtractionCache(options.getExtractionCache());
+    extractOptions.setNumThreads(options.getNumThreads());
+    extractOptions.setCompiledClasses(options.getCompiledClasses());
+    extractOptions.setClasspathCache(options.getClasspathCache());
+    if (options.getChangedSources() != null) {
+      extractOptions.setChangedSources(options.getChangedSources(), options.getRemovedSources());
+    }
+    Document radl = extractFrom(options.getServiceName(), options.getBaseDir(), extractOptions);
     writeRadl(radl, options.getRadlFile(), options.getScm());
     Log.info("-> RADL extraction took " + timer);
     return 0;
@@ -145,6 +177,10 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    return getOptions(properties);
+  }
+
+  private RunOptions getOptions(Properties properties) {
     String serviceName = properties.getProperty("service.name");
     File baseDir = new File(properties.getProperty("base.dir"));
     File radlFile = new File(properties.getProperty("radl.file"));
@@ -167,8 +203,33 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
     String javaVersion = properties.getProperty("java.version", "1.6");
     String scmId = properties.getProperty("source.code.management.system", "default");
     boolean serializeModel = Boolean.parseBoolean(properties.getProperty("serialize.model", Boolean.toString(true)));
-    return new RunOptions(serviceName, baseDir, configurationFileName, extraSource, classpath, extraProcessors,
-        radlFile, javaVersion, scmId, serializeModel);
+    RunOptions result = new RunOptions(serviceName, baseDir, configurationFileName, extraSource, classpath,
+        extraProcessors, radlFile, javaVersion, scmId, serializeModel);
+    result.setNumThreads(Integer.parseInt(properties.getProperty("extraction.threads", "1")));
+    if (properties.containsKey("classpath.cache")) {
+      result.setClasspathCache(new File(properties.getProperty("classpath.cache")));
+    }
+    if (properties.containsKey("extraction.classes")) {
+      result.setCompiledClasses(toFiles(properties.getProperty("extraction.classes")));
+    }
+    if (properties.containsKey("extraction.cache")) {
+      result.setExtractionCache(new File(properties.getProperty("extraction.cache")));
+      if (properties.containsKey("changed.sources")) {
+        result.setChangedSources(toFiles(properties.getProperty("changed.sources")),
+            toFiles(properties.getProperty("removed.sources", "")));
+      }
+    }
+    return result;
+  }
+
+  private Collection<File> toFiles(String paths) {
+    Collection<File> result = new ArrayList<>();
+    for (String fileName : paths.split("\\" + File.pathSeparator)) {
+      if (!fileName.trim().isEmpty()) {
+        result.add(new File(fileName.trim()));
+      }
+    }
+    return result;
   }
 
   private String getProcessors(Arguments arguments) {
@@ -210,7 +271,8 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
   }
 
   private boolean isClassPath(File file) {
-    return file.isFile() && (CLASSPATH_FILE.equals(file.getName()) || file.getName().endsWith(TARGET_FILE_EXTENSION));
+    return file.isFile() && (EclipseClasspath.CLASSPATH_FILE.equals(file.getName())
+        || file.getName().endsWith(EclipseClasspath.TARGET_FILE_EXTENSION));
   }
 
   private Properties loadConfigurationFrom(File configurationFile) {
@@ -259,74 +321,277 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
 
   private void composeRadl(String serviceName, File baseDir, FromJavaExtractOptions options) {
     merger.setService(serviceName);
-    JavaCompiler compiler = Java.getCompiler();
-    if (compiler == null) {
-      throw new IllegalStateException("Missing Java compiler");
+    File classpathCacheFile = options.getClasspathCache();
+    ClasspathCache classpathCache = ClasspathCache.load(classpathCacheFile);
+    eclipseClasspath = new EclipseClasspath(classpathCache);
+    if (options.getCompiledClasses().isEmpty()) {
+      JavaCompiler compiler = Java.getCompiler();
+      if (compiler == null) {
+        throw new IllegalStateException("Missing Java compiler");
+      }
+      processAnnotationsOfFilesIn(baseDir, compiler, options);
+    } else {
+      processAnnotationsOfCompiledClasses(options);
+    }
+    if (classpathCacheFile != null) {
+      classpathCache.save(classpathCacheFile);
+    }
+  }
+
+  private void processAnnotationsOfCompiledClasses(FromJavaExtractOptions options) {
+    BytecodeProcessing processing = new BytecodeProcessing(options.getCompiledClasses());
+    Log.info(String.format("-> Extracting from %d compiled classes", processing.getNumClasses()));
+    ExtractionContext context = new ExtractionContext(resourceModel, options.getAnnotationProcessorOptions());
+    try (URLClassLoader processorClassLoader = newProcessorClassLoader(options)) {
+      processing.run(newProcessors(options, context, processorClassLoader), context.getProcessorOptions());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
-    processAnnotationsOfFilesIn(baseDir, compiler, options);
   }
 
   private void processAnnotationsOfFilesIn(File baseDir, JavaCompiler compiler, FromJavaExtractOptions extractOptions) {
     Collection<File> javaFiles = new ArrayList<>();
     javaFiles.addAll(extractOptions.getExtraSource());
     collectJavaFilesIn(baseDir, javaFiles);
-    if (javaFiles.isEmpty()) {
-      return;
+    File cacheFile = extractOptions.getExtractionCache();
+    ExtractionCache cache = extractOptions.isIncremental() ? ExtractionCache.load(cacheFile) : null;
+    Collection<File> sourcePath = Collections.emptyList();
+    if (cache == null) {
+      if (cacheFile != null) {
+        cache = new ExtractionCache();
+      }
+    } else {
+      javaFiles = getSourcesToProcess(javaFiles, extractOptions, cache);
+      sourcePath = cache.sourceRoots();
+      cache.getContributions().replayInto(resourceModel);
     }
-    File compilerOptions = new File("options");
-    if (compilerOptions.exists()) {
-      compilerOptions.delete();
+    if (!javaFiles.isEmpty()) {
+      processAnnotationsOf(javaFiles, sourcePath, compiler, extractOptions, cache);
     }
-    File resourceModelFile = null;
-    String processorOptions = "";
-    if (extractOptions.isSerializeModel()) {
-      resourceModelFile = newResourceModelFile();
-      ResourceModelSerializer.serializeModelToFile(resourceModel, resourceModelFile);
-      processorOptions = String.format("-A%s=%s",
-          ProcessorOptions.RESOURCE_MODEL_FILE, resourceModelFile.getAbsolutePath());
+    if (cache != null) {
+      cache.save(cacheFile);
+    }
+  }
+
+  private Collection<File> getSourcesToProcess(Collection<File> javaFiles, FromJavaExtractOptions extractOptions,
+      ExtractionCache cache) {
+    Collection<String> changedTypes = new HashSet<>();
+    for (File removed : extractOptions.getRemovedSources()) {
+      addType(cache.removeType(canonicalPathOf(removed)), changedTypes);
+    }
+    Collection<String> changedFiles = new HashSet<>();
+    for (File changed : extractOptions.getChangedSources()) {
+      changedFiles.add(canonicalPathOf(changed));
+    }
+    Map<String, File> filesByName = new HashMap<>();
+    for (File javaFile : javaFiles) {
+      String fileName = canonicalPathOf(javaFile);
+      filesByName.put(fileName, javaFile);
+      if (changedFiles.contains(fileName) || !cache.contains(fileName)) {
+        addType(cache.getType(fileName), changedTypes);
+        String type = toFullyQualifiedClassName(javaFile);
+        cache.setType(fileName, type);
+        addType(type, changedTypes);
+      }
+    }
+    Collection<File> result = new ArrayList<>();
+    if (changedTypes.isEmpty()) {
+      Log.info("-> No changes in Java code since the last extraction");
+      return result;
+    }
+    ResourceModelContributions contributions = cache.getContributions();
+    Collection<String> typesToProcess = contributions.relatedTo(changedTypes);
+    typesToProcess.addAll(contributions.sharedTypes());
+    for (String fileName : cache.filesOf(contributions.remove(typesToProcess))) {
+      File javaFile = filesByName.get(fileName);
+      if (javaFile != null) {
+        result.add(javaFile);
+      }
+    }
+    Log.info(String.format("-> Extracting from %d of %d Java files that changed or depend on changes",
+        result.size(), javaFiles.size()));
+    return result;
+  }
+
+  private void addType(String type, Collection<String> types) {
+    if (type != null) {
+      types.add(type);
     }
+  }
+
+  private String canonicalPathOf(File file) {
     try {
-      try {
-        try (PrintWriter writer = new PrintWriter(compilerOptions, "UTF8")) {
-          writer.println(processorOptions);
-          writeOptions(extractOptions, writer);
-          writeSources(javaFiles, writer);
-          writeClasses(javaFiles, writer);
-        }
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+      return file.getCanonicalPath();
+    } catch (IOException e) {
+      return file.getAbsolutePath();
+    }
+  }
+
+  private void processAnnotationsOf(Collection<File> javaFiles, Collection<File> sourcePath, JavaCompiler compiler,
+      FromJavaExtractOptions extractOptions, ExtractionCache cache) {
+    ResourceModel processedModel = cache == null ? resourceModel : new RecordingResourceModel(resourceModel);
+    List<Collection<File>> partitions = Collections.singletonList(javaFiles);
+    Collection<File> partitionSourcePath = sourcePath;
+    if (extractOptions.getNumThreads() > 1) {
+      SourcePartitions sourcePartitions = new SourcePartitions(javaFiles);
+      partitions = sourcePartitions.getPartitions();
+      partitionSourcePath = new LinkedHashSet<>(sourcePath);
+      partitionSourcePath.addAll(sourcePartitions.getSourceRoots());
+    }
+    if (partitions.size() == 1) {
+      processedModel = processAnnotationsOf(getClasses(javaFiles, cache), javaFiles, sourcePath, compiler,
+          extractOptions, processedModel);
+    } else {
+      processPartitions(partitions, partitionSourcePath, compiler, extractOptions, cache, processedModel);
+    }
+    if (processedModel instanceof RecordingResourceModel) {
+      RecordingResourceModel recordingModel = (RecordingResourceModel)processedModel;
+      cache.getContributions().addAll(recordingModel.getContributions());
+      processedModel = recordingModel.getDelegate();
+    }
+    resourceModel = processedModel;
+  }
+
+  /*
+   * Each partition builds a partial model on its own thread. The partial models are merged in the order of the
+   * partitions, so that the result doesn't depend on which partition finishes first.
+   */
+  private void processPartitions(List<Collection<File>> partitions, final Collection<File> sourcePath,
+      final JavaCompiler compiler, final FromJavaExtractOptions extractOptions, ExtractionCache cache,
+      ResourceModel processedModel) {
+    Log.info(String.format("-> Extracting from %d partitions on %d threads", partitions.size(),
+        extractOptions.getNumThreads()));
+    List<Future<ResourceModel>> partialModels = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(extractOptions.getNumThreads(),
+        partitions.size()));
+    try {
+      for (final Collection<File> partition : partitions) {
+        final Collection<String> classes = getClasses(partition, cache);
+        partialModels.add(executor.submit(new Callable<ResourceModel>() {
+          @Override
+          public ResourceModel call() {
+            return processAnnotationsOf(classes, partition, sourcePath, compiler, extractOptions,
+                new RecordingResourceModel());
+          }
+        }));
       }
-      System.setProperty("radl.base.dir", baseDir.getAbsolutePath());
-      if (compiler.run(null, null, null, String.format("@%s", compilerOptions.getAbsoluteFile())) != 0) {
-        throw new IllegalArgumentException("Compilation failed");
+      for (Future<ResourceModel> partialModel : partialModels) {
+        ((RecordingResourceModel)partialModel.get()).mergeInto(processedModel);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while extracting", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException)e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ResourceModel processAnnotationsOf(Collection<String> classes, Collection<File> javaFiles,
+      Collection<File> sourcePath, JavaCompiler compiler, FromJavaExtractOptions extractOptions,
+      ResourceModel processedModel) {
+    ResourceModel result = processedModel;
+    ExtractionContext context = new ExtractionContext(result, extractOptions.getAnnotationProcessorOptions());
+    File resourceModelFile = null;
+    List<String> compilerOptions = new ArrayList<>();
+    if (extractOptions.isSerializeModel()) {
+      resourceModelFile = newTempFile("resource-model");
+      ResourceModelSerializer.serializeModelToFile(result, resourceModelFile);
+      compilerOptions.add(String.format("-A%s=%s",
+          ProcessorOptions.RESOURCE_MODEL_FILE, resourceModelFile.getAbsolutePath()));
+    }
+    addOptions(extractOptions, context, compilerOptions);
+    addSourcePath(sourcePath, compilerOptions);
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      try (URLClassLoader processorClassLoader = newProcessorClassLoader(extractOptions)) {
+        CompilationTask task = compiler.getTask(null, fileManager, null, compilerOptions, classes,
+            fileManager.getJavaFileObjectsFromFiles(getSources(javaFiles)));
+        if (!extractOptions.isSerializeModel()) {
+          task.setProcessors(newProcessors(extractOptions, context, processorClassLoader));
+        }
+        if (!task.call()) {
+          throw new IllegalArgumentException("Compilation failed");
+        }
       }
-      if (extractOptions.isSerializeModel() && !resourceModel.isCompleted()) {
-        resourceModel = ResourceModelSerializer.deserializeModelFromFile(resourceModelFile);
+      if (resourceModelFile != null) {
+        result = ResourceModelSerializer.deserializeModelFromFile(resourceModelFile);
       }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     } finally {
-      IO.delete(compilerOptions);
       IO.delete(resourceModelFile);
     }
+    return result;
   }
 
-  private File newResourceModelFile() {
+  private File newTempFile(String suffix) {
     try {
-      return File.createTempFile("radl", "resource-model");
+      return File.createTempFile("radl", suffix);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
-  private void writeClasses(Collection<File> javaFiles, PrintWriter writer) throws IOException {
+  /*
+   * Extra processors may live on the extraction class path rather than on ours. Our own processors must come from
+   * our class loader, so that they accept the extraction context.
+   */
+  private URLClassLoader newProcessorClassLoader(FromJavaExtractOptions options) throws MalformedURLException {
+    Collection<URL> urls = new ArrayList<>();
+    for (String path : asPath(options.getClasspath()).split(File.pathSeparator)) {
+      if (!path.isEmpty()) {
+        urls.add(new File(path).toURI().toURL());
+      }
+    }
+    return new URLClassLoader(urls.toArray(new URL[urls.size()]), FromJavaRadlExtractor.class.getClassLoader());
+  }
+
+  private Collection<Processor> newProcessors(FromJavaExtractOptions options, ExtractionContext context,
+      ClassLoader classLoader) {
+    Collection<Processor> result = new ArrayList<>();
+    for (String className : options.getAnnotationProcessors().split(",")) {
+      Processor processor;
+      try {
+        processor = (Processor)Class.forName(className.trim(), true, classLoader).newInstance();
+      } catch (ReflectiveOperationException | ClassCastException e) {
+        throw new IllegalArgumentException("Can't create annotation processor " + className, e);
+      }
+      if (processor instanceof AbstractRestProcessor) {
+        ((AbstractRestProcessor)processor).setExtractionContext(context);
+      }
+      result.add(processor);
+    }
+    return result;
+  }
+
+  private void addSourcePath(Collection<File> sourcePath, List<String> compilerOptions) {
+    if (!sourcePath.isEmpty()) {
+      compilerOptions.add("-sourcepath");
+      compilerOptions.add(asPath(sourcePath));
+    }
+  }
+
+  private List<String> getClasses(Collection<File> javaFiles, ExtractionCache cache) {
+    List<String> result = new ArrayList<>();
     for (File javaFile : javaFiles) {
-      String fullyQualifiedClassName = toFullyQualifiedClassName(javaFile);
+      String fileName = canonicalPathOf(javaFile);
+      String fullyQualifiedClassName = cache != null && cache.contains(fileName) ? cache.getType(fileName)
+          : toFullyQualifiedClassName(javaFile);
+      if (cache != null) {
+        cache.setType(fileName, fullyQualifiedClassName);
+      }
       if (fullyQualifiedClassName != null) {
-        writer.println(fullyQualifiedClassName);
+        result.add(fullyQualifiedClassName);
       }
     }
+    return result;
   }
 
-  private String toFullyQualifiedClassName(File javaFile) throws IOException {
+  private String toFullyQualifiedClassName(File javaFile) {
     try {
       SourceFile source = new SourceFile(javaFile.getAbsolutePath());
       JavaCode javaCode = (JavaCode)source.code();
@@ -336,27 +601,27 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
     }
   }
 
-  private void writeOptions(FromJavaExtractOptions options, PrintWriter writer) {
-    writer.println("-proc:only");
+  private void addOptions(FromJavaExtractOptions options, ExtractionContext context, List<String> compilerOptions) {
+    compilerOptions.add("-proc:only");
     String classpath = asPath(options.getClasspath());
     if (!classpath.isEmpty()) {
-      writer.print("-cp ");
-      writer.println(classpath);
+      compilerOptions.add("-cp");
+      compilerOptions.add(classpath);
     }
-    writer.println("-processor " + options.getAnnotationProcessors());
-    writer.println("-source " + options.getJavaVersion());
-    for (Entry<String, String> entry : options.getAnnotationProcessorOptions().entrySet()) {
-      writer.println("-A" + entry.getKey() + '=' + entry.getValue());
+    compilerOptions.add("-processor");
+    compilerOptions.add(options.getAnnotationProcessors());
+    compilerOptions.add("-source");
+    compilerOptions.add(options.getJavaVersion());
+    for (Entry<String, String> entry : context.getProcessorOptions().entrySet()) {
+      compilerOptions.add("-A" + entry.getKey() + '=' + entry.getValue());
     }
   }
 
   private String asPath(Collection<File> classpath) {
     Collection<String> paths = new HashSet<>();
     for (File file : classpath) {
-      if (file.getName().endsWith(CLASSPATH_FILE)) {
-        addClassPaths(file, paths);
-      } else if (file.getName().endsWith(TARGET_FILE_EXTENSION)) {
-        addTargetPaths(file, paths);
+      if (EclipseClasspath.isClasspathFile(file)) {
+        paths.addAll(eclipseClasspath.resolve(file));
       } else {
         paths.add(file.getPath());
       }
@@ -370,138 +635,12 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
     return result.toString();
   }
 
-  private void addTargetPaths(final File targetFile, final Collection<String> paths) {
-    Document document = Xml.parse(targetFile);
-    try {
-      final Collection<String> locations = new ArrayList<>();
-      Xml.processNestedElements(document.getDocumentElement(), new ElementProcessor() {
-        @Override
-        public void process(Element element) throws Exception {
-          locations.add(resolveVar(targetFile.getParentFile().getAbsolutePath(), element.getAttributeNS(null, "path")));
-        }
-      }, "locations", "location");
-      Xml.processNestedElements(document.getDocumentElement(), new ElementProcessor() {
-        @Override
-        public void process(Element element) throws Exception {
-          String fileName = element.getAttributeNS(null, "id");
-          String path = findFile(locations, fileName);
-          if (path == null) {
-            Log.error("Can't find bundle with Bundle-SymbolicName " + fileName);
-          } else {
-            paths.add(path);
-          }
-        }
-      }, "includeBundles", "plugin");
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private String resolveVar(String baseDir, String path) {
-    String result = path;
-    if (result.startsWith(ENVIRONMENT_VAR_MARKER)) {
-      int index = result.indexOf('}', ENVIRONMENT_VAR_MARKER.length());
-      String var = result.substring(ENVIRONMENT_VAR_MARKER.length(), index);
-      result = valueOf(var) + result.substring(index + 1);
-    } else if (result.startsWith(WORKSPACE_LOCATION_MARKER)) {
-      int index = result.indexOf('}', WORKSPACE_LOCATION_MARKER.length());
-      result = baseDir + result.substring(index + 1);
-    }
-    return result;
-  }
-
-  private String findFile(Collection<String> locations, String fileName) {
-    for (String location : locations) {
-      String result = findFile(location, fileName);
-      if (result != null) {
-        return result;
-      }
-    }
-    return null;
-  }
-
-  private String findFile(String location, final String fileName) {
-    String[] found = new File(location).list(new FilenameFilter() {
-      @Override
-      public boolean accept(File dir, String name) {
-        return isBundle(dir, name, fileName);
-      }
-    });
-    return found.length == 1 ? new File(location, found[0]).getAbsolutePath() : null;
-  }
-
-  private boolean isBundle(File dir, String name, String bundleName) {
-    if (!name.endsWith(".jar")) {
-      return false;
-    }
-    try (ZipFile jar = new ZipFile(new File(dir, name))) {
-      ZipEntry manifest = jar.getEntry("META-INF/MANIFEST.MF");
-      if (manifest == null) {
-        return false;
-      }
-      Properties properties = new Properties();
-      try (InputStream stream = jar.getInputStream(manifest)) {
-        properties.load(stream);
-        if (bundleName.equals(properties.getProperty("Bundle-SymbolicName"))) {
-          return true;
-        }
-      }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
-    return false;
-  }
-
-  private void addClassPaths(final File classPathFile, final Collection<String> paths) {
-    Document document = Xml.parse(classPathFile);
-    try {
-      Xml.processChildElements(document.getDocumentElement(), new ElementProcessor() {
-        @Override
-        public void process(Element element) throws Exception {
-          String path = element.getAttributeNS(null, "path");
-          String kind = element.getAttributeNS(null, "kind");
-          if ("var".equals(kind)) {
-            paths.add(resolve(path));
-          } else if ("lib".equals(kind) && path.endsWith(".jar")) {
-            String jarPath = getJarPath(classPathFile, path);
-            if (jarPath != null) {
-              paths.add(jarPath);
-            }
-          }
-        }
-      }, "classpathentry");
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private String getJarPath(final File classPathFile, String path) {
-    File dir = classPathFile.getParentFile();
-    File jar = new File(dir, path);
-    while (!jar.exists() && dir != null) {
-      dir = dir.getParentFile();
-      jar = new File(dir, path);
-    }
-    if (!jar.exists()) {
-      return null;
-    }
-    return jar.getAbsolutePath();
-  }
-
-  private String resolve(String variablePath) {
-    int index = variablePath.indexOf('/');
-    String variable = variablePath.substring(0, index);
-    return valueOf(variable) + variablePath.substring(index).replace("/", File.separator);
-  }
-
-  private String valueOf(String variable) {
-    return System.getenv(variable);
-  }
-
-  private void writeSources(Collection<File> javaFiles, PrintWriter writer) throws IOException {
+  private Collection<File> getSources(Collection<File> javaFiles) {
+    Collection<File> result = new ArrayList<>();
     for (File file : javaFiles) {
-      writer.println(file.getCanonicalPath());
+      result.add(new File(canonicalPathOf(file)));
     }
+    return result;
   }
 
   private void collectJavaFilesIn(File file, Collection<File> javaFiles) {
@@ -535,6 +674,12 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
     private final Collection<File> extraSource;
     private final String scmId;
     private final boolean serializeModel;
+    private File extractionCache;
+    private Collection<File> changedSources;
+    private Collection<File> removedSources;
+    private int numThreads = 1;
+    private Collection<File> compiledClasses = Collections.emptyList();
+    private File classpathCache;
 
     public RunOptions(String serviceName, File baseDir, String configurationFileName, // NOPMD ExcessiveParameterList
         Collection<File> extraSource, Collection<File> classpath, String extraProcessors, File radlFile,
@@ -555,6 +700,51 @@ public class FromJavaRadlExtractor implements RadlExtractor, Application {
       return serializeModel;
     }
 
+    public File getExtractionCache() {
+      return extractionCache;
+    }
+
+    public void setExtractionCache(File extractionCache) {
+      this.extractionCache = extractionCache;
+    }
+
+    public Collection<File> getChangedSources() {
+      return changedSources;
+    }
+
+    public Collection<File> getRemovedSources() {
+      return removedSources;
+    }
+
+    public void setChangedSources(Collection<File> changedSources, Collection<File> removedSources) {
+      this.changedSources = changedSources;
+      this.removedSources = removedSources;
+    }
+
+    public int getNumThreads() {
+      return numThreads;
+    }
+
+    public void setNumThreads(int numThreads) {
+      this.numThreads = numThreads;
+    }
+
+    public Collection<File> getCompiledClasses() {
+      return compiledClasses;
+    }
+
+    public void setCompiledClasses(Collection<File> compiledClasses) {
+      this.compiledClasses = compiledClasses;
+    }
+
+    public File getClasspathCache() {
+      return classpathCache;
+    }
+
+    public void setClasspathCache(File classpathCache) {
+      this.classpathCache = classpathCache;
+    }
+
     public SourceCodeManagementSystem getScm() {
       return ScmFactory.newInstance(scmId);
     }
@@ -0,0 +1,161 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import radl.core.code.SourceFile;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Java source files grouped by the source root they live in, so that each group can be processed independently.
+ * Source roots with types that refer to each other's types are kept in the same group, since annotation processors
+ * must see both types together, e.g. to apply the annotations of an abstract controller in one module to its
+ * concrete sub classes in another.
+ */
+final class SourcePartitions {
+
+  private static final String TYPE_SEPARATORS = "[^A-Za-z0-9_$.]+";
+
+  private final Map<String, Collection<File>> filesByRoot = new TreeMap<>();
+  private final Map<String, String> groupByRoot = new HashMap<>();
+
+  public SourcePartitions(Collection<File> javaFiles) {
+    Map<String, Collection<String>> rootsByDeclaredType = new HashMap<>();
+    Map<String, Collection<String>> referencedTypesByRoot = new HashMap<>();
+    for (File javaFile : javaFiles) {
+      JavaCode code = parse(javaFile);
+      String root = sourceRootOf(javaFile, code);
+      add(root, javaFile, filesByRoot);
+      groupByRoot.put(root, root);
+      if (code != null) {
+        add(code.typeName(), root, rootsByDeclaredType);
+        addReferencedTypes(code, root, referencedTypesByRoot);
+      }
+    }
+    for (Entry<String, Collection<String>> entry : referencedTypesByRoot.entrySet()) {
+      for (String type : entry.getValue()) {
+        Collection<String> roots = rootsByDeclaredType.get(type);
+        if (roots != null) {
+          for (String root : roots) {
+            join(entry.getKey(), root);
+          }
+        }
+      }
+    }
+  }
+
+  private JavaCode parse(File javaFile) {
+    try {
+      JavaCode result = (JavaCode)new SourceFile(javaFile.getAbsolutePath()).code();
+      return result.typeName() == null ? null : result;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private String sourceRootOf(File javaFile, JavaCode code) {
+    File result = javaFile.getAbsoluteFile().getParentFile();
+    String packageName = code == null ? null : code.packageName();
+    if (packageName != null && !packageName.isEmpty()) {
+      for (int i = packageName.split("\\.").length; i > 0 && result != null; i--) {
+        result = result.getParentFile();
+      }
+    }
+    return result == null ? "" : result.getPath();
+  }
+
+  private <T> void add(String key, T value, Map<String, Collection<T>> valuesByKey) {
+    Collection<T> values = valuesByKey.get(key);
+    if (values == null) {
+      values = new ArrayList<>();
+      valuesByKey.put(key, values);
+    }
+    values.add(value);
+  }
+
+  private void addReferencedTypes(JavaCode code, String root, Map<String, Collection<String>> referencedTypesByRoot) {
+    Collection<String> types = new HashSet<>();
+    try {
+      addSimpleTypeNames(code.superTypeName(), types);
+      for (String implementedInterface : code.implementedInterfaces()) {
+        addSimpleTypeNames(implementedInterface, types);
+      }
+      for (String method : code.methods()) {
+        addSimpleTypeNames(code.methodReturns(method), types);
+      }
+    } catch (Exception e) {
+      // Not a class, so it can't refer to other types in a way that matters to the annotation processors
+    }
+    for (String type : types) {
+      add(root, type, referencedTypesByRoot);
+    }
+  }
+
+  private void addSimpleTypeNames(String typeReference, Collection<String> types) {
+    if (typeReference == null) {
+      return;
+    }
+    for (String type : typeReference.split(TYPE_SEPARATORS)) {
+      String simpleName = type.substring(type.lastIndexOf('.') + 1);
+      if (!simpleName.isEmpty()) {
+        types.add(simpleName);
+      }
+    }
+  }
+
+  private String groupOf(String root) {
+    String result = root;
+    while (!groupByRoot.get(result).equals(result)) {
+      result = groupByRoot.get(result);
+    }
+    return result;
+  }
+
+  private void join(String root1, String root2) {
+    String group1 = groupOf(root1);
+    String group2 = groupOf(root2);
+    if (group1.compareTo(group2) < 0) {
+      groupByRoot.put(group2, group1);
+    } else if (group1.compareTo(group2) > 0) {
+      groupByRoot.put(group1, group2);
+    }
+  }
+
+  /**
+   * @return The groups of source files, in a stable order
+   */
+  public List<Collection<File>> getPartitions() {
+    Map<String, Collection<File>> filesByGroup = new LinkedHashMap<>();
+    for (Entry<String, Collection<File>> entry : filesByRoot.entrySet()) {
+      String group = groupOf(entry.getKey());
+      for (File file : entry.getValue()) {
+        add(group, file, filesByGroup);
+      }
+    }
+    return new ArrayList<>(filesByGroup.values());
+  }
+
+  /**
+   * @return The directories that contain the packages of the source files
+   */
+  public Collection<File> getSourceRoots() {
+    Collection<File> result = new ArrayList<>();
+    for (String root : filesByRoot.keySet()) {
+      result.add(new File(root));
+    }
+    return result;
+  }
+
+}
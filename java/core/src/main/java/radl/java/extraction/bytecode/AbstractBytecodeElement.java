@@ -0,0 +1,108 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ElementVisitor;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+
+
+/**
+ * Base class for elements read from class files. Elements are created once per class file member, so they can be
+ * compared by identity, like the compiler's.
+ */
+abstract class AbstractBytecodeElement implements Element {
+
+  private final ElementKind kind;
+  private final Name simpleName;
+  private final Element enclosingElement;
+  private final Set<Modifier> modifiers = EnumSet.noneOf(Modifier.class);
+  private final List<AnnotationMirror> annotationMirrors = new ArrayList<>();
+  private final List<Element> enclosedElements = new ArrayList<>();
+
+  AbstractBytecodeElement(ElementKind kind, String simpleName, Element enclosingElement) {
+    this.kind = kind;
+    this.simpleName = new BytecodeName(simpleName);
+    this.enclosingElement = enclosingElement;
+  }
+
+  @Override
+  public ElementKind getKind() {
+    return kind;
+  }
+
+  @Override
+  public Name getSimpleName() {
+    return simpleName;
+  }
+
+  @Override
+  public Element getEnclosingElement() {
+    return enclosingElement;
+  }
+
+  @Override
+  public Set<Modifier> getModifiers() {
+    return Collections.unmodifiableSet(modifiers);
+  }
+
+  void addModifier(Modifier modifier) {
+    modifiers.add(modifier);
+  }
+
+  @Override
+  public List<? extends AnnotationMirror> getAnnotationMirrors() {
+    return Collections.unmodifiableList(annotationMirrors);
+  }
+
+  void addAnnotationMirror(AnnotationMirror annotationMirror) {
+    annotationMirrors.add(annotationMirror);
+  }
+
+  @Override
+  public List<? extends Element> getEnclosedElements() {
+    return Collections.unmodifiableList(enclosedElements);
+  }
+
+  void addEnclosedElement(Element element) {
+    enclosedElements.add(element);
+  }
+
+  /**
+   * Annotations read from class files can't be instantiated without loading their classes, so only their
+   * {@linkplain #getAnnotationMirrors() mirrors} are available.
+   */
+  @Override
+  public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+    return null;
+  }
+
+  // Part of Element since Java 8
+  @SuppressWarnings("unchecked")
+  public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
+    return (A[])Array.newInstance(annotationType, 0);
+  }
+
+  @Override
+  public <R, P> R accept(ElementVisitor<R, P> visitor, P parameter) {
+    return visitor.visitUnknown(this, parameter);
+  }
+
+  @Override
+  public String toString() {
+    return simpleName.toString();
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.DeclaredType;
+
+
+/**
+ * An annotation read from a class file, with the values that were explicitly specified.
+ */
+final class BytecodeAnnotationMirror implements AnnotationMirror {
+
+  private final DeclaredType annotationType;
+  private final Map<ExecutableElement, AnnotationValue> elementValues;
+
+  BytecodeAnnotationMirror(DeclaredType annotationType, Map<ExecutableElement, AnnotationValue> elementValues) {
+    this.annotationType = annotationType;
+    this.elementValues = Collections.unmodifiableMap(elementValues);
+  }
+
+  @Override
+  public DeclaredType getAnnotationType() {
+    return annotationType;
+  }
+
+  @Override
+  public Map<? extends ExecutableElement, ? extends AnnotationValue> getElementValues() {
+    return elementValues;
+  }
+
+  @Override
+  public String toString() {
+    return "@" + annotationType + elementValues.values();
+  }
+
+}
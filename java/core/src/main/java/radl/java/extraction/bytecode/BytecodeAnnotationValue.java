@@ -0,0 +1,84 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.List;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.AnnotationValueVisitor;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * The value of an annotation element read from a class file. Values print the way the compiler prints them, e.g.
+ * strings in quotes and enum constants with the qualified name of their type.
+ */
+final class BytecodeAnnotationValue implements AnnotationValue {
+
+  private final Object value;
+  private final String text;
+
+  BytecodeAnnotationValue(Object value, String text) {
+    this.value = value;
+    this.text = text;
+  }
+
+  @Override
+  public Object getValue() {
+    return value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <R, P> R accept(AnnotationValueVisitor<R, P> visitor, P parameter) {
+    if (value instanceof String) {
+      return visitor.visitString((String)value, parameter);
+    }
+    if (value instanceof Boolean) {
+      return visitor.visitBoolean((Boolean)value, parameter);
+    }
+    if (value instanceof Character) {
+      return visitor.visitChar((Character)value, parameter);
+    }
+    if (value instanceof Byte) {
+      return visitor.visitByte((Byte)value, parameter);
+    }
+    if (value instanceof Short) {
+      return visitor.visitShort((Short)value, parameter);
+    }
+    if (value instanceof Integer) {
+      return visitor.visitInt((Integer)value, parameter);
+    }
+    if (value instanceof Long) {
+      return visitor.visitLong((Long)value, parameter);
+    }
+    if (value instanceof Float) {
+      return visitor.visitFloat((Float)value, parameter);
+    }
+    if (value instanceof Double) {
+      return visitor.visitDouble((Double)value, parameter);
+    }
+    if (value instanceof VariableElement) {
+      return visitor.visitEnumConstant((VariableElement)value, parameter);
+    }
+    if (value instanceof TypeMirror) {
+      return visitor.visitType((TypeMirror)value, parameter);
+    }
+    if (value instanceof AnnotationMirror) {
+      return visitor.visitAnnotation((AnnotationMirror)value, parameter);
+    }
+    if (value instanceof List) {
+      return visitor.visitArray((List<? extends AnnotationValue>)value, parameter);
+    }
+    return visitor.visitUnknown(this, parameter);
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.NoType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVisitor;
+
+
+/**
+ * The type of a class read from a class file. Class files don't carry the type arguments of super types, so declared
+ * types are equal when they belong to the same class.
+ */
+final class BytecodeDeclaredType extends BytecodeTypeMirror implements DeclaredType {
+
+  private static final NoType NO_ENCLOSING_TYPE = new BytecodeNoType();
+
+  private final BytecodeTypeElement element;
+
+  BytecodeDeclaredType(BytecodeTypeElement element) {
+    super(TypeKind.DECLARED, null);
+    this.element = element;
+  }
+
+  @Override
+  public Element asElement() {
+    return element;
+  }
+
+  @Override
+  public TypeMirror getEnclosingType() {
+    return NO_ENCLOSING_TYPE;
+  }
+
+  @Override
+  public List<? extends TypeMirror> getTypeArguments() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public <R, P> R accept(TypeVisitor<R, P> visitor, P parameter) {
+    return visitor.visitDeclared(this, parameter);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof BytecodeDeclaredType && element == ((BytecodeDeclaredType)other).element;
+  }
+
+  @Override
+  public int hashCode() {
+    return element.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return element.getQualifiedName().toString();
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+
+/**
+ * Utilities for elements read from class files. Class files don't contain documentation comments, so elements have
+ * none.
+ */
+final class BytecodeElements implements Elements {
+
+  private final BytecodeModel model;
+
+  BytecodeElements(BytecodeModel model) {
+    this.model = model;
+  }
+
+  @Override
+  public PackageElement getPackageElement(CharSequence name) {
+    return model.getPackageElement(name);
+  }
+
+  @Override
+  public TypeElement getTypeElement(CharSequence name) {
+    return model.getTypeElement(name);
+  }
+
+  @Override
+  public Map<? extends ExecutableElement, ? extends AnnotationValue> getElementValuesWithDefaults(
+      AnnotationMirror annotation) {
+    return annotation.getElementValues();
+  }
+
+  @Override
+  public String getDocComment(Element element) {
+    return null;
+  }
+
+  @Override
+  public boolean isDeprecated(Element element) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(
+          Deprecated.class.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Name getBinaryName(TypeElement type) {
+    Element enclosingElement = type.getEnclosingElement();
+    if (enclosingElement instanceof TypeElement) {
+      return getName(getBinaryName((TypeElement)enclosingElement) + "$" + type.getSimpleName());
+    }
+    return type.getQualifiedName();
+  }
+
+  @Override
+  public PackageElement getPackageOf(Element type) {
+    Element result = type;
+    while (result.getKind() != ElementKind.PACKAGE) {
+      result = result.getEnclosingElement();
+    }
+    return (PackageElement)result;
+  }
+
+  @Override
+  public List<? extends Element> getAllMembers(TypeElement type) {
+    return type.getEnclosedElements();
+  }
+
+  @Override
+  public List<? extends AnnotationMirror> getAllAnnotationMirrors(Element element) {
+    return element.getAnnotationMirrors();
+  }
+
+  @Override
+  public boolean hides(Element hider, Element hidden) {
+    return false;
+  }
+
+  @Override
+  public boolean overrides(ExecutableElement overrider, ExecutableElement overridden, TypeElement type) {
+    return false;
+  }
+
+  @Override
+  public String getConstantExpression(Object value) {
+    return value instanceof String ? '"' + value.toString() + '"' : String.valueOf(value);
+  }
+
+  @Override
+  public void printElements(Writer writer, Element... elements) {
+    PrintWriter printer = new PrintWriter(writer);
+    for (Element element : elements) {
+      printer.println(element);
+    }
+    printer.flush();
+  }
+
+  @Override
+  public Name getName(CharSequence name) {
+    return new BytecodeName(name.toString());
+  }
+
+  // Part of Elements since Java 8
+  public boolean isFunctionalInterface(TypeElement type) {
+    return false;
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ElementVisitor;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * A method or constructor read from a class file, or an element of an annotation type.
+ */
+final class BytecodeExecutableElement extends AbstractBytecodeElement implements ExecutableElement {
+
+  private final TypeMirror returnType;
+  private final List<VariableElement> parameters = new ArrayList<>();
+
+  BytecodeExecutableElement(ElementKind kind, String simpleName, Element enclosingElement, TypeMirror returnType) {
+    super(kind, simpleName, enclosingElement);
+    this.returnType = returnType;
+  }
+
+  @Override
+  public TypeMirror getReturnType() {
+    return returnType;
+  }
+
+  @Override
+  public List<? extends VariableElement> getParameters() {
+    return Collections.unmodifiableList(parameters);
+  }
+
+  void addParameter(VariableElement parameter) {
+    parameters.add(parameter);
+  }
+
+  @Override
+  public boolean isVarArgs() {
+    return false;
+  }
+
+  @Override
+  public List<? extends TypeMirror> getThrownTypes() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public List<? extends TypeParameterElement> getTypeParameters() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public AnnotationValue getDefaultValue() {
+    return null;
+  }
+
+  // Part of ExecutableElement since Java 8
+  public TypeMirror getReceiverType() {
+    return new BytecodeNoType(TypeKind.NONE, "none");
+  }
+
+  // Part of ExecutableElement since Java 8
+  public boolean isDefault() {
+    return false;
+  }
+
+  @Override
+  public TypeMirror asType() {
+    return new BytecodeTypeMirror(TypeKind.EXECUTABLE, getSimpleName().toString());
+  }
+
+  @Override
+  public <R, P> R accept(ElementVisitor<R, P> visitor, P parameter) {
+    return visitor.visitExecutable(this, parameter);
+  }
+
+}
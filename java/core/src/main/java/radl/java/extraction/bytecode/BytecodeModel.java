@@ -0,0 +1,332 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * The elements that the compiler would present to annotation processors, built from class files instead of source
+ * files. Every class is represented by a single element, so that elements can be compared by identity. Classes that
+ * are referenced, but whose class files aren't available, are represented by elements without members.
+ */
+final class BytecodeModel {
+
+  private static final String CONSTRUCTOR_NAME = "<init>";
+  private static final String STATIC_INITIALIZER_NAME = "<clinit>";
+
+  private final Map<String, ClassFile> classFiles = new LinkedHashMap<>();
+  private final Map<String, Collection<String>> memberTypesByOuterType = new HashMap<>();
+  private final Map<String, BytecodeTypeElement> typesByName = new HashMap<>();
+  private final Map<String, BytecodePackageElement> packagesByName = new HashMap<>();
+  private final Set<TypeElement> rootElements = new LinkedHashSet<>();
+  private final Set<TypeElement> annotationTypes = new LinkedHashSet<>();
+
+  BytecodeModel(Collection<ClassFile> classes) {
+    for (ClassFile classFile : classes) {
+      if (isMemberOfPackage(classFile)) {
+        classFiles.put(classFile.getName(), classFile);
+        if (classFile.getOuterName() != null) {
+          Collection<String> memberTypes = memberTypesByOuterType.get(classFile.getOuterName());
+          if (memberTypes == null) {
+            memberTypes = new ArrayList<>();
+            memberTypesByOuterType.put(classFile.getOuterName(), memberTypes);
+          }
+          memberTypes.add(classFile.getName());
+        }
+      }
+    }
+    for (ClassFile classFile : classFiles.values()) {
+      if (classFile.getOuterName() == null) {
+        rootElements.add(typeElement(classFile.getName(), ElementKind.CLASS));
+      }
+    }
+  }
+
+  private boolean isMemberOfPackage(ClassFile classFile) {
+    return !classFile.isLocal() && (classFile.getAccess() & ClassFile.ACC_SYNTHETIC) == 0
+        && !"package-info".equals(classFile.getSimpleName()) && !"module-info".equals(classFile.getSimpleName());
+  }
+
+  /**
+   * @return The top-level types
+   */
+  public Set<TypeElement> getRootElements() {
+    return Collections.unmodifiableSet(rootElements);
+  }
+
+  /**
+   * @return The annotation types used by the types
+   */
+  public Set<TypeElement> getAnnotationTypes() {
+    return Collections.unmodifiableSet(annotationTypes);
+  }
+
+  /**
+   * @param annotationType The annotation type to look for
+   * @return The types, methods, and parameters that have the given annotation
+   */
+  public Set<Element> getElementsAnnotatedWith(TypeElement annotationType) {
+    Set<Element> result = new LinkedHashSet<>();
+    for (Element element : rootElements) {
+      addElementsAnnotatedWith(annotationType, element, result);
+    }
+    return result;
+  }
+
+  private void addElementsAnnotatedWith(TypeElement annotationType, Element element, Set<Element> elements) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (annotation.getAnnotationType().asElement() == annotationType) {
+        elements.add(element);
+        break;
+      }
+    }
+    for (Element enclosedElement : element.getEnclosedElements()) {
+      addElementsAnnotatedWith(annotationType, enclosedElement, elements);
+    }
+    if (element instanceof ExecutableElement) {
+      for (Element parameter : ((ExecutableElement)element).getParameters()) {
+        addElementsAnnotatedWith(annotationType, parameter, elements);
+      }
+    }
+  }
+
+  /**
+   * @param qualifiedName The qualified name of a type
+   * @return The type with the given name, or <code>null</code> when no class refers to it
+   */
+  public TypeElement getTypeElement(CharSequence qualifiedName) {
+    for (BytecodeTypeElement result : typesByName.values()) {
+      if (result.getQualifiedName().contentEquals(qualifiedName)) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param qualifiedName The qualified name of a package
+   * @return The package with the given name, or <code>null</code> when no class refers to it
+   */
+  public BytecodePackageElement getPackageElement(CharSequence qualifiedName) {
+    return packagesByName.get(qualifiedName.toString());
+  }
+
+  private BytecodeTypeElement typeElement(String internalName, ElementKind kindIfMissing) {
+    BytecodeTypeElement result = typesByName.get(internalName);
+    if (result != null) {
+      return result;
+    }
+    ClassFile classFile = classFiles.get(internalName);
+    if (classFile == null) {
+      String qualifiedName = internalName.replace('/', '.').replace('$', '.');
+      result = new BytecodeTypeElement(kindIfMissing, qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1),
+          qualifiedName, packageElement(internalName));
+      typesByName.put(internalName, result);
+      return result;
+    }
+    if (classFile.getOuterName() == null) {
+      result = new BytecodeTypeElement(kindOf(classFile), classFile.getSimpleName(), internalName.replace('/', '.'),
+          packageElement(internalName));
+    } else {
+      BytecodeTypeElement outerType = typeElement(classFile.getOuterName(), ElementKind.CLASS);
+      result = new BytecodeTypeElement(kindOf(classFile), classFile.getSimpleName(),
+          outerType.getQualifiedName() + "." + classFile.getSimpleName(), outerType);
+    }
+    typesByName.put(internalName, result);
+    addMembers(classFile, result);
+    return result;
+  }
+
+  private BytecodePackageElement packageElement(String internalTypeName) {
+    int index = internalTypeName.lastIndexOf('/');
+    String name = index < 0 ? "" : internalTypeName.substring(0, index).replace('/', '.');
+    BytecodePackageElement result = packagesByName.get(name);
+    if (result == null) {
+      result = new BytecodePackageElement(name);
+      packagesByName.put(name, result);
+    }
+    return result;
+  }
+
+  private ElementKind kindOf(ClassFile classFile) {
+    int access = classFile.getAccess();
+    if ((access & ClassFile.ACC_ANNOTATION) != 0) {
+      return ElementKind.ANNOTATION_TYPE;
+    }
+    if ((access & ClassFile.ACC_INTERFACE) != 0) {
+      return ElementKind.INTERFACE;
+    }
+    if ((access & ClassFile.ACC_ENUM) != 0) {
+      return ElementKind.ENUM;
+    }
+    return ElementKind.CLASS;
+  }
+
+  private void addMembers(ClassFile classFile, BytecodeTypeElement type) {
+    addModifiers(classFile.getAccess(), type);
+    if (classFile.getSuperName() != null && type.getKind() != ElementKind.INTERFACE
+        && type.getKind() != ElementKind.ANNOTATION_TYPE) {
+      type.setSuperclass(typeElement(classFile.getSuperName(), ElementKind.CLASS).asType());
+    }
+    for (String implementedInterface : classFile.getInterfaces()) {
+      type.addInterface(typeElement(implementedInterface, ElementKind.INTERFACE).asType());
+    }
+    addAnnotations(classFile.getAnnotations(), type);
+    for (ClassFile.Method method : classFile.getMethods()) {
+      if ((method.getAccess() & (ClassFile.ACC_SYNTHETIC | ClassFile.ACC_BRIDGE)) == 0
+          && !STATIC_INITIALIZER_NAME.equals(method.getName())) {
+        type.addEnclosedElement(executableElement(method, type));
+      }
+    }
+    Collection<String> memberTypes = memberTypesByOuterType.get(classFile.getName());
+    if (memberTypes != null) {
+      for (String memberType : memberTypes) {
+        type.addEnclosedElement(typeElement(memberType, ElementKind.CLASS));
+      }
+    }
+  }
+
+  private void addModifiers(int access, AbstractBytecodeElement element) {
+    if ((access & ClassFile.ACC_PUBLIC) != 0) {
+      element.addModifier(Modifier.PUBLIC);
+    }
+    if ((access & ClassFile.ACC_PRIVATE) != 0) {
+      element.addModifier(Modifier.PRIVATE);
+    }
+    if ((access & ClassFile.ACC_PROTECTED) != 0) {
+      element.addModifier(Modifier.PROTECTED);
+    }
+    if ((access & ClassFile.ACC_STATIC) != 0) {
+      element.addModifier(Modifier.STATIC);
+    }
+    if ((access & ClassFile.ACC_FINAL) != 0) {
+      element.addModifier(Modifier.FINAL);
+    }
+    if ((access & ClassFile.ACC_ABSTRACT) != 0) {
+      element.addModifier(Modifier.ABSTRACT);
+    }
+  }
+
+  private ExecutableElement executableElement(ClassFile.Method method, BytecodeTypeElement type) {
+    boolean constructor = CONSTRUCTOR_NAME.equals(method.getName());
+    BytecodeExecutableElement result = new BytecodeExecutableElement(
+        constructor ? ElementKind.CONSTRUCTOR : ElementKind.METHOD, method.getName(), type,
+        typeMirror(Descriptors.returnType(method.getDescriptor())));
+    addModifiers(method.getAccess(), result);
+    addAnnotations(method.getAnnotations(), result);
+    List<String> parameterTypes = Descriptors.parameterTypes(method.getDescriptor());
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      String name = method.getParameterName(i);
+      BytecodeVariableElement parameter = new BytecodeVariableElement(ElementKind.PARAMETER,
+          name == null ? "arg" + i : name, result, typeMirror(parameterTypes.get(i)));
+      addAnnotations(method.getParameterAnnotations(i), parameter);
+      result.addParameter(parameter);
+    }
+    return result;
+  }
+
+  private void addAnnotations(List<ClassFile.Annotation> annotations, AbstractBytecodeElement element) {
+    for (ClassFile.Annotation annotation : annotations) {
+      element.addAnnotationMirror(annotationMirror(annotation));
+    }
+  }
+
+  private AnnotationMirror annotationMirror(ClassFile.Annotation annotation) {
+    BytecodeTypeElement annotationType = typeElement(annotation.getType(), ElementKind.ANNOTATION_TYPE);
+    annotationTypes.add(annotationType);
+    Map<ExecutableElement, AnnotationValue> values = new LinkedHashMap<>();
+    for (Entry<String, Object> entry : annotation.getValues().entrySet()) {
+      values.put(new BytecodeExecutableElement(ElementKind.METHOD, entry.getKey(), annotationType,
+          new BytecodeNoType()), annotationValue(entry.getValue()));
+    }
+    return new BytecodeAnnotationMirror((DeclaredType)annotationType.asType(), values);
+  }
+
+  private AnnotationValue annotationValue(Object value) {
+    if (value instanceof String) {
+      return new BytecodeAnnotationValue(value, '"' + value.toString() + '"');
+    }
+    if (value instanceof ClassFile.EnumConstant) {
+      ClassFile.EnumConstant constant = (ClassFile.EnumConstant)value;
+      BytecodeTypeElement enumType = typeElement(constant.getType(), ElementKind.ENUM);
+      return new BytecodeAnnotationValue(new BytecodeVariableElement(ElementKind.ENUM_CONSTANT, constant.getName(),
+          enumType, enumType.asType()), enumType.getQualifiedName() + "." + constant.getName());
+    }
+    if (value instanceof ClassFile.ClassConstant) {
+      TypeMirror type = typeMirror(((ClassFile.ClassConstant)value).getDescriptor());
+      return new BytecodeAnnotationValue(type, type + ".class");
+    }
+    if (value instanceof ClassFile.Annotation) {
+      AnnotationMirror annotation = annotationMirror((ClassFile.Annotation)value);
+      return new BytecodeAnnotationValue(annotation, annotation.toString());
+    }
+    if (value instanceof List) {
+      List<AnnotationValue> values = new ArrayList<>();
+      StringBuilder text = new StringBuilder("{");
+      String prefix = "";
+      for (Object item : (List<?>)value) {
+        AnnotationValue annotationValue = annotationValue(item);
+        values.add(annotationValue);
+        text.append(prefix).append(annotationValue);
+        prefix = ", ";
+      }
+      return new BytecodeAnnotationValue(Collections.unmodifiableList(values), text.append('}').toString());
+    }
+    if (value instanceof Character) {
+      return new BytecodeAnnotationValue(value, "'" + value + "'");
+    }
+    return new BytecodeAnnotationValue(value, String.valueOf(value));
+  }
+
+  private TypeMirror typeMirror(String descriptor) {
+    switch (descriptor.charAt(0)) {
+      case 'L':
+        return typeElement(Descriptors.internalName(descriptor), ElementKind.CLASS).asType();
+      case '[':
+        return new BytecodeTypeMirror(TypeKind.ARRAY, descriptor);
+      case 'V':
+        return new BytecodeNoType(TypeKind.VOID, "void");
+      case 'Z':
+        return new BytecodeTypeMirror(TypeKind.BOOLEAN, "boolean");
+      case 'B':
+        return new BytecodeTypeMirror(TypeKind.BYTE, "byte");
+      case 'C':
+        return new BytecodeTypeMirror(TypeKind.CHAR, "char");
+      case 'S':
+        return new BytecodeTypeMirror(TypeKind.SHORT, "short");
+      case 'I':
+        return new BytecodeTypeMirror(TypeKind.INT, "int");
+      case 'J':
+        return new BytecodeTypeMirror(TypeKind.LONG, "long");
+      case 'F':
+        return new BytecodeTypeMirror(TypeKind.FLOAT, "float");
+      case 'D':
+        return new BytecodeTypeMirror(TypeKind.DOUBLE, "double");
+      default:
+        throw new IllegalArgumentException("Invalid type descriptor: " + descriptor);
+    }
+  }
+
+}
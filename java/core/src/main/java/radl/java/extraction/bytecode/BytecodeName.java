@@ -0,0 +1,55 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import javax.lang.model.element.Name;
+
+
+/**
+ * The name of an element read from a class file.
+ */
+final class BytecodeName implements Name {
+
+  private final String value;
+
+  BytecodeName(String value) {
+    this.value = value;
+  }
+
+  @Override
+  public boolean contentEquals(CharSequence text) {
+    return value.contentEquals(text);
+  }
+
+  @Override
+  public int length() {
+    return value.length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return value.charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return value.subSequence(start, end);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof BytecodeName && value.equals(((BytecodeName)other).value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+
+}
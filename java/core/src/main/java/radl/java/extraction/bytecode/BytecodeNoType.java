@@ -0,0 +1,29 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import javax.lang.model.type.NoType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeVisitor;
+
+
+/**
+ * The missing super class of an interface or of <code>java.lang.Object</code>, or the <code>void</code> return type.
+ */
+final class BytecodeNoType extends BytecodeTypeMirror implements NoType {
+
+  BytecodeNoType() {
+    this(TypeKind.NONE, "none");
+  }
+
+  BytecodeNoType(TypeKind kind, String descriptor) {
+    super(kind, descriptor);
+  }
+
+  @Override
+  public <R, P> R accept(TypeVisitor<R, P> visitor, P parameter) {
+    return visitor.visitNoType(this, parameter);
+  }
+
+}
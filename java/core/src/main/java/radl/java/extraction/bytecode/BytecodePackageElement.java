@@ -0,0 +1,51 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ElementVisitor;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * A package that contains classes read from class files.
+ */
+final class BytecodePackageElement extends AbstractBytecodeElement implements PackageElement {
+
+  private final Name qualifiedName;
+
+  BytecodePackageElement(String qualifiedName) {
+    super(ElementKind.PACKAGE, qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), null);
+    this.qualifiedName = new BytecodeName(qualifiedName);
+  }
+
+  @Override
+  public Name getQualifiedName() {
+    return qualifiedName;
+  }
+
+  @Override
+  public boolean isUnnamed() {
+    return qualifiedName.length() == 0;
+  }
+
+  @Override
+  public TypeMirror asType() {
+    return new BytecodeNoType(TypeKind.PACKAGE, qualifiedName.toString());
+  }
+
+  @Override
+  public <R, P> R accept(ElementVisitor<R, P> visitor, P parameter) {
+    return visitor.visitPackage(this, parameter);
+  }
+
+  @Override
+  public String toString() {
+    return qualifiedName.toString();
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.annotation.processing.Processor;
+import javax.lang.model.element.TypeElement;
+
+
+/**
+ * Runs annotation processors on compiled classes rather than on source files, so that no compiler is needed. The
+ * processors see the same elements as they would from the compiler, except that there are no documentation comments.
+ * Only annotations that are retained at runtime are available.
+ */
+public class BytecodeProcessing {
+
+  private static final String CLASS_FILE_EXTENSION = ".class";
+
+  private final Collection<ClassFile> classFiles = new ArrayList<>();
+
+  /**
+   * @param classLocations The directories and jar files that contain the compiled classes
+   */
+  public BytecodeProcessing(Collection<File> classLocations) {
+    for (File classLocation : classLocations) {
+      try {
+        addClassFilesIn(classLocation);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to read class files from " + classLocation, e);
+      }
+    }
+  }
+
+  private void addClassFilesIn(File file) throws IOException {
+    if (file.isDirectory()) {
+      File[] children = file.listFiles();
+      if (children != null) {
+        Arrays.sort(children);
+        for (File child : children) {
+          addClassFilesIn(child);
+        }
+      }
+    } else if (file.getName().endsWith(CLASS_FILE_EXTENSION)) {
+      try (InputStream stream = new FileInputStream(file)) {
+        classFiles.add(ClassFile.read(stream));
+      }
+    } else if (file.isFile() && isArchive(file.getName())) {
+      addClassFilesInArchive(file);
+    }
+  }
+
+  private boolean isArchive(String fileName) {
+    return fileName.endsWith(".jar") || fileName.endsWith(".zip");
+  }
+
+  private void addClassFilesInArchive(File file) throws IOException {
+    try (ZipFile archive = new ZipFile(file)) {
+      Enumeration<? extends ZipEntry> entries = archive.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (entry.getName().endsWith(CLASS_FILE_EXTENSION) && !entry.getName().startsWith("META-INF/")) {
+          try (InputStream stream = archive.getInputStream(entry)) {
+            classFiles.add(ClassFile.read(stream));
+          }
+        }
+      }
+    }
+  }
+
+  public int getNumClasses() {
+    return classFiles.size();
+  }
+
+  /**
+   * Run annotation processors on the compiled classes, in a single round. Like the compiler, a processor only runs
+   * when the classes use at least one of the annotations it supports.
+   * @param processors The annotation processors to run
+   * @param options The options for the annotation processors
+   */
+  public void run(Collection<? extends Processor> processors, Map<String, String> options) {
+    BytecodeModel model = new BytecodeModel(classFiles);
+    BytecodeProcessingEnvironment environment = new BytecodeProcessingEnvironment(model, options);
+    BytecodeRoundEnvironment round = new BytecodeRoundEnvironment(model);
+    for (Processor processor : processors) {
+      processor.init(environment);
+      Set<TypeElement> annotations = getSupportedAnnotations(processor, model.getAnnotationTypes());
+      if (!annotations.isEmpty()) {
+        processor.process(annotations, round);
+      }
+    }
+  }
+
+  private Set<TypeElement> getSupportedAnnotations(Processor processor, Set<TypeElement> annotationTypes) {
+    Set<TypeElement> result = new LinkedHashSet<>();
+    for (String supportedType : processor.getSupportedAnnotationTypes()) {
+      for (TypeElement annotationType : annotationTypes) {
+        if (matches(supportedType, annotationType.getQualifiedName().toString())) {
+          result.add(annotationType);
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean matches(String pattern, String name) {
+    if ("*".equals(pattern)) {
+      return true;
+    }
+    if (pattern.endsWith(".*")) {
+      return name.startsWith(pattern.substring(0, pattern.length() - 1));
+    }
+    return pattern.equals(name);
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import radl.core.Log;
+
+
+/**
+ * The environment of annotation processors that run on classes read from class files. Processors can't generate
+ * files, since there is no compiler to pick them up.
+ */
+final class BytecodeProcessingEnvironment implements ProcessingEnvironment, Messager {
+
+  private final Map<String, String> options;
+  private final Elements elements;
+  private final Types types = new BytecodeTypes();
+
+  BytecodeProcessingEnvironment(BytecodeModel model, Map<String, String> options) {
+    this.options = Collections.unmodifiableMap(new HashMap<>(options));
+    this.elements = new BytecodeElements(model);
+  }
+
+  @Override
+  public Map<String, String> getOptions() {
+    return options;
+  }
+
+  @Override
+  public Messager getMessager() {
+    return this;
+  }
+
+  @Override
+  public Filer getFiler() {
+    throw new UnsupportedOperationException("Can't generate files when extracting from class files");
+  }
+
+  @Override
+  public Elements getElementUtils() {
+    return elements;
+  }
+
+  @Override
+  public Types getTypeUtils() {
+    return types;
+  }
+
+  @Override
+  public SourceVersion getSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public Locale getLocale() {
+    return Locale.getDefault();
+  }
+
+  @Override
+  public void printMessage(Kind kind, CharSequence message) {
+    printMessage(kind, message, null);
+  }
+
+  @Override
+  public void printMessage(Kind kind, CharSequence message, Element element) {
+    printMessage(kind, message, element, null);
+  }
+
+  @Override
+  public void printMessage(Kind kind, CharSequence message, Element element, AnnotationMirror annotation) {
+    printMessage(kind, message, element, annotation, null);
+  }
+
+  @Override
+  public void printMessage(Kind kind, CharSequence message, Element element, AnnotationMirror annotation,
+      AnnotationValue value) {
+    String text = element == null ? message.toString() : element + ": " + message;
+    if (kind == Kind.ERROR) {
+      Log.error(text);
+    } else {
+      Log.info(text);
+    }
+  }
+
+}
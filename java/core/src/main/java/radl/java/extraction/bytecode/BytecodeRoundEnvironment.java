@@ -0,0 +1,52 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+
+/**
+ * The single round of annotation processing over classes read from class files.
+ */
+final class BytecodeRoundEnvironment implements RoundEnvironment {
+
+  private final BytecodeModel model;
+
+  BytecodeRoundEnvironment(BytecodeModel model) {
+    this.model = model;
+  }
+
+  @Override
+  public boolean processingOver() {
+    return false;
+  }
+
+  @Override
+  public boolean errorRaised() {
+    return false;
+  }
+
+  @Override
+  public Set<? extends Element> getRootElements() {
+    return model.getRootElements();
+  }
+
+  @Override
+  public Set<? extends Element> getElementsAnnotatedWith(TypeElement annotationType) {
+    return model.getElementsAnnotatedWith(annotationType);
+  }
+
+  @Override
+  public Set<? extends Element> getElementsAnnotatedWith(Class<? extends Annotation> annotationType) {
+    TypeElement type = model.getTypeElement(annotationType.getCanonicalName());
+    return type == null ? Collections.<Element>emptySet() : model.getElementsAnnotatedWith(type);
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ElementVisitor;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * A class, interface, enum, or annotation type read from a class file. Types that are referenced but whose class files
+ * aren't available have no members, annotations, or super types.
+ */
+final class BytecodeTypeElement extends AbstractBytecodeElement implements TypeElement {
+
+  private static final TypeMirror NO_SUPER_CLASS = new BytecodeNoType();
+
+  private final Name qualifiedName;
+  private final TypeMirror type;
+  private TypeMirror superclass = NO_SUPER_CLASS;
+  private final List<TypeMirror> interfaces = new ArrayList<>();
+
+  BytecodeTypeElement(ElementKind kind, String simpleName, String qualifiedName, Element enclosingElement) {
+    super(kind, simpleName, enclosingElement);
+    this.qualifiedName = new BytecodeName(qualifiedName);
+    this.type = new BytecodeDeclaredType(this);
+  }
+
+  @Override
+  public Name getQualifiedName() {
+    return qualifiedName;
+  }
+
+  @Override
+  public NestingKind getNestingKind() {
+    return getEnclosingElement() instanceof TypeElement ? NestingKind.MEMBER : NestingKind.TOP_LEVEL;
+  }
+
+  @Override
+  public TypeMirror asType() {
+    return type;
+  }
+
+  @Override
+  public TypeMirror getSuperclass() {
+    return superclass;
+  }
+
+  void setSuperclass(TypeMirror superclass) {
+    this.superclass = superclass;
+  }
+
+  @Override
+  public List<? extends TypeMirror> getInterfaces() {
+    return Collections.unmodifiableList(interfaces);
+  }
+
+  void addInterface(TypeMirror implementedInterface) {
+    interfaces.add(implementedInterface);
+  }
+
+  @Override
+  public List<? extends TypeParameterElement> getTypeParameters() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public <R, P> R accept(ElementVisitor<R, P> visitor, P parameter) {
+    return visitor.visitType(this, parameter);
+  }
+
+  @Override
+  public String toString() {
+    return qualifiedName.toString();
+  }
+
+}
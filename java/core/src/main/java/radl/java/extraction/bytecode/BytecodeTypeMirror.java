@@ -0,0 +1,61 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVisitor;
+
+
+/**
+ * A type read from a class file that isn't a class, like a primitive or array type.
+ */
+class BytecodeTypeMirror implements TypeMirror {
+
+  private final TypeKind kind;
+  private final String descriptor;
+
+  BytecodeTypeMirror(TypeKind kind, String descriptor) {
+    this.kind = kind;
+    this.descriptor = descriptor;
+  }
+
+  @Override
+  public TypeKind getKind() {
+    return kind;
+  }
+
+  @Override
+  public <R, P> R accept(TypeVisitor<R, P> visitor, P parameter) {
+    return visitor.visitUnknown(this, parameter);
+  }
+
+  // Part of TypeMirror since Java 8
+  public List<? extends AnnotationMirror> getAnnotationMirrors() {
+    return Collections.emptyList();
+  }
+
+  // Part of TypeMirror since Java 8
+  public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+    return null;
+  }
+
+  // Part of TypeMirror since Java 8
+  @SuppressWarnings("unchecked")
+  public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
+    return (A[])Array.newInstance(annotationType, 0);
+  }
+
+  @Override
+  public String toString() {
+    return descriptor;
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.NoType;
+import javax.lang.model.type.NullType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+
+
+/**
+ * Utilities for types read from class files. Only the relations between classes are available, since class files
+ * don't carry enough information for the other operations.
+ */
+final class BytecodeTypes implements Types {
+
+  @Override
+  public Element asElement(TypeMirror type) {
+    return type instanceof DeclaredType ? ((DeclaredType)type).asElement() : null;
+  }
+
+  @Override
+  public boolean isSameType(TypeMirror type1, TypeMirror type2) {
+    return type1.equals(type2);
+  }
+
+  @Override
+  public boolean isSubtype(TypeMirror type1, TypeMirror type2) {
+    if (isSameType(type1, type2)) {
+      return true;
+    }
+    for (TypeMirror superType : directSupertypes(type1)) {
+      if (isSubtype(superType, type2)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isAssignable(TypeMirror type1, TypeMirror type2) {
+    return isSubtype(type1, type2);
+  }
+
+  @Override
+  public boolean contains(TypeMirror type1, TypeMirror type2) {
+    return isSameType(type1, type2);
+  }
+
+  @Override
+  public boolean isSubsignature(ExecutableType type1, ExecutableType type2) {
+    throw unsupported();
+  }
+
+  private UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("Not available for types read from class files");
+  }
+
+  @Override
+  public List<? extends TypeMirror> directSupertypes(TypeMirror type) {
+    List<TypeMirror> result = new ArrayList<>();
+    if (type instanceof DeclaredType) {
+      TypeElement element = (TypeElement)((DeclaredType)type).asElement();
+      if (element.getSuperclass().getKind() == TypeKind.DECLARED) {
+        result.add(element.getSuperclass());
+      }
+      result.addAll(element.getInterfaces());
+    }
+    return result;
+  }
+
+  @Override
+  public TypeMirror erasure(TypeMirror type) {
+    return type;
+  }
+
+  @Override
+  public TypeElement boxedClass(PrimitiveType type) {
+    throw unsupported();
+  }
+
+  @Override
+  public PrimitiveType unboxedType(TypeMirror type) {
+    throw unsupported();
+  }
+
+  @Override
+  public TypeMirror capture(TypeMirror type) {
+    return type;
+  }
+
+  @Override
+  public PrimitiveType getPrimitiveType(TypeKind kind) {
+    throw unsupported();
+  }
+
+  @Override
+  public NullType getNullType() {
+    throw unsupported();
+  }
+
+  @Override
+  public NoType getNoType(TypeKind kind) {
+    return new BytecodeNoType(kind, kind.name().toLowerCase());
+  }
+
+  @Override
+  public ArrayType getArrayType(TypeMirror componentType) {
+    throw unsupported();
+  }
+
+  @Override
+  public WildcardType getWildcardType(TypeMirror extendsBound, TypeMirror superBound) {
+    throw unsupported();
+  }
+
+  @Override
+  public DeclaredType getDeclaredType(TypeElement typeElement, TypeMirror... typeArgs) {
+    return (DeclaredType)typeElement.asType();
+  }
+
+  @Override
+  public DeclaredType getDeclaredType(DeclaredType containing, TypeElement typeElement, TypeMirror... typeArgs) {
+    return (DeclaredType)typeElement.asType();
+  }
+
+  @Override
+  public TypeMirror asMemberOf(DeclaredType containing, Element element) {
+    return element.asType();
+  }
+
+}
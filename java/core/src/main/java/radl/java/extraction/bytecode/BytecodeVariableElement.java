@@ -0,0 +1,40 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ElementVisitor;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+
+/**
+ * A method parameter read from a class file, or an enum constant used as annotation value.
+ */
+final class BytecodeVariableElement extends AbstractBytecodeElement implements VariableElement {
+
+  private final TypeMirror type;
+
+  BytecodeVariableElement(ElementKind kind, String simpleName, Element enclosingElement, TypeMirror type) {
+    super(kind, simpleName, enclosingElement);
+    this.type = type;
+  }
+
+  @Override
+  public TypeMirror asType() {
+    return type;
+  }
+
+  @Override
+  public Object getConstantValue() {
+    return null;
+  }
+
+  @Override
+  public <R, P> R accept(ElementVisitor<R, P> visitor, P parameter) {
+    return visitor.visitVariable(this, parameter);
+  }
+
+}
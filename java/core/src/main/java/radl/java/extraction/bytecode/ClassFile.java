@@ -0,0 +1,568 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The parts of a compiled Java class that matter for extracting RADL: its name, super types, methods, and runtime
+ * visible annotations. Everything else in the class file, like code and fields, is skipped.
+ */
+final class ClassFile {
+
+  static final int ACC_PUBLIC = 0x0001;
+  static final int ACC_PRIVATE = 0x0002;
+  static final int ACC_PROTECTED = 0x0004;
+  static final int ACC_STATIC = 0x0008;
+  static final int ACC_FINAL = 0x0010;
+  static final int ACC_BRIDGE = 0x0040;
+  static final int ACC_INTERFACE = 0x0200;
+  static final int ACC_ABSTRACT = 0x0400;
+  static final int ACC_SYNTHETIC = 0x1000;
+  static final int ACC_ANNOTATION = 0x2000;
+  static final int ACC_ENUM = 0x4000;
+
+  private static final int MAGIC = 0xCAFEBABE;
+  private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+  private final int access;
+  private final String name;
+  private final String superName;
+  private final List<String> interfaces;
+  private final List<Annotation> annotations;
+  private final List<Method> methods;
+  private final String outerName;
+  private final String simpleName;
+  private final boolean local;
+
+  private ClassFile(Builder builder) {
+    this.access = builder.access;
+    this.name = builder.name;
+    this.superName = builder.superName;
+    this.interfaces = builder.interfaces;
+    this.annotations = builder.annotations;
+    this.methods = builder.methods;
+    this.outerName = builder.outerName;
+    this.simpleName = builder.simpleName;
+    this.local = builder.local;
+  }
+
+  /**
+   * @param stream The contents of a class file
+   * @return The parsed class file
+   * @throws IOException When the stream can't be read or doesn't contain a class file
+   */
+  public static ClassFile read(InputStream stream) throws IOException {
+    return new Parser(new DataInputStream(stream)).parse();
+  }
+
+  public int getAccess() {
+    return access;
+  }
+
+  /**
+   * @return The internal name of the class, like <code>java/util/Map$Entry</code>
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return The internal name of the super class, or <code>null</code> for <code>java.lang.Object</code>
+   */
+  public String getSuperName() {
+    return superName;
+  }
+
+  public List<String> getInterfaces() {
+    return interfaces;
+  }
+
+  public List<Annotation> getAnnotations() {
+    return annotations;
+  }
+
+  public List<Method> getMethods() {
+    return methods;
+  }
+
+  /**
+   * @return The internal name of the class that this member class is declared in, or <code>null</code> for a
+   * top-level class
+   */
+  public String getOuterName() {
+    return outerName;
+  }
+
+  public String getSimpleName() {
+    return simpleName;
+  }
+
+  /**
+   * @return Whether this is a local or anonymous class, which isn't a member of any type
+   */
+  public boolean isLocal() {
+    return local;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+
+  /**
+   * A method or constructor.
+   */
+  static final class Method {
+
+    private final int access;
+    private final String name;
+    private final String descriptor;
+    private final List<Annotation> annotations;
+    private final List<List<Annotation>> parameterAnnotations;
+    private final List<String> parameterNames;
+
+    Method(int access, String name, String descriptor, List<Annotation> annotations,
+        List<List<Annotation>> parameterAnnotations, List<String> parameterNames) {
+      this.access = access;
+      this.name = name;
+      this.descriptor = descriptor;
+      this.annotations = annotations;
+      this.parameterAnnotations = parameterAnnotations;
+      this.parameterNames = parameterNames;
+    }
+
+    public int getAccess() {
+      return access;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getDescriptor() {
+      return descriptor;
+    }
+
+    public List<Annotation> getAnnotations() {
+      return annotations;
+    }
+
+    /**
+     * @param index The index of the parameter
+     * @return The annotations on the given parameter
+     */
+    public List<Annotation> getParameterAnnotations(int index) {
+      return index < parameterAnnotations.size() ? parameterAnnotations.get(index)
+          : Collections.<Annotation>emptyList();
+    }
+
+    /**
+     * @param index The index of the parameter
+     * @return The name of the given parameter, or <code>null</code> when the class wasn't compiled with parameter
+     * names or debug information
+     */
+    public String getParameterName(int index) {
+      return index < parameterNames.size() ? parameterNames.get(index) : null;
+    }
+
+    @Override
+    public String toString() {
+      return name + descriptor;
+    }
+
+  }
+
+
+  /**
+   * An annotation and its explicitly specified values. Values are {@linkplain String strings}, boxed primitives,
+   * {@linkplain EnumConstant enum constants}, {@linkplain ClassConstant class literals}, nested annotations, or lists
+   * of those.
+   */
+  static final class Annotation {
+
+    private final String type;
+    private final Map<String, Object> values;
+
+    Annotation(String type, Map<String, Object> values) {
+      this.type = type;
+      this.values = values;
+    }
+
+    /**
+     * @return The internal name of the annotation type
+     */
+    public String getType() {
+      return type;
+    }
+
+    public Map<String, Object> getValues() {
+      return values;
+    }
+
+    @Override
+    public String toString() {
+      return "@" + type + values;
+    }
+
+  }
+
+
+  /**
+   * A constant of an enumerated type used as annotation value.
+   */
+  static final class EnumConstant {
+
+    private final String type;
+    private final String name;
+
+    EnumConstant(String type, String name) {
+      this.type = type;
+      this.name = name;
+    }
+
+    /**
+     * @return The internal name of the enumerated type
+     */
+    public String getType() {
+      return type;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+  }
+
+
+  /**
+   * A class literal used as annotation value.
+   */
+  static final class ClassConstant {
+
+    private final String descriptor;
+
+    ClassConstant(String descriptor) {
+      this.descriptor = descriptor;
+    }
+
+    public String getDescriptor() {
+      return descriptor;
+    }
+
+  }
+
+
+  private static final class Builder {
+
+    private int access;
+    private String name;
+    private String superName;
+    private final List<String> interfaces = new ArrayList<>();
+    private List<Annotation> annotations = Collections.emptyList();
+    private final List<Method> methods = new ArrayList<>();
+    private String outerName;
+    private String simpleName;
+    private boolean local;
+
+  }
+
+
+  private static final class Parser {
+
+    private final DataInputStream input;
+    private Object[] constants;
+
+    Parser(DataInputStream input) {
+      this.input = input;
+    }
+
+    ClassFile parse() throws IOException {
+      if (input.readInt() != MAGIC) {
+        throw new IOException("Not a class file");
+      }
+      input.readUnsignedShort();
+      input.readUnsignedShort();
+      readConstants();
+      Builder result = new Builder();
+      result.access = input.readUnsignedShort();
+      result.name = className(input.readUnsignedShort());
+      result.superName = className(input.readUnsignedShort());
+      int numInterfaces = input.readUnsignedShort();
+      for (int i = 0; i < numInterfaces; i++) {
+        result.interfaces.add(className(input.readUnsignedShort()));
+      }
+      skipMembers();
+      int numMethods = input.readUnsignedShort();
+      for (int i = 0; i < numMethods; i++) {
+        result.methods.add(readMethod());
+      }
+      result.simpleName = result.name.substring(result.name.lastIndexOf('/') + 1);
+      int numAttributes = input.readUnsignedShort();
+      for (int i = 0; i < numAttributes; i++) {
+        String attribute = utf8(input.readUnsignedShort());
+        int length = input.readInt();
+        if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attribute)) {
+          result.annotations = readAnnotations();
+        } else if ("InnerClasses".equals(attribute)) {
+          readInnerClasses(result);
+        } else {
+          skip(length);
+        }
+      }
+      return new ClassFile(result);
+    }
+
+    private void readConstants() throws IOException {
+      constants = new Object[input.readUnsignedShort()];
+      for (int i = 1; i < constants.length; i++) {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+          case 1:
+            constants[i] = input.readUTF();
+            break;
+          case 3:
+            constants[i] = input.readInt();
+            break;
+          case 4:
+            constants[i] = input.readFloat();
+            break;
+          case 5:
+            constants[i++] = input.readLong();
+            break;
+          case 6:
+            constants[i++] = input.readDouble();
+            break;
+          case 7:
+            constants[i] = new ClassReference(input.readUnsignedShort());
+            break;
+          case 8:
+          case 16:
+          case 19:
+          case 20:
+            input.readUnsignedShort();
+            break;
+          case 15:
+            skip(3);
+            break;
+          case 9:
+          case 10:
+          case 11:
+          case 12:
+          case 17:
+          case 18:
+            skip(4);
+            break;
+          default:
+            throw new IOException("Unknown constant pool tag " + tag);
+        }
+      }
+    }
+
+    private void skip(int numBytes) throws IOException {
+      input.readFully(new byte[numBytes]);
+    }
+
+    private String utf8(int index) {
+      return (String)constants[index];
+    }
+
+    private String className(int index) {
+      return index == 0 ? null : utf8(((ClassReference)constants[index]).nameIndex);
+    }
+
+    private void skipMembers() throws IOException {
+      int numMembers = input.readUnsignedShort();
+      for (int i = 0; i < numMembers; i++) {
+        skip(6);
+        skipAttributes();
+      }
+    }
+
+    private void skipAttributes() throws IOException {
+      int numAttributes = input.readUnsignedShort();
+      for (int i = 0; i < numAttributes; i++) {
+        input.readUnsignedShort();
+        skip(input.readInt());
+      }
+    }
+
+    private Method readMethod() throws IOException {
+      int access = input.readUnsignedShort();
+      String name = utf8(input.readUnsignedShort());
+      String descriptor = utf8(input.readUnsignedShort());
+      List<Annotation> annotations = Collections.emptyList();
+      List<List<Annotation>> parameterAnnotations = Collections.emptyList();
+      List<String> parameterNames = new ArrayList<>();
+      Map<Integer, String> localVariables = new HashMap<>();
+      int numAttributes = input.readUnsignedShort();
+      for (int i = 0; i < numAttributes; i++) {
+        String attribute = utf8(input.readUnsignedShort());
+        int length = input.readInt();
+        if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attribute)) {
+          annotations = readAnnotations();
+        } else if ("RuntimeVisibleParameterAnnotations".equals(attribute)) {
+          parameterAnnotations = readParameterAnnotations();
+        } else if ("MethodParameters".equals(attribute)) {
+          int numParameters = input.readUnsignedByte();
+          for (int j = 0; j < numParameters; j++) {
+            int nameIndex = input.readUnsignedShort();
+            input.readUnsignedShort();
+            parameterNames.add(nameIndex == 0 ? null : utf8(nameIndex));
+          }
+        } else if ("Code".equals(attribute)) {
+          readLocalVariables(localVariables);
+        } else {
+          skip(length);
+        }
+      }
+      if (parameterNames.isEmpty() && !localVariables.isEmpty()) {
+        addParameterNames(access, descriptor, localVariables, parameterNames);
+      }
+      return new Method(access, name, descriptor, annotations, parameterAnnotations, parameterNames);
+    }
+
+    private void readLocalVariables(Map<Integer, String> localVariables) throws IOException {
+      skip(4);
+      skip(input.readInt());
+      skip(8 * input.readUnsignedShort());
+      int numAttributes = input.readUnsignedShort();
+      for (int i = 0; i < numAttributes; i++) {
+        String attribute = utf8(input.readUnsignedShort());
+        int length = input.readInt();
+        if ("LocalVariableTable".equals(attribute)) {
+          int numVariables = input.readUnsignedShort();
+          for (int j = 0; j < numVariables; j++) {
+            int startPc = input.readUnsignedShort();
+            input.readUnsignedShort();
+            String variable = utf8(input.readUnsignedShort());
+            input.readUnsignedShort();
+            int slot = input.readUnsignedShort();
+            if (startPc == 0) {
+              localVariables.put(slot, variable);
+            }
+          }
+        } else {
+          skip(length);
+        }
+      }
+    }
+
+    private void addParameterNames(int access, String descriptor, Map<Integer, String> localVariables,
+        List<String> parameterNames) {
+      int slot = (access & ACC_STATIC) == 0 ? 1 : 0;
+      for (String parameterType : Descriptors.parameterTypes(descriptor)) {
+        parameterNames.add(localVariables.get(slot));
+        slot += "J".equals(parameterType) || "D".equals(parameterType) ? 2 : 1;
+      }
+    }
+
+    private List<List<Annotation>> readParameterAnnotations() throws IOException {
+      int numParameters = input.readUnsignedByte();
+      List<List<Annotation>> result = new ArrayList<>(numParameters);
+      for (int i = 0; i < numParameters; i++) {
+        result.add(readAnnotations());
+      }
+      return result;
+    }
+
+    private List<Annotation> readAnnotations() throws IOException {
+      int numAnnotations = input.readUnsignedShort();
+      List<Annotation> result = new ArrayList<>(numAnnotations);
+      for (int i = 0; i < numAnnotations; i++) {
+        result.add(readAnnotation());
+      }
+      return result;
+    }
+
+    private Annotation readAnnotation() throws IOException {
+      String type = Descriptors.internalName(utf8(input.readUnsignedShort()));
+      int numValues = input.readUnsignedShort();
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (int i = 0; i < numValues; i++) {
+        String name = utf8(input.readUnsignedShort());
+        values.put(name, readValue());
+      }
+      return new Annotation(type, values);
+    }
+
+    private Object readValue() throws IOException {
+      char tag = (char)input.readUnsignedByte();
+      switch (tag) {
+        case 's':
+          return utf8(input.readUnsignedShort());
+        case 'e':
+          String type = Descriptors.internalName(utf8(input.readUnsignedShort()));
+          return new EnumConstant(type, utf8(input.readUnsignedShort()));
+        case 'c':
+          return new ClassConstant(utf8(input.readUnsignedShort()));
+        case '@':
+          return readAnnotation();
+        case '[':
+          int numValues = input.readUnsignedShort();
+          List<Object> result = new ArrayList<>(numValues);
+          for (int i = 0; i < numValues; i++) {
+            result.add(readValue());
+          }
+          return result;
+        case 'Z':
+          return ((Integer)constants[input.readUnsignedShort()]) != 0;
+        case 'C':
+          return (char)((Integer)constants[input.readUnsignedShort()]).intValue();
+        case 'B':
+          return ((Integer)constants[input.readUnsignedShort()]).byteValue();
+        case 'S':
+          return ((Integer)constants[input.readUnsignedShort()]).shortValue();
+        case 'I':
+        case 'J':
+        case 'F':
+        case 'D':
+          return constants[input.readUnsignedShort()];
+        default:
+          throw new IOException("Unknown annotation value tag " + tag);
+      }
+    }
+
+    private void readInnerClasses(Builder builder) throws IOException {
+      int numClasses = input.readUnsignedShort();
+      for (int i = 0; i < numClasses; i++) {
+        String innerName = className(input.readUnsignedShort());
+        int outerIndex = input.readUnsignedShort();
+        int simpleNameIndex = input.readUnsignedShort();
+        input.readUnsignedShort();
+        if (builder.name.equals(innerName)) {
+          if (outerIndex == 0 || simpleNameIndex == 0) {
+            builder.local = true;
+          } else {
+            builder.outerName = className(outerIndex);
+            builder.simpleName = utf8(simpleNameIndex);
+          }
+        }
+      }
+    }
+
+  }
+
+
+  private static final class ClassReference {
+
+    private final int nameIndex;
+
+    ClassReference(int nameIndex) {
+      this.nameIndex = nameIndex;
+    }
+
+  }
+
+}
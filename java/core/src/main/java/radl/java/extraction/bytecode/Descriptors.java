@@ -0,0 +1,65 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Helpers for the type descriptors that class files use, like <code>(Ljava/lang/String;[I)V</code>.
+ */
+final class Descriptors {
+
+  private Descriptors() {
+    // Utility class
+  }
+
+  /**
+   * @param methodDescriptor The descriptor of a method
+   * @return The descriptors of the parameter types of the method
+   */
+  public static List<String> parameterTypes(String methodDescriptor) {
+    List<String> result = new ArrayList<>();
+    int index = 1;
+    while (methodDescriptor.charAt(index) != ')') {
+      int end = endOfType(methodDescriptor, index);
+      result.add(methodDescriptor.substring(index, end));
+      index = end;
+    }
+    return result;
+  }
+
+  /**
+   * @param methodDescriptor The descriptor of a method
+   * @return The descriptor of the return type of the method
+   */
+  public static String returnType(String methodDescriptor) {
+    return methodDescriptor.substring(methodDescriptor.indexOf(')') + 1);
+  }
+
+  private static int endOfType(String descriptor, int start) {
+    int result = start;
+    while (descriptor.charAt(result) == '[') {
+      result++;
+    }
+    if (descriptor.charAt(result) == 'L') {
+      result = descriptor.indexOf(';', result);
+    }
+    return result + 1;
+  }
+
+  /**
+   * @param typeDescriptor The descriptor of a type
+   * @return The internal name of the class that the descriptor refers to, or <code>null</code> when it refers to a
+   * primitive or array type
+   */
+  public static String internalName(String typeDescriptor) {
+    if (typeDescriptor.startsWith("L") && typeDescriptor.endsWith(";")) {
+      return typeDescriptor.substring(1, typeDescriptor.length() - 1);
+    }
+    return null;
+  }
+
+}
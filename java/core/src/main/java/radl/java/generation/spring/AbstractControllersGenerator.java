@@ -165,7 +165,7 @@ public abstract class AbstractControllersGenerator extends FromRadlCodeGenerator
     }
   }
 
-  private String dtoPackage(String dtoType) {
+  protected String dtoPackage(String dtoType) {
     return join(getPackagePrefix(), toPackage(dtoType.substring(0, dtoType.length() - DTO_SUFFIX.length())));
   }
 
@@ -205,7 +205,7 @@ public abstract class AbstractControllersGenerator extends FromRadlCodeGenerator
     return result;
   }
 
-  private String parameterType(String consumes, RadlCode radl, String resource, String method) {
+  protected String parameterType(String consumes, RadlCode radl, String resource, String method) {
     String noType = consumes.isEmpty() ? FromRadlCodeGenerator.NO_TYPE : FromRadlCodeGenerator.UNKNOWN_INPUT_TYPE;
     String result = noType;
     for (String transition : radl.methodTransitions(resource, method)) {
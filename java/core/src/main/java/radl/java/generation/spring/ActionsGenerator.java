@@ -4,10 +4,12 @@ package radl.java.generation.spring;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeSet;
 
 import radl.core.code.Code;
+import radl.core.code.common.Constant;
 import radl.core.code.common.Constants;
 import radl.core.code.radl.RadlCode;
 import radl.java.code.JavaCode;
@@ -28,7 +30,7 @@ public class ActionsGenerator extends FromRadlCodeGenerator {
     addPackage(IMPL_PACKAGE, result);
     result.add("");
     result.add("");
-    result.add("public interface %s {", ACTIONS_TYPE);
+    result.add("public enum %s {", ACTIONS_TYPE);
     if (hasHyperMediaTypes) {
       addTransitionConstants(radl, result);
       result.add("");
@@ -37,11 +39,23 @@ public class ActionsGenerator extends FromRadlCodeGenerator {
     return result;
   }
 
+  /*
+   * The transitions are generated as a dense enum, so that the generated REST response can track denied transitions
+   * by ordinal in a bitset.
+   */
   private void addTransitionConstants(RadlCode radl, JavaCode code) {
     for (String transition : getTransitions(radl)) {
       transitionConstants.add(transition, transition, null);
     }
-    addConstants(transitionConstants, code);
+    Iterator<Constant> iterator = transitionConstants.all().iterator();
+    if (!iterator.hasNext()) {
+      return;
+    }
+    code.add("");
+    while (iterator.hasNext()) {
+      Constant constant = iterator.next();
+      code.add("  %s%s", constant.getName(), iterator.hasNext() ? "," : ";");
+    }
   }
 
   private Iterable<String> getTransitions(RadlCode radl) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.java.code.Java;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates a typed client per resource, with a method per HTTP method that the resource supports. The methods
+ * send and receive the generated DTOs over the pooled transport generated by {@linkplain RestClientGenerator}.
+ */
+public class ClientsGenerator extends AbstractControllersGenerator {
+
+  static final String CLASS_NAME_SUFFIX = "Client";
+  static final String CLIENT_VAR = "client";
+  private static final String URI_CONSTANT = "URI";
+  private static final String ASYNC_SUFFIX = "Async";
+
+  @Override
+  protected String getClassNameSuffix() {
+    return CLASS_NAME_SUFFIX;
+  }
+
+  @Override
+  protected void initController(RadlCode radl, String resource, Code client) {
+    client.add("import java.util.concurrent.Callable;");
+    client.add("import java.util.concurrent.Future;");
+    client.add("");
+    client.add("import %s.%s.%s;", getPackagePrefix(), RestClientGenerator.CLIENT_PACKAGE,
+        RestClientGenerator.REST_CLIENT_TYPE);
+    client.add("");
+    client.add("");
+  }
+
+  @Override
+  protected void generateMethods(RadlCode radl, String resource, JavaCode result) {
+    result.add("  private static final String %s = \"%s\";", URI_CONSTANT, Java.toString(radl.resourceLocation(resource)));
+    result.add("");
+    result.add("  private final %s %s;", RestClientGenerator.REST_CLIENT_TYPE, CLIENT_VAR);
+    result.add("");
+    result.add("  public %s(%s %s) {", getControllerClassName(resource), RestClientGenerator.REST_CLIENT_TYPE,
+        CLIENT_VAR);
+    result.add("    this.%1$s = %1$s;", CLIENT_VAR);
+    result.add("  }");
+    result.add("");
+    super.generateMethods(radl, resource, result);
+  }
+
+  @Override
+  protected void addControllerMethod(RadlCode radl, String resource, String method, JavaCode client) {
+    String consumes = getConsumes(radl, resource, method);
+    String produces = getProduces(radl, resource, method);
+    String argName = parameterName(consumes);
+    String type = returnType(produces, radl, resource, method);
+    boolean hasReturn = !NO_TYPE.equals(type);
+    addReturnTypeImport(type, false, client);
+    if (!argName.isEmpty()) {
+      addReturnTypeImport(parameterType(consumes, radl, resource, method), false, client);
+    }
+    client.ensureImport("org.springframework.http", "HttpMethod");
+    String javaMethod = httpToJavaMethod(method);
+    String parameters = parameters(consumes, radl, resource, method, argName, false);
+    String pathVariables = parameterNames(parameters("", radl, resource, method, "", false));
+    client.add("  public %s %s(%s) {", hasReturn ? type : "void", javaMethod, parameters);
+    client.add("    %s%s.exchange(HttpMethod.%s, %s.uri(%s%s),", hasReturn ? "return " : "", CLIENT_VAR,
+        method.toUpperCase(Locale.getDefault()), CLIENT_VAR, URI_CONSTANT,
+        pathVariables.isEmpty() ? "" : ", " + pathVariables);
+    client.add("        %s, %s, %s, %s.class);", argName.isEmpty() ? "null" : argName,
+        mediaType(argName.isEmpty() ? null : radl.methodRequestRepresentations(resource, method)),
+        mediaType(produces.isEmpty() ? null : radl.methodResponseRepresentations(resource, method)), type);
+    client.add("  }");
+    client.add("");
+    addAsyncMethod(javaMethod, type, hasReturn, parameters, client);
+  }
+
+  private void addAsyncMethod(String javaMethod, String type, boolean hasReturn, String parameters, JavaCode client) {
+    client.add("  public Future<%s> %s%s(%s) {", type, javaMethod, ASYNC_SUFFIX, finalParameters(parameters));
+    client.add("    return %s.async(new Callable<%s>() {", CLIENT_VAR, type);
+    client.add("      @Override");
+    client.add("      public %s call() {", type);
+    if (hasReturn) {
+      client.add("        return %s(%s);", javaMethod, parameterNames(parameters));
+    } else {
+      client.add("        %s(%s);", javaMethod, parameterNames(parameters));
+      client.add("        return null;");
+    }
+    client.add("      }");
+    client.add("    });");
+    client.add("  }");
+    client.add("");
+  }
+
+  private String finalParameters(String parameters) {
+    if (parameters.isEmpty()) {
+      return parameters;
+    }
+    StringBuilder result = new StringBuilder();
+    String prefix = "";
+    for (String parameter : parameters.split(",")) {
+      result.append(prefix).append("final ").append(parameter.trim());
+      prefix = ", ";
+    }
+    return result.toString();
+  }
+
+  private String parameterNames(String parameters) {
+    if (parameters.isEmpty()) {
+      return parameters;
+    }
+    StringBuilder result = new StringBuilder();
+    String prefix = "";
+    for (String parameter : parameters.split(",")) {
+      result.append(prefix).append(parameter.substring(parameter.lastIndexOf(' ')).trim());
+      prefix = ", ";
+    }
+    return result.toString();
+  }
+
+  static String mediaType(Iterable<String> representations) {
+    if (representations == null) {
+      return "null";
+    }
+    Iterator<String> iterator = representations.iterator();
+    return iterator.hasNext() ? '"' + Java.toString(iterator.next()) + '"' : "null";
+  }
+
+}
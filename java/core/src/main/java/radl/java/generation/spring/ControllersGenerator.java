@@ -20,12 +20,17 @@ import radl.java.code.JavaCode;
 
 public class ControllersGenerator extends AbstractControllersGenerator {
 
+  private static final String HEADERS_TYPE = "HttpHeaders";
+  private static final String HEADERS_VAR = "headers";
+
   private boolean hasHyperMediaTypes;
   private String startTransition;
   private Constants uriConstants;
   private Constants linkRelationConstants;
   private Constants transitionConstants;
+  private Collection<String> validatedDtos;
 
+  @SuppressWarnings("unchecked")
   @Override
   protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
     Iterator<String> startTransitions = radl.stateTransitionNames("").iterator();
@@ -34,6 +39,7 @@ public class ControllersGenerator extends AbstractControllersGenerator {
     uriConstants = (Constants)context.get(URI_CONSTANTS);
     linkRelationConstants = (Constants)context.get(FromRadlCodeGenerator.LINK_RELATION_CONSTANTS);
     transitionConstants = (Constants)context.get(FromRadlCodeGenerator.TRANSITION_CONSTANTS);
+    validatedDtos = (Collection<String>)context.get(VALIDATED_DTOS);
     return super.generateFromRadl(radl, context);
   }
 
@@ -131,6 +137,9 @@ public class ControllersGenerator extends AbstractControllersGenerator {
       controller.ensureImport("org.springframework.web.bind.annotation", "RequestBody");
     }
     controller.add("  public %s<%s> %s(%s) {", RESPONSE_TYPE, type, javaMethod, parameters);
+    if (!argName.isEmpty()) {
+      addValidation(consumes, radl, resource, method, argName, controller);
+    }
     parameters = stripParameterTypes(parameters);
     controller.add("    %s<%s> %s = %s.%s(%s);", SUPPORT_RESPONSE_TYPE, type, RESPONSE_VAR,
         CONTROLLER_SUPPORT_VAR, javaMethod, parameters);
@@ -140,12 +149,34 @@ public class ControllersGenerator extends AbstractControllersGenerator {
         addLinks(radl, resource, method, controller, parameters, argName);
       }
     }
-    controller.add("    return new %s<%s>(%s%s.getStatus());", RESPONSE_TYPE, type, hasReturn ? "result, " : "",
-        RESPONSE_VAR);
+    int cacheMaxAge = "GET".equalsIgnoreCase(method) ? radl.methodCacheMaxAge(resource, method) : -1;
+    if (cacheMaxAge >= 0) {
+      addCacheHeaders(cacheMaxAge, controller);
+    }
+    controller.add("    return new %s<%s>(%s%s%s.getStatus());", RESPONSE_TYPE, type, hasReturn ? "result, " : "",
+        cacheMaxAge >= 0 ? HEADERS_VAR + ", " : "", RESPONSE_VAR);
     controller.add("  }");
     controller.add("");
   }
 
+  private void addCacheHeaders(int cacheMaxAge, JavaCode controller) {
+    controller.ensureImport(RESPONSE_PACKAGE, HEADERS_TYPE);
+    controller.add("    %1$s %2$s = new %1$s();", HEADERS_TYPE, HEADERS_VAR);
+    controller.add("    %s.setCacheControl(\"max-age=%d\");", HEADERS_VAR, cacheMaxAge);
+    controller.add("    %s.add(%2$s.VARY, %2$s.ACCEPT);", HEADERS_VAR, HEADERS_TYPE);
+  }
+
+  private void addValidation(String consumes, RadlCode radl, String resource, String method, String argName,
+      JavaCode controller) {
+    String dto = parameterType(consumes, radl, resource, method);
+    if (validatedDtos == null || !validatedDtos.contains(dto)) {
+      return;
+    }
+    String validator = dto + ValidatorsGenerator.VALIDATOR_SUFFIX;
+    controller.ensureImport(dtoPackage(dto), validator);
+    controller.add("    %s.%s(%s);", validator, ValidatorsGenerator.VALIDATE_METHOD, argName);
+  }
+
   private String stripParameterTypes(String parameters) {
     if (parameters.isEmpty()) {
       return parameters;
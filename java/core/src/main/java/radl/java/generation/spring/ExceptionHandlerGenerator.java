@@ -24,10 +24,11 @@ public class ExceptionHandlerGenerator extends FromRadlErrorsCodeGenerator {
       Collection<Code> sources) {
     httpStatuses = (Map<Integer, String>)context.get(SPRING_HTTP_STATUSES);
     Collection<Code> generatedSources = ((List<Module>)context.get(OUTPUT_MODULES)).get(0);
-    sources.add(generateExceptionHandler(radl, errors, generatedSources));
+    sources.add(generateExceptionHandler(radl, errors, generatedSources, hasValidators(context)));
   }
 
-  private Code generateExceptionHandler(RadlCode radl, Iterable<String> errors, Collection<Code> sources) {
+  private Code generateExceptionHandler(RadlCode radl, Iterable<String> errors, Collection<Code> sources,
+      boolean handleInvalidInput) {
     final JavaCode errorHandler = startErrorHandler();
     final Collection<String> errorHandlingMethods = new ArrayList<>();
     for (String error : errors) {
@@ -35,6 +36,11 @@ public class ExceptionHandlerGenerator extends FromRadlErrorsCodeGenerator {
       JavaCode exceptionType = getException(error, sources);
       handleException(exceptionType, statusCode, errorHandlingMethods, errorHandler);
     }
+    if (handleInvalidInput) {
+      String handledType = ValidatorsGenerator.VALIDATION_EXCEPTION_TYPE;
+      addExceptionHandler(handledType, exceptionTypeToMethod(handledType), BAD_REQUEST, errorHandlingMethods,
+          errorHandler);
+    }
     return endErrorHandler(errorHandler);
   }
 
@@ -79,6 +85,11 @@ public class ExceptionHandlerGenerator extends FromRadlErrorsCodeGenerator {
       handledType = handledExceptionType(exceptionType);
       method = exceptionTypeToMethod(handledType);
     }
+    addExceptionHandler(handledType, method, statusCode, errorHandlingMethods, errorHandler);
+  }
+
+  private void addExceptionHandler(String handledType, String method, int statusCode,
+      Collection<String> errorHandlingMethods, JavaCode errorHandler) {
     if (errorHandlingMethods.contains(method)) {
       return;
     }
@@ -33,6 +33,7 @@ public abstract class FromRadlCodeGenerator implements CodeGenerator {
   static final String ERROR_CONSTANTS = "constants.errors";
   static final String URI_CONSTANTS = "constants.uris";
   static final String SPRING_HTTP_STATUSES = "spring.http.statuses";
+  static final String VALIDATED_DTOS = "dtos.validated";
   static final String DTO_SUFFIX = "Resource";
   static final String API_TYPE = "Api";
   static final String API_PACKAGE = "api";
@@ -77,12 +78,16 @@ public abstract class FromRadlCodeGenerator implements CodeGenerator {
   protected abstract Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context);
 
   protected void addPackage(String name, Code code) {
+    addQualifiedPackage(join(packagePrefix, toPackage(name)), code);
+  }
+
+  protected void addQualifiedPackage(String packageName, Code code) {
     code.add("/*");
     for (String line : fileHeader.split("\n")) {
       code.add(" * %s", line);
     }
     code.add(" */");
-    code.add("package %s.%s;", packagePrefix, toPackage(name));
+    code.add("package %s;", packageName);
   }
 
   protected String toPackage(String name) {
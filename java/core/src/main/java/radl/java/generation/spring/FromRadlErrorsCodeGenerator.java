@@ -23,7 +23,7 @@ public abstract class FromRadlErrorsCodeGenerator extends FromRadlCodeGenerator
   @Override
   protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
     Iterable<String> errors = radl.errors();
-    if (!errors.iterator().hasNext()) {
+    if (!errors.iterator().hasNext() && !hasValidators(context)) {
       return Collections.emptyList();
     }
     Collection<Code> result = new ArrayList<>();
@@ -31,6 +31,12 @@ public abstract class FromRadlErrorsCodeGenerator extends FromRadlCodeGenerator
     return result;
   }
 
+  @SuppressWarnings("unchecked")
+  protected boolean hasValidators(Map<String, Object> context) {
+    Collection<String> validatedDtos = (Collection<String>)context.get(VALIDATED_DTOS);
+    return validatedDtos != null && !validatedDtos.isEmpty();
+  }
+
   protected abstract void generateFromRadlErrors(RadlCode radl, Iterable<String> errors, Map<String, Object> context,
       Collection<Code> sources);
 
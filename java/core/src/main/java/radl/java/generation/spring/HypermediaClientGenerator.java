@@ -0,0 +1,178 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.core.code.radl.RadlCode.ResourceMethod;
+import radl.java.code.Java;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates a client that follows the transitions of the RADL state machine. A transition out of a state follows the
+ * link in the representation of that state, so the client never needs to go back to the billboard to discover where
+ * to go next. The responses of safe start transitions, like retrieving the billboard, are fetched only once.
+ */
+public class HypermediaClientGenerator extends FromRadlCodeGenerator {
+
+  static final String HYPERMEDIA_CLIENT_TYPE = "HypermediaClient";
+  private static final String FROM_VAR = "from";
+  private static final String INPUT_VAR = "input";
+
+  @Override
+  protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
+    Collection<Code> result = new ArrayList<>();
+    if (!(Boolean)context.get(HAS_HYPERMEDIA)) {
+      return result;
+    }
+    JavaCode code = new JavaCode();
+    addPackage(RestClientGenerator.CLIENT_PACKAGE, code);
+    code.add("");
+    code.add("import org.springframework.http.HttpMethod;");
+    code.add("");
+    code.add("");
+    code.add("/**");
+    code.add(" * Follows the transitions of the %s service.", radl.service());
+    code.add(" */");
+    code.add("public class %s {", HYPERMEDIA_CLIENT_TYPE);
+    code.add("");
+    code.add("  private final %s %s;", RestClientGenerator.REST_CLIENT_TYPE, ClientsGenerator.CLIENT_VAR);
+    Collection<String> cachedStartTransitions = new ArrayList<>();
+    for (String transition : radl.stateTransitionNames("")) {
+      ResourceMethod resourceMethod = radl.transitionMethod(transition);
+      String outputType = outputType(radl, transition, code);
+      if (isCacheableStartTransition(radl, resourceMethod) && !NO_TYPE.equals(outputType)) {
+        code.add("  private volatile %s %s;", outputType, cacheField(transition));
+        cachedStartTransitions.add(transition);
+      }
+    }
+    code.add("");
+    code.add("  public %s(%s %s) {", HYPERMEDIA_CLIENT_TYPE, RestClientGenerator.REST_CLIENT_TYPE,
+        ClientsGenerator.CLIENT_VAR);
+    code.add("    this.%1$s = %1$s;", ClientsGenerator.CLIENT_VAR);
+    code.add("  }");
+    code.add("");
+    Collection<String> addedTransitions = new HashSet<>();
+    for (String state : radl.stateNames()) {
+      String fromType = radl.isStartState(state) ? null : stateType(radl, state, code);
+      for (String transition : radl.stateTransitionNames(state)) {
+        if (addedTransitions.add(transition)) {
+          addTransition(radl, transition, fromType, cachedStartTransitions.contains(transition), code);
+        }
+      }
+    }
+    code.add("}");
+    result.add(code);
+    return result;
+  }
+
+  private boolean isCacheableStartTransition(RadlCode radl, ResourceMethod resourceMethod) {
+    return resourceMethod != null && "GET".equalsIgnoreCase(resourceMethod.getMethod())
+        && !radl.resourceLocation(resourceMethod.getResource()).contains("{");
+  }
+
+  private String cacheField(String transition) {
+    return transitionMethodName(transition) + "Result";
+  }
+
+  private String transitionMethodName(String transition) {
+    String result = Java.toIdentifier(transition, false);
+    return result.substring(0, 1).toLowerCase(Locale.getDefault()) + result.substring(1);
+  }
+
+  private String stateType(RadlCode radl, String state, JavaCode code) {
+    String propertyGroup = radl.statePropertyGroup(state);
+    if (propertyGroup.isEmpty()) {
+      code.ensureImport(UNKNOWN_OUTPUT_TYPE_PACKAGE, UNKNOWN_OUTPUT_TYPE);
+      return UNKNOWN_OUTPUT_TYPE;
+    }
+    return dtoType(propertyGroup, code);
+  }
+
+  private String dtoType(String propertyGroup, JavaCode code) {
+    String result = getDtoClass(propertyGroup);
+    code.ensureImport(join(getPackagePrefix(), toPackage(propertyGroup)), result);
+    return result;
+  }
+
+  private String outputType(RadlCode radl, String transition, JavaCode code) {
+    for (String state : radl.transitionEnds(transition)) {
+      String propertyGroup = radl.statePropertyGroup(state);
+      if (!propertyGroup.isEmpty()) {
+        return dtoType(propertyGroup, code);
+      }
+    }
+    return NO_TYPE;
+  }
+
+  private void addTransition(RadlCode radl, String transition, String fromType, boolean cached, JavaCode code) {
+    ResourceMethod resourceMethod = radl.transitionMethod(transition);
+    if (resourceMethod == null) {
+      return;
+    }
+    String resource = resourceMethod.getResource();
+    String method = resourceMethod.getMethod();
+    String uri;
+    if (fromType == null) {
+      String location = radl.resourceLocation(resource);
+      if (location.contains("{")) {
+        return;
+      }
+      uri = String.format("%s.uri(\"%s\")", ClientsGenerator.CLIENT_VAR, Java.toString(location));
+    } else {
+      Iterator<String> linkRelations = radl.transitionImplementations(transition).iterator();
+      if (!linkRelations.hasNext()) {
+        return;
+      }
+      uri = String.format("%s.linkHref(%s, \"%s\")", ClientsGenerator.CLIENT_VAR, FROM_VAR,
+          Java.toString(linkRelations.next()));
+    }
+    String outputType = outputType(radl, transition, code);
+    boolean hasReturn = !NO_TYPE.equals(outputType);
+    String inputPropertyGroup = radl.transitionPropertyGroup(transition);
+    StringBuilder parameters = new StringBuilder();
+    if (fromType != null) {
+      parameters.append(fromType).append(' ').append(FROM_VAR);
+    }
+    if (!inputPropertyGroup.isEmpty()) {
+      if (parameters.length() > 0) {
+        parameters.append(", ");
+      }
+      parameters.append(dtoType(inputPropertyGroup, code)).append(' ').append(INPUT_VAR);
+    }
+    String methodName = transitionMethodName(transition);
+    code.add("  public %s %s(%s) {", hasReturn ? outputType : "void", methodName, parameters);
+    String exchange = String.format("%s.exchange(HttpMethod.%s, %s,", ClientsGenerator.CLIENT_VAR,
+        method.toUpperCase(Locale.getDefault()), uri);
+    String arguments = String.format("%s, %s, %s, %s.class);", inputPropertyGroup.isEmpty() ? "null" : INPUT_VAR,
+        ClientsGenerator.mediaType(inputPropertyGroup.isEmpty() ? null
+            : radl.methodRequestRepresentations(resource, method)),
+        ClientsGenerator.mediaType(hasReturn ? radl.methodResponseRepresentations(resource, method) : null),
+        outputType);
+    if (cached) {
+      String field = cacheField(transition);
+      code.add("    %s result = %s;", outputType, field);
+      code.add("    if (result == null) {");
+      code.add("      result = %s", exchange);
+      code.add("          %s", arguments);
+      code.add("      %s = result;", field);
+      code.add("    }");
+      code.add("    return result;");
+    } else {
+      code.add("    %s%s", hasReturn ? "return " : "", exchange);
+      code.add("        %s", arguments);
+    }
+    code.add("  }");
+    code.add("");
+  }
+
+}
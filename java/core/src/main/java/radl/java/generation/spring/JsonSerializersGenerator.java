@@ -0,0 +1,273 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import radl.core.code.Code;
+import radl.core.code.common.Constant;
+import radl.core.code.common.Constants;
+import radl.core.code.radl.RadlCode;
+import radl.core.generation.Module;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates explicit Jackson serializers and deserializers for the generated DTOs, plus a Jackson module that
+ * registers them. The DTOs are known at generation time, so the generated code writes fields directly with
+ * pre-encoded field names instead of relying on reflection at runtime.
+ * <p>
+ * Hypermedia DTOs are left alone: their links and semantic annotations are rendered by the HAL or JSON-LD
+ * serialization of Spring HATEOAS, which these serializers would bypass.
+ */
+public class JsonSerializersGenerator extends FromRadlCodeGenerator {
+
+  static final String JSON_MODULE_TYPE = "JsonModule";
+  private static final String SERIALIZER_SUFFIX = "Serializer";
+  private static final String DESERIALIZER_SUFFIX = "Deserializer";
+  private static final String JACKSON_CORE_PACKAGE = "com.fasterxml.jackson.core";
+  private static final String JACKSON_DATABIND_PACKAGE = "com.fasterxml.jackson.databind";
+  private static final String SEMANTIC_ANNOTATION = "@Expose";
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
+    Collection<Code> result = new ArrayList<>();
+    Collection<Code> generatedSources = ((List<Module>)context.get(OUTPUT_MODULES)).get(0);
+    Collection<JavaCode> dtos = new ArrayList<>();
+    for (Code source : generatedSources) {
+      JavaCode dto = (JavaCode)source;
+      if (dto.isClass() && dto.simpleTypeName().endsWith(DTO_SUFFIX) && !isHypermedia(dto)) {
+        dtos.add(dto);
+      }
+    }
+    if (dtos.isEmpty()) {
+      return result;
+    }
+    for (JavaCode dto : dtos) {
+      result.add(generateSerializer(dto));
+      result.add(generateDeserializer(dto));
+    }
+    result.add(generateModule(dtos));
+    return result;
+  }
+
+  private boolean isHypermedia(JavaCode dto) {
+    if (UNKNOWN_OUTPUT_TYPE.equals(dto.superTypeName()) || hasSemanticAnnotation(dto.typeAnnotations())) {
+      return true;
+    }
+    for (String field : dto.fieldNames()) {
+      if (hasSemanticAnnotation(dto.fieldAnnotations(field))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasSemanticAnnotation(Iterable<String> annotations) {
+    for (String annotation : annotations) {
+      if (annotation.startsWith(SEMANTIC_ANNOTATION)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Code generateSerializer(JavaCode dto) {
+    String dtoType = dto.simpleTypeName();
+    JavaCode result = startType(dto, dtoType + SERIALIZER_SUFFIX, "JsonSerializer");
+    result.ensureImport(JACKSON_CORE_PACKAGE, "JsonGenerator");
+    result.ensureImport(JACKSON_CORE_PACKAGE, "SerializableString");
+    result.ensureImport(JACKSON_CORE_PACKAGE + ".io", "SerializedString");
+    result.ensureImport(JACKSON_DATABIND_PACKAGE, "SerializerProvider");
+    Constants fieldNames = fieldNameConstants(dto);
+    for (Constant fieldName : fieldNames.all()) {
+      result.add("  private static final SerializableString %s = new SerializedString(\"%s\");", fieldName.getName(),
+          fieldName.getValue());
+    }
+    result.add("");
+    result.add("  @Override");
+    result.add("  public void serialize(%s value, JsonGenerator generator, SerializerProvider provider)", dtoType);
+    result.add("      throws IOException {");
+    result.add("    generator.writeStartObject();");
+    for (String field : dto.fieldNames()) {
+      String type = dto.fieldType(field);
+      result.add("    generator.writeFieldName(%s);", fieldNames.byValue(field).getName());
+      addWriteValue(type, "value." + field, result);
+    }
+    result.add("    generator.writeEndObject();");
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return result;
+  }
+
+  private JavaCode startType(JavaCode dto, String type, String superType) {
+    JavaCode result = new JavaCode();
+    addQualifiedPackage(dto.packageName(), result);
+    result.add("");
+    result.add("import java.io.IOException;");
+    result.add("");
+    result.add("import %s.%s;", JACKSON_DATABIND_PACKAGE, superType);
+    result.add("");
+    result.add("");
+    result.add("public class %s extends %s<%s> {", type, superType, dto.simpleTypeName());
+    result.add("");
+    return result;
+  }
+
+  private Constants fieldNameConstants(JavaCode dto) {
+    Constants result = new Constants("FIELD", "");
+    for (String field : dto.fieldNames()) {
+      result.add(field, field, null);
+    }
+    return result;
+  }
+
+  private void addWriteValue(String type, String value, JavaCode code) {
+    if (type.endsWith("[]")) {
+      String itemType = type.substring(0, type.length() - 2);
+      if (isDirectlyWritable(itemType)) {
+        code.add("    if (%s == null) {", value);
+        code.add("      generator.writeNull();");
+        code.add("    } else {");
+        code.add("      generator.writeStartArray();");
+        code.add("      for (%s item : %s) {", itemType, value);
+        code.add("  %s", writeValue(itemType, "item"));
+        code.add("      }");
+        code.add("      generator.writeEndArray();");
+        code.add("    }");
+        return;
+      }
+    } else if (isDirectlyWritable(type)) {
+      code.add("%s", writeValue(type, value));
+      return;
+    }
+    code.add("    provider.defaultSerializeValue(%s, generator);", value);
+  }
+
+  private boolean isDirectlyWritable(String type) {
+    return "String".equals(type) || "boolean".equals(type) || isNumber(type);
+  }
+
+  private boolean isNumber(String type) {
+    return "double".equals(type) || "float".equals(type) || "int".equals(type) || "long".equals(type);
+  }
+
+  private String writeValue(String type, String value) {
+    if ("String".equals(type)) {
+      return String.format("    generator.writeString(%s);", value);
+    }
+    if ("boolean".equals(type)) {
+      return String.format("    generator.writeBoolean(%s);", value);
+    }
+    return String.format("    generator.writeNumber(%s);", value);
+  }
+
+  private Code generateDeserializer(JavaCode dto) {
+    String dtoType = dto.simpleTypeName();
+    JavaCode result = startType(dto, dtoType + DESERIALIZER_SUFFIX, "JsonDeserializer");
+    result.ensureImport(JACKSON_CORE_PACKAGE, "JsonParser");
+    result.ensureImport(JACKSON_CORE_PACKAGE, "JsonToken");
+    result.ensureImport(JACKSON_DATABIND_PACKAGE, "DeserializationContext");
+    result.add("  @Override");
+    result.add("  public %s deserialize(JsonParser parser, DeserializationContext context) throws IOException {",
+        dtoType);
+    result.add("    %1$s result = new %1$s();", dtoType);
+    result.add("    JsonToken token = parser.getCurrentToken();");
+    result.add("    if (token == JsonToken.START_OBJECT) {");
+    result.add("      token = parser.nextToken();");
+    result.add("    }");
+    result.add("    while (token == JsonToken.FIELD_NAME) {");
+    result.add("      String field = parser.getCurrentName();");
+    result.add("      parser.nextToken();");
+    String prefix = "";
+    for (String field : dto.fieldNames()) {
+      String type = dto.fieldType(field);
+      result.add("      %sif (\"%s\".equals(field)) {", prefix, field);
+      result.add("        result.%s = %s;", field, readValue(type, dto, result));
+      prefix = "} else ";
+    }
+    if (prefix.isEmpty()) {
+      result.add("      parser.skipChildren();");
+    } else {
+      result.add("      } else {");
+      result.add("        parser.skipChildren();");
+      result.add("      }");
+    }
+    result.add("      token = parser.nextToken();");
+    result.add("    }");
+    result.add("    return result;");
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return result;
+  }
+
+  private String readValue(String type, JavaCode dto, JavaCode deserializer) {
+    if ("String".equals(type)) {
+      return "parser.getValueAsString()";
+    }
+    if ("boolean".equals(type)) {
+      return "parser.getValueAsBoolean()";
+    }
+    if ("double".equals(type)) {
+      return "parser.getValueAsDouble()";
+    }
+    if ("float".equals(type)) {
+      return "(float)parser.getValueAsDouble()";
+    }
+    if ("int".equals(type)) {
+      return "parser.getValueAsInt()";
+    }
+    if ("long".equals(type)) {
+      return "parser.getValueAsLong()";
+    }
+    importType(type, dto, deserializer);
+    return String.format("parser.readValueAs(%s.class)", type);
+  }
+
+  private void importType(String type, JavaCode dto, JavaCode deserializer) {
+    String baseType = type.endsWith("[]") ? type.substring(0, type.length() - 2) : type;
+    for (String dtoImport : dto.imports()) {
+      if (dtoImport.endsWith('.' + baseType)) {
+        deserializer.ensureImport(dtoImport.substring(0, dtoImport.length() - baseType.length() - 1), baseType);
+      }
+    }
+  }
+
+  private Code generateModule(Collection<JavaCode> dtos) {
+    JavaCode result = new JavaCode();
+    addPackage(IMPL_PACKAGE, result);
+    result.add("");
+    result.add("import %s.module.SimpleModule;", JACKSON_DATABIND_PACKAGE);
+    result.add("");
+    result.add("");
+    result.add("/**");
+    result.add(" * Registers the generated JSON serializers and deserializers with Jackson.");
+    result.add(" */");
+    result.add("public class %s extends SimpleModule {", JSON_MODULE_TYPE);
+    result.add("");
+    result.add("  private static final long serialVersionUID = 1L;");
+    result.add("");
+    result.add("  public %s() {", JSON_MODULE_TYPE);
+    result.add("    super(\"RADL\");");
+    for (JavaCode dto : dtos) {
+      String dtoType = dto.simpleTypeName();
+      result.ensureImport(dto.packageName(), dtoType);
+      result.ensureImport(dto.packageName(), dtoType + SERIALIZER_SUFFIX);
+      result.ensureImport(dto.packageName(), dtoType + DESERIALIZER_SUFFIX);
+      result.add("    addSerializer(%1$s.class, new %1$s%2$s());", dtoType, SERIALIZER_SUFFIX);
+      result.add("    addDeserializer(%1$s.class, new %1$s%2$s());", dtoType, DESERIALIZER_SUFFIX);
+    }
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return result;
+  }
+
+}
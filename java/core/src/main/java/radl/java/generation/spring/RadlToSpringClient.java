@@ -0,0 +1,83 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.io.File;
+
+import org.w3c.dom.Document;
+
+import radl.common.xml.XmlException;
+import radl.core.Log;
+import radl.core.cli.Application;
+import radl.core.cli.Arguments;
+import radl.core.cli.Cli;
+import radl.core.code.SourceFile;
+import radl.core.enforce.Desired;
+import radl.core.enforce.Enforcer;
+import radl.core.enforce.Reality;
+import radl.core.generation.DesiredSourceFiles;
+import radl.core.generation.RealSourceFiles;
+import radl.core.scm.ScmFactory;
+import radl.core.scm.SourceCodeManagementSystem;
+import radl.core.xml.RadlFileAssembler;
+import radl.java.code.Java;
+
+
+/**
+ * Generates (and re-generates) code for a Spring-based client of the service that a RADL document describes. All the
+ * client code is generated, so there is no skeleton code to maintain.
+ */
+public class RadlToSpringClient implements Application {
+
+  public static void main(String[] args) {
+    Cli.run(RadlToSpringClient.class, args);
+  }
+
+  /**
+   * The following arguments are supported.<ul>
+   * <li>[Required] The RADL file</li>
+   * <li>[Optional] The base directory. Defaults to the current directory</li>
+   * <li>[Optional] The prefix for packages. Defaults to <code>radl.sample.client</code></li>
+   * <li>[Optional] The directory inside the base directory in which to store generated source.
+   * Defaults to <code>build/src/client</code></li>
+   * <li>[Optional] The source code management system to use. Defaults to <code>default</code></li>
+   * <li>[Optional] The file header comment to include in generated source files. Defaults to
+   * <code>Generated by RADL.</code></li>
+   * </ul>
+   */
+  @Override
+  public int run(Arguments arguments) {
+    if (!arguments.hasNext()) {
+      Log.error("Usage: " + RadlToSpringClient.class.getSimpleName()
+          + " radlFile [baseDir [packagePrefix [generatedSourceDir [scm [header]]]]]");
+      return -1;
+    }
+    File radlFile = arguments.file();
+    File baseDir = arguments.file(".");
+    String packagePrefix = arguments.next("radl.sample.client");
+    String generatedSourceSetDir = arguments.next("build/src/client");
+    String scmId = arguments.next("default");
+    SourceCodeManagementSystem scm = ScmFactory.newInstance(scmId);
+    String header = arguments.next(null);
+    new RadlToSpringClient().generate(radlFile, baseDir, packagePrefix, generatedSourceSetDir, scm, header);
+    return 0;
+  }
+
+  void generate(File radlFile, File baseDir, String packagePrefix, String generatedSourceSetDir,
+      SourceCodeManagementSystem scm, String header) {
+    Document radlDocument;
+    try {
+      radlDocument = RadlFileAssembler.assemble(radlFile);
+    } catch (XmlException e) {
+      throw new IllegalArgumentException("Failed to assemble " + radlFile.getPath(), e);
+    }
+    Desired<String, SourceFile> desired = new DesiredSourceFiles(radlDocument,
+        new SpringSourceFilesGenerator(new SpringClientCodeBaseGenerator(packagePrefix, header),
+        generatedSourceSetDir, generatedSourceSetDir), baseDir);
+    Reality<String, SourceFile> reality = new RealSourceFiles(baseDir, generatedSourceSetDir,
+        Java.packageToDir(packagePrefix), scm);
+    new Enforcer<String, SourceFile>().enforce(desired, reality);
+  }
+
+}
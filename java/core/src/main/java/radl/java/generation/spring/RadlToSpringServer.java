@@ -7,8 +7,7 @@ import java.io.File;
 
 import org.w3c.dom.Document;
 
-import radl.common.io.IO;
-import radl.common.xml.Xml;
+import radl.common.xml.XmlException;
 import radl.core.Log;
 import radl.core.cli.Application;
 import radl.core.cli.Arguments;
@@ -45,13 +44,18 @@ public class RadlToSpringServer implements Application {
    * Defaults to <code>src/main/java</code></li>
    * <li>[Optional] The source code management system to use. Defaults to <code>default</code></li>
    * <li>[Optional] The file header comment to include in generated source files. Defaults to <code>Generated by RADL.</code></li>
+   * <li>[Optional] Whether to generate Jackson serializers and deserializers for the non-hypermedia DTOs. Defaults to
+   * <code>false</code></li>
+   * <li>[Optional] Whether to generate a server-side cache for responses that are cacheable. Defaults to
+   * <code>false</code></li>
    * </ul>
    */
   @Override
   public int run(Arguments arguments) {
     if (!arguments.hasNext()) {
       Log.error("Usage: " + RadlToSpringServer.class.getSimpleName()
-          + " radlFile [baseDir [packagePrefix [generatedSourceDir [mainSourceDir [scm]]]]]");
+          + " radlFile [baseDir [packagePrefix [generatedSourceDir [mainSourceDir [scm [header [jsonSerializers"
+          + " [responseCache]]]]]]]]]");
       return -1;
     }
     File radlFile = arguments.file();
@@ -62,24 +66,33 @@ public class RadlToSpringServer implements Application {
     String scmId = arguments.next("default");
     SourceCodeManagementSystem scm = ScmFactory.newInstance(scmId);
     String header = arguments.next(null);
+    boolean generateJsonSerializers = arguments.logical(false);
+    boolean generateResponseCache = arguments.logical(false);
     new RadlToSpringServer().generate(radlFile, baseDir, packagePrefix, generatedSourceSetDir, mainSourceSetDir, scm,
-        header);
+        header, generateJsonSerializers, generateResponseCache);
     return 0;
   }
 
   void generate(File radlFile, File baseDir, String packagePrefix, String generatedSourceSetDir,
       String mainSourceSetDir, SourceCodeManagementSystem scm, String header) {
-    File assembledRadl = RadlFileAssembler.assemble(radlFile, null);
+    generate(radlFile, baseDir, packagePrefix, generatedSourceSetDir, mainSourceSetDir, scm, header, false, false);
+  }
+
+  void generate(File radlFile, File baseDir, String packagePrefix, String generatedSourceSetDir,
+      String mainSourceSetDir, SourceCodeManagementSystem scm, String header, boolean generateJsonSerializers,
+      boolean generateResponseCache) {
+    Document radlDocument;
     try {
-      Document radlDocument = Xml.parse(assembledRadl);
-      Desired<String, SourceFile> desired = new DesiredSourceFiles(radlDocument,
-          new SpringSourceFilesGenerator(packagePrefix, generatedSourceSetDir, mainSourceSetDir, header), baseDir);
-      Reality<String, SourceFile> reality = new RealSourceFiles(baseDir, generatedSourceSetDir, mainSourceSetDir,
-          Java.packageToDir(packagePrefix), scm);
-      new Enforcer<String, SourceFile>().enforce(desired, reality);
-    } finally {
-      IO.delete(assembledRadl);
+      radlDocument = RadlFileAssembler.assemble(radlFile);
+    } catch (XmlException e) {
+      throw new IllegalArgumentException("Failed to assemble " + radlFile.getPath(), e);
     }
+    Desired<String, SourceFile> desired = new DesiredSourceFiles(radlDocument,
+        new SpringSourceFilesGenerator(packagePrefix, generatedSourceSetDir, mainSourceSetDir, header,
+        generateJsonSerializers, generateResponseCache), baseDir);
+    Reality<String, SourceFile> reality = new RealSourceFiles(baseDir, generatedSourceSetDir, mainSourceSetDir,
+        Java.packageToDir(packagePrefix), scm);
+    new Enforcer<String, SourceFile>().enforce(desired, reality);
   }
 
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates a servlet filter that caches responses on the server. Only responses that the controllers mark as
+ * cacheable, using a <code>max-age</code> in their <code>Cache-Control</code> header, are cached, and only for that
+ * long. Responses are keyed by URI and <code>Accept</code> header, since controllers may produce different
+ * representations for different media types. Unsafe requests evict the cached responses of their URI.
+ */
+public class ResponseCacheGenerator extends FromRadlCodeGenerator {
+
+  static final String RESPONSE_CACHE_TYPE = "ResponseCache";
+  private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  @Override
+  protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
+    Code result = new JavaCode();
+    addPackage(IMPL_PACKAGE, result);
+    result.add("");
+    result.add("import java.io.IOException;");
+    result.add("import java.util.Arrays;");
+    result.add("import java.util.Collection;");
+    result.add("import java.util.Iterator;");
+    result.add("import java.util.concurrent.ConcurrentHashMap;");
+    result.add("import java.util.concurrent.ConcurrentMap;");
+    result.add("import java.util.concurrent.TimeUnit;");
+    result.add("import java.util.regex.Matcher;");
+    result.add("import java.util.regex.Pattern;");
+    result.add("");
+    result.add("import javax.servlet.FilterChain;");
+    result.add("import javax.servlet.ServletException;");
+    result.add("import javax.servlet.http.HttpServletRequest;");
+    result.add("import javax.servlet.http.HttpServletResponse;");
+    result.add("");
+    result.add("import org.springframework.http.HttpHeaders;");
+    result.add("import org.springframework.stereotype.Component;");
+    result.add("import org.springframework.web.filter.OncePerRequestFilter;");
+    result.add("import org.springframework.web.util.ContentCachingResponseWrapper;");
+    result.add("");
+    result.add("");
+    result.add("/**");
+    result.add(" * Caches responses that are marked cacheable with a <code>max-age</code>, until they expire.");
+    result.add(" */");
+    result.add("@Component");
+    result.add("public class %s extends OncePerRequestFilter {", RESPONSE_CACHE_TYPE);
+    result.add("");
+    result.add("  private static final int MAX_ENTRIES = %d;", DEFAULT_MAX_ENTRIES);
+    result.add("  private static final Pattern MAX_AGE = Pattern.compile(\"max-age=(\\\\d+)\");");
+    result.add("  private static final Collection<String> SAFE_METHODS = Arrays.asList(\"GET\", \"HEAD\", \"OPTIONS\", "
+        + "\"TRACE\");");
+    result.add("  private static final char KEY_SEPARATOR = '\\n';");
+    result.add("");
+    result.add("  private final ConcurrentMap<String, CachedResponse> responses = "
+        + "new ConcurrentHashMap<String, CachedResponse>();");
+    result.add("");
+    result.add("  @Override");
+    result.add("  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,");
+    result.add("      FilterChain chain) throws ServletException, IOException {");
+    result.add("    String uri = request.getQueryString() == null ? request.getRequestURI()");
+    result.add("        : request.getRequestURI() + '?' + request.getQueryString();");
+    result.add("    if (!SAFE_METHODS.contains(request.getMethod())) {");
+    result.add("      evict(uri);");
+    result.add("      chain.doFilter(request, response);");
+    result.add("      return;");
+    result.add("    }");
+    result.add("    if (!\"GET\".equals(request.getMethod()) || request.getHeader(HttpHeaders.AUTHORIZATION) != null) {");
+    result.add("      chain.doFilter(request, response);");
+    result.add("      return;");
+    result.add("    }");
+    result.add("    String key = uri + KEY_SEPARATOR + request.getHeader(HttpHeaders.ACCEPT);");
+    result.add("    long now = System.currentTimeMillis();");
+    result.add("    CachedResponse cached = responses.get(key);");
+    result.add("    if (cached != null) {");
+    result.add("      if (cached.isFresh(now)) {");
+    result.add("        cached.writeTo(response, now);");
+    result.add("        return;");
+    result.add("      }");
+    result.add("      responses.remove(key, cached);");
+    result.add("    }");
+    result.add("    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);");
+    result.add("    chain.doFilter(request, wrapper);");
+    result.add("    long maxAge = maxAge(wrapper.getHeader(HttpHeaders.CACHE_CONTROL));");
+    result.add("    if (wrapper.getStatus() == HttpServletResponse.SC_OK && maxAge > 0 && hasRoomAt(now)) {");
+    result.add("      responses.put(key, new CachedResponse(wrapper, now, now + TimeUnit.SECONDS.toMillis(maxAge)));");
+    result.add("    }");
+    result.add("    wrapper.copyBodyToResponse();");
+    result.add("  }");
+    result.add("");
+    result.add("  private long maxAge(String cacheControl) {");
+    result.add("    if (cacheControl == null || cacheControl.contains(\"private\") || cacheControl.contains(\"no-store\")) {");
+    result.add("      return -1;");
+    result.add("    }");
+    result.add("    Matcher matcher = MAX_AGE.matcher(cacheControl);");
+    result.add("    return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;");
+    result.add("  }");
+    result.add("");
+    result.add("  private boolean hasRoomAt(long now) {");
+    result.add("    if (responses.size() < MAX_ENTRIES) {");
+    result.add("      return true;");
+    result.add("    }");
+    result.add("    Iterator<CachedResponse> iterator = responses.values().iterator();");
+    result.add("    while (iterator.hasNext()) {");
+    result.add("      if (!iterator.next().isFresh(now)) {");
+    result.add("        iterator.remove();");
+    result.add("      }");
+    result.add("    }");
+    result.add("    return responses.size() < MAX_ENTRIES;");
+    result.add("  }");
+    result.add("");
+    result.add("  private void evict(String uri) {");
+    result.add("    String prefix = uri + KEY_SEPARATOR;");
+    result.add("    Iterator<String> iterator = responses.keySet().iterator();");
+    result.add("    while (iterator.hasNext()) {");
+    result.add("      if (iterator.next().startsWith(prefix)) {");
+    result.add("        iterator.remove();");
+    result.add("      }");
+    result.add("    }");
+    result.add("  }");
+    result.add("");
+    result.add("");
+    result.add("  private static final class CachedResponse {");
+    result.add("");
+    result.add("    private final String contentType;");
+    result.add("    private final String cacheControl;");
+    result.add("    private final String vary;");
+    result.add("    private final byte[] body;");
+    result.add("    private final long created;");
+    result.add("    private final long expires;");
+    result.add("");
+    result.add("    CachedResponse(ContentCachingResponseWrapper response, long created, long expires) {");
+    result.add("      this.contentType = response.getContentType();");
+    result.add("      this.cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);");
+    result.add("      this.vary = response.getHeader(HttpHeaders.VARY);");
+    result.add("      this.body = response.getContentAsByteArray();");
+    result.add("      this.created = created;");
+    result.add("      this.expires = expires;");
+    result.add("    }");
+    result.add("");
+    result.add("    boolean isFresh(long now) {");
+    result.add("      return now < expires;");
+    result.add("    }");
+    result.add("");
+    result.add("    void writeTo(HttpServletResponse response, long now) throws IOException {");
+    result.add("      response.setStatus(HttpServletResponse.SC_OK);");
+    result.add("      if (contentType != null) {");
+    result.add("        response.setContentType(contentType);");
+    result.add("      }");
+    result.add("      response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);");
+    result.add("      if (vary != null) {");
+    result.add("        response.setHeader(HttpHeaders.VARY, vary);");
+    result.add("      }");
+    result.add("      response.setHeader(\"Age\", Long.toString(TimeUnit.MILLISECONDS.toSeconds(now - created)));");
+    result.add("      response.setContentLength(body.length);");
+    result.add("      response.getOutputStream().write(body);");
+    result.add("    }");
+    result.add("");
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return Arrays.asList(result);
+  }
+
+}
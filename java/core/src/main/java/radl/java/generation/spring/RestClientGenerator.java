@@ -0,0 +1,173 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates the HTTP transport that generated clients use. The transport keeps connections alive in a pool, so that
+ * subsequent calls don't pay for setting up connections, and can send calls asynchronously or in batches. When the
+ * service uses hypermedia, the transport reads HAL links into the DTOs, so that clients can follow them.
+ */
+public class RestClientGenerator extends FromRadlCodeGenerator {
+
+  static final String CLIENT_PACKAGE = "client";
+  static final String REST_CLIENT_TYPE = "RestClient";
+  private static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+  @Override
+  protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
+    boolean hasHypermedia = (Boolean)context.get(HAS_HYPERMEDIA);
+    Code result = new JavaCode();
+    addPackage(CLIENT_PACKAGE, result);
+    result.add("");
+    result.add("import java.io.Closeable;");
+    result.add("import java.io.IOException;");
+    result.add("import java.net.URI;");
+    result.add("import java.util.ArrayList;");
+    if (hasHypermedia) {
+      result.add("import java.util.Arrays;");
+    }
+    result.add("import java.util.Collection;");
+    result.add("import java.util.Collections;");
+    result.add("import java.util.List;");
+    result.add("import java.util.concurrent.Callable;");
+    result.add("import java.util.concurrent.ExecutionException;");
+    result.add("import java.util.concurrent.ExecutorService;");
+    result.add("import java.util.concurrent.Executors;");
+    result.add("import java.util.concurrent.Future;");
+    result.add("");
+    result.add("import org.apache.http.impl.client.CloseableHttpClient;");
+    result.add("import org.apache.http.impl.client.HttpClients;");
+    result.add("import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;");
+    if (hasHypermedia) {
+      result.add("import org.springframework.hateoas.Link;");
+      result.add("import org.springframework.hateoas.MediaTypes;");
+      result.add("import org.springframework.hateoas.ResourceSupport;");
+      result.add("import org.springframework.hateoas.core.DefaultRelProvider;");
+      result.add("import org.springframework.hateoas.hal.Jackson2HalModule;");
+    }
+    result.add("import org.springframework.http.HttpEntity;");
+    result.add("import org.springframework.http.HttpHeaders;");
+    result.add("import org.springframework.http.HttpMethod;");
+    result.add("import org.springframework.http.MediaType;");
+    result.add("import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;");
+    if (hasHypermedia) {
+      result.add("import org.springframework.http.converter.HttpMessageConverter;");
+      result.add("import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;");
+    }
+    result.add("import org.springframework.web.client.RestTemplate;");
+    result.add("import org.springframework.web.util.UriTemplate;");
+    result.add("");
+    if (hasHypermedia) {
+      result.add("import com.fasterxml.jackson.databind.DeserializationFeature;");
+      result.add("import com.fasterxml.jackson.databind.ObjectMapper;");
+      result.add("");
+    }
+    result.add("");
+    result.add("/**");
+    result.add(" * Sends requests to the service over a pool of keep-alive connections.");
+    result.add(" */");
+    result.add("public class %s implements Closeable {", REST_CLIENT_TYPE);
+    result.add("");
+    result.add("  private static final int DEFAULT_MAX_CONNECTIONS = %d;", DEFAULT_MAX_CONNECTIONS);
+    result.add("");
+    result.add("  private final String baseUri;");
+    result.add("  private final CloseableHttpClient httpClient;");
+    result.add("  private final RestTemplate restTemplate;");
+    result.add("  private final ExecutorService executor;");
+    result.add("");
+    result.add("  public %s(String baseUri) {", REST_CLIENT_TYPE);
+    result.add("    this(baseUri, DEFAULT_MAX_CONNECTIONS);");
+    result.add("  }");
+    result.add("");
+    result.add("  public %s(String baseUri, int maxConnections) {", REST_CLIENT_TYPE);
+    result.add("    this.baseUri = baseUri.endsWith(\"/\") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;");
+    result.add("    PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager();");
+    result.add("    connections.setMaxTotal(maxConnections);");
+    result.add("    connections.setDefaultMaxPerRoute(maxConnections);");
+    result.add("    this.httpClient = HttpClients.custom().setConnectionManager(connections).build();");
+    result.add("    this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));");
+    if (hasHypermedia) {
+      result.add("    restTemplate.getMessageConverters().add(0, halConverter());");
+    }
+    result.add("    this.executor = Executors.newFixedThreadPool(maxConnections);");
+    result.add("  }");
+    result.add("");
+    if (hasHypermedia) {
+      addHalConverter(result);
+    }
+    result.add("  public String uri(String uriTemplate, Object... variables) {");
+    result.add("    return baseUri + new UriTemplate(uriTemplate).expand(variables).toString();");
+    result.add("  }");
+    result.add("");
+    if (hasHypermedia) {
+      result.add("  public String linkHref(ResourceSupport resource, String linkRelation) {");
+      result.add("    Link link = resource.getLink(linkRelation);");
+      result.add("    if (link == null) {");
+      result.add("      throw new IllegalStateException(\"Transition not available: \" + linkRelation);");
+      result.add("    }");
+      result.add("    return link.getHref();");
+      result.add("  }");
+      result.add("");
+    }
+    result.add("  public <T> T exchange(HttpMethod method, String uri, Object body, String contentType, String accept,");
+    result.add("      Class<T> responseType) {");
+    result.add("    HttpHeaders headers = new HttpHeaders();");
+    result.add("    if (contentType != null) {");
+    result.add("      headers.setContentType(MediaType.parseMediaType(contentType));");
+    result.add("    }");
+    result.add("    if (accept != null) {");
+    result.add("      headers.setAccept(Collections.singletonList(MediaType.parseMediaType(accept)));");
+    result.add("    }");
+    result.add("    return restTemplate.exchange(URI.create(uri), method, new HttpEntity<Object>(body, headers), responseType)");
+    result.add("        .getBody();");
+    result.add("  }");
+    result.add("");
+    result.add("  public <T> Future<T> async(Callable<T> call) {");
+    result.add("    return executor.submit(call);");
+    result.add("  }");
+    result.add("");
+    result.add("  public <T> List<T> batch(Collection<? extends Callable<T>> calls)");
+    result.add("      throws InterruptedException, ExecutionException {");
+    result.add("    List<T> result = new ArrayList<T>(calls.size());");
+    result.add("    for (Future<T> future : executor.invokeAll(calls)) {");
+    result.add("      result.add(future.get());");
+    result.add("    }");
+    result.add("    return result;");
+    result.add("  }");
+    result.add("");
+    result.add("  @Override");
+    result.add("  public void close() throws IOException {");
+    result.add("    executor.shutdown();");
+    result.add("    httpClient.close();");
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return Arrays.asList(result);
+  }
+
+  private void addHalConverter(Code code) {
+    code.add("  private static HttpMessageConverter<Object> halConverter() {");
+    code.add("    ObjectMapper mapper = new ObjectMapper();");
+    code.add("    mapper.registerModule(new Jackson2HalModule());");
+    code.add("    mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), "
+        + "null, null));");
+    code.add("    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);");
+    code.add("    MappingJackson2HttpMessageConverter result = new MappingJackson2HttpMessageConverter();");
+    code.add("    result.setObjectMapper(mapper);");
+    code.add("    result.setSupportedMediaTypes(Arrays.asList(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON));");
+    code.add("    return result;");
+    code.add("  }");
+    code.add("");
+  }
+
+}
@@ -8,23 +8,28 @@ import java.util.Collection;
 import java.util.Map;
 
 import radl.core.code.Code;
+import radl.core.code.common.Constants;
 import radl.core.code.radl.RadlCode;
 import radl.java.code.JavaCode;
 
 
 public class RestResponseGenerator extends FromRadlCodeGenerator {
 
+  private static final int BITS_PER_WORD = Long.SIZE;
+
   @Override
   protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
-    return Arrays.asList(generateRestResponse());
+    return Arrays.asList(generateRestResponse(numTransitions((Constants)context.get(TRANSITION_CONSTANTS))));
+  }
+
+  private int numTransitions(Constants transitionConstants) {
+    return transitionConstants == null ? 0 : transitionConstants.size();
   }
 
-  private Code generateRestResponse() {
+  private Code generateRestResponse(int numTransitions) {
     Code result = new JavaCode();
     addPackage(IMPL_PACKAGE, result);
     result.add("");
-    result.add("import java.util.ArrayList;");
-    result.add("import java.util.Collection;");
     result.add("import java.util.HashMap;");
     result.add("import java.util.Map;");
     result.add("");
@@ -34,7 +39,12 @@ public class RestResponseGenerator extends FromRadlCodeGenerator {
     result.add("public class %s<T> {", SUPPORT_RESPONSE_TYPE);
     result.add("");
     result.add("  private final T payload;");
-    result.add("  private final Collection<String> excludedActions = new ArrayList<String>();");
+    if (numTransitions > BITS_PER_WORD) {
+      result.add("  private final long[] deniedActions = new long[%d];",
+          (numTransitions + BITS_PER_WORD - 1) / BITS_PER_WORD);
+    } else {
+      result.add("  private long deniedActions;");
+    }
     result.add("  private final Map<String, String> parameters = new HashMap<String, String>();");
     result.add("  private %1$s status = %1$s.OK;", STATUS_TYPE);
     result.add("");
@@ -46,12 +56,20 @@ public class RestResponseGenerator extends FromRadlCodeGenerator {
     result.add("    return payload;");
     result.add("  }");
     result.add("");
-    result.add("  public void %s(String action) {", TRANSITITION_DENY_NAME);
-    result.add("    excludedActions.add(action);");
+    result.add("  public void %s(%s action) {", TRANSITITION_DENY_NAME, ACTIONS_TYPE);
+    if (numTransitions > BITS_PER_WORD) {
+      result.add("    deniedActions[action.ordinal() >>> 6] |= 1L << action.ordinal();");
+    } else {
+      result.add("    deniedActions |= 1L << action.ordinal();");
+    }
     result.add("  }");
     result.add("");
-    result.add("  public boolean %s(String action) {", TRANSITITION_CHECK_NAME);
-    result.add("    return !excludedActions.contains(action);");
+    result.add("  public boolean %s(%s action) {", TRANSITITION_CHECK_NAME, ACTIONS_TYPE);
+    if (numTransitions > BITS_PER_WORD) {
+      result.add("    return (deniedActions[action.ordinal() >>> 6] & (1L << action.ordinal())) == 0;");
+    } else {
+      result.add("    return (deniedActions & (1L << action.ordinal())) == 0;");
+    }
     result.add("  }");
     result.add("");
     result.add("  public String getParameter(String name) {");
@@ -0,0 +1,30 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import radl.core.generation.CodeBaseGeneratorImpl;
+
+
+/**
+ * Generates a Java client code base for a RADL document. The client uses Spring's <code>RestTemplate</code> and
+ * the same DTOs as the server.
+ */
+public class SpringClientCodeBaseGenerator extends CodeBaseGeneratorImpl {
+
+  private static final String DEFAULT_HEADER = "Generated from RADL.";
+
+  public SpringClientCodeBaseGenerator(String packagePrefix) {
+    this(packagePrefix, null);
+  }
+
+  public SpringClientCodeBaseGenerator(String packagePrefix, String header) {
+    super(packagePrefix, header == null || header.trim().isEmpty() ? DEFAULT_HEADER : header,
+        new FromRadlCodeGenerationInitializer(),
+        new DtosGenerator(),
+        new RestClientGenerator(),
+        new ClientsGenerator(),
+        new HypermediaClientGenerator());
+  }
+
+}
@@ -3,6 +3,8 @@
  */
 package radl.java.generation.spring;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import radl.core.generation.CodeBaseGeneratorImpl;
@@ -22,10 +24,38 @@ public class SpringCodeBaseGenerator extends CodeBaseGeneratorImpl {
   }
 
   public SpringCodeBaseGenerator(String packagePrefix, String header) {
+    this(packagePrefix, header, false);
+  }
+
+  /**
+   * @param packagePrefix The prefix for the packages of the generated code
+   * @param header The comment to put at the top of generated files
+   * @param generateJsonSerializers Whether to generate Jackson serializers and deserializers for the non-hypermedia
+   * DTOs
+   */
+  public SpringCodeBaseGenerator(String packagePrefix, String header, boolean generateJsonSerializers) {
+    this(packagePrefix, header, generateJsonSerializers, false);
+  }
+
+  /**
+   * @param packagePrefix The prefix for the packages of the generated code
+   * @param header The comment to put at the top of generated files
+   * @param generateJsonSerializers Whether to generate Jackson serializers and deserializers for the non-hypermedia
+   * DTOs
+   * @param generateResponseCache Whether to generate a server-side cache for cacheable responses
+   */
+  public SpringCodeBaseGenerator(String packagePrefix, String header, boolean generateJsonSerializers,
+      boolean generateResponseCache) {
     super(packagePrefix, header == null || header.trim().isEmpty() ? DEFAULT_HEADER : header,
+        generators(generateJsonSerializers, generateResponseCache));
+  }
+
+  private static CodeGenerator[] generators(boolean generateJsonSerializers, boolean generateResponseCache) {
+    List<CodeGenerator> result = new ArrayList<CodeGenerator>(Arrays.asList(
         new FromRadlCodeGenerationInitializer(),
         new ActionsGenerator(),
         new DtosGenerator(),
+        new ValidatorsGenerator(),
         new ErrorDtoGenerator(),
         new ExceptionsGenerator(),
         new IdentifiableGenerator(),
@@ -34,7 +64,14 @@ public class SpringCodeBaseGenerator extends CodeBaseGeneratorImpl {
         new ControllersGenerator(),
         new ControllerSupportsGenerator(),
         new UrisGenerator(),
-        new ApiGenerator());
+        new ApiGenerator()));
+    if (generateJsonSerializers) {
+      result.add(new JsonSerializersGenerator());
+    }
+    if (generateResponseCache) {
+      result.add(new ResponseCacheGenerator());
+    }
+    return result.toArray(new CodeGenerator[result.size()]);
   }
 
   @Override
@@ -32,7 +32,13 @@ public class SpringSourceFilesGenerator implements SourceFilesGenerator {
 
   public SpringSourceFilesGenerator(String packagePrefix, String generatedSourceSetDir, String mainSourceSetDir,
       String header) {
-    this(new SpringCodeBaseGenerator(packagePrefix, header), generatedSourceSetDir, mainSourceSetDir);
+    this(packagePrefix, generatedSourceSetDir, mainSourceSetDir, header, false, false);
+  }
+
+  public SpringSourceFilesGenerator(String packagePrefix, String generatedSourceSetDir, String mainSourceSetDir,
+      String header, boolean generateJsonSerializers, boolean generateResponseCache) {
+    this(new SpringCodeBaseGenerator(packagePrefix, header, generateJsonSerializers, generateResponseCache),
+        generatedSourceSetDir, mainSourceSetDir);
   }
 
   SpringSourceFilesGenerator(CodeBaseGenerator codeGenerator, String generatedSourceSetDir, String mainSourceSetDir) {
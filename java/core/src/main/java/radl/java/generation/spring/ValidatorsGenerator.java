@@ -0,0 +1,202 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.atteo.evo.inflector.English;
+
+import radl.core.code.Code;
+import radl.core.code.radl.Property;
+import radl.core.code.radl.PropertyGroup;
+import radl.core.code.radl.PropertyGroups;
+import radl.core.code.radl.RadlCode;
+import radl.java.code.JavaCode;
+
+
+/**
+ * Generates validators for the DTOs that controllers accept as input. A validator checks the constraints from the
+ * RADL property group, like required properties, directly against the DTO's fields, so no reflection is needed at
+ * runtime. Validation fails fast with a generated exception that the generated error handler turns into a
+ * <code>400 Bad Request</code>. It's a dedicated type, so that other runtime exceptions, like an
+ * {@linkplain IllegalArgumentException} thrown by a library, still count as server errors.
+ */
+public class ValidatorsGenerator extends FromRadlCodeGenerator {
+
+  static final String VALIDATOR_SUFFIX = "Validator";
+  static final String VALIDATE_METHOD = "validate";
+  static final String VALIDATION_EXCEPTION_TYPE = "InputValidationException";
+  private static final String INPUT_VAR = "input";
+
+  private PropertyGroups topLevelPropertyGroups;
+
+  @Override
+  protected Collection<Code> generateFromRadl(RadlCode radl, Map<String, Object> context) {
+    Collection<String> validatedDtos = new LinkedHashSet<>();
+    context.put(VALIDATED_DTOS, validatedDtos);
+    Collection<Code> result = new ArrayList<>();
+    topLevelPropertyGroups = radl.propertyGroups();
+    if (topLevelPropertyGroups == null) {
+      return result;
+    }
+    for (String propertyGroup : inputPropertyGroups(radl)) {
+      addValidatorFor(topLevelPropertyGroups.item(propertyGroup), propertyGroup, validatedDtos, result);
+    }
+    if (!validatedDtos.isEmpty()) {
+      result.add(generateValidationException());
+    }
+    return result;
+  }
+
+  private Code generateValidationException() {
+    Code result = new JavaCode();
+    addPackage(IMPL_PACKAGE, result);
+    result.add("");
+    result.add("");
+    result.add("public class %s extends RuntimeException {", VALIDATION_EXCEPTION_TYPE);
+    result.add("");
+    result.add("  private static final long serialVersionUID = 1L;");
+    result.add("");
+    result.add("  public %s(String message) {", VALIDATION_EXCEPTION_TYPE);
+    result.add("    super(message);");
+    result.add("  }");
+    result.add("");
+    result.add("}");
+    return result;
+  }
+
+  private Iterable<String> inputPropertyGroups(RadlCode radl) {
+    Collection<String> result = new LinkedHashSet<>();
+    for (String resource : radl.resourceNames()) {
+      for (String method : radl.methodNames(resource)) {
+        for (String transition : radl.methodTransitions(resource, method)) {
+          String propertyGroup = radl.transitionPropertyGroup(transition);
+          if (!propertyGroup.isEmpty()) {
+            result.add(propertyGroup);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private void addValidatorFor(PropertyGroup propertyGroup, String name, Collection<String> validatedDtos,
+      Collection<Code> sources) {
+    String dto = getDtoClass(name);
+    if (validatedDtos.contains(dto) || !needsValidation(propertyGroup, name)) {
+      return;
+    }
+    validatedDtos.add(dto);
+    JavaCode code = new JavaCode();
+    addPackage(name, code);
+    code.add("");
+    code.add("import %s.%s;", join(getPackagePrefix(), IMPL_PACKAGE), VALIDATION_EXCEPTION_TYPE);
+    code.add("");
+    code.add("");
+    code.add("public final class %s {", dto + VALIDATOR_SUFFIX);
+    code.add("");
+    code.add("  private %s() {", dto + VALIDATOR_SUFFIX);
+    code.add("    // Utility class");
+    code.add("  }");
+    code.add("");
+    code.add("  public static void %s(%s %s) {", VALIDATE_METHOD, dto, INPUT_VAR);
+    code.add("    if (%s == null) {", INPUT_VAR);
+    code.add("      throw new %s(\"Missing %s\");", VALIDATION_EXCEPTION_TYPE, name);
+    code.add("    }");
+    for (String propertyName : propertyGroup.propertyNames()) {
+      Property property = propertyGroup.property(propertyName);
+      String field = property.repeats() ? English.plural(propertyName) : propertyName;
+      boolean required = property.required() && !isPrimitive(property);
+      if (required) {
+        addRequiredCheck(property, field, code);
+      }
+      if (property instanceof PropertyGroup) {
+        addNestedCheck((PropertyGroup)property, propertyName, INPUT_VAR + '.' + field, required, code, validatedDtos,
+            sources);
+      }
+    }
+    code.add("  }");
+    code.add("");
+    code.add("}");
+    sources.add(code);
+  }
+
+  private boolean isPrimitive(Property property) {
+    return !property.repeats() && !(property instanceof PropertyGroup)
+        && ("number".equals(property.type()) || "boolean".equals(property.type()));
+  }
+
+  private void addRequiredCheck(Property property, String field, JavaCode code) {
+    if (property.repeats()) {
+      code.add("    if (%1$s.%2$s == null || %1$s.%2$s.length == 0) {", INPUT_VAR, field);
+    } else {
+      code.add("    if (%s.%s == null) {", INPUT_VAR, field);
+    }
+    code.add("      throw new %s(\"Missing required property: %s\");", VALIDATION_EXCEPTION_TYPE, field);
+    code.add("    }");
+  }
+
+  private void addNestedCheck(PropertyGroup propertyGroup, String propertyName, String field, boolean required,
+      JavaCode code, Collection<String> validatedDtos, Collection<Code> sources) {
+    String name = propertyGroup.reference().isEmpty() ? propertyName : propertyGroup.reference();
+    PropertyGroup nested = nestedPropertyGroup(propertyGroup);
+    if (!needsValidation(nested, name)) {
+      return;
+    }
+    addValidatorFor(nested, name, validatedDtos, sources);
+    String dto = getDtoClass(name);
+    String dtoPackage = join(getPackagePrefix(), toPackage(name));
+    code.ensureImport(dtoPackage, dto + VALIDATOR_SUFFIX);
+    // Required values are already known to be present
+    String indent = required ? "    " : "      ";
+    if (!required) {
+      code.add("    if (%s != null) {", field);
+    }
+    if (propertyGroup.repeats()) {
+      code.ensureImport(dtoPackage, dto);
+      code.add("%sfor (%s item : %s) {", indent, dto, field);
+      code.add("%s  %s%s.%s(item);", indent, dto, VALIDATOR_SUFFIX, VALIDATE_METHOD);
+      code.add("%s}", indent);
+    } else {
+      code.add("%s%s%s.%s(%s);", indent, dto, VALIDATOR_SUFFIX, VALIDATE_METHOD, field);
+    }
+    if (!required) {
+      code.add("    }");
+    }
+  }
+
+  private PropertyGroup nestedPropertyGroup(PropertyGroup propertyGroup) {
+    String reference = propertyGroup.reference();
+    return reference.isEmpty() ? propertyGroup : topLevelPropertyGroups.item(reference);
+  }
+
+  private boolean needsValidation(PropertyGroup propertyGroup, String name) {
+    return needsValidation(propertyGroup, name, new HashSet<String>());
+  }
+
+  private boolean needsValidation(PropertyGroup propertyGroup, String name, Collection<String> visited) {
+    if (!visited.add(name)) {
+      return false;
+    }
+    for (String propertyName : propertyGroup.propertyNames()) {
+      Property property = propertyGroup.property(propertyName);
+      if (property.required() && !isPrimitive(property)) {
+        return true;
+      }
+      if (property instanceof PropertyGroup) {
+        PropertyGroup nested = (PropertyGroup)property;
+        String nestedName = nested.reference().isEmpty() ? propertyName : nested.reference();
+        if (needsValidation(nestedPropertyGroup(nested), nestedName, visited)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
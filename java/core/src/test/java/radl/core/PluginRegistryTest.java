@@ -0,0 +1,87 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import radl.core.validation.CheckStyleIssueReporter;
+import radl.core.validation.Issue;
+import radl.core.validation.IssueReporter;
+import radl.core.validation.LintValidator;
+import radl.core.validation.RelaxNgValidator;
+import radl.core.validation.Validator;
+
+
+public class PluginRegistryTest {
+
+  @After
+  public void done() {
+    PluginRegistry.unregister(Validator.class, TestValidator.class);
+  }
+
+  @Test
+  public void discoversPlugins() {
+    List<Class<?>> validators = classesOf(PluginRegistry.newInstances(Validator.class));
+
+    assertEquals("Validators", RelaxNgValidator.class, validators.get(0));
+    assertEquals("Validators", LintValidator.class, validators.get(1));
+  }
+
+  private List<Class<?>> classesOf(Collection<?> plugins) {
+    List<Class<?>> result = new ArrayList<>();
+    for (Object plugin : plugins) {
+      result.add(plugin.getClass());
+    }
+    return result;
+  }
+
+  @Test
+  public void returnsNewInstancesForEachLookup() {
+    IssueReporter first = find(PluginRegistry.newInstances(IssueReporter.class), CheckStyleIssueReporter.class);
+    IssueReporter second = find(PluginRegistry.newInstances(IssueReporter.class), CheckStyleIssueReporter.class);
+
+    assertNotSame("Shared instance", first, second);
+  }
+
+  private <T> T find(Collection<T> plugins, Class<? extends T> type) {
+    for (T plugin : plugins) {
+      if (type.isInstance(plugin)) {
+        return plugin;
+      }
+    }
+    throw new AssertionError("Missing plugin: " + type.getName());
+  }
+
+  @Test
+  public void addsRegisteredPlugins() {
+    PluginRegistry.register(Validator.class, TestValidator.class);
+    assertTrue("Registered", classesOf(PluginRegistry.newInstances(Validator.class)).contains(TestValidator.class));
+
+    PluginRegistry.unregister(Validator.class, TestValidator.class);
+    assertFalse("Unregistered",
+        classesOf(PluginRegistry.newInstances(Validator.class)).contains(TestValidator.class));
+  }
+
+
+  public static class TestValidator implements Validator {
+
+    @Override
+    public void validate(InputStream radl, Collection<Issue> issues) {
+      // Nothing to do
+    }
+
+  }
+
+}
@@ -176,6 +176,34 @@ public class RadlCodeTest {
     assertEquals("Location", uriTemplate, radl.resourceLocation(resource));
   }
 
+  @Test
+  public void extractsMethodCacheMaxAge() throws Exception {
+    String resource = someName();
+    String method1 = 'a' + someName();
+    String method2 = 'b' + someName();
+    String method3 = 'c' + someName();
+    String transition = someName();
+    String state = someName();
+    startService();
+    radl.add("<states><state name='%s' cache-max-age='60'/>", state);
+    radl.add("<state name='%s'><transitions><transition name='%s' to='%s'/></transitions></state></states>",
+        someName(), transition, state);
+    radl.add("<resources><resource name='%s' cache-max-age='300'><methods>", resource);
+    radl.add("<method name='%s' cache-max-age='10'/>", method1);
+    radl.add("<method name='%s'/>", method2);
+    radl.add("</methods></resource>");
+    radl.add("<resource name='%s'><methods>", resource + method3);
+    radl.add("<method name='%s'><transitions><transition ref='%s'/></transitions></method>", method3, transition);
+    radl.add("<method name='%s'/>", method1);
+    radl.add("</methods></resource></resources>");
+    endService();
+
+    assertEquals("Method", 10, radl.methodCacheMaxAge(resource, method1));
+    assertEquals("Resource", 300, radl.methodCacheMaxAge(resource, method2));
+    assertEquals("State", 60, radl.methodCacheMaxAge(resource + method3, method3));
+    assertEquals("None", -1, radl.methodCacheMaxAge(resource + method3, method1));
+  }
+
   @Test
   public void extractsMethodRequestRepresentations() throws Exception {
     String resource = someName();
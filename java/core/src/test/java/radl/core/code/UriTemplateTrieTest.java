@@ -0,0 +1,90 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.code;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import radl.core.code.UriTemplateTrie.Insertion;
+import radl.core.code.UriTemplateTrie.Overlap;
+
+
+public class UriTemplateTrieTest {
+
+  private final UriTemplateTrie<String> trie = new UriTemplateTrie<>();
+
+  @Test
+  public void reportsDuplicateTemplate() {
+    trie.add("/orders/{id}", "order");
+
+    Insertion<String> insertion = trie.add("/orders/{id}", "other");
+
+    assertEquals("Duplicate", "order", insertion.getDuplicate());
+    assertEquals("Matches", Arrays.asList("order"), trie.matchingSameUris("/orders/{id}"));
+  }
+
+  @Test
+  public void reportsDuplicateVariable() {
+    Insertion<String> insertion = trie.add("/{id}/items/{id}", "item");
+
+    assertEquals("Duplicate variable", "id", insertion.getDuplicateVariable());
+    assertNull("Duplicate", insertion.getDuplicate());
+  }
+
+  @Test
+  public void reportsOverlapsBetweenFixedAndVariableSegments() {
+    trie.add("/orders/{id}/items", "items");
+    trie.add("/orders/recent", "recent");
+    trie.add("/customers/{id}", "customer");
+
+    List<Overlap<String>> overlaps = trie.add("/orders/{order}", "order").getOverlaps();
+
+    assertEquals("# overlaps", 1, overlaps.size());
+    Overlap<String> overlap = overlaps.get(0);
+    assertEquals("Value", "recent", overlap.getValue());
+    assertEquals("URI template", "/orders/recent", overlap.getUriTemplate());
+    assertEquals("Fixed", "recent", overlap.getFixedSegment());
+    assertEquals("Variable", "{order}", overlap.getVariableSegment());
+  }
+
+  @Test
+  public void reportsOverlapsWhenAddingFixedSegment() {
+    trie.add("/orders/{id}", "order");
+    trie.add("/orders/{id}/items", "items");
+
+    List<Overlap<String>> overlaps = trie.add("/orders/recent", "recent").getOverlaps();
+
+    assertEquals("# overlaps", 2, overlaps.size());
+    assertEquals("First", "order", overlaps.get(0).getValue());
+    assertEquals("Second", "items", overlaps.get(1).getValue());
+    assertEquals("Variable", "{id}", overlaps.get(1).getVariableSegment());
+  }
+
+  @Test
+  public void findsTemplatesThatMatchSameUrisInInsertionOrder() {
+    trie.add("/orders/{id}", "1");
+    trie.add("/orders/recent", "2");
+    trie.add("/customers/{id}", "3");
+    trie.add("/{type}/recent", "4");
+    trie.add("/orders/{id}/items", "5");
+
+    assertEquals("Matches", Arrays.asList("1", "2", "4"), trie.matchingSameUris("/orders/recent"));
+    assertEquals("Matches", Arrays.asList("1", "2", "3", "4"), trie.matchingSameUris("/{a}/{b}"));
+  }
+
+  @Test
+  public void removesTemplate() {
+    trie.add("/orders/{id}", "order");
+
+    assertEquals("Removed", "order", trie.remove("/orders/{id}"));
+    assertNull("Removed again", trie.remove("/orders/{id}"));
+    assertEquals("Matches", 0, trie.matchingSameUris("/orders/{id}").size());
+  }
+
+}
@@ -4,6 +4,7 @@
 package radl.core.enforce;
 
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -13,6 +14,7 @@ import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import radl.test.RandomData;
 
@@ -104,6 +106,31 @@ public class EnforcerTest {
     verify(reality).update(id, oldObject, newObject);
   }
 
+  @Test
+  public void preparesAllChangesBeforeMakingThem() {
+    String removed = anId();
+    String updated = anId();
+    String added = anId();
+    String oldObject = anObject();
+    String newObject = anObject();
+
+    Desired<String, String> desired = mock(Desired.class);
+    when(desired.getIds()).thenReturn(Arrays.asList(updated, added));
+    when(desired.get(updated)).thenReturn(newObject);
+    when(desired.get(added)).thenReturn(newObject);
+    Reality<String, String> reality = mock(Reality.class);
+    when(reality.getIds()).thenReturn(Arrays.asList(removed, updated));
+    when(reality.get(updated)).thenReturn(oldObject);
+
+    enforcer.enforce(desired, reality);
+
+    InOrder inOrder = inOrder(reality);
+    inOrder.verify(reality).prepare(Arrays.asList(removed), Arrays.asList(updated), Arrays.asList(added));
+    inOrder.verify(reality).remove(removed);
+    inOrder.verify(reality).update(updated, oldObject, newObject);
+    inOrder.verify(reality).add(added, newObject);
+  }
+
   @Test
   public void leavesUnlistedObjectsAlone() {
     String id = anId();
@@ -0,0 +1,205 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.extraction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import radl.common.io.IO;
+import radl.test.TestUtil;
+
+
+public class RecordingResourceModelTest {
+
+  private static final String BASE = "example.AbstractController";
+  private static final String ORDERS = "example.OrdersController";
+  private static final String CUSTOMERS = "example.CustomersController";
+
+  private final ResourceModel model = new ResourceModelImpl();
+  private final RecordingResourceModel recordingModel = new RecordingResourceModel(model);
+  private final ResourceModelContributions contributions = recordingModel.getContributions();
+
+  @Test
+  public void forwardsChanges() {
+    contributions.start(ORDERS);
+    recordingModel.addResource(ORDERS, "Orders");
+    recordingModel.addMethod(ORDERS, "GET", null, null, null);
+
+    assertEquals("Documentation", "Orders", model.getDocumentation(ORDERS));
+    assertEquals("Methods", 1, model.methodsOf(ORDERS).size());
+  }
+
+  @Test
+  public void replaysContributionsOfUnchangedTypes() {
+    contributions.start(ORDERS);
+    recordingModel.addResource(ORDERS, "Orders");
+    recordingModel.addLocations(ORDERS, Arrays.asList("/orders"));
+    contributions.start(CUSTOMERS);
+    recordingModel.addResource(CUSTOMERS, "Customers");
+    recordingModel.addLocations(CUSTOMERS, Arrays.asList("/customers"));
+    ResourceModel newModel = new ResourceModelImpl();
+
+    contributions.remove(Collections.singleton(CUSTOMERS));
+    contributions.replayInto(newModel);
+
+    assertEquals("Orders", "Orders", newModel.getDocumentation(ORDERS));
+    assertNull("Customers", newModel.getDocumentation(CUSTOMERS));
+  }
+
+  @Test
+  public void relatesTypesThatShareContributions() {
+    contributions.start(BASE, ORDERS);
+    recordingModel.addResource(ORDERS, null);
+    contributions.start(BASE, CUSTOMERS);
+    recordingModel.addResource(CUSTOMERS, null);
+    contributions.start(CUSTOMERS);
+    recordingModel.addResource(CUSTOMERS, null);
+
+    Collection<String> related = contributions.relatedTo(Collections.singleton(ORDERS));
+
+    assertEquals("Related", new HashSet<>(Arrays.asList(ORDERS, BASE)), new HashSet<>(related));
+    assertEquals("Shared", Collections.singleton(BASE), contributions.sharedTypes());
+  }
+
+  @Test
+  public void removesContributionsOfAllTypesThatMustBeProcessedAgain() {
+    contributions.start(BASE, ORDERS);
+    recordingModel.addResource(ORDERS, null);
+    contributions.start(BASE, CUSTOMERS);
+    recordingModel.addResource(CUSTOMERS, null);
+    contributions.start(CUSTOMERS);
+    recordingModel.addResource(CUSTOMERS, "Customers");
+
+    Collection<String> removed = contributions.remove(Collections.singleton(BASE));
+
+    assertEquals("Removed", new HashSet<>(Arrays.asList(BASE, ORDERS, CUSTOMERS)), new HashSet<>(removed));
+    assertTrue("Remaining contributions", contributions.isEmpty());
+  }
+
+  @Test
+  public void mergesPartialModelsBuiltConcurrently() throws Exception {
+    int numModels = 8;
+    List<Future<RecordingResourceModel>> partialModels = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(numModels);
+    try {
+      for (int i = 0; i < numModels; i++) {
+        final String resource = "example.Controller" + i;
+        partialModels.add(executor.submit(new Callable<RecordingResourceModel>() {
+          @Override
+          public RecordingResourceModel call() {
+            return partialModelWith(resource);
+          }
+        }));
+      }
+      for (Future<RecordingResourceModel> partialModel : partialModels) {
+        partialModel.get().mergeInto(model);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (int i = 0; i < numModels; i++) {
+      String resource = "example.Controller" + i;
+      assertEquals("Documentation", resource, model.getDocumentation(resource));
+      assertEquals("Methods", 1, model.methodsOf(resource).size());
+    }
+  }
+
+  private RecordingResourceModel partialModelWith(String resource) {
+    RecordingResourceModel result = new RecordingResourceModel();
+    result.getContributions().start(resource);
+    result.addResource(resource, resource);
+    result.addLocations(resource, Arrays.asList('/' + resource));
+    result.addMethod(resource, "GET", null, null, null);
+    return result;
+  }
+
+  @Test
+  public void mergesAssociatively() {
+    RecordingResourceModel orders = partialModelWith(ORDERS);
+    RecordingResourceModel customers = partialModelWith(CUSTOMERS);
+    RecordingResourceModel base = partialModelWith(BASE);
+    RecordingResourceModel ordersAndCustomers = new RecordingResourceModel();
+    orders.mergeInto(ordersAndCustomers);
+    customers.mergeInto(ordersAndCustomers);
+    RecordingResourceModel customersAndBase = new RecordingResourceModel();
+    customers.mergeInto(customersAndBase);
+    base.mergeInto(customersAndBase);
+    ResourceModel left = new ResourceModelImpl();
+    ResourceModel right = new ResourceModelImpl();
+
+    ordersAndCustomers.mergeInto(left);
+    base.mergeInto(left);
+    orders.mergeInto(right);
+    customersAndBase.mergeInto(right);
+
+    for (String resource : Arrays.asList(ORDERS, CUSTOMERS, BASE)) {
+      assertEquals("Documentation of " + resource, left.getDocumentation(resource), right.getDocumentation(resource));
+      assertEquals("Methods of " + resource, left.methodsOf(resource), right.methodsOf(resource));
+    }
+  }
+
+  @Test
+  public void keepsChangesMadeToPartialModelBeforeContributionStarts() {
+    RecordingResourceModel partialModel = new RecordingResourceModel();
+    partialModel.addResource(ORDERS, "Orders");
+    partialModel.getContributions().start(CUSTOMERS);
+    partialModel.addResource(CUSTOMERS, "Customers");
+    RecordingResourceModel mergedModel = new RecordingResourceModel();
+
+    partialModel.mergeInto(mergedModel);
+    mergedModel.mergeInto(recordingModel);
+
+    assertEquals("Implicit contribution", "Orders", model.getDocumentation(ORDERS));
+    assertEquals("Started contribution", "Customers", model.getDocumentation(CUSTOMERS));
+    ResourceModel newModel = new ResourceModelImpl();
+    contributions.replayInto(newModel);
+    assertNull("Recorded implicit contribution", newModel.getDocumentation(ORDERS));
+    assertEquals("Recorded started contribution", "Customers", newModel.getDocumentation(CUSTOMERS));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void refusesQueriesOnPartialModel() {
+    RecordingResourceModel partialModel = partialModelWith(ORDERS);
+
+    assertTrue("Partial", partialModel.isPartial());
+    partialModel.getDocumentation(ORDERS);
+  }
+
+  @Test
+  public void survivesSerialization() {
+    contributions.start(ORDERS);
+    recordingModel.addResource(ORDERS, "Orders");
+    File file = TestUtil.randomFile(RecordingResourceModelTest.class, ".model");
+    try {
+      ResourceModelSerializer.serializeModelToFile(recordingModel, file);
+      RecordingResourceModel copy = (RecordingResourceModel)ResourceModelSerializer.deserializeModelFromFile(file);
+      ResourceModel newModel = new ResourceModelImpl();
+
+      copy.getContributions().replayInto(newModel);
+
+      assertFalse("Contributions", copy.getContributions().isEmpty());
+      assertEquals("Documentation", "Orders", newModel.getDocumentation(ORDERS));
+    } finally {
+      IO.delete(file);
+    }
+  }
+
+}
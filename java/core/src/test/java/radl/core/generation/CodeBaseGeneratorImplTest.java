@@ -0,0 +1,106 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import radl.core.PluginRegistry;
+import radl.core.code.Code;
+
+
+public class CodeBaseGeneratorImplTest {
+
+  private static final String GENERATED = "generated";
+  private static final String PLUGIN = "plugin";
+
+  @Before
+  public void init() {
+    PluginRegistry.register(CodeGeneratorPlugin.class, TestPlugin.class);
+  }
+
+  @After
+  public void done() {
+    PluginRegistry.unregister(CodeGeneratorPlugin.class, TestPlugin.class);
+  }
+
+  @Test
+  public void runsApplicablePluginsAfterBuiltInGenerators() {
+    Module generated = generate(new PluggableCodeBaseGenerator());
+
+    assertEquals("Generated code", Arrays.asList(GENERATED, PLUGIN), contentsOf(generated));
+  }
+
+  private Module generate(CodeBaseGenerator codeBaseGenerator) {
+    Module result = new Module();
+    codeBaseGenerator.generate(Arrays.asList(new Module()), Arrays.asList(result));
+    return result;
+  }
+
+  private List<String> contentsOf(Module module) {
+    Code result = new Code();
+    for (Code code : module) {
+      result.addAll(code);
+    }
+    return result;
+  }
+
+  @Test
+  public void skipsPluginsThatDontApply() {
+    Module generated = generate(new CodeBaseGeneratorImpl("p", "h", new TestGenerator()));
+
+    assertFalse("Unexpected plugin code", contentsOf(generated).contains(PLUGIN));
+  }
+
+  static Collection<Code> codeWith(String line) {
+    Code code = new Code();
+    code.add(line);
+    return Arrays.asList(code);
+  }
+
+
+  private static class PluggableCodeBaseGenerator extends CodeBaseGeneratorImpl {
+
+    PluggableCodeBaseGenerator() {
+      super("p", "h", new TestGenerator());
+    }
+
+  }
+
+
+  private static class TestGenerator implements CodeGenerator {
+
+    @Override
+    public Collection<Code> generateFrom(List<Module> input, Map<String, Object> context) {
+      context.put(GENERATED, GENERATED);
+      return codeWith(GENERATED);
+    }
+
+  }
+
+
+  public static class TestPlugin implements CodeGeneratorPlugin {
+
+    @Override
+    public boolean appliesTo(CodeBaseGenerator codeBaseGenerator) {
+      return codeBaseGenerator instanceof PluggableCodeBaseGenerator;
+    }
+
+    @Override
+    public Collection<Code> generateFrom(List<Module> input, Map<String, Object> context) {
+      return codeWith(context.containsKey(GENERATED) ? PLUGIN : "out of order");
+    }
+
+  }
+
+}
@@ -6,8 +6,10 @@ package radl.core.generation;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
@@ -16,6 +18,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.After;
@@ -27,6 +30,7 @@ import radl.core.code.Code;
 import radl.core.code.GeneratedSourceFile;
 import radl.core.code.SourceFile;
 import radl.core.enforce.Reality;
+import radl.core.scm.BatchSourceCodeManagementSystem;
 import radl.core.scm.SourceCodeManagementSystem;
 import radl.test.RandomData;
 import radl.test.TestUtil;
@@ -180,6 +184,47 @@ public class RealSourceFilesTest {
     verify(scm).prepareForDelete(eq(file));
   }
 
+  @Test
+  public void preparesAllFilesAtOnce() throws Exception {
+    BatchSourceCodeManagementSystem batchScm = mock(BatchSourceCodeManagementSystem.class);
+    Reality<String, SourceFile> batchReality = new RealSourceFiles(baseDir, generatedSourceSetDir, mainSourceSetDir,
+        codeDir, batchScm);
+    File added = randomFile(aSourceSetDir(), codeDir, "a");
+    File updated = ensureRandomFile(aSourceSetDir(), codeDir, "u");
+    File removed = ensureRandomFile(aSourceSetDir(), codeDir, "r");
+    Code code = new Code();
+    code.add("public class C { }");
+
+    batchReality.prepare(Arrays.asList(removed.getPath()), Arrays.asList(updated.getPath()),
+        Arrays.asList(added.getPath()));
+    batchReality.add(added.getPath(), new SourceFile(added.getCanonicalPath(), code));
+    batchReality.update(updated.getPath(), null, new SourceFile(updated.getCanonicalPath(), code));
+    batchReality.remove(removed.getPath());
+    batchReality.finish();
+
+    verify(batchScm).prepare(Arrays.asList(updated, added), Arrays.asList(removed));
+    verify(batchScm, never()).prepareForUpdate(any(File.class));
+    verify(batchScm, never()).prepareForDelete(any(File.class));
+    verify(batchScm).finish(Arrays.asList(added, updated), Arrays.asList(removed));
+  }
+
+  @Test
+  public void preparesFilesOneByOneWhenScmDoesNotSupportBatches() throws Exception {
+    File added = randomFile(aSourceSetDir(), codeDir, "a");
+    File removed = ensureRandomFile(aSourceSetDir(), codeDir, "r");
+    Code code = new Code();
+    code.add("public class C { }");
+
+    reality.prepare(Arrays.asList(removed.getPath()), Collections.<String>emptyList(),
+        Arrays.asList(added.getPath()));
+    reality.add(added.getPath(), new SourceFile(added.getCanonicalPath(), code));
+    reality.remove(removed.getPath());
+    reality.finish();
+
+    verify(scm).prepareForUpdate(added);
+    verify(scm).prepareForDelete(removed);
+  }
+
   @Test
   public void skipsFilesOutsideSourceSets() throws IOException {
     ensureRandomFile(RANDOM.string(), codeDir, RANDOM.string());
@@ -32,8 +32,6 @@ import radl.common.io.IO;
 import radl.core.cli.Application;
 import radl.core.cli.Arguments;
 import radl.core.code.SourceFile;
-import radl.core.extraction.ResourceModelHolder;
-import radl.core.extraction.ResourceModelImpl;
 import radl.java.code.Java;
 import radl.java.code.JavaCode;
 import radl.java.extraction.FromJavaRadlExtractor;
@@ -82,7 +80,6 @@ public class GenerateAndExtractTest {
         testName));
     IO.delete(outputDir);
     outputDir.mkdirs();
-    ResourceModelHolder.INSTANCE.set(new ResourceModelImpl());
   }
 
   @Test
@@ -0,0 +1,125 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.scm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import radl.common.io.IO;
+import radl.test.TestUtil;
+
+
+public class GitTest {
+
+  private final OperatingSystem operatingSystem = mock(OperatingSystem.class);
+  private final BatchSourceCodeManagementSystem git = new Git(operatingSystem);
+  private File repository;
+
+  @Before
+  public void init() {
+    repository = new File(TestUtil.randomDir(GitTest.class), "with spaces").getAbsoluteFile();
+    new File(repository, ".git").mkdirs();
+  }
+
+  @After
+  public void done() {
+    IO.delete(repository.getParentFile());
+  }
+
+  @Test
+  public void returnsId() {
+    assertEquals("ID", "git", git.getId());
+  }
+
+  @Test
+  public void stagesChangedFilesInSingleCommands() throws IOException {
+    File added = someFile("added.java", "class A { }");
+    File changed = someFile("dir/changed.java", "class C { }");
+    File deleted = new File(repository, "deleted.java");
+    when(operatingSystem.runForOutput(gitCommand("ls-files", "--stage", "--", "added.java", "dir/changed.java",
+        "deleted.java"))).thenReturn(Arrays.asList(
+            "100644 0123456789abcdef0123456789abcdef01234567 0\tdir/changed.java",
+            "100644 0123456789abcdef0123456789abcdef01234567 0\tdeleted.java"));
+
+    git.finish(Arrays.asList(added, changed), Arrays.asList(deleted));
+
+    verify(operatingSystem).runForOutput(gitCommand("add", "--", "added.java", "dir/changed.java"));
+    verify(operatingSystem).runForOutput(gitCommand("rm", "-q", "--cached", "--", "deleted.java"));
+  }
+
+  private List<String> gitCommand(String... arguments) {
+    List<String> result = new ArrayList<>(Arrays.asList("git", "-C", repository.getPath()));
+    result.addAll(Arrays.asList(arguments));
+    return result;
+  }
+
+  private File someFile(String path, String contents) throws IOException {
+    File result = new File(repository, path);
+    result.getParentFile().mkdirs();
+    try (PrintWriter writer = new PrintWriter(result, "UTF8")) {
+      writer.print(contents);
+    }
+    return result;
+  }
+
+  @Test
+  public void skipsFilesWithUnchangedContents() throws IOException {
+    File unchanged = someFile("unchanged.java", "class U { }");
+    when(operatingSystem.runForOutput(anyListOf(String.class))).thenReturn(Arrays.asList(
+        "100644 " + Git.blobHash(unchanged) + " 0\tunchanged.java"));
+
+    git.finish(Arrays.asList(unchanged), Collections.<File>emptyList());
+
+    verify(operatingSystem).runForOutput(anyListOf(String.class));
+  }
+
+  @Test
+  public void leavesUntrackedIgnoredFilesAlone() throws IOException {
+    OperatingSystem realOperatingSystem = new OperatingSystemImpl();
+    assumeTrue("Git is not installed", isGitInstalled(realOperatingSystem));
+    IO.delete(new File(repository, ".git"));
+    realOperatingSystem.runForOutput(Arrays.asList("git", "init", "-q", repository.getPath()));
+    someFile(".gitignore", "build/\n");
+    File generated = someFile("build/src/java/Generated.java", "class G { }");
+    File manual = someFile("src/main/java/Manual.java", "class M { }");
+
+    new Git(realOperatingSystem).finish(Arrays.asList(generated, manual), Collections.<File>emptyList());
+
+    assertEquals("Staged", Arrays.asList("src/main/java/Manual.java"),
+        realOperatingSystem.runForOutput(gitCommand("diff", "--cached", "--name-only")));
+  }
+
+  private boolean isGitInstalled(OperatingSystem realOperatingSystem) {
+    try {
+      realOperatingSystem.runForOutput(Arrays.asList("git", "--version"));
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  @Test
+  public void computesBlobHashLikeGit() throws IOException {
+    File file = someFile("hello.txt", "hello\n");
+
+    assertEquals("Hash", "ce013625030ba8dba906f756967f9e9ca394464a", Git.blobHash(file));
+  }
+
+}
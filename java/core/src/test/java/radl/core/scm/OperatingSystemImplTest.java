@@ -8,7 +8,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.Test;
@@ -30,4 +34,29 @@ public class OperatingSystemImplTest {
     }
   }
 
+  @Test
+  public void collectsStandardOutputWhileDrainingStandardError() {
+    String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+    String property = "with spaces " + UUID.randomUUID();
+
+    // The JVM writes its settings to standard error and nothing to standard output
+    List<String> output = new OperatingSystemImpl().runForOutput(Arrays.asList(java,
+        "-Dradl.test=" + property, "-XshowSettings:properties", "-version"));
+
+    assertEquals("Output", Collections.<String>emptyList(), output);
+  }
+
+  @Test
+  public void reportsStandardErrorOfFailedCommand() {
+    String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+    String option = "-XX:" + UUID.randomUUID();
+
+    try {
+      new OperatingSystemImpl().runForOutput(Arrays.asList(java, option, "-version"));
+      fail("Missing exception");
+    } catch (RuntimeException e) {
+      assertTrue("Exception message: " + e.getMessage(), e.getMessage().contains(option.substring(4)));
+    }
+  }
+
 }
@@ -4,6 +4,7 @@
 package radl.core.scm;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -12,6 +13,11 @@ import static org.mockito.Mockito.verify;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -89,4 +95,84 @@ public class PerforceTest {
     }
   }
 
+  @Test
+  public void preparesManyFilesWithFewCommands() {
+    RecordingOperatingSystem recorder = new RecordingOperatingSystem();
+    File edited1 = missingFile();
+    File edited2 = missingFile();
+    File deleted = missingFile();
+
+    new Perforce(recorder).prepare(Arrays.asList(edited1, edited2), Arrays.asList(deleted));
+
+    assertEquals("Commands", Arrays.asList(
+        "p4 edit " + edited1.getAbsolutePath() + ' ' + edited2.getAbsolutePath(),
+        "p4 delete " + deleted.getAbsolutePath()), recorder.commands);
+  }
+
+  private File missingFile() {
+    // Files that don't exist can't be written, just like files that aren't checked out
+    return TestUtil.randomFile(getClass(), ".p4");
+  }
+
+  @Test
+  public void splitsLongCommands() {
+    RecordingOperatingSystem recorder = new RecordingOperatingSystem();
+    Collection<File> files = new ArrayList<>();
+    int length = 0;
+    while (length < 2 * CommandLines.MAX_LENGTH) {
+      File file = missingFile();
+      files.add(file);
+      length += file.getAbsolutePath().length() + 1;
+    }
+
+    new Perforce(recorder).prepare(files, Collections.<File>emptyList());
+
+    assertTrue("Too few commands: " + recorder.commands.size(), recorder.commands.size() > 1);
+    StringBuilder allArguments = new StringBuilder();
+    for (String command : recorder.commands) {
+      assertTrue("Command too long: " + command.length(), command.length() < CommandLines.MAX_LENGTH);
+      allArguments.append(command.substring("p4 edit".length()));
+    }
+    StringBuilder expected = new StringBuilder();
+    for (File file : files) {
+      expected.append(' ').append(file.getAbsolutePath());
+    }
+    assertEquals("Files", expected.toString(), allArguments.toString());
+  }
+
+  @Test
+  public void doesntPrepareWritableFiles() throws IOException {
+    RecordingOperatingSystem recorder = new RecordingOperatingSystem();
+    File file = someFile();
+    try {
+      new Perforce(recorder).prepare(Arrays.asList(file), Arrays.asList(file));
+
+      assertTrue("Unexpected commands: " + recorder.commands, recorder.commands.isEmpty());
+    } finally {
+      IO.delete(file);
+    }
+  }
+
+
+  private static class RecordingOperatingSystem implements OperatingSystem {
+
+    private final List<String> commands = new ArrayList<>();
+
+    @Override
+    public void run(String command) {
+      commands.add(command);
+    }
+
+    @Override
+    public List<String> runForOutput(List<String> command) {
+      StringBuilder commandLine = new StringBuilder();
+      for (String part : command) {
+        commandLine.append(commandLine.length() == 0 ? "" : " ").append(part);
+      }
+      run(commandLine.toString());
+      return Collections.emptyList();
+    }
+
+  }
+
 }
@@ -30,6 +30,11 @@ public class ScmFactoryTest {
     assertEquals("SCM", scmClass, ScmFactory.newInstance(scmId).getClass());
   }
 
+  @Test
+  public void returnsGitScm() throws Exception {
+    assertScm(Git.class, "git");
+  }
+
   @Test
   public void returnsDefaultScm() throws Exception {
     assertScm(DefaultSourceCodeManagementSystem.class, "default");
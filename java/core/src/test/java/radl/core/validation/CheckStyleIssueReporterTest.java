@@ -66,6 +66,58 @@ public class CheckStyleIssueReporterTest {
     }
   }
 
+  @Test
+  public void writesIssuesForMultipleFiles() {
+    String message = "<" + RANDOM.string() + "> & '" + RANDOM.string() + "'";
+
+    reporter.start();
+    reporter.file("a.radl");
+    reporter.issue(new Issue(Validator.class, Level.ERROR, 1, 2, message));
+    reporter.issue(new Issue(Validator.class, Level.WARNING, 3, 4, message));
+    reporter.file("b.radl");
+    reporter.file("c.radl");
+    reporter.issue(new Issue(Validator.class, Level.INFO, 5, 6, message));
+    reporter.end();
+
+    File checkStyleFile = new File(OUTPUT_FILE);
+    try {
+      TestUtil.assertXmlEquals("CheckStyle output", DocumentBuilder.newDocument()
+          .element("checkstyle")
+              .attribute("version", "5.6")
+              .element("file")
+                  .attribute("name", "a.radl")
+                  .element("error")
+                      .attribute("line", "1")
+                      .attribute("column", "2")
+                      .attribute("source", Validator.class.getSimpleName())
+                      .attribute("severity", "error")
+                      .attribute("message", message)
+                  .end()
+                  .element("error")
+                      .attribute("line", "3")
+                      .attribute("column", "4")
+                      .attribute("source", Validator.class.getSimpleName())
+                      .attribute("severity", "warning")
+                      .attribute("message", message)
+                  .end()
+              .end()
+              .element("file")
+                  .attribute("name", "b.radl")
+              .end()
+              .element("file")
+                  .attribute("name", "c.radl")
+                  .element("error")
+                      .attribute("line", "5")
+                      .attribute("column", "6")
+                      .attribute("source", Validator.class.getSimpleName())
+                      .attribute("severity", "info")
+                      .attribute("message", message)
+          .build(), Xml.parse(checkStyleFile));
+    } finally {
+      IO.delete(checkStyleFile);
+    }
+  }
+
   @Test
   public void identifiedAsCheckstyle() throws Exception {
     assertEquals("ID", "checkstyle", reporter.getId());
@@ -26,6 +26,11 @@ public class IssueReporterFactoryTest {
     assertIssueReporter(CheckStyleIssueReporter.class, "checkstyle");
   }
 
+  @Test
+  public void sarif() throws Exception {
+    assertIssueReporter(SarifIssueReporter.class, "sarif");
+  }
+
   private void assertIssueReporter(Class<? extends IssueReporter> scmClass, String scmId) {
     assertEquals("SCM", scmClass, IssueReporterFactory.newInstance(scmId).getClass());
   }
@@ -0,0 +1,76 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import radl.core.code.radl.RadlCode;
+import radl.test.RadlBuilder;
+
+
+public class LintModelTest {
+
+  private final LintModel model = new LintModel(new RadlCode(RadlBuilder.aRadlDocument()
+      .withStates()
+          .startingAt("home")
+          .withState("home")
+              .withTransition("list", "orders")
+              .end()
+          .end()
+          .withState("orders")
+          .end()
+      .end()
+      .withMediaTypes(true, "application/json", "application/xml")
+      .withLinkRelations()
+          .withLinkRelation("http://example.com/rels/list", null)
+              .implementing("list")
+          .end()
+      .end()
+      .withResource()
+          .named("orders")
+          .locatedAtTemplate("/orders/{id}")
+          .withMethod("POST")
+              .transitioningTo("list")
+              .consuming("application/xml")
+              .producing()
+          .end()
+          .withMethod("GET")
+          .end()
+      .end()
+      .withResource()
+          .named("home")
+          .locatedAt("/")
+      .end()
+  .build()));
+
+  @Test
+  public void readsStatesAndLinkRelations() {
+    assertEquals("States", Arrays.asList("", "home", "orders"), model.stateNames());
+    assertEquals("Link relations", Arrays.asList("http://example.com/rels/list"), model.linkRelationNames());
+    assertEquals("Transitions", Arrays.asList("list"), model.linkRelationTransitions("http://example.com/rels/list"));
+    assertEquals("Media types", Arrays.asList("application/json", "application/xml"), model.mediaTypeNames());
+  }
+
+  @Test
+  public void readsResourcesAndTheirMethods() {
+    assertEquals("Resources", Arrays.asList("home", "orders"), model.resourceNames());
+    assertEquals("Location", "/orders/{id}", model.resourceLocation("orders"));
+    assertEquals("Methods", Arrays.asList("GET", "POST"), model.methodNames("orders"));
+    assertEquals("Transitions", Arrays.asList("list"), model.methodTransitions("orders", "POST"));
+  }
+
+  @Test
+  public void usesDefaultMediaTypeForMessagesWithoutRepresentations() {
+    assertEquals("Request", Arrays.asList("application/xml"), model.methodRequestRepresentations("orders", "POST"));
+    assertEquals("Response", Arrays.asList("application/json"),
+        model.methodResponseRepresentations("orders", "POST"));
+    assertEquals("No request", Collections.emptyList(), model.methodRequestRepresentations("orders", "GET"));
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import radl.test.RandomData;
+
+
+public class LintValidatorRulesTest {
+
+  private static final RandomData RANDOM = new RandomData();
+  private static final String RADL = "<service xmlns='urn:radl:service' name='s'/>";
+
+  private final LintRule slow = new TestRule("slow", 50);
+  private final LintRule fast = new TestRule("fast", 0);
+  private final LintValidator validator = new LintValidator(Arrays.asList(slow, fast));
+
+  @Test
+  public void reportsIssuesInOrderOfRules() {
+    Collection<Issue> issues = validate();
+
+    assertEquals("Issues", Arrays.asList("slow", "fast"), messages(issues));
+  }
+
+  private Collection<Issue> validate() {
+    Collection<Issue> result = new ArrayList<>();
+    validator.validate(new ByteArrayInputStream(RADL.getBytes(StandardCharsets.UTF_8)), result);
+    return result;
+  }
+
+  private List<String> messages(Collection<Issue> issues) {
+    List<String> result = new ArrayList<>();
+    for (Issue issue : issues) {
+      result.add(issue.getMessage());
+    }
+    return result;
+  }
+
+  @Test
+  public void skipsDisabledRules() {
+    Properties configuration = new Properties();
+    configuration.setProperty("slow.enabled", "false");
+    configuration.setProperty("fast.enabled", "true");
+    configuration.setProperty(RANDOM.string() + ".enabled", "false");
+    validator.configure(configuration);
+
+    Collection<Issue> issues = validate();
+
+    assertEquals("Issues", Arrays.asList("fast"), messages(issues));
+    assertEquals("Timed rules", Arrays.asList("fast"), new ArrayList<>(validator.getTimings().keySet()));
+  }
+
+  @Test
+  public void timesRules() {
+    validate();
+
+    assertEquals("Timed rules", Arrays.asList("slow", "fast"), new ArrayList<>(validator.getTimings().keySet()));
+    assertTrue("Slow rule not timed", validator.getTimings().get("slow") >= 50);
+  }
+
+  @Test
+  public void discoversBuiltInRules() {
+    LintValidator builtIn = new LintValidator();
+
+    builtIn.validate(new ByteArrayInputStream(RADL.getBytes(StandardCharsets.UTF_8)), new ArrayList<Issue>());
+
+    assertEquals("Rules", Arrays.asList(StateDiagramRule.ID, LinkRelationRule.ID, MediaTypeRule.ID, ResourceRule.ID,
+        LocationRule.ID), new ArrayList<>(builtIn.getTimings().keySet()));
+  }
+
+
+  private static class TestRule extends AbstractLintRule {
+
+    private final String id;
+    private final long millis;
+
+    TestRule(String id, long millis) {
+      this.id = id;
+      this.millis = millis;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public void check(LintModel radl, Collection<Issue> issues) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      warn(issues, id);
+    }
+
+  }
+
+}
@@ -4,9 +4,11 @@
 package radl.core.validation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -15,18 +17,27 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import radl.common.io.IO;
 import radl.core.cli.Arguments;
@@ -62,12 +73,75 @@ public class RadlValidatorTest {
     Validator validator = mock(Validator.class);
     Map<String, Collection<Issue>> issues = new TreeMap<>();
 
-    radlValidator.validate(args, validator, issues, dir);
+    radlValidator.validate(args, validator, issues);
 
     verify(validator, times(files.length)).validate(any(FileInputStream.class), any(Collection.class));
     TestUtil.assertCollectionEquals("Validated files", Arrays.asList(fileNames), issues.keySet());
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void validatesWithStreamOnlyValidators() throws IOException {
+    File radlFile = new File(randomFileName('a'));
+    Validator validator = mock(Validator.class);
+    Map<String, Collection<Issue>> issues = new TreeMap<>();
+
+    radlValidator.validate(new Arguments(new String[] { radlFile.getPath() }), validator, issues);
+
+    verify(validator).validate(any(FileInputStream.class), any(Collection.class));
+  }
+
+  @Test
+  public void reportsIssuesInIncludedFilesWithSameNameSeparately() throws IOException {
+    File main = new File(dir, "main.radl");
+    write(main, "<service xmlns='urn:radl:service' xmlns:xi='http://www.w3.org/2001/XInclude' name='s'>\n"
+        + "  <xi:include href='a/part.radl'/>\n  <xi:include href='b/part.radl'/>\n</service>");
+    write(new File(dir, "a/part.radl"), "<states xmlns='urn:radl:service'>\n  <foo/>\n</states>");
+    write(new File(dir, "b/part.radl"), "<link-relations xmlns='urn:radl:service'>\n  <bar/>\n</link-relations>");
+    Map<String, Collection<Issue>> issues = new TreeMap<>();
+
+    radlValidator.validate(new Arguments(new String[] { main.getPath() }), radlValidator.newValidator(), issues);
+
+    String first = "a" + File.separator + "part.radl";
+    String second = "b" + File.separator + "part.radl";
+    assertTrue("Missing issues for " + first + ": " + issues.keySet(), issues.containsKey(first));
+    assertTrue("Missing issues for " + second + ": " + issues.keySet(), issues.containsKey(second));
+    assertEquals("Issues in " + first, 2, issues.get(first).iterator().next().getLine());
+    assertTrue("Mixed up issues", issues.get(first).iterator().next().getMessage().contains("foo"));
+    assertTrue("Mixed up issues", issues.get(second).iterator().next().getMessage().contains("bar"));
+  }
+
+  @Test
+  public void letsValidatorsReadBackTheIssuesTheyAdded() throws IOException {
+    File radlFile = new File(randomFileName('a'));
+    final Issue issue = new Issue(Validator.class, Level.WARNING, 1, 1, RANDOM.string());
+    final List<Issue> readBack = new ArrayList<>();
+    Validator validator = new Validator() {
+      @Override
+      public void validate(InputStream contents, Collection<Issue> issues) {
+        issues.add(issue);
+        readBack.addAll(issues);
+      }
+    };
+
+    radlValidator.validate(new Arguments(new String[] { radlFile.getPath() }), validator,
+        new TreeMap<String, Collection<Issue>>());
+
+    assertEquals("Issues", Arrays.asList(issue), readBack);
+  }
+
+  private void write(File file, String contents) throws IOException {
+    file.getParentFile().mkdirs();
+    try (PrintWriter writer = new PrintWriter(file, "UTF8")) {
+      writer.print(contents);
+    }
+  }
+
+  @Test
+  public void composesValidatorsFromPlugins() {
+    assertEquals("Validators", "RelaxNgValidator,LintValidator", radlValidator.newValidator().toString());
+  }
+
   private String randomFileName(char prefix) throws IOException {
     File result = new File(dir, prefix + RANDOM.string() + ".radl");
     try (PrintWriter writer = new PrintWriter(result, "UTF8")) {
@@ -158,6 +232,111 @@ public class RadlValidatorTest {
     assertEquals("Exit code", 0, exitCode);
   }
 
+  @Test
+  public void disablesLintRulesFromConfiguration() throws IOException {
+    File issuesFile = someIssuesFile();
+    File configuration = new File(dir, "lint.properties");
+    try (PrintWriter writer = new PrintWriter(configuration, "UTF8")) {
+      writer.println(StateDiagramRule.ID + ".enabled = false");
+    }
+    File radlFile = new File(dir, RANDOM.string() + ".radl");
+    try (PrintWriter writer = new PrintWriter(radlFile, "UTF8")) {
+      writer.println("<service xmlns='urn:radl:service' name='s'/>");
+    }
+
+    radlValidator.run(new Arguments(new String[] { issuesFile.getPath(), configuration.getPath(),
+        radlFile.getPath() }));
+
+    String issues = new String(Files.readAllBytes(issuesFile.toPath()), StandardCharsets.UTF_8);
+    assertFalse("Disabled rule reported issue", issues.contains("Missing start-state"));
+  }
+
+  @Test
+  public void reportsIssuesOfEachFileAsSoonAsItIsValidated() throws IOException {
+    File issuesFile = someIssuesFile();
+    File second = new File(dir, "a.radl");
+    write(second, "<service/>");
+    File first = new File(dir, "b.radl");
+    write(first, "<service/>");
+
+    radlValidator.run(new Arguments(new String[] { issuesFile.getPath(), first.getPath(), second.getPath() }));
+
+    String issues = new String(Files.readAllBytes(issuesFile.toPath()), StandardCharsets.UTF_8);
+    int firstIndex = issues.indexOf("name=\"b.radl\"");
+    int secondIndex = issues.indexOf("name=\"a.radl\"");
+    assertTrue("Missing files in report\n" + issues, firstIndex >= 0 && secondIndex >= 0);
+    assertTrue("Not reported in validation order\n" + issues, firstIndex < secondIndex);
+  }
+
+  @Test
+  public void reportsEachFileOnceWhenIssuesAlternateBetweenFiles() throws IOException {
+    File radlFile = new File(randomFileName('a'));
+    String included = new File(dir, "part.radl").getPath();
+    final Issue main1 = new Issue(Validator.class, Level.ERROR, 1, 1, RANDOM.string());
+    final Issue part1 = new Issue(Validator.class, Level.WARNING, included, 1, 1, RANDOM.string());
+    final Issue main2 = new Issue(Validator.class, Level.ERROR, 2, 1, RANDOM.string());
+    final Issue part2 = new Issue(Validator.class, Level.WARNING, included, 2, 1, RANDOM.string());
+    Validator validator = new Validator() {
+      @Override
+      public void validate(InputStream contents, Collection<Issue> issues) {
+        issues.addAll(Arrays.asList(main1, part1, main2, part2));
+      }
+    };
+    IssueReporter reporter = mock(IssueReporter.class);
+
+    int numErrors = radlValidator.validate(new Arguments(new String[] { radlFile.getPath() }), validator, reporter);
+
+    assertEquals("Errors", 2, numErrors);
+    InOrder inOrder = inOrder(reporter);
+    inOrder.verify(reporter).file(radlFile.getName());
+    inOrder.verify(reporter).issue(main1);
+    inOrder.verify(reporter).issue(main2);
+    inOrder.verify(reporter).file("part.radl");
+    inOrder.verify(reporter).issue(part1);
+    inOrder.verify(reporter).issue(part2);
+    verify(reporter, times(2)).file(any(String.class));
+  }
+
+  @Test
+  public void validatesConcurrently() throws Exception {
+    int numFiles = 2 * Runtime.getRuntime().availableProcessors() + 2;
+    List<File> radlFiles = new ArrayList<>();
+    for (int i = 0; i < numFiles; i++) {
+      File radlFile = new File(dir, "service" + i + ".radl");
+      try (PrintWriter writer = new PrintWriter(radlFile, "UTF8")) {
+        writer.println(i % 2 == 0 ? "<service xmlns='urn:radl:service' name='s" + i + "'/>" : "<service/>");
+      }
+      radlFiles.add(radlFile);
+    }
+    List<String> expected = new ArrayList<>();
+    for (File radlFile : radlFiles) {
+      expected.add(validate(radlFile, "sequential"));
+    }
+    List<Future<String>> actual = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(numFiles);
+    try {
+      for (final File radlFile : radlFiles) {
+        actual.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return validate(radlFile, "concurrent");
+          }
+        }));
+      }
+      for (int i = 0; i < numFiles; i++) {
+        assertEquals("Issues of " + radlFiles.get(i).getName(), expected.get(i), actual.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private String validate(File radlFile, String run) throws IOException {
+    File issuesFile = new File(dir, radlFile.getName() + '.' + run + ".xml");
+    new RadlValidator().run(new Arguments(new String[] { issuesFile.getPath(), radlFile.getPath() }));
+    return new String(Files.readAllBytes(issuesFile.toPath()), StandardCharsets.UTF_8);
+  }
+
   // #5: Support other formats than CheckStyle for reporting validation issues
   @Test
   public void writesIssuesInProvidedFormat() {
@@ -3,9 +3,13 @@
  */
 package radl.core.validation;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -16,6 +20,7 @@ import org.junit.Test;
 import radl.common.io.IO;
 import radl.common.io.StringStream;
 import radl.core.Radl;
+import radl.core.xml.RadlFileAssembler;
 import radl.test.RandomData;
 import radl.test.TestUtil;
 
@@ -25,7 +30,7 @@ public class RelaxNgValidatorTest {
   private static final RandomData RANDOM = new RandomData();
 
   private final File file = new File(RANDOM.string());
-  private final Validator validator = new RelaxNgValidator();
+  private final RelaxNgValidator validator = new RelaxNgValidator();
   private final Collection<Issue> issues = new ArrayList<>();
 
   @After
@@ -54,4 +59,31 @@ public class RelaxNgValidatorTest {
     TestUtil.assertCollectionEquals("Issues", Arrays.asList(expectedIssue), issues);
   }
 
+  @Test
+  public void reportsFileOfIssuesInAssembledDocument() throws Exception {
+    File dir = TestUtil.randomDir(RelaxNgValidatorTest.class);
+    try {
+      File main = new File(dir, "main.radl");
+      write(main, "<service xmlns='" + Radl.NAMESPACE_URI + "' xmlns:xi='http://www.w3.org/2001/XInclude' "
+          + "name='test'>\n  <xi:include href='part.radl'/>\n</service>");
+      File part = new File(dir, "part.radl");
+      write(part, "<states xmlns='" + Radl.NAMESPACE_URI + "'>\n  <foo/>\n</states>");
+
+      validator.validate(RadlFileAssembler.assemble(main), issues);
+
+      assertFalse("Missing issues", issues.isEmpty());
+      Issue issue = issues.iterator().next();
+      assertEquals("File", part.getCanonicalPath(), issue.getFile());
+      assertEquals("Line", 2, issue.getLine());
+    } finally {
+      IO.delete(dir);
+    }
+  }
+
+  private void write(File target, String contents) throws IOException {
+    try (PrintWriter writer = new PrintWriter(target, "UTF8")) {
+      writer.print(contents);
+    }
+  }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import radl.common.io.IO;
+import radl.core.validation.Issue.Level;
+
+
+public class SarifIssueReporterTest {
+
+  private static final String OUTPUT_FILE = "build/sarif/radl-issues.sarif";
+
+  private final IssueReporter reporter = new SarifIssueReporter();
+  private final File sarifFile = new File(OUTPUT_FILE);
+
+  @Before
+  public void init() {
+    reporter.setReportFileName(OUTPUT_FILE);
+  }
+
+  @After
+  public void done() {
+    IO.delete(sarifFile);
+  }
+
+  @Test
+  public void writesEmptyReport() throws IOException {
+    reporter.start();
+    reporter.file("service.radl");
+    reporter.end();
+
+    String sarif = sarifText();
+    assertTrue("Version\n" + sarif, sarif.contains("\"version\": \"2.1.0\""));
+    assertTrue("Tool\n" + sarif, sarif.contains("\"driver\": { \"name\": \"RADL\" }"));
+    assertTrue("Results\n" + sarif, sarif.contains("\"results\": []"));
+  }
+
+  private String sarifText() throws IOException {
+    return new String(Files.readAllBytes(sarifFile.toPath()), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void writesResultForEachIssue() throws IOException {
+    reporter.start();
+    reporter.file("service.radl");
+    reporter.issue(new Issue(RelaxNgValidator.class, Level.ERROR, 3, 7, "element \"foo\" not allowed"));
+    reporter.file("part.radl");
+    reporter.issue(new Issue(LintValidator.class, Level.WARNING, "part.radl", 0, 0, "Line\nbreak\\"));
+    reporter.end();
+
+    assertEquals("SARIF", "{\n"
+        + "  \"version\": \"2.1.0\",\n"
+        + "  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n"
+        + "  \"runs\": [{\n"
+        + "    \"tool\": { \"driver\": { \"name\": \"RADL\" } },\n"
+        + "    \"results\": [\n"
+        + "      { \"ruleId\": \"RelaxNgValidator\", \"level\": \"error\", "
+        + "\"message\": { \"text\": \"element \\\"foo\\\" not allowed\" }, "
+        + "\"locations\": [{ \"physicalLocation\": { \"artifactLocation\": { \"uri\": \"service.radl\" }, "
+        + "\"region\": { \"startLine\": 3, \"startColumn\": 7 } } }] },\n"
+        + "      { \"ruleId\": \"LintValidator\", \"level\": \"warning\", "
+        + "\"message\": { \"text\": \"Line\\nbreak\\\\\" }, "
+        + "\"locations\": [{ \"physicalLocation\": { \"artifactLocation\": { \"uri\": \"part.radl\" } } }] }\n"
+        + "    ]\n"
+        + "  }]\n"
+        + "}\n", sarifText());
+  }
+
+  @Test
+  public void writesFileNamesAsRelativeUris() throws IOException {
+    String fileName = "included files" + File.separator + "part.radl";
+    reporter.start();
+    reporter.file(fileName);
+    reporter.issue(new Issue(LintValidator.class, Level.WARNING, new File(fileName).getAbsolutePath(), 1, 1,
+        "Included"));
+    reporter.end();
+
+    String sarif = sarifText();
+    assertTrue("URI\n" + sarif, sarif.contains("\"uri\": \"included%20files/part.radl\""));
+  }
+
+  @Test
+  public void identifiedAsSarif() {
+    assertEquals("ID", "sarif", reporter.getId());
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import radl.core.code.radl.RadlCode;
+import radl.test.RadlBuilder;
+
+
+public class StateGraphTest {
+
+  private final StateGraph graph = new StateGraph(new RadlCode(RadlBuilder.aRadlDocument()
+      .withStates()
+          .startingAt("home")
+          .withState("home")
+              .withTransition("list", "orders")
+              .end()
+              .withTransition("add", "order")
+              .end()
+          .end()
+          .withState("orders")
+              .withTransition("select", "order")
+              .end()
+          .end()
+          .withState("order")
+          .end()
+      .end()
+      .withLinkRelations()
+          .withLinkRelation("http://example.com/rels/select", null)
+              .implementing("select")
+          .end()
+      .end()
+      .withResource()
+          .named("orders")
+          .withMethod("GET")
+              .transitioningTo("list")
+          .end()
+      .end()
+  .build()));
+
+  @Test
+  public void indexesStatesAndTheirTransitions() {
+    assertEquals("States", Arrays.asList("", "home", "order", "orders"), Arrays.asList(
+        graph.states().toArray(new String[0])));
+    assertEquals("Transitions", Arrays.asList("add", "list"), graph.transitions("home"));
+    assertEquals("Ends", Arrays.asList("orders"), graph.ends("list"));
+    assertTrue("Incoming", graph.hasIncomingTransitions("order"));
+    assertFalse("Incoming", graph.hasIncomingTransitions(""));
+  }
+
+  @Test
+  public void indexesTransitionsOfMethodsAndLinkRelations() {
+    assertTrue("Implemented", graph.isImplemented("list"));
+    assertFalse("Implemented", graph.isImplemented("select"));
+    assertTrue("Discoverable", graph.isDiscoverable("select"));
+    assertFalse("Discoverable", graph.isDiscoverable("list"));
+  }
+
+  @Test
+  public void findsStatesReachableFromStart() {
+    assertEquals("Reachable", 4, graph.reachableFromStart().size());
+  }
+
+}
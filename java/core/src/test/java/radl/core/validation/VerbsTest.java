@@ -0,0 +1,100 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.core.validation;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.common.io.IO;
+import radl.test.RadlBuilder;
+import radl.test.TestUtil;
+
+
+public class VerbsTest {
+
+  private final File dir = TestUtil.randomDir(VerbsTest.class);
+
+  @After
+  public void done() {
+    IO.delete(dir);
+  }
+
+  @Test
+  public void sharesBuiltInVerbs() {
+    Set<String> verbs = Verbs.get();
+
+    assertTrue("Missing built-in verb", verbs.contains("approve"));
+    assertFalse("Noun is not a verb", verbs.contains("orders"));
+    assertSame("Not shared", verbs, Verbs.get());
+  }
+
+  @Test
+  public void addsVerbsFromResources() throws IOException {
+    addVerbs();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, null)) {
+      Set<String> verbs = Verbs.get(classLoader);
+
+      assertTrue("Missing added verb", verbs.contains("frobnicate"));
+      assertTrue("Missing built-in verb", verbs.contains("approve"));
+      assertFalse("Comment is not a verb", verbs.contains("# Project specific verbs"));
+      assertFalse("Added verb leaks to other class loaders", Verbs.get().contains("frobnicate"));
+    }
+  }
+
+  private void addVerbs() throws IOException {
+    File extensions = new File(dir, Verbs.EXTENSIONS);
+    extensions.getParentFile().mkdirs();
+    try (PrintWriter writer = new PrintWriter(extensions, "UTF8")) {
+      writer.println("# Project specific verbs");
+      writer.println(" frobnicate ");
+      writer.println();
+    }
+  }
+
+  @Test
+  public void usesVerbsOfValidatingThreadWhenRulesRunInParallel() throws IOException {
+    addVerbs();
+    Document radl = RadlBuilder.aRadlDocument()
+        .withResource()
+            .named("widgets")
+            .locatedAt("/widgets/frobnicate")
+            .withMethod("POST")
+            .end()
+        .end()
+    .build();
+    Collection<Issue> issues = new ArrayList<>();
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { dir.toURI().toURL() },
+        getClass().getClassLoader())) {
+      thread.setContextClassLoader(classLoader);
+      new LintValidator().validate(radl, issues);
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+
+    for (Issue issue : issues) {
+      if (issue.getMessage().startsWith("Location of 'widgets' contains action")) {
+        return;
+      }
+    }
+    fail("Missing issue for project verb: " + issues);
+  }
+
+}
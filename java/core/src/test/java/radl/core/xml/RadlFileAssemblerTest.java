@@ -4,6 +4,7 @@
 
 package radl.core.xml;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -16,9 +17,13 @@ import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.xml.sax.InputSource;
 
 import radl.common.io.IO;
+import radl.common.xml.Location;
+import radl.common.xml.Xml;
 
 
 public class RadlFileAssemblerTest {
@@ -73,6 +78,22 @@ public class RadlFileAssemblerTest {
     assertTrue("Directory is created:" + dir, dir.exists());
   }
 
+  @Test
+  public void assemblesInMemoryAndRemembersLocationsInIncludedFiles() throws Exception {
+    File completeFile = new File(getClass().getResource("sample-complete.radl").getFile());
+    File part1 = new File(getClass().getResource("sample-part1.radl").getFile());
+
+    Document document = RadlFileAssembler.assemble(part1);
+
+    XMLUnit.setIgnoreWhitespace(true);
+    XMLAssert.assertXMLEqual("XML Compare", Xml.parse(completeFile), document);
+    Element service = document.getDocumentElement();
+    assertEquals("Service file", "sample-part1.radl", Location.of(service).getFileName());
+    Location startState = Location.of(service.getElementsByTagNameNS("*", "start-state").item(0));
+    assertEquals("Included file", "sample-part2.radl", startState.getFileName());
+    assertEquals("Line", 3, startState.getLine());
+  }
+
   private void assertXmlEquals(File file1, File file2) throws Exception {
     XMLUnit.setIgnoreWhitespace(true);
     try (FileInputStream ins1 = new FileInputStream(file1)) {
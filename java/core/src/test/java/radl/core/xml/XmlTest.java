@@ -33,9 +33,11 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
 import radl.common.io.ByteArrayInputOutputStream;
+import radl.common.io.IO;
 import radl.common.io.StringStream;
 import radl.common.xml.ElementProcessor;
 import radl.common.xml.Xml;
+import radl.test.TestUtil;
 
 
 public class XmlTest {
@@ -241,6 +243,35 @@ public class XmlTest {
     assertFalse("Extra node", nodes.hasNext());
   }
 
+  @Test
+  public void reusesSharedFragmentsUntilTheyChange() throws Exception {
+    File dir = TestUtil.randomDir(XmlTest.class);
+    try {
+      File fragment = new File(dir, "fragment.xml");
+      write(fragment, "<lion/>");
+      File main = new File(dir, "main.xml");
+      write(main, "<zoo xmlns:xi='http://www.w3.org/2001/XInclude'><xi:include href='fragment.xml'/></zoo>");
+
+      Document first = Xml.parseWithIncludes(main);
+      first.getDocumentElement().removeChild(first.getDocumentElement().getFirstChild());
+      Document second = Xml.parseWithIncludes(main);
+      assertEquals("Cached fragment", "lion", second.getDocumentElement().getFirstChild().getNodeName());
+
+      write(fragment, "<tiger/>");
+      assertTrue("Failed to change timestamp", fragment.setLastModified(fragment.lastModified() + 2000));
+      Document third = Xml.parseWithIncludes(main);
+      assertEquals("Changed fragment", "tiger", third.getDocumentElement().getFirstChild().getNodeName());
+    } finally {
+      IO.delete(dir);
+    }
+  }
+
+  private void write(File file, String contents) throws IOException {
+    try (PrintWriter writer = new PrintWriter(file, "UTF8")) {
+      writer.print(contents);
+    }
+  }
+
   private Node nodeOf(String name) {
     Node result = mock(Node.class);
     when(result.getNodeName()).thenReturn(name);
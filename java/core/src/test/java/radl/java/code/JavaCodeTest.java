@@ -597,4 +597,133 @@ public class JavaCodeTest {
     assertEquals("Type name", interfaceName, code.typeName());
   }
 
+  @Test
+  public void extractsTypeNameFromEnum() {
+    String enumName = randomJavaId();
+    code.add("public enum %s {", enumName);
+    code.add("}");
+
+    assertEquals("Type name", enumName, code.typeName());
+    assertTrue("Enum", code.isEnum());
+    assertFalse("Class", code.isClass());
+  }
+
+  @Test
+  public void extractsEnumConstants() {
+    code.add("public enum %s {", randomJavaId());
+    code.add("");
+    code.add("  APE,");
+    code.add("  BEAR, CHEETAH,");
+    code.add("  DINGO;");
+    code.add("");
+    code.add("  private int elephant;");
+    code.add("");
+    code.add("}");
+
+    assertEquals("Enum constants", Arrays.asList("APE", "BEAR", "CHEETAH", "DINGO"), code.enumConstants());
+  }
+
+
+  @Test
+  public void reflectsChangesToCodeAfterQueries() {
+    code.add("public class %s {", randomJavaId());
+    code.add("  private String ape;");
+    code.add("}");
+    TestUtil.assertCollectionEquals("Fields before", Arrays.asList("ape"), code.fieldNames());
+
+    code.add(2, "  private int bear;");
+    TestUtil.assertCollectionEquals("Fields after add", Arrays.asList("ape", "bear"), code.fieldNames());
+
+    code.set(1, "  private long cheetah;");
+    TestUtil.assertCollectionEquals("Fields after set", Arrays.asList("bear", "cheetah"), code.fieldNames());
+    assertEquals("Field type", "long", code.fieldType("cheetah"));
+  }
+
+  @Test
+  public void reflectsChangesToMethodsAfterQueries() {
+    code.add("public class %s {", randomJavaId());
+    code.add("  @Deprecated");
+    code.add("  public int ape(int bear) {");
+    code.add("    return bear;");
+    code.add("  }");
+    code.add("}");
+    TestUtil.assertCollectionEquals("Methods before", Arrays.asList("ape"), code.methods());
+    assertEquals("Annotations before", Arrays.asList("@Deprecated"), code.methodAnnotations("ape"));
+
+    code.set(1, "  @Override");
+    code.set(2, "  public long ape(long cheetah) {");
+    code.set(3, "    return cheetah;");
+    code.add(5, "  public void dingo() {");
+    code.add(6, "  }");
+
+    TestUtil.assertCollectionEquals("Methods after", Arrays.asList("ape", "dingo"), code.methods());
+    assertEquals("Annotations after", Arrays.asList("@Override"), code.methodAnnotations("ape"));
+    assertEquals("Returns after", "long", code.methodReturns("ape"));
+    assertEquals("Arguments after", "long cheetah", code.methodArguments("ape"));
+    assertEquals("Body after", "return cheetah;", code.methodBody("ape"));
+    assertEquals("Body of added method", "", code.methodBody("dingo"));
+  }
+
+  @Test
+  public void reflectsAddedImportsAfterQueries() {
+    String packageName = "ex" + randomJavaId().toLowerCase(Locale.getDefault());
+    code.add("package %s;", packageName);
+    code.add("public class %s {", randomJavaId());
+    code.add("}");
+    TestUtil.assertCollectionEquals("Imports before", Collections.<String>emptyList(), code.imports());
+
+    code.ensureImport("java.util", "List");
+    code.ensureImport("java.io", "File");
+    code.ensureImport("java.util", "List");
+    code.ensureImport(packageName, "Other");
+
+    TestUtil.assertCollectionEquals("Imports after", Arrays.asList("java.io.File", "java.util.List"),
+        code.imports());
+    assertEquals("Package", packageName, code.packageName());
+  }
+
+  @Test
+  public void ignoresStatementsThatLookLikePackagesOrImports() {
+    String packageName = "ex" + randomJavaId().toLowerCase(Locale.getDefault());
+    code.add("package %s;", packageName);
+    code.add("");
+    code.add("import java.util.List;");
+    code.add("");
+    code.add("public class %s {", randomJavaId());
+    code.add("  public void start(Runnable importer, Runnable packager) {");
+    code.add("    importer.run();");
+    code.add("    packager.run();");
+    code.add("  }");
+    code.add("}");
+
+    TestUtil.assertCollectionEquals("Imports", Arrays.asList("java.util.List"), code.imports());
+    assertEquals("Package", packageName, code.packageName());
+  }
+
+  @Test
+  public void extractsAnnotationsAndCommentsOfFirstDeclarationOfEachField() {
+    code.add("public class %s {", randomJavaId());
+    code.add("  @Z");
+    code.add("  @A(name = \"x\",");
+    code.add("      value = 1)");
+    code.add("  private int ape;");
+    code.add("  /**");
+    code.add("   * The bear");
+    code.add("   */");
+    code.add("  private int bear;");
+    code.add("  /**");
+    code.add("   * Another ape");
+    code.add("   */");
+    code.add("  private int ape;");
+    code.add("}");
+
+    assertEquals("Annotations of ape", Arrays.asList("@A(name = \"x\", value = 1)", "@Z"),
+        code.fieldAnnotations("ape"));
+    assertEquals("Comments of ape", Collections.emptyList(), code.fieldComments("ape"));
+    assertEquals("Annotations of bear", Collections.emptyList(), code.fieldAnnotations("bear"));
+    assertEquals("Comments of bear", Arrays.asList("The bear"), code.fieldComments("bear"));
+    assertEquals("Annotations of unknown field", Collections.emptyList(), code.fieldAnnotations("cheetah"));
+    assertEquals("Comments of unknown field", Collections.emptyList(), code.fieldComments("cheetah"));
+  }
+
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.After;
+import org.junit.Test;
+
+import radl.common.io.IO;
+import radl.test.TestUtil;
+
+
+public class EclipseClasspathTest {
+
+  private final File dir = TestUtil.randomDir(EclipseClasspathTest.class);
+  private final File plugins = new File(dir, "plugins");
+  private final File targetFile = new File(dir, "platform.target");
+  private final File cacheFile = new File(dir, "classpath.cache");
+
+  @After
+  public void done() {
+    IO.delete(dir);
+  }
+
+  @Test
+  public void resolvesBundlesOfTargetPlatform() throws IOException {
+    File bundle = writeBundle("a_1.0.jar", "a");
+    writeBundle("b_1.0.jar", "b");
+    writeTarget("a");
+
+    assertEquals("Paths", Collections.singletonList(bundle.getAbsolutePath()), resolve(targetFile));
+  }
+
+  private File writeBundle(String fileName, String symbolicName) throws IOException {
+    plugins.mkdirs();
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().putValue("Bundle-SymbolicName", symbolicName);
+    File result = new File(plugins, fileName);
+    try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(result), manifest)) {
+      jar.flush();
+    }
+    return result;
+  }
+
+  private void writeTarget(String... bundles) throws IOException {
+    try (PrintWriter writer = new PrintWriter(targetFile, "UTF8")) {
+      writer.println("<target name='platform'>");
+      writer.println("  <locations>");
+      writer.println("    <location path='${workspace_loc:platform}/plugins' type='Directory'/>");
+      writer.println("  </locations>");
+      writer.println("  <includeBundles>");
+      for (String bundle : bundles) {
+        writer.println("    <plugin id='" + bundle + "'/>");
+      }
+      writer.println("  </includeBundles>");
+      writer.println("</target>");
+    }
+  }
+
+  private Collection<String> resolve(File file) {
+    ClasspathCache cache = ClasspathCache.load(cacheFile);
+    Collection<String> result = new ArrayList<>(new EclipseClasspath(cache).resolve(file));
+    cache.save(cacheFile);
+    return result;
+  }
+
+  @Test
+  public void reusesResolutionWhileInputsDontChange() throws IOException {
+    File bundle = writeBundle("a_1.0.jar", "a");
+    writeTarget("a");
+    resolve(targetFile);
+
+    long lastModified = targetFile.lastModified();
+    writeTarget("b");
+    targetFile.setLastModified(lastModified);
+
+    assertEquals("Paths", Collections.singletonList(bundle.getAbsolutePath()), resolve(targetFile));
+  }
+
+  @Test
+  public void resolvesAgainWhenTargetPlatformChanges() throws IOException {
+    writeBundle("a_1.0.jar", "a");
+    File bundle = writeBundle("b_1.0.jar", "b");
+    writeTarget("a");
+    resolve(targetFile);
+
+    writeTarget("b");
+    targetFile.setLastModified(targetFile.lastModified() + 2000);
+
+    assertEquals("Paths", Collections.singletonList(bundle.getAbsolutePath()), resolve(targetFile));
+  }
+
+  @Test
+  public void resolvesAgainWhenBundlesChange() throws IOException {
+    File oldBundle = writeBundle("a_1.0.jar", "a");
+    writeTarget("a");
+    resolve(targetFile);
+
+    IO.delete(oldBundle);
+    File newBundle = writeBundle("a_2.0.jar", "a");
+    plugins.setLastModified(plugins.lastModified() + 2000);
+
+    assertEquals("Paths", Collections.singletonList(newBundle.getAbsolutePath()), resolve(targetFile));
+  }
+
+  @Test
+  public void resolvesLibrariesOfClasspathFile() throws IOException {
+    File project = new File(dir, "project");
+    project.mkdirs();
+    File library = new File(dir, "lib/library.jar");
+    library.getParentFile().mkdirs();
+    library.createNewFile();
+    File classpathFile = new File(project, ".classpath");
+    try (PrintWriter writer = new PrintWriter(classpathFile, "UTF8")) {
+      writer.println("<classpath>");
+      writer.println("  <classpathentry kind='src' path='src'/>");
+      writer.println("  <classpathentry kind='lib' path='lib/library.jar'/>");
+      writer.println("</classpath>");
+    }
+
+    assertEquals("Paths", Arrays.asList(library.getAbsolutePath()), resolve(classpathFile));
+  }
+
+}
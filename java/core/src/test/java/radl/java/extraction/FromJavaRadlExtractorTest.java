@@ -4,15 +4,30 @@
 package radl.java.extraction;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.After;
 import org.junit.Test;
@@ -22,10 +37,11 @@ import radl.common.io.IO;
 import radl.common.xml.DocumentBuilder;
 import radl.common.xml.Xml;
 import radl.core.Radl;
-import radl.core.cli.Application;
 import radl.core.cli.Arguments;
+import radl.core.extraction.ExtractOptions;
 import radl.core.extraction.ResourceModel;
 import radl.core.extraction.ResourceModelMerger;
+import radl.java.code.Java;
 import radl.test.RandomData;
 import radl.test.TestUtil;
 
@@ -37,7 +53,7 @@ public class FromJavaRadlExtractorTest {
   private final File dir = TestUtil.randomDir(FromJavaRadlExtractorTest.class);
   private final ResourceModelMerger merger = mock(ResourceModelMerger.class);
   private final ResourceModel resourceModel = mock(ResourceModel.class);
-  private final Application radlExtractor = new FromJavaRadlExtractor(merger, resourceModel);
+  private final FromJavaRadlExtractor radlExtractor = new FromJavaRadlExtractor(merger, resourceModel);
 
   @After
   public void done() {
@@ -92,6 +108,24 @@ public class FromJavaRadlExtractorTest {
     verify(resourceModel).configure(eq(properties));
   }
 
+  @Test
+  public void appliesConfigurationFromProperties() throws IOException {
+    Properties properties = randomProperties();
+    File radlFile = TestUtil.randomFile(FromJavaRadlExtractorTest.class, ".radl");
+    File configurationFile = TestUtil.randomFile(FromJavaRadlExtractorTest.class, ".properties");
+    try (PrintWriter writer = new PrintWriter(configurationFile, "UTF8")) {
+      properties.store(writer, "");
+    }
+    Properties arguments = new Properties();
+    arguments.setProperty("base.dir", dir.getAbsolutePath());
+    arguments.setProperty("radl.file", radlFile.getAbsolutePath());
+    arguments.setProperty("configuration.file", configurationFile.getAbsolutePath());
+
+    radlExtractor.run(arguments);
+
+    verify(resourceModel).configure(eq(properties));
+  }
+
   private String encodePathForPropertiesFile(File file) {
     return file.getAbsolutePath().replace('\\', '/');
   }
@@ -111,6 +145,190 @@ public class FromJavaRadlExtractorTest {
     TestUtil.assertXmlEquals("RADL", simpleRadlDocument(newServiceName), Xml.parse(radlFile));
   }
 
+  @Test
+  public void extractsServicesConcurrently() throws Exception {
+    int numServices = 4;
+    List<Future<String>> radls = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(numServices);
+    try {
+      for (int i = 0; i < numServices; i++) {
+        final File baseDir = new File(dir, "service" + i);
+        writeController(baseDir, "Controller" + i, "/service" + i);
+        radls.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() {
+            ExtractOptions options = new FromJavaExtractOptions(Collections.<File>emptyList(),
+                Collections.<File>emptyList(), "", "1.7", null, false);
+            return Xml.toString(new FromJavaRadlExtractor().extractFrom(baseDir.getName(), baseDir, options));
+          }
+        }));
+      }
+      for (int i = 0; i < numServices; i++) {
+        String radl = radls.get(i).get();
+        for (int j = 0; j < numServices; j++) {
+          if (i == j) {
+            assertTrue("Missing own resource in service " + i, radl.contains("/service" + j));
+          } else {
+            assertFalse("Resource of service " + j + " in service " + i, radl.contains("/service" + j));
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void extractsPartitionsInParallel() throws Exception {
+    writeSource(new File(dir, "base"), "ex.base", "AbstractController", "public abstract class AbstractController {",
+        "  @RequestMapping(method = RequestMethod.GET)", "  public void get() {", "  }");
+    writeSource(new File(dir, "orders"), "ex.orders", "OrdersController", "@RequestMapping(\"/orders\")",
+        "public class OrdersController extends ex.base.AbstractController {");
+    writeSource(new File(dir, "customers"), "ex.customers", "CustomersController",
+        "@RequestMapping(\"/customers\")", "public class CustomersController {",
+        "  @RequestMapping(method = RequestMethod.POST)", "  public void post() {", "  }");
+
+    String sequentialRadl = extractWithThreads(1);
+    String parallelRadl = extractWithThreads(4);
+
+    assertTrue("Missing inherited method", sequentialRadl.contains("GET"));
+    assertEquals("RADL", sequentialRadl, parallelRadl);
+  }
+
+  @Test
+  public void extractsFromCompiledClasses() throws Exception {
+    Collection<File> sources = new ArrayList<>();
+    sources.add(writeSource(new File(dir, "base"), "ex.base", "AbstractController",
+        "public abstract class AbstractController {", "  @RequestMapping(method = RequestMethod.GET)",
+        "  public void get() {", "  }"));
+    sources.add(writeSource(new File(dir, "orders"), "ex.orders", "OrdersController", "@RequestMapping(\"/orders\")",
+        "public class OrdersController extends ex.base.AbstractController {",
+        "  @RequestMapping(value = \"/{id}\", method = RequestMethod.DELETE)", "  public void delete() {", "  }"));
+    sources.add(writeSource(new File(dir, "customers"), "ex.customers", "CustomersController",
+        "@RequestMapping(\"/customers\")", "public class CustomersController {",
+        "  @RequestMapping(value = \"/{id}\", method = RequestMethod.PUT, consumes = \"application/json\")",
+        "  public void put() {", "  }"));
+    File classesDir = new File(dir, "classes");
+    compile(sources, classesDir);
+    File jar = new File(dir, "classes.jar");
+    jar(classesDir, jar);
+
+    String fromSources = extractWithThreads(1);
+    String fromClassesDir = extractFromCompiledClasses(classesDir);
+    String fromJar = extractFromCompiledClasses(jar);
+
+    assertTrue("Missing method from compiled classes", fromClassesDir.contains("PUT"));
+    assertEquals("RADL from class directory", fromSources, fromClassesDir);
+    assertEquals("RADL from jar", fromSources, fromJar);
+  }
+
+  @Test
+  public void extractsIncrementallyWhenSubclassOfSharedBaseClassChanges() throws Exception {
+    writeSource(new File(dir, "base"), "ex.base", "AbstractController", "public abstract class AbstractController {",
+        "  @RequestMapping(method = RequestMethod.GET)", "  public void get() {", "  }");
+    File orders = writeSource(new File(dir, "orders"), "ex.orders", "OrdersController",
+        "@RequestMapping(\"/orders\")", "public class OrdersController extends ex.base.AbstractController {");
+    writeSource(new File(dir, "customers"), "ex.customers", "CustomersController", "@RequestMapping(\"/customers\")",
+        "public class CustomersController extends ex.base.AbstractController {");
+    File cache = new File(dir, "extraction.cache");
+    extractIncrementally(cache, null);
+    writeSource(new File(dir, "orders"), "ex.orders", "OrdersController", "@RequestMapping(\"/orders\")",
+        "public class OrdersController extends ex.base.AbstractController {",
+        "  @RequestMapping(method = RequestMethod.DELETE)", "  public void delete() {", "  }");
+
+    String incrementalRadl = extractIncrementally(cache, Collections.singleton(orders));
+    String fullRadl = extractWithThreads(1);
+
+    assertTrue("Missing new method", incrementalRadl.contains("DELETE"));
+    assertEquals("RADL", fullRadl, incrementalRadl);
+  }
+
+  private String extractIncrementally(File cache, Collection<File> changedSources) {
+    FromJavaExtractOptions options = new FromJavaExtractOptions(Collections.<File>emptyList(),
+        Collections.<File>emptyList(), "", "1.7", null, false);
+    options.setExtractionCache(cache);
+    if (changedSources != null) {
+      options.setChangedSources(changedSources, Collections.<File>emptyList());
+    }
+    return Xml.toString(new FromJavaRadlExtractor().extractFrom("ex", dir, options));
+  }
+
+  private void compile(Collection<File> sources, File classesDir) {
+    classesDir.mkdirs();
+    List<String> arguments = new ArrayList<>(Arrays.asList("-d", classesDir.getPath(), "-cp",
+        System.getProperty("java.class.path"), "-proc:none"));
+    for (File source : sources) {
+      arguments.add(source.getPath());
+    }
+    assertEquals("Compilation", 0, Java.getCompiler().run(null, null, null, arguments.toArray(new String[0])));
+  }
+
+  private void jar(File classesDir, File jar) throws IOException {
+    try (ZipOutputStream stream = new ZipOutputStream(new FileOutputStream(jar))) {
+      addToJar(classesDir, "", stream);
+    }
+  }
+
+  private void addToJar(File file, String path, ZipOutputStream stream) throws IOException {
+    if (file.isDirectory()) {
+      for (File child : file.listFiles()) {
+        addToJar(child, path + child.getName() + (child.isDirectory() ? "/" : ""), stream);
+      }
+    } else {
+      stream.putNextEntry(new ZipEntry(path));
+      stream.write(Files.readAllBytes(file.toPath()));
+      stream.closeEntry();
+    }
+  }
+
+  private String extractFromCompiledClasses(File classes) {
+    FromJavaExtractOptions options = new FromJavaExtractOptions(Collections.<File>emptyList(),
+        Collections.<File>emptyList(), "", "1.7", null, false);
+    options.setCompiledClasses(Collections.singleton(classes));
+    return Xml.toString(new FromJavaRadlExtractor().extractFrom("ex", dir, options));
+  }
+
+  private String extractWithThreads(int numThreads) {
+    FromJavaExtractOptions options = new FromJavaExtractOptions(Collections.<File>emptyList(),
+        Collections.<File>emptyList(), "", "1.7", null, false);
+    options.setNumThreads(numThreads);
+    return Xml.toString(new FromJavaRadlExtractor().extractFrom("ex", dir, options));
+  }
+
+  private File writeSource(File sourceRoot, String packageName, String className, String... lines)
+      throws IOException {
+    File packageDir = new File(sourceRoot, packageName.replace('.', File.separatorChar));
+    packageDir.mkdirs();
+    File result = new File(packageDir, className + ".java");
+    try (PrintWriter writer = new PrintWriter(result, "UTF8")) {
+      writer.println("package " + packageName + ";");
+      writer.println();
+      writer.println("import org.springframework.web.bind.annotation.RequestMapping;");
+      writer.println("import org.springframework.web.bind.annotation.RequestMethod;");
+      writer.println();
+      for (String line : lines) {
+        writer.println(line);
+      }
+      writer.println("}");
+    }
+    return result;
+  }
+
+  private void writeController(File baseDir, String className, String uri) throws IOException {
+    baseDir.mkdirs();
+    try (PrintWriter writer = new PrintWriter(new File(baseDir, className + ".java"), "UTF8")) {
+      writer.println("import org.springframework.web.bind.annotation.RequestMapping;");
+      writer.println("import org.springframework.web.bind.annotation.RequestMethod;");
+      writer.println();
+      writer.println("@RequestMapping(\"" + uri + "\")");
+      writer.println("public class " + className + " {");
+      writer.println("  @RequestMapping(method = RequestMethod.GET)");
+      writer.println("  public void get() {");
+      writer.println("  }");
+      writer.println("}");
+    }
+  }
+
   private String aName() {
     return RANDOM.string(5);
   }
@@ -14,7 +14,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import radl.core.extraction.ResourceModel;
-import radl.core.extraction.ResourceModelHolder;
 import radl.java.extraction.test.Project;
 import radl.java.extraction.test.ProjectBuilder;
 import radl.test.TestUtil;
@@ -39,7 +38,7 @@ public class JaxrsProcessorTest extends AbstractRestAnnotationProcessorTest {
 
   @Before
   public void init() {
-    ResourceModelHolder.INSTANCE.set(resourceModel);
+    processor.setExtractionContext(new ExtractionContext(resourceModel));
   }
 
   @Test
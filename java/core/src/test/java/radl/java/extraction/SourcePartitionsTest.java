@@ -0,0 +1,77 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import radl.common.io.IO;
+import radl.test.TestUtil;
+
+
+public class SourcePartitionsTest {
+
+  private final File dir = TestUtil.randomDir(SourcePartitionsTest.class);
+  private final Collection<File> javaFiles = new ArrayList<>();
+
+  @After
+  public void done() {
+    IO.delete(dir);
+  }
+
+  @Test
+  public void partitionsBySourceRoot() throws IOException {
+    File orders = javaFile("orders", "ex.orders", "public class Orders {");
+    File customers = javaFile("customers", "ex.customers", "public class Customers {");
+
+    List<Collection<File>> partitions = new SourcePartitions(javaFiles).getPartitions();
+
+    assertEquals("Partitions", Arrays.asList(Arrays.asList(customers), Arrays.asList(orders)), partitions);
+  }
+
+  private File javaFile(String sourceRoot, String packageName, String declaration) throws IOException {
+    File packageDir = new File(new File(dir, sourceRoot), packageName.replace('.', File.separatorChar));
+    packageDir.mkdirs();
+    File result = new File(packageDir, declaration.split(" ")[2] + ".java");
+    try (PrintWriter writer = new PrintWriter(result, "UTF8")) {
+      writer.println("package " + packageName + ";");
+      writer.println();
+      writer.println(declaration);
+      writer.println("}");
+    }
+    javaFiles.add(result);
+    return result;
+  }
+
+  @Test
+  public void keepsSourceRootsWithRelatedTypesTogether() throws IOException {
+    File base = javaFile("base", "ex.base", "public class Base {");
+    File orders = javaFile("orders", "ex.orders", "public class Orders extends ex.base.Base {");
+    File customers = javaFile("customers", "ex.customers", "public class Customers {");
+
+    List<Collection<File>> partitions = new SourcePartitions(javaFiles).getPartitions();
+
+    assertEquals("Partitions", Arrays.asList(Arrays.asList(base, orders), Arrays.asList(customers)), partitions);
+  }
+
+  @Test
+  public void findsSourceRoots() throws IOException {
+    javaFile("orders", "ex.orders", "public class Orders {");
+
+    Collection<File> sourceRoots = new SourcePartitions(javaFiles).getSourceRoots();
+
+    assertEquals("Source roots", Arrays.asList(new File(dir, "orders").getAbsoluteFile()), sourceRoots);
+  }
+
+}
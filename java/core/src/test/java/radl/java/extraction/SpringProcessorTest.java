@@ -32,8 +32,6 @@ import org.w3c.dom.Document;
 import radl.core.code.Code;
 import radl.core.code.radl.RadlCode;
 import radl.core.extraction.ExtractOptions;
-import radl.core.extraction.ResourceModelHolder;
-import radl.core.extraction.ResourceModelImpl;
 import radl.java.code.Java;
 import radl.java.code.JavaCode;
 
@@ -123,7 +121,6 @@ public class SpringProcessorTest extends AbstractRestAnnotationProcessorTest {
   }
 
   private RadlCode extractRadlFrom(JavaCode code) throws IOException {
-    ResourceModelHolder.INSTANCE.set(new ResourceModelImpl());
     code.writeTo(new File(baseDir, code.typeName() + ".java"));
     ExtractOptions options = new FromJavaExtractOptions(Collections.<File>emptyList(), Collections.<File>emptyList(),
         "", "1.6", null, false);
@@ -0,0 +1,133 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.extraction.bytecode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+
+public class ClassFileTest {
+
+  @Test
+  public void readsClass() throws IOException {
+    ClassFile classFile = read(Fixture.class);
+
+    assertEquals("Name", "radl/java/extraction/bytecode/ClassFileTest$Fixture", classFile.getName());
+    assertEquals("Super class", "java/lang/Object", classFile.getSuperName());
+    assertEquals("Interfaces", Arrays.asList("java/util/concurrent/Callable"), classFile.getInterfaces());
+    assertTrue("Abstract", (classFile.getAccess() & ClassFile.ACC_ABSTRACT) != 0);
+  }
+
+  private ClassFile read(Class<?> type) throws IOException {
+    try (InputStream stream = type.getResourceAsStream('/' + type.getName().replace('.', '/') + ".class")) {
+      return ClassFile.read(stream);
+    }
+  }
+
+  @Test
+  public void readsMemberClass() throws IOException {
+    ClassFile classFile = read(Fixture.class);
+
+    assertEquals("Outer class", "radl/java/extraction/bytecode/ClassFileTest", classFile.getOuterName());
+    assertEquals("Simple name", "Fixture", classFile.getSimpleName());
+    assertFalse("Local", classFile.isLocal());
+  }
+
+  @Test
+  public void readsLocalClass() throws IOException {
+    Object local = new Object() { };
+
+    assertTrue("Anonymous class", read(local.getClass()).isLocal());
+  }
+
+  @Test
+  public void readsAnnotations() throws IOException {
+    ClassFile.Annotation annotation = read(Fixture.class).getAnnotations().get(0);
+
+    assertEquals("Type", "radl/java/extraction/bytecode/ClassFileTest$Mapping", annotation.getType());
+    assertEquals("String", "/fixtures", annotation.getValues().get("value"));
+    List<?> methods = (List<?>)annotation.getValues().get("methods");
+    ClassFile.EnumConstant method = (ClassFile.EnumConstant)methods.get(0);
+    assertEquals("Enum type", "java/lang/annotation/ElementType", method.getType());
+    assertEquals("Enum constant", "TYPE", method.getName());
+    assertEquals("Int", 42, annotation.getValues().get("number"));
+  }
+
+  @Test
+  public void readsMethods() throws IOException {
+    ClassFile.Method method = methodNamed(read(Fixture.class), "update");
+
+    assertEquals("Descriptor", "(JLjava/lang/String;)Ljava/lang/Object;", method.getDescriptor());
+    assertEquals("Method annotations", "radl/java/extraction/bytecode/ClassFileTest$Mapping",
+        method.getAnnotations().get(0).getType());
+    assertTrue("Annotations on first parameter", method.getParameterAnnotations(0).isEmpty());
+    assertEquals("Annotations on second parameter", "{value=name}",
+        method.getParameterAnnotations(1).get(0).getValues().toString());
+  }
+
+  private ClassFile.Method methodNamed(ClassFile classFile, String name) {
+    for (ClassFile.Method result : classFile.getMethods()) {
+      if (name.equals(result.getName())) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void readsDescriptors() {
+    assertEquals("Parameters", Arrays.asList("J", "[[I", "Ljava/lang/String;"),
+        Descriptors.parameterTypes("(J[[ILjava/lang/String;)V"));
+    assertEquals("Return type", "V", Descriptors.returnType("(J[[ILjava/lang/String;)V"));
+    assertEquals("Class", "java/lang/String", Descriptors.internalName("Ljava/lang/String;"));
+    assertNull("Array", Descriptors.internalName("[Ljava/lang/String;"));
+  }
+
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Mapping {
+
+    String value() default "";
+
+    ElementType[] methods() default { };
+
+    int number() default 0;
+
+  }
+
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.PARAMETER)
+  @interface Param {
+
+    String value();
+
+  }
+
+
+  @Mapping(value = "/fixtures", methods = ElementType.TYPE, number = 42)
+  abstract static class Fixture implements Callable<String> {
+
+    @Mapping
+    public Object update(long id, @Param("name") String name) {
+      return id + name;
+    }
+
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.core.generation.Module;
+import radl.java.code.Java;
+import radl.java.code.JavaCode;
+import radl.test.RadlBuilder;
+
+
+public class ClientsGeneratorTest extends AbstractSpringCodeGeneratorTestCase {
+
+  private static final String HYPERMEDIA_CLIENT = "HypermediaClient";
+  private static final String START_TRANSITION = "Start";
+
+  private final String billboard = aName();
+  private final String home = aName();
+  private final String order = aName();
+  private final String ordered = aName();
+  private final String placeOrder = aName();
+  private final String linkRelation = aUri();
+  private final String orders = aName();
+  private final Document radl = RadlBuilder.aRadlDocument()
+      .withStates()
+          .startingAt(home)
+          .withState(home)
+              .containing(home)
+              .withTransition(placeOrder, ordered)
+                  .withInput(order)
+              .end()
+          .end()
+          .withState(ordered)
+              .containing(order)
+          .end()
+      .end()
+      .withPropertyGroup()
+          .named(home)
+      .end()
+      .withPropertyGroup()
+          .named(order)
+          .withProperty(aName())
+          .end()
+      .end()
+      .withMediaTypes(true, JSON_LD)
+      .withLinkRelations()
+          .withLinkRelation(linkRelation, null)
+              .implementing(placeOrder)
+          .end()
+      .end()
+      .withResource()
+          .named(billboard)
+          .locatedAt("/")
+          .withMethod("GET")
+              .transitioningTo(START_TRANSITION)
+              .producing()
+          .end()
+      .end()
+      .withResource()
+          .named(orders)
+          .locatedAtTemplate("/orders/{id}")
+          .withMethod("POST")
+              .transitioningTo(placeOrder)
+              .consuming()
+              .producing()
+          .end()
+      .end()
+  .build();
+
+  @Test
+  public void generatesTypedClientPerResource() {
+    JavaCode client = getType(generateClient(), typeName(orders, "Client"));
+
+    assertEquals("Arguments", "String id, " + dtoName(order) + " input", client.methodArguments("post"));
+    assertEquals("Returns", dtoName(order), client.methodReturns("post"));
+    assertTrue("Exchange\n" + client, client.toString().contains(
+        "return client.exchange(HttpMethod.POST, client.uri(URI, id),"));
+    assertTrue("Async\n" + client, client.toString().contains(
+        String.format("public Future<%s> postAsync(final String id, final %<s input) {", dtoName(order))));
+  }
+
+  private Iterable<Code> generateClient() {
+    return generateClient(radl);
+  }
+
+  private Iterable<Code> generateClient(Document document) {
+    Module input = new Module(new RadlCode(document));
+    Module generated = new Module();
+    new SpringClientCodeBaseGenerator(packagePrefix).generate(Arrays.asList(input), Arrays.asList(generated));
+    return generated;
+  }
+
+  @Test
+  public void generatesPooledTransport() {
+    JavaCode transport = getType(generateClient(), "RestClient");
+
+    assertTrue("Pooling\n" + transport, transport.toString().contains(
+        "new PoolingHttpClientConnectionManager()"));
+    assertTrue("Async\n" + transport, transport.toString().contains("public <T> Future<T> async(Callable<T> call)"));
+  }
+
+  @Test
+  public void generatesTransportWithoutHypermediaForPlainServices() {
+    Document plainRadl = RadlBuilder.aRadlDocument()
+        .withResource()
+            .named(orders)
+            .locatedAt("/orders")
+            .withMethod("GET")
+            .end()
+        .end()
+    .build();
+
+    JavaCode transport = getType(generateClient(plainRadl), "RestClient");
+
+    for (String type : transport.imports()) {
+      assertFalse("Hypermedia import: " + type, type.startsWith("org.springframework.hateoas."));
+    }
+    assertFalse("Follows links\n" + transport, transport.methods().contains("linkHref"));
+  }
+
+  @Test
+  public void followsLinksOfStateTransitions() {
+    JavaCode client = getType(generateClient(), HYPERMEDIA_CLIENT);
+
+    String method = Java.toIdentifier(placeOrder, false);
+    assertEquals("Arguments", dtoName(home) + " from, " + dtoName(order) + " input", client.methodArguments(method));
+    assertTrue("Follows link\n" + client, client.toString().contains(
+        String.format("client.linkHref(from, \"%s\")", linkRelation)));
+  }
+
+  @Test
+  public void fetchesBillboardOnce() {
+    JavaCode client = getType(generateClient(), HYPERMEDIA_CLIENT);
+
+    String method = "start";
+    assertEquals("Returns", dtoName(home), client.methodReturns(method));
+    assertTrue("Cache\n" + client, client.toString().contains(
+        String.format("private volatile %s %sResult;", dtoName(home), method)));
+  }
+
+}
@@ -4,6 +4,7 @@
 package radl.java.generation.spring;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -17,6 +18,7 @@ import org.w3c.dom.Document;
 import radl.core.code.Code;
 import radl.java.code.JavaCode;
 import radl.test.RadlBuilder;
+import radl.test.StateBuilder;
 import radl.test.TestUtil;
 
 
@@ -341,8 +343,8 @@ public class ControllerGeneratorTest extends AbstractSpringCodeGeneratorTestCase
 
     JavaCode actions = getType(sources, TYPE_ACTIONS);
     String transitionConstant = transition.toUpperCase(Locale.getDefault());
-    assertTrue("Support doesn't have constant for transition: " + actions.fieldNames(),
-        actions.fieldNames().contains(transitionConstant));
+    assertTrue("Support doesn't have constant for transition: " + actions.enumConstants(),
+        actions.enumConstants().contains(transitionConstant));
 
     JavaCode controller1 = getType(sources, controllerName(state1));
     String controllerName2 = controllerName(state2);
@@ -495,5 +497,71 @@ public class ControllerGeneratorTest extends AbstractSpringCodeGeneratorTestCase
     assertTrue("Missing method call: " + methodCall,
         controller.methodBody(javaMethodName(httpMethod1)).contains(methodCall));
   }
-  
+
+  @Test
+  public void addsCacheHeadersToCacheableResponses() {
+    String state = aName();
+    String resource1 = aName();
+    String resource2 = aName();
+    Document radl = RadlBuilder.aRadlDocument()
+        .withStates()
+            .startingAt(state)
+            .withState(state)
+                .cachedFor(60)
+            .end()
+        .end()
+        .withResource()
+            .named(resource1)
+            .withMethod("GET")
+                .transitioningTo("Start")
+            .end()
+        .end()
+        .withResource()
+            .named(resource2)
+            .withMethod("GET")
+            .end()
+        .end()
+    .build();
+
+    Iterable<Code> sources = radlToCode(radl);
+
+    JavaCode controller1 = getType(sources, controllerName(resource1));
+    String body = controller1.methodBody("get");
+    assertTrue("Cache-Control: " + body, body.contains("headers.setCacheControl(\"max-age=60\");"));
+    assertTrue("Vary: " + body, body.contains("headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);"));
+    assertTrue("Response: " + body, body.contains("new ResponseEntity<Void>(headers, response.getStatus());"));
+    JavaCode controller2 = getType(sources, controllerName(resource2));
+    assertFalse("Cacheable: " + controller2, controller2.methodBody("get").contains("headers"));
+  }
+
+  @Test
+  public void tracksDeniedTransitionsInBitsetIndexedByActionOrdinal() {
+    int numTransitions = RANDOM.integer(65, 100);
+    String state1 = aName();
+    String state2 = aName();
+    StateBuilder state = RadlBuilder.aRadlDocument()
+        .withMediaTypes(true, JSON_LD)
+        .withStates()
+            .startingAt(state1)
+            .withState(state2)
+            .end()
+            .withState(state1);
+    for (int i = 0; i < numTransitions; i++) {
+      state.transitioningTo(String.format("t%03d", i), state2);
+    }
+    Document radl = state.end().end().build();
+
+    Iterable<Code> sources = radlToCode(radl);
+
+    JavaCode actions = getType(sources, TYPE_ACTIONS);
+    assertTrue("Actions should be an enum", actions.isEnum());
+    assertEquals("#actions", numTransitions, actions.enumConstants().size());
+    assertEquals("First action", "T000", actions.enumConstants().get(0));
+    JavaCode response = getType(sources, "RestResponse<T>");
+    assertEquals("Bitset", String.format("new long[%d]", (numTransitions + 63) / 64),
+        response.fieldValue("deniedActions"));
+    assertEquals("Deny argument", "Actions action", response.methodArguments("deny"));
+    assertEquals("Allows argument", "Actions action", response.methodArguments("allows"));
+  }
+
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import radl.common.io.IO;
+import radl.common.xml.Xml;
+import radl.core.scm.SourceCodeManagementSystem;
+import radl.test.RadlBuilder;
+import radl.test.TestUtil;
+
+
+/**
+ * Compiles a generated client and runs it against a stand-in for the service.
+ */
+public class GeneratedClientTest {
+
+  private static final String PACKAGE_PREFIX = "radl.sample.client";
+  private static final String GENERATED_SOURCE_SET_DIR = "generated";
+  private static final String HAL = "application/hal+json";
+  private static final String LINK_RELATION = "http://example.com/rel/place-order";
+  private static final String ORDERS = "/orders/42";
+  private static final int NUM_CALLS = 5;
+
+  private final File baseDir = TestUtil.randomDir(GeneratedClientTest.class);
+  private final File classesDir = new File(baseDir, "classes");
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+  private final Collection<Integer> connections = Collections.synchronizedSet(new HashSet<Integer>());
+  private HttpServer server;
+  private String serviceUri;
+  private ClassLoader classLoader;
+  private Object restClient;
+
+  @Before
+  public void init() throws Exception {
+    IO.delete(baseDir);
+    classesDir.mkdirs();
+    startService();
+    generateClient();
+    compileClient();
+    classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, getClass().getClassLoader());
+    restClient = newInstance("client.RestClient", serviceUri);
+  }
+
+  private void startService() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(exchange.getRequestMethod() + ' ' + path);
+        connections.add(exchange.getRemoteAddress().getPort());
+        String request = read(exchange.getRequestBody());
+        String response;
+        if ("/".equals(path)) {
+          response = String.format("{ \"_links\": { \"%s\": { \"href\": \"%s%s\" } } }", LINK_RELATION, serviceUri,
+              ORDERS);
+        } else {
+          response = request;
+        }
+        byte[] bytes = response.getBytes("UTF8");
+        exchange.getResponseHeaders().set("Content-Type", HAL);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+          output.write(bytes);
+        }
+      }
+    });
+    server.start();
+    serviceUri = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  private String read(InputStream input) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int numRead = input.read(buffer);
+    while (numRead > 0) {
+      result.write(buffer, 0, numRead);
+      numRead = input.read(buffer);
+    }
+    return result.toString("UTF8");
+  }
+
+  private void generateClient() throws IOException {
+    Document radl = RadlBuilder.aRadlDocument()
+        .withStates()
+            .startingAt("home")
+            .withState("home")
+                .containing("home")
+                .withTransition("placeOrder", "ordered")
+                    .withInput("order")
+                .end()
+            .end()
+            .withState("ordered")
+                .containing("order")
+            .end()
+        .end()
+        .withPropertyGroup()
+            .named("home")
+        .end()
+        .withPropertyGroup()
+            .named("order")
+            .withProperty("product")
+            .end()
+        .end()
+        .withMediaTypes(true, HAL)
+        .withLinkRelations()
+            .withLinkRelation(LINK_RELATION, null)
+                .implementing("placeOrder")
+            .end()
+        .end()
+        .withResource()
+            .named("billboard")
+            .locatedAt("/")
+            .withMethod("GET")
+                .transitioningTo("Start")
+                .producing()
+            .end()
+        .end()
+        .withResource()
+            .named("orders")
+            .locatedAtTemplate("/orders/{id}")
+            .withMethod("POST")
+                .transitioningTo("placeOrder")
+                .consuming()
+                .producing()
+            .end()
+        .end()
+    .build();
+    File radlFile = new File(baseDir, "sample.radl");
+    try (PrintWriter writer = new PrintWriter(radlFile, "UTF8")) {
+      writer.print(Xml.toString(radl));
+    }
+    new RadlToSpringClient().generate(radlFile, baseDir, PACKAGE_PREFIX, GENERATED_SOURCE_SET_DIR,
+        mock(SourceCodeManagementSystem.class), null);
+  }
+
+  private void compileClient() throws URISyntaxException {
+    List<String> arguments = new ArrayList<>();
+    arguments.add("-classpath");
+    arguments.add(getClassPath());
+    arguments.add("-d");
+    arguments.add(classesDir.getPath());
+    addSources(new File(baseDir, GENERATED_SOURCE_SET_DIR), arguments);
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assertEquals("Compiling generated client", 0, compiler.run(null, null, null,
+        arguments.toArray(new String[arguments.size()])));
+  }
+
+  private String getClassPath() throws URISyntaxException {
+    StringBuilder result = new StringBuilder(System.getProperty("java.class.path"));
+    for (ClassLoader cl = getClass().getClassLoader(); cl != null; cl = cl.getParent()) {
+      if (cl instanceof URLClassLoader) {
+        for (URL url : ((URLClassLoader)cl).getURLs()) {
+          result.append(File.pathSeparator).append(new File(url.toURI()).getPath());
+        }
+      }
+    }
+    return result.toString();
+  }
+
+  private void addSources(File dir, Collection<String> sources) {
+    for (File file : dir.listFiles()) {
+      if (file.isDirectory()) {
+        addSources(file, sources);
+      } else if (file.getName().endsWith(".java")) {
+        sources.add(file.getPath());
+      }
+    }
+  }
+
+  @After
+  public void done() throws IOException {
+    if (restClient != null) {
+      ((Closeable)restClient).close();
+    }
+    server.stop(0);
+    IO.delete(baseDir);
+  }
+
+  @Test
+  public void reusesConnections() throws Exception {
+    Object ordersClient = newInstance("order.OrdersClient", restClient);
+
+    for (int i = 0; i < NUM_CALLS; i++) {
+      invoke(ordersClient, "post", "42", anOrder("product" + i));
+    }
+
+    assertEquals("Requests", NUM_CALLS, requests.size());
+    assertEquals("Connections", 1, connections.size());
+  }
+
+  @Test
+  public void sendsCallsAsynchronouslyAndInBatches() throws Exception {
+    Object ordersClient = newInstance("order.OrdersClient", restClient);
+    Future<?> async = (Future<?>)invoke(ordersClient, "postAsync", "42", anOrder("async"));
+    List<Callable<Object>> calls = new ArrayList<>();
+    for (int i = 0; i < NUM_CALLS; i++) {
+      calls.add(postCall(ordersClient, anOrder("batch" + i)));
+    }
+
+    List<?> batch = (List<?>)invoke(restClient, "batch", calls);
+
+    assertEquals("Async", "async", productOf(async.get()));
+    assertEquals("Batch size", NUM_CALLS, batch.size());
+    for (int i = 0; i < NUM_CALLS; i++) {
+      assertEquals("Batch #" + i, "batch" + i, productOf(batch.get(i)));
+    }
+    assertEquals("Requests", NUM_CALLS + 1, requests.size());
+  }
+
+  private Callable<Object> postCall(final Object ordersClient, final Object order) {
+    return new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        return invoke(ordersClient, "post", "42", order);
+      }
+    };
+  }
+
+  @Test
+  public void followsLinks() throws Exception {
+    Object hypermediaClient = newInstance("client.HypermediaClient", restClient);
+    Object home = invoke(hypermediaClient, "start");
+
+    Object ordered = invoke(hypermediaClient, "placeOrder", home, anOrder("linked"));
+
+    assertEquals("Ordered", "linked", productOf(ordered));
+    assertEquals("Requests", 2, requests.size());
+    assertTrue("Followed link: " + requests, requests.contains("POST " + ORDERS));
+  }
+
+  private Object anOrder(String product) throws Exception {
+    Object result = newInstance("order.OrderResource");
+    result.getClass().getField("product").set(result, product);
+    return result;
+  }
+
+  private Object productOf(Object order) throws Exception {
+    return order.getClass().getField("product").get(order);
+  }
+
+  private Object newInstance(String type, Object... arguments) throws Exception {
+    Class<?> clazz = classLoader.loadClass(PACKAGE_PREFIX + '.' + type);
+    Class<?>[] parameterTypes = new Class<?>[arguments.length];
+    for (int i = 0; i < arguments.length; i++) {
+      parameterTypes[i] = arguments[i] instanceof String ? String.class : arguments[i].getClass();
+    }
+    return clazz.getConstructor(parameterTypes).newInstance(arguments);
+  }
+
+  private Object invoke(Object target, String name, Object... arguments) throws Exception {
+    for (Method method : target.getClass().getMethods()) {
+      if (method.getName().equals(name) && method.getParameterTypes().length == arguments.length) {
+        try {
+          return method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+          throw (Exception)e.getCause();
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unknown method: " + name);
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.core.generation.Module;
+import radl.java.code.JavaCode;
+import radl.test.RadlBuilder;
+
+
+public class JsonSerializersGeneratorTest extends AbstractSpringCodeGeneratorTestCase {
+
+  private final String data = aName();
+  private final String text = aName();
+  private final String number = aName();
+  private final String texts = aName();
+  private final Document radl = RadlBuilder.aRadlDocument()
+      .withPropertyGroup()
+          .named(data)
+          .withProperty(text)
+          .end()
+          .withProperty(number)
+              .as("number")
+          .end()
+          .withProperty(texts)
+              .repeating()
+          .end()
+      .end()
+  .build();
+
+  @Test
+  public void generatesSerializerForDto() {
+    JavaCode serializer = getType(generateWithJsonSerializers(true), dtoName(data) + "Serializer");
+
+    assertEquals("Package", packagePrefix + '.' + data, serializer.packageName());
+    assertEquals("Super type", "JsonSerializer<" + dtoName(data) + '>', serializer.superTypeName());
+    String textField = getFieldWithValue(serializer, "new SerializedString(" + quote(text) + ')');
+    String serialize = serializer.toString();
+    assertTrue("Writes text\n" + serialize, serialize.contains("generator.writeFieldName(" + textField + ");"));
+    assertTrue("Writes text value\n" + serialize, serialize.contains("generator.writeString(value." + text + ");"));
+    assertTrue("Writes number value\n" + serialize,
+        serialize.contains("generator.writeNumber(value." + number + ");"));
+    assertTrue("Writes repeating value\n" + serialize, serialize.contains("for (String item : value." + texts + "s)"));
+  }
+
+  @Test
+  public void generatesDeserializerForDto() {
+    JavaCode deserializer = getType(generateWithJsonSerializers(true), dtoName(data) + "Deserializer");
+
+    assertEquals("Super type", "JsonDeserializer<" + dtoName(data) + '>', deserializer.superTypeName());
+    String deserialize = deserializer.toString();
+    assertTrue("Reads text\n" + deserialize,
+        deserialize.contains("result." + text + " = parser.getValueAsString();"));
+    assertTrue("Reads number\n" + deserialize,
+        deserialize.contains("result." + number + " = parser.getValueAsDouble();"));
+    assertTrue("Skips unknown fields\n" + deserialize, deserialize.contains("parser.skipChildren();"));
+  }
+
+  @Test
+  public void registersSerializersInModule() {
+    Iterable<Code> sources = generateWithJsonSerializers(true);
+    JavaCode dto = getType(sources, dtoName(data));
+    JavaCode module = getType(sources, JsonSerializersGenerator.JSON_MODULE_TYPE);
+
+    assertEquals("Super type", "SimpleModule", module.superTypeName());
+    assertImports(Arrays.asList(dto.fullyQualifiedName(), dto.fullyQualifiedName() + "Serializer",
+        dto.fullyQualifiedName() + "Deserializer"), module);
+    assertTrue("Registers serializer\n" + module,
+        module.toString().contains(String.format("addSerializer(%1$s.class, new %1$sSerializer());", dto.typeName())));
+    assertTrue("Registers deserializer\n" + module, module.toString().contains(
+        String.format("addDeserializer(%1$s.class, new %1$sDeserializer());", dto.typeName())));
+  }
+
+  @Test
+  public void generatesNoSerializersByDefault() {
+    for (Code source : generateWithJsonSerializers(false)) {
+      String type = ((JavaCode)source).typeName();
+      assertFalse("Unexpected type: " + type, type.endsWith("Serializer")
+          || JsonSerializersGenerator.JSON_MODULE_TYPE.equals(type));
+    }
+  }
+
+  @Test
+  public void generatesNoSerializersForHypermediaDtos() {
+    Document hypermediaRadl = RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withProperty(text)
+            .end()
+        .end()
+        .withMediaTypes(true, JSON_LD)
+    .build();
+
+    for (Code source : generateWithJsonSerializers(hypermediaRadl, true)) {
+      String type = ((JavaCode)source).typeName();
+      assertFalse("Unexpected type: " + type, type.endsWith("Serializer")
+          || JsonSerializersGenerator.JSON_MODULE_TYPE.equals(type));
+    }
+  }
+
+  private Iterable<Code> generateWithJsonSerializers(boolean generateJsonSerializers) {
+    return generateWithJsonSerializers(radl, generateJsonSerializers);
+  }
+
+  private Iterable<Code> generateWithJsonSerializers(Document document, boolean generateJsonSerializers) {
+    Module input = new Module(new RadlCode(document));
+    Module generated = new Module();
+    Module skeleton = new Module();
+    new SpringCodeBaseGenerator(packagePrefix, null, generateJsonSerializers).generate(Arrays.asList(input),
+        Arrays.asList(generated, skeleton));
+    Collection<Code> result = new ArrayList<>();
+    result.addAll(generated);
+    result.addAll(skeleton);
+    return result;
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.common.io.IO;
+import radl.common.xml.Xml;
+import radl.core.cli.Arguments;
+import radl.core.scm.SourceCodeManagementSystem;
+import radl.test.RadlBuilder;
+import radl.test.RandomData;
+import radl.test.TestUtil;
+
+
+public class RadlToSpringClientTest {
+
+  private static final RandomData RANDOM = new RandomData();
+
+  private final File radlFile = new File(TestUtil.randomDir(RadlToSpringClientTest.class), RANDOM.string() + ".radl");
+  private final File baseDir = TestUtil.randomDir(RadlToSpringClientTest.class);
+
+  @Before
+  public void init() throws IOException {
+    IO.delete(baseDir);
+    radlFile.getParentFile().mkdirs();
+    Document radlDocument = RadlBuilder.aRadlDocument()
+        .withResource()
+            .named("billboard")
+            .locatedAt("/")
+            .withMethod("GET")
+            .end()
+        .end()
+    .build();
+    try (PrintWriter writer = new PrintWriter(radlFile, "UTF8")) {
+      writer.print(Xml.toString(radlDocument));
+    }
+  }
+
+  @After
+  public void done() {
+    IO.delete(radlFile);
+    IO.delete(baseDir);
+  }
+
+  @Test
+  public void generatesClientSourceFilesFromRadl() {
+    String packagePrefix = "com." + RANDOM.string(3);
+    String generatedSourceSetDir = RANDOM.string(8);
+
+    new RadlToSpringClient().generate(radlFile, baseDir, packagePrefix, generatedSourceSetDir,
+        mock(SourceCodeManagementSystem.class), RANDOM.string());
+
+    File packageDir = new File(baseDir, generatedSourceSetDir + File.separator
+        + packagePrefix.replace('.', File.separatorChar));
+    assertTrue("Missing transport", new File(packageDir, "client/RestClient.java").isFile());
+    assertTrue("Missing resource client", new File(packageDir, "billboard/BillboardClient.java").isFile());
+  }
+
+  @Test
+  public void runsFromCommandLine() {
+    String generatedSourceSetDir = RANDOM.string(8);
+
+    int exitCode = new RadlToSpringClient().run(new Arguments(new String[] { radlFile.getPath(), baseDir.getPath(),
+        "radl.sample.client", generatedSourceSetDir }));
+
+    assertEquals("Exit code", 0, exitCode);
+    File transport = new File(baseDir, generatedSourceSetDir + "/radl/sample/client/client/RestClient.java");
+    assertTrue("Missing transport", transport.isFile());
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.core.code.Code;
+import radl.core.code.radl.RadlCode;
+import radl.core.generation.Module;
+import radl.java.code.JavaCode;
+import radl.test.RadlBuilder;
+
+
+public class ResponseCacheGeneratorTest extends AbstractSpringCodeGeneratorTestCase {
+
+  private final Document radl = RadlBuilder.aRadlDocument()
+      .withResource()
+          .named(aName())
+          .cachedFor(60)
+          .withMethod("GET")
+          .end()
+      .end()
+  .build();
+
+  @Test
+  public void generatesResponseCacheFilter() {
+    JavaCode cache = getType(generateWithResponseCache(true), ResponseCacheGenerator.RESPONSE_CACHE_TYPE);
+
+    assertEquals("Package", packagePrefix + ".impl", cache.packageName());
+    assertEquals("Super type", "OncePerRequestFilter", cache.superTypeName());
+    String filter = cache.toString();
+    assertTrue("Keyed by URI and Accept\n" + filter,
+        filter.contains("String key = uri + KEY_SEPARATOR + request.getHeader(HttpHeaders.ACCEPT);"));
+    assertTrue("Expires\n" + filter, filter.contains("now + TimeUnit.SECONDS.toMillis(maxAge)"));
+  }
+
+  @Test
+  public void generatesNoResponseCacheByDefault() {
+    for (Code source : generateWithResponseCache(false)) {
+      String type = ((JavaCode)source).typeName();
+      assertFalse("Unexpected type: " + type, ResponseCacheGenerator.RESPONSE_CACHE_TYPE.equals(type));
+    }
+  }
+
+  private Iterable<Code> generateWithResponseCache(boolean generateResponseCache) {
+    Module input = new Module(new RadlCode(radl));
+    Module generated = new Module();
+    Module skeleton = new Module();
+    new SpringCodeBaseGenerator(packagePrefix, null, false, generateResponseCache).generate(Arrays.asList(input),
+        Arrays.asList(generated, skeleton));
+    return generated;
+  }
+
+}
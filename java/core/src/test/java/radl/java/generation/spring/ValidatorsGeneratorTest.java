@@ -0,0 +1,169 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.java.generation.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import radl.core.code.Code;
+import radl.java.code.JavaCode;
+import radl.test.PropertyGroupBuilder;
+import radl.test.RadlBuilder;
+
+
+public class ValidatorsGeneratorTest extends AbstractSpringCodeGeneratorTestCase {
+
+  private static final String VALIDATOR = "Validator";
+
+  private final String start = aName();
+  private final String transition = aName();
+  private final String target = aName();
+  private final String data = aName();
+  private final String httpMethod = "POST";
+
+  @Test
+  public void generatesValidatorForRequiredInputProperties() {
+    String required = aName();
+    String optional = aName();
+    String requiredRepeating = aName();
+    String requiredNumber = aName();
+    Document radl = radlWithInput(RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withProperty(required)
+                .required()
+            .end()
+            .withProperty(optional)
+            .end()
+            .withProperty(requiredRepeating)
+                .repeating()
+                .required()
+            .end()
+            .withProperty(requiredNumber)
+                .as("number")
+                .required()
+            .end()
+        .end());
+
+    JavaCode validator = generateType(radl, dtoName(data) + VALIDATOR);
+
+    String code = validator.toString();
+    assertTrue("Checks required property\n" + code, code.contains("if (input." + required + " == null) {"));
+    assertTrue("Checks required repeating property\n" + code, code.contains(
+        String.format("if (input.%1$ss == null || input.%1$ss.length == 0) {", requiredRepeating)));
+    assertFalse("Checks optional property\n" + code, code.contains("input." + optional));
+    assertFalse("Checks primitive property\n" + code, code.contains("input." + requiredNumber));
+    assertTrue("Throws validation exception\n" + code,
+        code.contains("throw new InputValidationException(\"Missing required property: " + required + "\");"));
+  }
+
+  private Document radlWithInput(RadlBuilder builder) {
+    return builder
+        .withStates()
+            .startingAt(start)
+            .withState(start)
+                .withTransition(transition, target)
+                    .withInput(data)
+                .end()
+            .end()
+            .withState(target)
+            .end()
+        .end()
+        .withMediaTypes(true, JSON_LD)
+        .withResource()
+            .named(target)
+            .withMethod(httpMethod)
+                .transitioningTo(transition)
+                .consuming()
+            .end()
+        .end()
+    .build();
+  }
+
+  @Test
+  public void validatesNestedPropertyGroups() {
+    String nested = aName();
+    String property = aName();
+    PropertyGroupBuilder propertyGroup = RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withPropertyGroup()
+                .named(nested)
+                .withProperty(property)
+                    .required()
+                .end()
+            .endNested();
+    Document radl = radlWithInput(propertyGroup.end());
+
+    Iterable<Code> sources = radlToCode(radl);
+
+    JavaCode nestedValidator = getType(sources, dtoName(nested) + VALIDATOR);
+    assertTrue("Nested check\n" + nestedValidator,
+        nestedValidator.toString().contains("if (input." + property + " == null) {"));
+    JavaCode validator = getType(sources, dtoName(data) + VALIDATOR);
+    assertTrue("Delegates to nested validator\n" + validator, validator.toString().contains(
+        String.format("%s%s.validate(input.%s);", dtoName(nested), VALIDATOR, nested)));
+  }
+
+  @Test
+  public void controllerValidatesInputBeforeCallingSupport() {
+    Document radl = radlWithInput(RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withProperty(aName())
+                .required()
+            .end()
+        .end());
+
+    JavaCode controller = generateController(radl, target);
+
+    String body = controller.methodBody(javaMethodName(httpMethod));
+    int validation = body.indexOf(dtoName(data) + VALIDATOR + ".validate(input);");
+    assertTrue("Missing validation\n" + body, validation >= 0);
+    assertTrue("Validation after support call\n" + body, validation < body.indexOf("support."));
+  }
+
+  @Test
+  public void handlesInvalidInputAsBadRequest() {
+    Document radl = radlWithInput(RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withProperty(aName())
+                .required()
+            .end()
+        .end());
+
+    Iterable<Code> sources = radlToCode(radl);
+
+    JavaCode exception = getType(sources, "InputValidationException");
+    assertEquals("Exception super type", "RuntimeException", exception.superTypeName());
+    JavaCode errorHandler = getType(sources, "CentralErrorHandler");
+    assertTrue("Missing handler\n" + errorHandler, errorHandler.toString().contains(
+        "@ExceptionHandler({ InputValidationException.class })"));
+    assertTrue("Missing status\n" + errorHandler, errorHandler.toString().contains("HttpStatus.BAD_REQUEST"));
+    assertFalse("Handles all illegal arguments\n" + errorHandler, errorHandler.toString().contains(
+        "IllegalArgumentException"));
+  }
+
+  @Test
+  public void generatesNoValidatorsWithoutConstraints() {
+    Document radl = radlWithInput(RadlBuilder.aRadlDocument()
+        .withPropertyGroup()
+            .named(data)
+            .withProperty(aName())
+            .end()
+        .end());
+
+    for (Code source : radlToCode(radl)) {
+      String type = ((JavaCode)source).typeName();
+      assertFalse("Unexpected type: " + type, type.endsWith(VALIDATOR) || "CentralErrorHandler".equals(type)
+          || "InputValidationException".equals(type));
+    }
+  }
+
+}
@@ -55,6 +55,11 @@ public class MethodBuilder {
     return this;
   }
 
+  public MethodBuilder cachedFor(int seconds) {
+    builder().attribute("cache-max-age", Integer.toString(seconds));
+    return this;
+  }
+
   public MethodBuilder and(String method) {
     builder().end();
     return new MethodBuilder(parent, method);
@@ -31,6 +31,11 @@ public class PropertyBuilder {
     return this;
   }
 
+  public PropertyBuilder required() {
+    builder().attribute("required", "true");
+    return this;
+  }
+
   public PropertyBuilder meaning(String uri) {
     builder().attribute("uri", uri);
     return this;
@@ -78,6 +78,11 @@ public class PropertyGroupBuilder implements PropertGroupContainer {
     return new PropertyGroupBuilder(this);
   }
 
+  public PropertyGroupBuilder required() {
+    builder().attribute("required", "true");
+    return this;
+  }
+
   public PropertyGroupBuilder referencing(String name) {
     builder().attribute("ref", name);
     return this;
@@ -68,6 +68,11 @@ public class ResourceBuilder {
     return located("uri-template", uriTemplate);
   }
 
+  public ResourceBuilder cachedFor(int seconds) {
+    builder().attribute("cache-max-age", Integer.toString(seconds));
+    return this;
+  }
+
   public RadlBuilder end() {
     ensureName();
     builder().end();
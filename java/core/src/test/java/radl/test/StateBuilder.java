@@ -40,4 +40,9 @@ public class StateBuilder {
     builder().attribute("property-group", propertyGroup);
     return this;
   }
+
+  public StateBuilder cachedFor(int seconds) {
+    builder().attribute("cache-max-age", Integer.toString(seconds));
+    return this;
+  }
 }
@@ -12,9 +12,8 @@ import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import radl.core.PluginRegistry;
 import radl.core.validation.CompositeValidator;
-import radl.core.validation.LintValidator;
-import radl.core.validation.RelaxNgValidator;
 import radl.core.validation.Validator;
 
 
@@ -28,7 +27,7 @@ public class RadlBuilder extends IncrementalProjectBuilder {
   private final RadlValidatingVisitor radlValidatingVisitor;
 
   public RadlBuilder() {
-    this(new CompositeValidator(new RelaxNgValidator(), new LintValidator()));
+    this(new CompositeValidator(PluginRegistry.newInstances(Validator.class, Validator.class.getClassLoader())));
   }
 
   RadlBuilder(Validator validator) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.TaskAction
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs
+
+
+/**
+ * Extracts a RADL document from the Java code of all the projects in the build. When only Java sources changed since
+ * the last run, just those sources and the ones that depend on them are processed again. The results for the other
+ * sources come from the extraction cache.
+ */
+class ExtractRadlTask extends RadlTask {
+
+  @InputFiles
+  FileCollection sourceDirs
+
+  @InputFile
+  @Optional
+  File extractionPropertiesFile
+
+  @Input
+  String serviceName
+
+  @Input
+  String scm
+
+  @Input
+  boolean serializeModel
+
+  @Input
+  String javaVersion
+
+  @OutputFile
+  File radlFile
+
+  @OutputFile
+  File extractionCache
+
+  @Input
+  @Optional
+  def extraProcessors
+
+  @InputFiles
+  @Optional
+  def extraSourceDir
+
+  File argumentsFile
+  File baseDir
+  def extractionClasspath
+  def preExtracts = []
+  boolean keepArgumentsFile
+
+  private String resolvedClasspath
+  private boolean classpathResolved
+
+  /**
+   * @return The files on the class path that extraction uses, so that Gradle runs the task again when they change
+   */
+  @InputFiles
+  @Optional
+  FileCollection getResolvedExtractionClasspath() {
+    def path = resolveExtractionClasspath()
+    path == null ? null : project.files(path.split(File.pathSeparator))
+  }
+
+  /*
+   * Resolving the class path resolves configurations, so do it once for both the up-to-date check and the arguments
+   * file.
+   */
+  private String resolveExtractionClasspath() {
+    if (!classpathResolved) {
+      resolvedClasspath = extractionClasspath == null ? null : extractionClasspath()
+      classpathResolved = true
+    }
+    resolvedClasspath
+  }
+
+  @TaskAction
+  void extract(IncrementalTaskInputs inputs) {
+    def changes = sourceChanges(inputs)
+    preExtracts.each { it() }
+    writeArgumentsFile(changes)
+    try {
+      runRadl 'radl.java.extraction.FromJavaRadlExtractor', ["@$argumentsFile.absolutePath"]
+    } finally {
+      if (!keepArgumentsFile) {
+        argumentsFile.delete()
+      }
+    }
+  }
+
+  /**
+   * @return The changed and removed Java sources, or <code>null</code> when anything else changed
+   */
+  private Map sourceChanges(IncrementalTaskInputs inputs) {
+    if (!inputs.incremental) {
+      return null
+    }
+    def result = [changed: [], removed: []]
+    def sourcesOnly = true
+    inputs.outOfDate { change ->
+      if (isJavaSource(change.file)) {
+        result.changed << change.file
+      } else {
+        sourcesOnly = false
+      }
+    }
+    inputs.removed { change ->
+      if (isJavaSource(change.file)) {
+        result.removed << change.file
+      } else {
+        sourcesOnly = false
+      }
+    }
+    sourcesOnly ? result : null
+  }
+
+  private boolean isJavaSource(File file) {
+    file.name.endsWith('.java') && sourceDirs.any { file.absolutePath.startsWith(it.absolutePath) }
+  }
+
+  private void writeArgumentsFile(Map changes) {
+    def configurationFile = extractionPropertiesFile ?: new File(radlFile.parentFile,
+        "${radlFile.name.substring(0, radlFile.name.lastIndexOf('.'))}.properties")
+    argumentsFile.withWriter { writer ->
+      writer.println "service.name = $serviceName"
+      writer.println "base.dir = ${escape(baseDir.absolutePath)}"
+      writer.println "radl.file = ${escape(radlFile.absolutePath)}"
+      writer.println "configuration.file = ${escape(configurationFile.absolutePath)}"
+      if (extraProcessors != null) {
+        writer.println "extra.processors = $extraProcessors"
+      }
+      if (extraSourceDir != null) {
+        writer.println "extra.source = ${escape(project.fileTree(extraSourceDir).asPath)}"
+      }
+      def path = resolveExtractionClasspath()
+      if (path != null) {
+        writer.println "classpath = ${escape(path)}"
+      }
+      writer.println "java.version = $javaVersion"
+      writer.println "source.code.management.system = $scm"
+      writer.println "serialize.model = $serializeModel"
+      writer.println "extraction.cache = ${escape(extractionCache.absolutePath)}"
+      if (changes != null) {
+        writer.println "changed.sources = ${escape(changes.changed*.absolutePath.join(File.pathSeparator))}"
+        writer.println "removed.sources = ${escape(changes.removed*.absolutePath.join(File.pathSeparator))}"
+      }
+    }
+  }
+
+  def escape(value) {
+    value.replace('\\', '/')
+  }
+
+}
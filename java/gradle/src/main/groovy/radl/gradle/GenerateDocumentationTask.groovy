@@ -0,0 +1,42 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.TaskAction
+
+
+/**
+ * Generates client documentation from a RADL document.
+ */
+class GenerateDocumentationTask extends RadlTask {
+
+  File radlFile
+
+  @InputFiles
+  FileCollection radlFiles
+
+  @Input
+  String cssUrl
+
+  @Input
+  boolean hideLocation
+
+  @OutputDirectory
+  File docsDir
+
+  @TaskAction
+  void generate() {
+    def arguments = [docsDir.absolutePath, cssUrl]
+    if (hideLocation) {
+      arguments += 'hide-location'
+    }
+    arguments += radlFile.absolutePath
+    runRadl 'radl.core.documentation.DocumentationGenerator', arguments
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.TaskAction
+
+
+/**
+ * Generates Spring client code from a RADL document. All the client code is generated, so the generated source
+ * directory is the only output.
+ */
+class Radl2SpringClientTask extends RadlTask {
+
+  File radlFile
+
+  @InputFiles
+  FileCollection radlFiles
+
+  @Input
+  String packagePrefix
+
+  @Input
+  String scm
+
+  @Input
+  String header
+
+  @OutputDirectory
+  File generatedSourceDir
+
+  @TaskAction
+  void generate() {
+    println "-> Generating Spring client classes from $radlFile.name"
+    runRadl 'radl.java.generation.spring.RadlToSpringClient', [radlFile.absolutePath,
+        project.projectDir.absolutePath, packagePrefix, relative(generatedSourceDir), scm, header]
+  }
+
+  def relative(dir) {
+    def base = project.projectDir.path
+    def result = dir.path.startsWith(base) ? dir.path.substring(base.length()) : dir.path
+    result.startsWith(File.separator) ? result.substring(File.separator.length()) : result
+  }
+
+}
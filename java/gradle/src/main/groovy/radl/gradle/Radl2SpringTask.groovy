@@ -0,0 +1,58 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.TaskAction
+
+
+/**
+ * Generates Spring server code from a RADL document. Only the generated source directory is an output: the main
+ * source directory contains code that developers maintain, which the generator merely creates when it's missing.
+ */
+class Radl2SpringTask extends RadlTask {
+
+  File radlFile
+
+  @InputFiles
+  FileCollection radlFiles
+
+  @Input
+  String packagePrefix
+
+  @Input
+  String scm
+
+  @Input
+  String header
+
+  @Input
+  boolean generateJsonSerializers
+
+  @Input
+  boolean generateResponseCache
+
+  File mainSourceDir
+
+  @OutputDirectory
+  File generatedSourceDir
+
+  @TaskAction
+  void generate() {
+    println "-> Generating Spring classes from $radlFile.name"
+    runRadl 'radl.java.generation.spring.RadlToSpringServer', [radlFile.absolutePath, project.projectDir.absolutePath,
+        packagePrefix, relative(generatedSourceDir), relative(mainSourceDir), scm, header,
+        Boolean.toString(generateJsonSerializers), Boolean.toString(generateResponseCache)]
+  }
+
+  def relative(dir) {
+    def base = project.projectDir.path
+    def result = dir.path.startsWith(base) ? dir.path.substring(base.length()) : dir.path
+    result.startsWith(File.separator) ? result.substring(File.separator.length()) : result
+  }
+
+}
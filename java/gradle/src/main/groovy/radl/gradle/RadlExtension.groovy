@@ -23,6 +23,7 @@ class RadlExtension {
   def header = 'Generated by RADL.'
   def serializeModel = false
   def cssUrl
+  def lintConfiguration
 
   def preExtracts = []
   def preExtract(clos) {
@@ -31,6 +32,11 @@ class RadlExtension {
 
   def generateDirName
   def generateSpring = false
+  def generateJsonSerializers = false
+  def generateResponseCache = false
   def springVersion = '4.2.3.RELEASE'
+  def generateSpringClient = false
+  def clientPackagePrefix
+  def httpClientVersion = '4.5.1'
 
 }
@@ -5,7 +5,6 @@ package radl.gradle
 
 import org.gradle.api.Plugin
 import org.gradle.api.Project
-import org.gradle.api.tasks.JavaExec
 
 
 /**
@@ -52,31 +51,36 @@ class RadlPlugin implements Plugin<Project> {
       addValidateRadlTask        project, radlFile
       addRadlToDocumentationTask project, cssUrl, hideLocation, radlFile
       addRadlToSpringTask        project, radlFile
+      addRadlToSpringClientTask  project, radlFile
       addJavaToRadlTask          project, radlFile, serviceName, extractionPropertiesFile
     }
   }
 
   def addValidateRadlTask(project, radlFile) {
-    project.task('validateRadl', type: JavaExec) {
-      main = 'radl.core.validation.RadlValidator'
-      args = [radlFile.path]
-      classpath project.configurations.radl
+    project.task('validateRadl', type: ValidateRadlTask) {
+      configureRadlTask project, it, radlFile
+      if (project.radl.lintConfiguration) {
+        lintConfiguration = project.file(project.radl.lintConfiguration)
+      }
+      issueFile = new File(project.buildDir, 'radl-issues.xml')
     }
     project.check.dependsOn 'validateRadl'
   }
 
+  def configureRadlTask(project, task, radlFile) {
+    task.radlClasspath = project.configurations.radl
+    task.coreVersion = project.radl.coreVersion
+    task.radlFile = radlFile
+    task.radlFiles = project.fileTree(radlFile.parentFile)
+  }
+
   def addRadlToDocumentationTask(project, cssUrl, hideLocation, radlFile) {
-    project.task('generateDocumentationFromRadl', type: JavaExec, dependsOn: 'validateRadl') {
+    project.task('generateDocumentationFromRadl', type: GenerateDocumentationTask, dependsOn: 'validateRadl') {
       mustRunAfter 'extractRadlFromCode'
-      main = 'radl.core.documentation.DocumentationGenerator'
-      args new File(project.rootProject.buildDir, project.radl.docsDir).path
-      args cssUrl
-      args hideLocation
-      args radlFile.path
-      classpath project.configurations.radl
-      doFirst {
-        errorOutput = new FileOutputStream(new File(project.buildDir, 'radl2doc.out'))
-      }
+      configureRadlTask project, it, radlFile
+      docsDir = new File(project.rootProject.buildDir, project.radl.docsDir)
+      delegate.cssUrl = cssUrl
+      delegate.hideLocation = hideLocation
     }
     project.assemble.dependsOn 'generateDocumentationFromRadl'
   }
@@ -102,64 +106,79 @@ class RadlPlugin implements Plugin<Project> {
       }
     }
 
-    project.task('radl2spring', type: JavaExec) {
-      // TODO: inputs & outputs
+    project.task('radl2spring', type: Radl2SpringTask) {
+      configureRadlTask project, it, radlFile
       def name = radlFile.name.substring(0, radlFile.name.lastIndexOf('.'))
-      def packagePrefix = project.radl.packagePrefix ? project.radl.packagePrefix : name
-      main = 'radl.java.generation.spring.RadlToSpringServer'
-      args = [radlFile.path, project.projectDir.path, packagePrefix,
-          relative(project.projectDir, project.sourceSets.main.java.srcDirs[1]),
-          relative(project.projectDir, project.sourceSets.main.java.srcDirs[0]), project.radl.scm,
-          project.radl.header]
-      classpath project.configurations.radl
-      doFirst {
-        println "-> Generating Spring classes from $radlFile.name"
-      }
+      packagePrefix = project.radl.packagePrefix ? project.radl.packagePrefix : name
+      scm = project.radl.scm
+      header = project.radl.header
+      generateJsonSerializers = project.radl.generateJsonSerializers
+      generateResponseCache = project.radl.generateResponseCache
+      mainSourceDir = project.sourceSets.main.java.srcDirs[0]
+      generatedSourceDir = project.sourceSets.main.java.srcDirs[1]
     }
     project.compileJava.dependsOn 'radl2spring'
   }
 
+  def addRadlToSpringClientTask(project, radlFile) {
+    if (!project.radl.generateSpringClient || radlFile == null) {
+      return
+    }
+    project.configurations {
+      springClient
+      compile { extendsFrom springClient }
+    }
+    project.dependencies {
+      springClient "org.springframework:spring-web:$project.radl.springVersion"
+      springClient "org.apache.httpcomponents:httpclient:$project.radl.httpClientVersion"
+    }
+    def clientSourceDir = new File(project.buildDir, 'src/client')
+    project.sourceSets {
+      main {
+        java {
+          srcDir clientSourceDir
+        }
+      }
+    }
+
+    project.task('radl2springClient', type: Radl2SpringClientTask) {
+      configureRadlTask project, it, radlFile
+      def name = radlFile.name.substring(0, radlFile.name.lastIndexOf('.'))
+      packagePrefix = project.radl.clientPackagePrefix ? project.radl.clientPackagePrefix : "${name}.client"
+      scm = project.radl.scm
+      header = project.radl.header
+      generatedSourceDir = clientSourceDir
+    }
+    project.compileJava.dependsOn 'radl2springClient'
+  }
+
   def addJavaToRadlTask(project, radlFile, serviceName, extractionPropertiesFile) {
-    project.task('extractRadlFromCode', type: JavaExec) {
+    project.task('extractRadlFromCode', type: ExtractRadlTask) {
+      radlClasspath = project.configurations.radl + project.configurations.runtime
+      coreVersion = project.radl.coreVersion
+      def dirs = []
       project.rootProject.allprojects.each { proj ->
         proj.sourceSets.find { !it.name.toLowerCase().contains('test') }.each { sourceSet ->
-          sourceSet.allJava.srcDirs.each { dir ->
-            inputs.dir dir
-          }
+          dirs.addAll sourceSet.allJava.srcDirs
         }
       }
-      def argumentsFile = project.file("${project.name.toLowerCase()}.arguments")
-      main = 'radl.java.extraction.FromJavaRadlExtractor'
-      args = ["@$argumentsFile.absolutePath"]
-      classpath project.configurations.radl
-      classpath project.configurations.runtime
-      doFirst {
-        project.radl.preExtracts.each { it() }
-        argumentsFile.withWriter { writer ->
-          writer.println "service.name = $serviceName"
-          writer.println "base.dir = ${escape(project.rootProject.projectDir.path)}"
-          writer.println "radl.file = ${escape(radlFile.path)}"
-          writer.println "configuration.file = ${escape(extractionPropertiesFile.path)}"
-          if (project.radl.extraProcessors != null) {
-           writer.println "extra.processors = $project.radl.extraProcessors"
-          }
-          if (project.radl.extraSourceDir != null) {
-            writer.println "extra.source = ${escape(project.fileTree(project.radl.extraSourceDir).asPath)}"
-          }
-          def classpath = getClasspath(project)
-          if (classpath != null) {
-            writer.println "classpath = ${escape(classpath)}"
-          }
-          writer.println "java.version = $project.sourceCompatibility"
-          writer.println "source.code.management.system = $project.radl.scm"
-          writer.println "serialize.model = $project.radl.serializeModel"
-        }
-      }
-      doLast {
-        if (!project.radl.keepArgumentsFile) {
-          argumentsFile.delete()
-        }
+      sourceDirs = project.files(dirs)
+      if (extractionPropertiesFile.exists()) {
+        delegate.extractionPropertiesFile = extractionPropertiesFile
       }
+      delegate.serviceName = serviceName
+      scm = project.radl.scm
+      serializeModel = project.radl.serializeModel
+      javaVersion = project.sourceCompatibility.toString()
+      delegate.radlFile = radlFile
+      extractionCache = new File(project.buildDir, 'radl/extraction.cache')
+      argumentsFile = project.file("${project.name.toLowerCase()}.arguments")
+      baseDir = project.rootProject.projectDir
+      extraProcessors = project.radl.extraProcessors
+      extraSourceDir = project.radl.extraSourceDir
+      extractionClasspath = { getClasspath(project) }
+      preExtracts = project.radl.preExtracts
+      keepArgumentsFile = project.radl.keepArgumentsFile
     }
   }
 
@@ -175,23 +194,13 @@ class RadlPlugin implements Plugin<Project> {
   }
 
   def hideLocation(project) {
-    project.radl.hideLocation ? 'hide-location' : null
+    project.radl.hideLocation as boolean
   }
 
   def getRadlFile(project, serviceName) {
     new File(project.file(project.radl.dirName), "${serviceName.toLowerCase()}.radl")
   }
 
-  def relative(base, instance) {
-    def result
-    if (instance.path.startsWith(base.path)) {
-      result = instance.path.substring(base.path.length())
-    } else {
-      result = instance.path
-    }
-    result.startsWith(File.separator) ? result.substring(File.separator.length()) : result
-  }
-
   def getClasspath(project) {
     if (project.radl.skipClasspath) {
       return null
@@ -222,8 +231,4 @@ class RadlPlugin implements Plugin<Project> {
     result
   }
 
-  def escape(value) {
-    value.replace('\\', '/')
-  }
-
 }
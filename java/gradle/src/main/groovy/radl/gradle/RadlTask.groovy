@@ -0,0 +1,47 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+
+
+/**
+ * Base class for tasks that run a RADL application inside the Gradle process. Each run gets its own class loader
+ * that only sees the RADL classpath, so that RADL and its dependencies don't clash with Gradle's, and so that no
+ * static state survives from one run to the next.
+ */
+abstract class RadlTask extends DefaultTask {
+
+  @InputFiles
+  FileCollection radlClasspath
+
+  @Input
+  String coreVersion
+
+  protected void runRadl(String mainClass, List<String> arguments) {
+    def urls = radlClasspath.files.collect { it.toURI().toURL() } as URL[]
+    def classLoader = new URLClassLoader(urls, ClassLoader.systemClassLoader.parent)
+    def thread = Thread.currentThread()
+    def contextClassLoader = thread.contextClassLoader
+    thread.contextClassLoader = classLoader
+    try {
+      def application = classLoader.loadClass(mainClass).newInstance()
+      def args = [arguments.collect { it.toString() } as String[]] as String[][]
+      def radlArguments = classLoader.loadClass('radl.core.cli.Arguments')
+          .getConstructor(String[][]).newInstance([args] as Object[])
+      def exitCode = application.run(radlArguments)
+      if (exitCode != 0) {
+        throw new GradleException("$name failed with exit code $exitCode")
+      }
+    } finally {
+      thread.contextClassLoader = contextClassLoader
+      classLoader.close()
+    }
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © EMC Corporation. All rights reserved.
+ */
+package radl.gradle
+
+import org.gradle.api.InvalidUserDataException
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.TaskAction
+
+import radl.core.validation.RadlValidator
+
+
+/**
+ * Validates a RADL document. The task is up-to-date when neither the document, nor the files it includes, nor the
+ * lint configuration changed since the last report.
+ */
+class ValidateRadlTask extends RadlTask {
+
+  File radlFile
+
+  @InputFiles
+  FileCollection radlFiles
+
+  @InputFile
+  @Optional
+  File lintConfiguration
+
+  @OutputFile
+  File issueFile
+
+  @TaskAction
+  void validate() {
+    def arguments = [issueFile.absolutePath]
+    if (lintConfiguration != null) {
+      if (!lintConfiguration.name.endsWith(RadlValidator.LINT_CONFIGURATION_SUFFIX)) {
+        throw new InvalidUserDataException(
+            "Lint configuration $lintConfiguration must be a file ending in $RadlValidator.LINT_CONFIGURATION_SUFFIX")
+      }
+      arguments += lintConfiguration.absolutePath
+    }
+    arguments += radlFile.absolutePath
+    runRadl 'radl.core.validation.RadlValidator', arguments
+  }
+
+}
@@ -27,6 +27,8 @@ public interface MavenConfig {
   String FAIL_ON_VALIDATION_ERRORS = "failOnValidationErrors";
   String FAIL_ON_VALIDATION_ERRORS_DEFAULT = "true";
 
+  String LINT_CONFIGURATION = "lintConfiguration";
+
   String SRC_SET_DIR = "srcDir";
   String SRC_SET_DIR_DEFAULT = "${project.basedir}/src/main/java";
 
@@ -71,4 +73,22 @@ public interface MavenConfig {
 
   String SKIP_CLASSPATH = "skipClasspath";
   String SKIP_CLASSPATH_DEFAULT = "false";
+
+  String GENERATE_JSON_SERIALIZERS = "generateJsonSerializers";
+  String GENERATE_JSON_SERIALIZERS_DEFAULT = "false";
+
+  String GENERATE_RESPONSE_CACHE = "generateResponseCache";
+  String GENERATE_RESPONSE_CACHE_DEFAULT = "false";
+
+  String CLIENT_PACKAGE_PREFIX = "clientPackagePrefix";
+  String CLIENT_PACKAGE_PREFIX_DEFAULT = "radl.sample.rest.client";
+
+  String REL_GEN_CLIENT_SRC_DIR = "relativeGeneratedClientSourceDir";
+  String REL_GEN_CLIENT_SRC_DIR_DEFAULT = "${project.build.directory}/generated-src/client";
+
+  String FINGERPRINT_DIR = "fingerprintDir";
+  String FINGERPRINT_DIR_DEFAULT = "${project.build.directory}/radl-fingerprints";
+
+  String FORCE = "radlForce";
+  String FORCE_DEFAULT = "false";
 }
@@ -18,16 +18,18 @@ import org.apache.maven.plugins.annotations.Parameter;
 
 import radl.core.cli.Arguments;
 import radl.core.documentation.DocumentationGenerator;
+import radl.maven.util.InputFingerprint;
 import radl.maven.util.RadlFileUtil;
 
 
 /**
  * Maven plugin for generating HTML documentation from the RADL file.
  */
-@Mojo(name = "radl2docs", defaultPhase = LifecyclePhase.PACKAGE)
+@Mojo(name = "radl2docs", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
 public class Radl2HtmlDocPlugin extends AbstractMojo implements MavenConfig {
 
   private static final String MSG = "HTML documentation is generated at: %s";
+  private static final String UP_TO_DATE = "HTML documentation is up to date at: %s";
 
   /**
    * Location of RADL files. Defaults to <pre>src/main/radl</pre>.
@@ -60,12 +62,38 @@ public class Radl2HtmlDocPlugin extends AbstractMojo implements MavenConfig {
   @Parameter(property = DOCS_DIR, defaultValue = DOCS_DIR_DEFAULT)
   private File docsDir;
 
+  /**
+   * Directory in which to keep the fingerprints of the inputs of the last successful run.
+   * Defaults to <pre>target/radl-fingerprints</pre>.
+   */
+  @Parameter(property = FINGERPRINT_DIR, defaultValue = FINGERPRINT_DIR_DEFAULT)
+  private File fingerprintDir;
+
+  /**
+   * Whether to run even when the inputs didn't change since the last successful run. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = FORCE, defaultValue = FORCE_DEFAULT)
+  private boolean radlForce;
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     File radlFile = RadlFileUtil.findRadlFile(radlDirName, serviceName);
+    InputFingerprint fingerprint = new InputFingerprint(new File(fingerprintDir, "radl2docs.properties"))
+        .addFile(radlDirName)
+        .addValue(SERVICE_NAME, serviceName)
+        .addValue(CSS_URL_NAME, cssURL)
+        .addValue(HIDE_LOCATION_NAME, hideLocation)
+        .addValue(DOCS_DIR, docsDir.getAbsolutePath())
+        .addOutput(docsDir);
+    if (!radlForce && fingerprint.isUpToDate()) {
+      getLog().info(String.format(UP_TO_DATE, docsDir));
+      return;
+    }
     DocumentationGenerator documentationGenerator = new DocumentationGenerator();
     List<String> args = genArguments(radlFile);
-    documentationGenerator.run(new Arguments(args.toArray(new String[args.size()])));
+    if (documentationGenerator.run(new Arguments(args.toArray(new String[args.size()]))) == 0) {
+      fingerprint.save();
+    }
     getLog().info(String.format(MSG, docsDir));
   }
 
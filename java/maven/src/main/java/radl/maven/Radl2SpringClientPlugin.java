@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) EMC Corporation. All rights reserved.
+ */
+
+package radl.maven;
+
+import java.io.File;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import radl.core.cli.Arguments;
+import radl.java.generation.spring.RadlToSpringClient;
+import radl.maven.util.InputFingerprint;
+import radl.maven.util.RadlFileUtil;
+
+
+/**
+ * Maven plugin for generating Spring client code from the RADL file.
+ */
+@Mojo(name = "radl2springClient", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class Radl2SpringClientPlugin extends AbstractMojo implements MavenConfig {
+
+  private static final String MSG = "Spring client source codes are generated at: %s/%s";
+  private static final String UP_TO_DATE = "Spring client source codes are up to date";
+
+  /**
+   * Location of RADL files. Defaults to <pre>src/main/radl</pre>.
+   */
+  @Parameter(property = RADL_DIR_NAME, defaultValue = RADL_DIR_NAME_DEFAULT)
+  private File radlDirName;
+
+  /**
+   * The name of the service that the RADL files describe. Defaults to the project's name.
+   */
+  @Parameter(property = SERVICE_NAME, defaultValue = SERVICE_NAME_DEFAULT)
+  private String serviceName;
+
+  /**
+   * The base project directory. Defaults to project's root directory.
+   */
+  @Parameter(property = BASE_DIR, defaultValue = BASE_DIR_DEFAULT)
+  private File baseDir;
+
+  /**
+   * The prefix to use when generating Java packages. Defaults to <pre>radl.sample.rest.client</pre>.
+   */
+  @Parameter(property = CLIENT_PACKAGE_PREFIX, defaultValue = CLIENT_PACKAGE_PREFIX_DEFAULT)
+  private String clientPackagePrefix;
+
+  /**
+   * The relative directory path where the generated client source codes are put.
+   */
+  @Parameter(property = REL_GEN_CLIENT_SRC_DIR, defaultValue = REL_GEN_CLIENT_SRC_DIR_DEFAULT)
+  private String relativeGeneratedClientSourceDir;
+
+  /**
+   * The source code management system to use. Defaults to <pre>default</pre>.
+   * The other valid values are <pre>git</pre> for Git and <pre>p4</pre> for Perforce.
+   */
+  @Parameter(property = SCM, defaultValue = SCM_DEFAULT)
+  private String scm;
+
+  /**
+   * The file header comment to include in generated source files. Defaults to <pre>Generated by RADL</pre>.
+   */
+  @Parameter(property = HEADER, defaultValue = HEADER_DEFAULT)
+  private String header;
+
+  /**
+   * Directory in which to keep the fingerprints of the inputs of the last successful run.
+   * Defaults to <pre>target/radl-fingerprints</pre>.
+   */
+  @Parameter(property = FINGERPRINT_DIR, defaultValue = FINGERPRINT_DIR_DEFAULT)
+  private File fingerprintDir;
+
+  /**
+   * Whether to run even when the inputs didn't change since the last successful run. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = FORCE, defaultValue = FORCE_DEFAULT)
+  private boolean radlForce;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    File radlFile = RadlFileUtil.findRadlFile(radlDirName, serviceName);
+    InputFingerprint fingerprint = new InputFingerprint(new File(fingerprintDir, "radl2springClient.properties"))
+        .addFile(radlDirName)
+        .addValue(SERVICE_NAME, serviceName)
+        .addValue(BASE_DIR, baseDir.getAbsolutePath())
+        .addValue(CLIENT_PACKAGE_PREFIX, clientPackagePrefix)
+        .addValue(REL_GEN_CLIENT_SRC_DIR, relativeGeneratedClientSourceDir)
+        .addValue(SCM, scm)
+        .addValue(HEADER, header)
+        .addOutput(resolve(relativeGeneratedClientSourceDir));
+    if (!radlForce && fingerprint.isUpToDate()) {
+      getLog().info(UP_TO_DATE);
+      return;
+    }
+    int exitCode = new RadlToSpringClient().run(
+        new Arguments(new String[] {
+            radlFile.getAbsolutePath(),
+            baseDir.getAbsolutePath(),
+            clientPackagePrefix,
+            relativeGeneratedClientSourceDir,
+            scm,
+            header }));
+    if (exitCode == 0) {
+      fingerprint.save();
+    }
+    getLog().info(String.format(MSG, baseDir, relativeGeneratedClientSourceDir));
+  }
+
+  private File resolve(String dir) {
+    File result = new File(dir);
+    return result.isAbsolute() ? result : new File(baseDir, dir);
+  }
+
+}
@@ -15,16 +15,18 @@ import org.apache.maven.plugins.annotations.Parameter;
 
 import radl.core.cli.Arguments;
 import radl.java.generation.spring.RadlToSpringServer;
+import radl.maven.util.InputFingerprint;
 import radl.maven.util.RadlFileUtil;
 
 
 /**
  * Maven plugin for generating Spring server code from the RADL file.
  */
-@Mojo(name = "radl2spring", defaultPhase = LifecyclePhase.PACKAGE)
+@Mojo(name = "radl2spring", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
 public class Radl2SpringPlugin extends AbstractMojo implements MavenConfig {
 
   private static final String MSG = "Spring source codes are generated at: %s/%s and %s/%s";
+  private static final String UP_TO_DATE = "Spring source codes are up to date";
 
   /**
    * Location of RADL files. Defaults to <pre>src/main/radl</pre>.
@@ -66,24 +68,83 @@ public class Radl2SpringPlugin extends AbstractMojo implements MavenConfig {
 
   /**
    * The source code management system to use. Defaults to <pre>default</pre>.
-   * The only other valid value is <pre>p4</pre> for Perforce.
+   * The other valid values are <pre>git</pre> for Git and <pre>p4</pre> for Perforce.
    */
   @Parameter(property = SCM, defaultValue = SCM_DEFAULT)
   private String scm;
 
+  /**
+   * The file header comment to include in generated source files. Defaults to <pre>Generated by RADL</pre>.
+   */
+  @Parameter(property = HEADER, defaultValue = HEADER_DEFAULT)
+  private String header;
+
+  /**
+   * Whether to generate Jackson serializers and deserializers for the non-hypermedia DTOs. Defaults to
+   * <pre>false</pre>.
+   */
+  @Parameter(property = GENERATE_JSON_SERIALIZERS, defaultValue = GENERATE_JSON_SERIALIZERS_DEFAULT)
+  private boolean generateJsonSerializers;
+
+  /**
+   * Whether to generate a server-side cache for responses that are cacheable. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = GENERATE_RESPONSE_CACHE, defaultValue = GENERATE_RESPONSE_CACHE_DEFAULT)
+  private boolean generateResponseCache;
+
+  /**
+   * Directory in which to keep the fingerprints of the inputs of the last successful run.
+   * Defaults to <pre>target/radl-fingerprints</pre>.
+   */
+  @Parameter(property = FINGERPRINT_DIR, defaultValue = FINGERPRINT_DIR_DEFAULT)
+  private File fingerprintDir;
+
+  /**
+   * Whether to run even when the inputs didn't change since the last successful run. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = FORCE, defaultValue = FORCE_DEFAULT)
+  private boolean radlForce;
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     File radlFile = RadlFileUtil.findRadlFile(radlDirName, serviceName);
+    InputFingerprint fingerprint = new InputFingerprint(new File(fingerprintDir, "radl2spring.properties"))
+        .addFile(radlDirName)
+        .addValue(SERVICE_NAME, serviceName)
+        .addValue(BASE_DIR, baseDir.getAbsolutePath())
+        .addValue(PACKAGE_PREFIX, packagePrefix)
+        .addValue(REL_GEN_SRC_DIR, relativeGeneratedSourceDir)
+        .addValue(REL_GEN_MAN_SRC_DIR, relativeGeneratedManualSourceDir)
+        .addValue(SCM, scm)
+        .addValue(HEADER, header)
+        .addValue(GENERATE_JSON_SERIALIZERS, generateJsonSerializers)
+        .addValue(GENERATE_RESPONSE_CACHE, generateResponseCache)
+        .addOutput(resolve(relativeGeneratedSourceDir));
+    if (!radlForce && fingerprint.isUpToDate()) {
+      getLog().info(UP_TO_DATE);
+      return;
+    }
     RadlToSpringServer springCodeGenerator = new RadlToSpringServer();
-    springCodeGenerator.run(
+    int exitCode = springCodeGenerator.run(
         new Arguments(new String[] {
             radlFile.getAbsolutePath(),
             baseDir.getAbsolutePath(),
             packagePrefix,
             relativeGeneratedSourceDir,
             relativeGeneratedManualSourceDir,
-            scm }));
+            scm,
+            header,
+            Boolean.toString(generateJsonSerializers),
+            Boolean.toString(generateResponseCache) }));
+    if (exitCode == 0) {
+      fingerprint.save();
+    }
     getLog().info(String.format(MSG, baseDir, relativeGeneratedManualSourceDir, baseDir, relativeGeneratedSourceDir));
   }
 
+  private File resolve(String dir) {
+    File result = new File(dir);
+    return result.isAbsolute() ? result : new File(baseDir, dir);
+  }
+
 }
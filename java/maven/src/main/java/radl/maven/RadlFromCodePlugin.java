@@ -7,8 +7,8 @@ package radl.maven;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 
@@ -16,25 +16,25 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugins.annotations.InstantiationStrategy;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
-import radl.common.io.IO;
-import radl.core.cli.Arguments;
 import radl.java.extraction.FromJavaRadlExtractor;
+import radl.maven.util.InputFingerprint;
 
 /**
  * Maven plugin for extracting RADL file from the Java server code.
  */
-@Mojo(name = "radlFromCode", defaultPhase = LifecyclePhase.COMPILE, requiresDependencyResolution = ResolutionScope.COMPILE, instantiationStrategy = InstantiationStrategy.KEEP_ALIVE)
+@Mojo(name = "radlFromCode", defaultPhase = LifecyclePhase.COMPILE, requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
 public class RadlFromCodePlugin extends AbstractMojo implements MavenConfig {
 
   private static final String MSG = "RADL is extracted from code and saved at: %s";
+  private static final String UP_TO_DATE = "RADL extracted from code is up to date at: %s";
   private static final String RADL_CORE_ARTIFACT_ID = "radl-core";
+  private static final String JAVA_FILE_EXTENSION = ".java";
 
   /**
    * The enclosing project.
@@ -89,51 +89,93 @@ public class RadlFromCodePlugin extends AbstractMojo implements MavenConfig {
   @Parameter(property = "configurationFile")
   private File configurationFile;
 
+  /**
+   * Directory in which to keep the fingerprints of the inputs of the last successful run, and the extraction cache
+   * that allows extracting from only the changed Java files. Defaults to <pre>target/radl-fingerprints</pre>.
+   */
+  @Parameter(property = FINGERPRINT_DIR, defaultValue = FINGERPRINT_DIR_DEFAULT)
+  private File fingerprintDir;
 
+  /**
+   * Whether to run even when the inputs didn't change since the last successful run. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = FORCE, defaultValue = FORCE_DEFAULT)
+  private boolean radlForce;
 
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
-    FromJavaRadlExtractor radlFromJavaExtractor = new FromJavaRadlExtractor();
-    File tempArgumentsFile = null;
+    File radlFile = new File(getDocsDir(), serviceName + ".radl");
+    String classpath = buildClasspath();
+    InputFingerprint fingerprint = new InputFingerprint(new File(fingerprintDir, "radlFromCode.properties"))
+        .addFiles(srcDir, JAVA_FILE_EXTENSION)
+        .addFile(argumentFile)
+        .addFile(configurationFile)
+        .addValue(SERVICE_NAME, serviceName)
+        .addValue(SRC_SET_DIR, srcDir.getAbsolutePath())
+        .addValue(CLASSPATH_SCOPE, classpathScope)
+        .addValue("classpath", classpath)
+        .addOutput(radlFile);
+    if (!radlForce && fingerprint.isUpToDate()) {
+      getLog().info(String.format(UP_TO_DATE, radlFile));
+      return;
+    }
     try {
-      tempArgumentsFile = generateProjectArgumentsFile();
-      radlFromJavaExtractor.run(
-          new Arguments(new String[] { "@" + tempArgumentsFile.getAbsolutePath() }));
+      Properties properties = initArgumentProperties();
+      mergeMavenPluginProperties(radlFile, classpath, properties);
+      addIncrementalProperties(fingerprint, properties);
+      if (radlFile.exists()) {
+        radlFile.delete();
+      }
+      if (new FromJavaRadlExtractor().run(properties) == 0) {
+        fingerprint.save();
+      }
       getLog().info(String.format(MSG, docsDir));
     } catch (IOException ioe) {
       throw new RuntimeException(ioe);
     }
-    finally {
-      IO.delete(tempArgumentsFile);
-    }
   }
 
-  private File generateProjectArgumentsFile() throws IOException {
-    String radlFilePath = getRadlFile();
-    Properties properties = initArgumentProperties();
-    mergeMavenPluginProperties(radlFilePath, properties);
-    File tempArgumentsFile = writePropertiesToFile(properties);
+  private void addIncrementalProperties(InputFingerprint fingerprint, Properties properties) {
+    properties.setProperty("extraction.cache", new File(fingerprintDir, "radlFromCode.cache").getAbsolutePath());
+    if (radlForce || !fingerprint.isOnlyFilesChanged()) {
+      return;
+    }
+    Collection<File> changed = fingerprint.getChangedFiles();
+    Collection<File> removed = fingerprint.getRemovedFiles();
+    if (areJavaFiles(changed) && areJavaFiles(removed)) {
+      getLog().info("[RADL Extraction - Changed Sources] " + changed.size() + " changed, " + removed.size()
+          + " removed");
+      properties.setProperty("changed.sources", toPath(changed));
+      properties.setProperty("removed.sources", toPath(removed));
+    }
+  }
 
-    return tempArgumentsFile;
+  private boolean areJavaFiles(Collection<File> files) {
+    for (File file : files) {
+      if (!file.getName().endsWith(JAVA_FILE_EXTENSION)) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private File writePropertiesToFile(Properties properties) throws IOException {
-    File tempArgumentsFile = createNewArgumentFile();
-    try (PrintWriter writer = new PrintWriter(tempArgumentsFile, "UTF8")) {
-      properties.store(writer, "");
+  private String toPath(Collection<File> files) {
+    StringBuilder result = new StringBuilder();
+    String prefix = "";
+    for (File file : files) {
+      result.append(prefix).append(file.getAbsolutePath());
+      prefix = File.pathSeparator;
     }
-    getLog().info("RADL generation argument file: " + tempArgumentsFile);
-    return tempArgumentsFile;
+    return result.toString();
   }
 
-  private void mergeMavenPluginProperties(String radlFilePath, Properties properties) {
+  private void mergeMavenPluginProperties(File radlFile, String classpath, Properties properties) {
     getLog().info("[RADL Extraction - Service Name] " + serviceName);
     properties.setProperty("service.name", serviceName);
     getLog().info("[RADL Extraction - SRC Dir] " + srcDir);
     properties.setProperty("base.dir", srcDir.getAbsolutePath());
-    getLog().info("[RADL Extraction - RADL File] " + radlFilePath);
-    properties.setProperty("radl.file", radlFilePath);
-    String classpath = buildClasspath();
+    getLog().info("[RADL Extraction - RADL File] " + radlFile);
+    properties.setProperty("radl.file", radlFile.getAbsolutePath());
     getLog().info("[RADL Extraction - Classpath] " + classpath);
     properties.setProperty("classpath", classpath);
 
@@ -154,23 +196,6 @@ public class RadlFromCodePlugin extends AbstractMojo implements MavenConfig {
     return properties;
   }
 
-  private String getRadlFile() {
-    File radlFile = new File(getDocsDir(), serviceName + ".radl");
-    if (radlFile.exists()) {
-      radlFile.delete();
-    }
-    return radlFile.getAbsolutePath();
-  }
-
-  private File createNewArgumentFile() throws IOException {
-    File tempArgumentsFile = new File(getDocsDir(), "extract-radl.properties");
-    if (tempArgumentsFile.exists()) {
-      tempArgumentsFile.delete();
-    }
-    tempArgumentsFile.createNewFile();
-    return tempArgumentsFile;
-  }
-
   @SuppressWarnings("unchecked")
   protected void collectProjectArtifactsAndClasspath(List<Artifact> artifacts, List<File> theClasspathFiles) {
     if ("compile".equals(classpathScope)) {
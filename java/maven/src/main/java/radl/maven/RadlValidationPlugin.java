@@ -5,6 +5,8 @@
 package radl.maven;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -15,13 +17,14 @@ import org.apache.maven.plugins.annotations.Parameter;
 
 import radl.core.cli.Arguments;
 import radl.core.validation.RadlValidator;
+import radl.maven.util.InputFingerprint;
 import radl.maven.util.RadlFileUtil;
 
 
 /**
  * RADL Maven plugin for RADL validation.
  */
-@Mojo(name = "validateRadl", defaultPhase = LifecyclePhase.PACKAGE)
+@Mojo(name = "validateRadl", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
 public class RadlValidationPlugin extends AbstractMojo implements MavenConfig {
 
   private static final String SHORT_ERROR_MSG = "RADL_VALIDATION_ERROR";
@@ -29,6 +32,7 @@ public class RadlValidationPlugin extends AbstractMojo implements MavenConfig {
       "There are %s issues found in the validation of the RADL file. " +
           "Please check the output issue file at: %s";
   private static final String VALIDATION_SUCCEED = "No issues found in RADL validation";
+  private static final String UP_TO_DATE = "RADL validation is up to date";
 
   /**
    * Location of RADL files. Defaults to <pre>src/main/radl</pre>.
@@ -55,17 +59,65 @@ public class RadlValidationPlugin extends AbstractMojo implements MavenConfig {
   @Parameter(property = FAIL_ON_VALIDATION_ERRORS, defaultValue = FAIL_ON_VALIDATION_ERRORS_DEFAULT)
   private boolean failOnValidationErrors;
 
+  /**
+   * Properties file that enables or disables lint rules, like <pre>locations.enabled = false</pre>. The file name must
+   * end in <pre>.properties</pre>. By default, all rules are enabled.
+   */
+  @Parameter(property = LINT_CONFIGURATION)
+  private File lintConfiguration;
+
+  /**
+   * Directory in which to keep the fingerprints of the inputs of the last successful run.
+   * Defaults to <pre>target/radl-fingerprints</pre>.
+   */
+  @Parameter(property = FINGERPRINT_DIR, defaultValue = FINGERPRINT_DIR_DEFAULT)
+  private File fingerprintDir;
+
+  /**
+   * Whether to run even when the inputs didn't change since the last successful run. Defaults to <pre>false</pre>.
+   */
+  @Parameter(property = FORCE, defaultValue = FORCE_DEFAULT)
+  private boolean radlForce;
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
+    checkLintConfiguration();
     File radlFile = RadlFileUtil.findRadlFile(radlDirName, serviceName);
+    InputFingerprint fingerprint = new InputFingerprint(new File(fingerprintDir, "validateRadl.properties"))
+        .addFile(radlDirName)
+        .addFile(lintConfiguration)
+        .addValue(SERVICE_NAME, serviceName)
+        .addValue(ISSUE_FILE, issueFile.getAbsolutePath())
+        .addOutput(issueFile);
+    if (!radlForce && fingerprint.isUpToDate()) {
+      getLog().info(UP_TO_DATE);
+      return;
+    }
     RadlValidator radlValidator = new RadlValidator();
-    int issues = radlValidator.run(
-        new Arguments(new String[] {
-            issueFile.getAbsolutePath(),
-            radlFile.getAbsolutePath() }));
+    List<String> arguments = new ArrayList<>();
+    arguments.add(issueFile.getAbsolutePath());
+    if (lintConfiguration != null) {
+      arguments.add(lintConfiguration.getAbsolutePath());
+    }
+    arguments.add(radlFile.getAbsolutePath());
+    int issues = radlValidator.run(new Arguments(arguments.toArray(new String[arguments.size()])));
+    if (issues == 0) {
+      fingerprint.save();
+    } else {
+      // Report the issues again next time
+      fingerprint.discard();
+    }
     report(issues);
   }
 
+  private void checkLintConfiguration() throws MojoExecutionException {
+    if (lintConfiguration != null
+        && !lintConfiguration.getName().endsWith(RadlValidator.LINT_CONFIGURATION_SUFFIX)) {
+      throw new MojoExecutionException(String.format("Lint configuration %s must be a file ending in %s",
+          lintConfiguration, RadlValidator.LINT_CONFIGURATION_SUFFIX));
+    }
+  }
+
   private void report(int issues) throws MojoFailureException {
     if (issues > 0) {
       String longMsg = String.format(LONG_ERROR_MSG, issues, issueFile);
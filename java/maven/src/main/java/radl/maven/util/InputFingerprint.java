@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) EMC Corporation. All rights reserved.
+ */
+
+package radl.maven.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+
+
+/**
+ * The inputs of a goal at the time it last ran successfully. Goals compare a fresh fingerprint against the stored one
+ * to find out whether they can skip their work. Files are compared by content, so that touching a file or checking it
+ * out again doesn't make a goal stale.
+ */
+public final class InputFingerprint {
+
+  private static final String FILE_PREFIX = "file:";
+  private static final String VALUE_PREFIX = "value:";
+  private static final String DIGEST_ALGORITHM = "SHA-1";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final File storage;
+  private final Map<String, String> entries = new TreeMap<>();
+  private final Collection<File> outputs = new ArrayList<>();
+  private Map<String, String> stored;
+
+  /**
+   * @param storage The file in which to store the fingerprint
+   */
+  public InputFingerprint(File storage) {
+    this.storage = storage;
+    addValue("radl.version", InputFingerprint.class.getPackage().getImplementationVersion());
+  }
+
+  /**
+   * Add a file to the fingerprint. A directory adds all the files it contains.
+   * @param file The file or directory to add. May be <code>null</code>
+   * @return This fingerprint
+   */
+  public InputFingerprint addFile(File file) {
+    return addFiles(file, "");
+  }
+
+  /**
+   * Add the files in a directory to the fingerprint.
+   * @param file The file or directory to add. May be <code>null</code>
+   * @param extension The extension of the files to add, or an empty string to add all files
+   * @return This fingerprint
+   */
+  public InputFingerprint addFiles(File file, String extension) {
+    if (file == null) {
+      return this;
+    }
+    if (file.isDirectory()) {
+      File[] children = file.listFiles();
+      if (children != null) {
+        for (File child : children) {
+          addFiles(child, extension);
+        }
+      }
+    } else if (file.isFile() && file.getName().endsWith(extension)) {
+      entries.put(FILE_PREFIX + file.getAbsolutePath(), digestOf(file));
+    }
+    return this;
+  }
+
+  private String digestOf(File file) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      try (InputStream stream = new FileInputStream(file)) {
+        byte[] buffer = new byte[8192];
+        int numRead = stream.read(buffer);
+        while (numRead >= 0) {
+          digest.update(buffer, 0, numRead);
+          numRead = stream.read(buffer);
+        }
+      }
+      return toHex(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new RuntimeException("Failed to compute digest of " + file, e);
+    }
+  }
+
+  private String toHex(byte[] bytes) {
+    StringBuilder result = new StringBuilder(2 * bytes.length);
+    for (byte b : bytes) {
+      result.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Add a setting that influences the output of the goal.
+   * @param name The name of the setting
+   * @param value The value of the setting. May be <code>null</code>
+   * @return This fingerprint
+   */
+  public InputFingerprint addValue(String name, Object value) {
+    entries.put(VALUE_PREFIX + name, String.valueOf(value));
+    return this;
+  }
+
+  /**
+   * Add an output of the goal. The goal is stale when any of its outputs is missing.
+   * @param output The output file or directory
+   * @return This fingerprint
+   */
+  public InputFingerprint addOutput(File output) {
+    outputs.add(output);
+    return this;
+  }
+
+  /**
+   * @return Whether the inputs are the same as when the fingerprint was last saved, and all outputs still exist
+   */
+  public boolean isUpToDate() {
+    for (File output : outputs) {
+      if (!output.exists()) {
+        return false;
+      }
+    }
+    return entries.equals(getStored());
+  }
+
+  /**
+   * @return Whether a fingerprint was saved before, and only files changed since. Settings are all the same
+   */
+  public boolean isOnlyFilesChanged() {
+    Map<String, String> previous = getStored();
+    if (previous.isEmpty()) {
+      return false;
+    }
+    return valuesOf(entries).equals(valuesOf(previous));
+  }
+
+  private Map<String, String> valuesOf(Map<String, String> fingerprint) {
+    Map<String, String> result = new TreeMap<>();
+    for (Entry<String, String> entry : fingerprint.entrySet()) {
+      if (entry.getKey().startsWith(VALUE_PREFIX)) {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return The files that were added or modified since the fingerprint was last saved
+   */
+  public Collection<File> getChangedFiles() {
+    Collection<File> result = new ArrayList<>();
+    Map<String, String> previous = getStored();
+    for (Entry<String, String> entry : entries.entrySet()) {
+      if (entry.getKey().startsWith(FILE_PREFIX) && !entry.getValue().equals(previous.get(entry.getKey()))) {
+        result.add(new File(entry.getKey().substring(FILE_PREFIX.length())));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return The files that were removed since the fingerprint was last saved
+   */
+  public Collection<File> getRemovedFiles() {
+    Collection<File> result = new ArrayList<>();
+    for (String key : getStored().keySet()) {
+      if (key.startsWith(FILE_PREFIX) && !entries.containsKey(key)) {
+        result.add(new File(key.substring(FILE_PREFIX.length())));
+      }
+    }
+    return result;
+  }
+
+  private Map<String, String> getStored() {
+    if (stored == null) {
+      stored = new TreeMap<>();
+      if (storage.isFile()) {
+        Properties properties = new Properties();
+        try (InputStream stream = new FileInputStream(storage)) {
+          properties.load(stream);
+        } catch (IOException e) {
+          // Treat an unreadable fingerprint as a missing one
+          return stored;
+        }
+        for (String key : properties.stringPropertyNames()) {
+          stored.put(key, properties.getProperty(key));
+        }
+      }
+    }
+    return stored;
+  }
+
+  /**
+   * Remember the inputs, so that the next run of the goal can skip its work if they don't change.
+   */
+  public void save() {
+    File dir = storage.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IllegalStateException("Could not create directory " + dir);
+    }
+    Properties properties = new Properties();
+    properties.putAll(entries);
+    try (OutputStream stream = new FileOutputStream(storage)) {
+      properties.store(stream, "RADL input fingerprint");
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to save input fingerprint " + storage, e);
+    }
+    stored = new TreeMap<>(entries);
+  }
+
+  /**
+   * Forget the inputs, so that the next run of the goal does its work regardless.
+   */
+  public void discard() {
+    if (storage.exists() && !storage.delete()) {
+      throw new IllegalStateException("Could not delete " + storage);
+    }
+    stored = new TreeMap<>();
+  }
+
+}